@@ -0,0 +1,58 @@
+package com.story.game.benchmark;
+
+import com.story.game.gameplay.condition.CompiledCondition;
+import com.story.game.gameplay.condition.ConditionCompiler;
+import com.story.game.gameplay.condition.ConditionEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔딩 조건식 평가 벤치마크
+ *
+ * GameService.evaluateCondition은 ConditionEngine.matches에 위임하므로 같은 경로를 측정한다.
+ * compile: 캐시 없이 매번 컴파일하는 비용, matchesCached: 게임 진행 중 실제 경로 (캐시 적중)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConditionBenchmark {
+
+    @Param({
+            "#hope >= 70",
+            "(#trust >= 80 AND #courage >= 70) OR wisdom >= 90",
+            "!(cooperative + brave * 2 < 5) && betrayal == 0 || (reckless > 3 and loyal >= 1)"
+    })
+    public String condition;
+
+    private ConditionEngine conditionEngine;
+    private Map<String, Integer> values;
+    private String cacheKey;
+
+    @Setup
+    public void setUp() {
+        conditionEngine = new ConditionEngine(10_000);
+        cacheKey = ConditionEngine.finalEndingKey("story_bench", "ending_1");
+        values = new HashMap<>();
+        values.put("hope", 75);
+        values.put("trust", 85);
+        values.put("courage", 60);
+        values.put("wisdom", 95);
+        values.put("cooperative", 2);
+        values.put("brave", 1);
+        values.put("reckless", 4);
+        conditionEngine.matches(cacheKey, condition, values);
+    }
+
+    @Benchmark
+    public CompiledCondition compile() {
+        return ConditionCompiler.compile(condition);
+    }
+
+    @Benchmark
+    public boolean matchesCached() {
+        return conditionEngine.matches(cacheKey, condition, values);
+    }
+}
@@ -0,0 +1,124 @@
+package com.story.game.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.gameplay.state.StateVector;
+import com.story.game.gameplay.state.StateVectorConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameSession JSON 컬럼 직렬화 벤치마크
+ *
+ * gauge_states, accumulated_tags, completed_episodes, current_episode_bgm 컬럼을
+ * 세션 저장/조회 때처럼 Jackson으로 쓰고 다시 읽는 비용
+ * (gauge_states / accumulated_tags는 StateVectorConverter 스트리밍 코덱과 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameSessionJsonBenchmark {
+
+    private static final TypeReference<Map<String, Integer>> INT_MAP = new TypeReference<>() {
+    };
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, Object>> OBJECT_MAP = new TypeReference<>() {
+    };
+
+    @Param({"4", "32"})
+    public int tagCount;
+
+    @Param({"5"})
+    public int completedEpisodeCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StateVectorConverter stateVectorConverter = new StateVectorConverter();
+
+    private Map<String, Integer> gaugeStates;
+    private Map<String, Integer> accumulatedTags;
+    private StateVector gaugeVector;
+    private StateVector tagVector;
+    private List<String> completedEpisodes;
+    private String bgmJson;
+
+    private String gaugeStatesJson;
+    private String accumulatedTagsJson;
+    private String completedEpisodesJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        gaugeStates = new HashMap<>();
+        gaugeStates.put("hope", 55);
+        gaugeStates.put("trust", 40);
+
+        accumulatedTags = new HashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            accumulatedTags.put("tag_" + i, i);
+        }
+
+        gaugeVector = StateVector.copyOf(gaugeStates);
+        tagVector = StateVector.copyOf(accumulatedTags);
+
+        completedEpisodes = new ArrayList<>();
+        for (int i = 0; i < completedEpisodeCount; i++) {
+            completedEpisodes.add("7f1c9a2e-0000-4000-8000-00000000000" + i);
+        }
+
+        bgmJson = "{\"mood\":\"tense\",\"bgmFileKey\":\"bgm/tense.mp3\",\"streamingUrl\":\"https://example.com/bgm/tense.mp3\",\"volume\":0.8}";
+
+        gaugeStatesJson = objectMapper.writeValueAsString(gaugeStates);
+        accumulatedTagsJson = objectMapper.writeValueAsString(accumulatedTags);
+        completedEpisodesJson = objectMapper.writeValueAsString(completedEpisodes);
+    }
+
+    @Benchmark
+    public String[] write() throws JsonProcessingException {
+        return new String[]{
+                objectMapper.writeValueAsString(gaugeStates),
+                objectMapper.writeValueAsString(accumulatedTags),
+                objectMapper.writeValueAsString(completedEpisodes)
+        };
+    }
+
+    @Benchmark
+    public Object[] read() throws JsonProcessingException {
+        return new Object[]{
+                objectMapper.readValue(gaugeStatesJson, INT_MAP),
+                objectMapper.readValue(accumulatedTagsJson, INT_MAP),
+                objectMapper.readValue(completedEpisodesJson, STRING_LIST),
+                objectMapper.readValue(bgmJson, OBJECT_MAP)
+        };
+    }
+
+    @Benchmark
+    public Object[] roundTrip() throws JsonProcessingException {
+        return new Object[]{
+                objectMapper.readValue(objectMapper.writeValueAsString(gaugeStates), INT_MAP),
+                objectMapper.readValue(objectMapper.writeValueAsString(accumulatedTags), INT_MAP),
+                objectMapper.readValue(objectMapper.writeValueAsString(completedEpisodes), STRING_LIST)
+        };
+    }
+
+    @Benchmark
+    public String[] writeStateVectors() {
+        return new String[]{
+                stateVectorConverter.convertToDatabaseColumn(gaugeVector),
+                stateVectorConverter.convertToDatabaseColumn(tagVector)
+        };
+    }
+
+    @Benchmark
+    public Object[] readStateVectors() {
+        return new Object[]{
+                stateVectorConverter.convertToEntityAttribute(gaugeStatesJson),
+                stateVectorConverter.convertToEntityAttribute(accumulatedTagsJson)
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.story.game.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.common.dto.StoryNodeDto;
+import com.story.game.creation.context.StoryContextCache;
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.story.entity.Episode;
+import com.story.game.story.entity.StoryNode;
+import com.story.game.story.mapper.StoryMapper;
+import com.story.game.story.repository.EpisodeRepository;
+import com.story.game.story.writer.EpisodeBulkWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StoryMapper 변환 벤치마크
+ *
+ * 노드 트리 -> StoryNodeDto 재귀 변환과 전체 스토리 FullStoryDto 생성 비용 (DB 조회 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StoryMapperBenchmark {
+
+    @Param({"3", "5"})
+    public int depth;
+
+    @Param({"2", "3"})
+    public int branching;
+
+    @Param({"3"})
+    public int episodes;
+
+    private StoryMapper storyMapper;
+    private StoryCreation storyCreation;
+    private StoryNode rootNode;
+
+    @Setup
+    public void setUp() {
+        storyCreation = SyntheticStory.storyCreation();
+        List<Episode> episodeList = SyntheticStory.episodes(storyCreation, episodes, depth, branching);
+        rootNode = SyntheticStory.root(episodeList.get(0));
+        // 저장 경로는 측정하지 않으므로 DataSource 없는 JdbcTemplate로 충분
+        storyMapper = new StoryMapper(new ObjectMapper(), episodeRepository(episodeList), new StoryContextCache(new ObjectMapper(), 16),
+                new EpisodeBulkWriter(new JdbcTemplate(), 200));
+    }
+
+    @Benchmark
+    public StoryNodeDto toStoryNodeDto() {
+        return storyMapper.toStoryNodeDto(rootNode);
+    }
+
+    @Benchmark
+    public FullStoryDto buildFullStoryDtoFromDb() {
+        return storyMapper.buildFullStoryDtoFromDb(storyCreation);
+    }
+
+    /**
+     * findAllByStory만 미리 만든 에피소드를 돌려주는 저장소
+     */
+    private static EpisodeRepository episodeRepository(List<Episode> episodeList) {
+        return (EpisodeRepository) Proxy.newProxyInstance(
+                EpisodeRepository.class.getClassLoader(),
+                new Class<?>[]{EpisodeRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllByStory", "findAllByStoryOrderByOrderAsc" -> episodeList;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "EpisodeRepository(benchmark)";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
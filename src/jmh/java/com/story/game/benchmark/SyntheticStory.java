@@ -0,0 +1,110 @@
+package com.story.game.benchmark;
+
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.story.entity.Episode;
+import com.story.game.story.entity.EpisodeEnding;
+import com.story.game.story.entity.StoryChoice;
+import com.story.game.story.entity.StoryNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 가상 스토리 트리
+ *
+ * 에피소드마다 깊이 depth, 노드당 선택지 branching개인 완전 트리를 만든다.
+ * 노드 수는 에피소드당 (branching^(depth+1) - 1) / (branching - 1)개.
+ */
+final class SyntheticStory {
+
+    static final String GAUGES_JSON = "[{\"id\":\"hope\",\"name\":\"희망\"},{\"id\":\"trust\",\"name\":\"신뢰\"}]";
+    static final String SELECTED_GAUGES_JSON = "[\"hope\",\"trust\"]";
+    static final String CHARACTERS_JSON = "[{\"name\":\"주인공\",\"description\":\"모험가\"},{\"name\":\"조력자\",\"description\":\"마법사\"}]";
+    static final String ENDING_CONFIG_JSON = "[{\"id\":\"good\",\"title\":\"해피 엔딩\",\"condition\":\"#hope >= 70 AND #trust >= 60\"}," +
+            "{\"id\":\"bad\",\"title\":\"배드 엔딩\",\"condition\":\"default\"}]";
+
+    private SyntheticStory() {
+    }
+
+    static StoryCreation storyCreation() {
+        return StoryCreation.builder()
+                .id("story_bench")
+                .title("벤치마크 스토리")
+                .summary("벤치마크용 요약")
+                .gaugesJson(GAUGES_JSON)
+                .selectedGaugeIdsJson(SELECTED_GAUGES_JSON)
+                .charactersJson(CHARACTERS_JSON)
+                .endingConfigJson(ENDING_CONFIG_JSON)
+                .build();
+    }
+
+    static List<Episode> episodes(StoryCreation story, int episodeCount, int depth, int branching) {
+        List<Episode> episodes = new ArrayList<>();
+        for (int order = 1; order <= episodeCount; order++) {
+            Episode episode = Episode.builder()
+                    .id(UUID.randomUUID())
+                    .story(story)
+                    .title("에피소드 " + order)
+                    .order(order)
+                    .description("설명")
+                    .theme("테마")
+                    .introText("도입부")
+                    .nodes(new ArrayList<>())
+                    .endings(new ArrayList<>())
+                    .build();
+            buildNode(episode, null, 0, depth, branching);
+            episode.getEndings().add(ending(episode, "cooperative >= 2", "{\"hope\":10}"));
+            episode.getEndings().add(ending(episode, "default", "{\"hope\":-5}"));
+            episodes.add(episode);
+        }
+        return episodes;
+    }
+
+    static StoryNode root(Episode episode) {
+        return episode.getNodes().get(0);
+    }
+
+    private static StoryNode buildNode(Episode episode, StoryChoice parentChoice, int level, int depth, int branching) {
+        StoryNode node = StoryNode.builder()
+                .id(UUID.randomUUID())
+                .episode(episode)
+                .parentChoice(parentChoice)
+                .outgoingChoices(new ArrayList<>())
+                .depth(level)
+                .text("노드 본문 " + level)
+                .nodeType(level == depth ? "ENDING" : "NORMAL")
+                .situation("상황 설명")
+                .npcEmotions("{\"조력자\":\"기쁨\"}")
+                .relationsUpdate("{\"조력자\":\"+1\"}")
+                .build();
+        episode.getNodes().add(node);
+
+        if (level < depth) {
+            for (int i = 0; i < branching; i++) {
+                StoryChoice choice = StoryChoice.builder()
+                        .id(UUID.randomUUID())
+                        .text("선택지 " + i)
+                        .choiceOrder(i)
+                        .tags(i % 2 == 0 ? "[\"cooperative\"]" : "[\"brave\",\"reckless\"]")
+                        .immediateReaction("반응")
+                        .sourceNode(node)
+                        .build();
+                node.getOutgoingChoices().add(choice);
+                choice.setDestinationNode(buildNode(episode, choice, level + 1, depth, branching));
+            }
+        }
+        return node;
+    }
+
+    private static EpisodeEnding ending(Episode episode, String condition, String gaugeChanges) {
+        return EpisodeEnding.builder()
+                .id(UUID.randomUUID())
+                .episode(episode)
+                .title("엔딩 " + condition)
+                .condition(condition)
+                .text("엔딩 본문")
+                .gaugeChanges(gaugeChanges)
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.story.game.auth.entity.User;
 import com.story.game.achievement.entity.UserAchievement;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,4 +24,9 @@ public interface UserAchievementRepository extends JpaRepository<UserAchievement
     Optional<UserAchievement> findByUserAndAchievement(User user, Achievement achievement);
 
     long countByUserAndIsUnlocked(User user, Boolean isUnlocked);
+
+    // 랭킹 집계: 유저별 달성 업적 포인트 합계
+    @Query("SELECT ua.user.id AS userId, SUM(a.points) AS totalPoints, COUNT(ua) AS achievementCount " +
+           "FROM UserAchievement ua JOIN ua.achievement a WHERE ua.isUnlocked = true GROUP BY ua.user.id")
+    List<UserScoreView> sumUnlockedPointsByUser();
 }
@@ -0,0 +1,13 @@
+package com.story.game.achievement.repository;
+
+/**
+ * 유저별 업적 점수 집계 프로젝션
+ */
+public interface UserScoreView {
+
+    Long getUserId();
+
+    Long getTotalPoints();
+
+    Long getAchievementCount();
+}
@@ -4,10 +4,11 @@ import com.story.game.achievement.entity.Achievement;
 import com.story.game.auth.entity.User;
 import com.story.game.achievement.entity.UserAchievement;
 import com.story.game.achievement.repository.AchievementRepository;
+import com.story.game.common.ranking.RankingEngine;
 import com.story.game.community.repository.PostRepository;
 import com.story.game.creation.entity.StoryCreation;
 import com.story.game.creation.repository.StoryCreationRepository;
-import com.story.game.gameplay.repository.GameSessionRepository;
+import com.story.game.gameplay.archive.PlayStatistics;
 import com.story.game.achievement.repository.UserAchievementRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,9 +22,10 @@ public class AchievementService {
 
     private final AchievementRepository achievementRepository;
     private final UserAchievementRepository userAchievementRepository;
-    private final GameSessionRepository gameSessionRepository;
+    private final PlayStatistics playStatistics;
     private final StoryCreationRepository storyCreationRepository;
     private final PostRepository postRepository;
+    private final RankingEngine rankingEngine;
 
     // 사용자의 업적 진행 상황 체크 및 업데이트
     @Transactional
@@ -39,6 +41,9 @@ public class AchievementService {
                 Integer currentValue = calculateCurrentValue(user, achievement);
                 userAchievement.updateProgress(currentValue);
                 userAchievementRepository.save(userAchievement);
+                if (userAchievement.getIsUnlocked()) {
+                    rankingEngine.onAchievementUnlocked(user.getId(), achievement.getPoints());
+                }
             }
         }
     }
@@ -53,8 +58,12 @@ public class AchievementService {
                 .findByUserAndAchievement(user, achievement)
                 .orElseGet(() -> createUserAchievement(user, achievement));
 
+        boolean wasUnlocked = userAchievement.getIsUnlocked();
         userAchievement.updateProgress(value);
         userAchievementRepository.save(userAchievement);
+        if (!wasUnlocked && userAchievement.getIsUnlocked()) {
+            rankingEngine.onAchievementUnlocked(user.getId(), achievement.getPoints());
+        }
     }
 
     // 사용자의 모든 업적 조회
@@ -95,9 +104,9 @@ public class AchievementService {
     // 업적 타입별 현재 값 계산
     private Integer calculateCurrentValue(User user, Achievement achievement) {
         return switch (achievement.getType()) {
-            case PLAY_COUNT -> (int) gameSessionRepository.countByUser(user);
-            case COMPLETION_COUNT -> (int) gameSessionRepository.countByUserAndIsCompleted(user, true);
-            case ENDING_COUNT -> (int) gameSessionRepository.countDistinctFinalEndingsByUser(user);
+            case PLAY_COUNT -> (int) playStatistics.countPlays(user);
+            case COMPLETION_COUNT -> (int) playStatistics.countCompletions(user);
+            case ENDING_COUNT -> (int) playStatistics.countDistinctFinalEndings(user);
             case CREATION_COUNT -> (int) storyCreationRepository.countByUserAndStatus(user, StoryCreation.CreationStatus.COMPLETED);
             case POST_COUNT -> (int) postRepository.countByAuthor(user);
         };
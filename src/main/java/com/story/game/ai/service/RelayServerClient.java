@@ -5,15 +5,16 @@ import com.story.game.ai.dto.ImageGenerationResponseDto;
 import com.story.game.ai.dto.NovelStyleLearnRequestDto;
 import com.story.game.ai.dto.NovelStyleLearnResponseDto;
 import com.story.game.gameplay.dto.BgmDto;
+import com.story.game.infrastructure.relay.RelayEndpoint;
+import com.story.game.infrastructure.relay.RelayGateway;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
@@ -24,8 +25,7 @@ import java.time.Duration;
 @Slf4j
 public class RelayServerClient {
 
-    @Qualifier("relayServerWebClient")
-    private final WebClient relayServerWebClient;
+    private final RelayGateway relayGateway;
 
     /**
      * Request novel style learning from relay server
@@ -34,18 +34,7 @@ public class RelayServerClient {
         log.info("Requesting novel style learning from relay server for story: {}", request.getStory_id());
 
         try {
-            NovelStyleLearnResponseDto response = relayServerWebClient.post()
-                .uri("/ai-image/api/v1/learn-style")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(NovelStyleLearnResponseDto.class)
-                .timeout(Duration.ofSeconds(30))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    log.error("Relay server error during novel style learning: {} - {}",
-                        e.getStatusCode(), e.getResponseBodyAsString());
-                    return Mono.empty();
-                })
-                .block();
+            NovelStyleLearnResponseDto response = learnNovelStyleAsync(request).block();
 
             if (response != null && response.getThumbnail_image_url() != null) {
                 log.info("Novel style learning completed with thumbnail: {}", response.getThumbnail_image_url());
@@ -60,118 +49,146 @@ public class RelayServerClient {
         }
     }
 
+    /**
+     * Request novel style learning (non-blocking, image bulkhead)
+     */
+    public Mono<NovelStyleLearnResponseDto> learnNovelStyleAsync(NovelStyleLearnRequestDto request) {
+        return relayGateway.call(RelayEndpoint.IMAGE, client -> client.post()
+                .uri("/ai-image/api/v1/learn-style")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(NovelStyleLearnResponseDto.class)
+                .timeout(Duration.ofSeconds(30))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("Relay server error during novel style learning: {} - {}",
+                        e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.empty();
+                }));
+    }
+
     /**
      * Request image generation from relay server
      */
     public ImageGenerationResponseDto generateImage(ImageGenerationRequestDto request) {
+        try {
+            return generateImageAsync(request).block();
+        } catch (Exception e) {
+            log.error("Failed to generate image: {}", e.getMessage(), e);
+            throw new RuntimeException("Image generation failed", e);
+        }
+    }
+
+    /**
+     * Request image generation (non-blocking, image bulkhead)
+     */
+    public Mono<ImageGenerationResponseDto> generateImageAsync(ImageGenerationRequestDto request) {
         log.info("Requesting image generation from relay server for node: {}", request.getNodeText());
 
-        try {
-            // AI 이미지 서버 스펙에 맞게 필드명 변환 (snake_case)
-            Map<String, Object> aiImageRequest = new HashMap<>();
-            aiImageRequest.put("story_id", request.getStoryId());
-            aiImageRequest.put("user_prompt", request.getNodeText());
-            if (request.getAdditionalContext() != null) {
-                aiImageRequest.put("context_text", request.getAdditionalContext());
-            }
-            if (request.getNovelS3Bucket() != null) {
-                aiImageRequest.put("s3_bucket", request.getNovelS3Bucket());
-            }
-            // 이미지 업로드용 S3 키 생성 (소설 키가 아닌 이미지용 경로)
-            String imageS3Key = "story-images/" + request.getStoryId() + "/" + System.currentTimeMillis() + ".png";
-            aiImageRequest.put("s3_key", imageS3Key);
+        // AI 이미지 서버 스펙에 맞게 필드명 변환 (snake_case)
+        Map<String, Object> aiImageRequest = new HashMap<>();
+        aiImageRequest.put("story_id", request.getStoryId());
+        aiImageRequest.put("user_prompt", request.getNodeText());
+        if (request.getAdditionalContext() != null) {
+            aiImageRequest.put("context_text", request.getAdditionalContext());
+        }
+        if (request.getNovelS3Bucket() != null) {
+            aiImageRequest.put("s3_bucket", request.getNovelS3Bucket());
+        }
+        // 이미지 업로드용 S3 키 생성 (소설 키가 아닌 이미지용 경로)
+        String imageS3Key = "story-images/" + request.getStoryId() + "/" + System.currentTimeMillis() + ".png";
+        aiImageRequest.put("s3_key", imageS3Key);
 
-            Map<String, Object> response = relayServerWebClient.post()
+        return relayGateway.<Map<String, Object>>call(RelayEndpoint.IMAGE, client -> client.post()
                 .uri("/ai-image/api/v1/generate-image")
                 .bodyValue(aiImageRequest)
                 .retrieve()
-                .bodyToMono(Map.class)
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
                 .timeout(Duration.ofSeconds(60))
                 .onErrorResume(WebClientResponseException.class, e -> {
                     log.error("Relay server error during image generation: {} - {}",
                         e.getStatusCode(), e.getResponseBodyAsString());
                     return Mono.error(new RuntimeException("Image generation failed: " + e.getMessage()));
-                })
-                .block();
-
-            if (response == null) {
-                throw new RuntimeException("No response from relay server");
-            }
-
-            // imageUrl에서 fileKey 추출
-            String imageUrl = (String) response.get("image_url");
-            String fileKey = null;
-            if (imageUrl != null && imageUrl.contains(".amazonaws.com/")) {
-                fileKey = imageUrl.substring(imageUrl.indexOf(".amazonaws.com/") + ".amazonaws.com/".length());
-            }
-
-            ImageGenerationResponseDto result = ImageGenerationResponseDto.builder()
-                .imageUrl(imageUrl)
-                .fileKey(fileKey)
-                .build();
-
-            log.info("Image generated successfully: {} (fileKey: {})", result.getImageUrl(), result.getFileKey());
-            return result;
+                }))
+            .switchIfEmpty(Mono.error(new RuntimeException("No response from relay server")))
+            .map(response -> {
+                // imageUrl에서 fileKey 추출
+                String imageUrl = (String) response.get("image_url");
+                String fileKey = null;
+                if (imageUrl != null && imageUrl.contains(".amazonaws.com/")) {
+                    fileKey = imageUrl.substring(imageUrl.indexOf(".amazonaws.com/") + ".amazonaws.com/".length());
+                }
+
+                ImageGenerationResponseDto result = ImageGenerationResponseDto.builder()
+                    .imageUrl(imageUrl)
+                    .fileKey(fileKey)
+                    .build();
+
+                log.info("Image generated successfully: {} (fileKey: {})", result.getImageUrl(), result.getFileKey());
+                return result;
+            });
+    }
 
+    /**
+     * Request music recommendation from relay server
+     */
+    public BgmDto recommendMusic(String prompt) {
+        try {
+            return recommendMusicAsync(prompt).block();
         } catch (Exception e) {
-            log.error("Failed to generate image: {}", e.getMessage(), e);
-            throw new RuntimeException("Image generation failed", e);
+            log.error("Failed to recommend music: {}", e.getMessage(), e);
+            return null;
         }
     }
 
     /**
-     * Request music recommendation from relay server
+     * Request music recommendation (non-blocking, bgm bulkhead)
+     * 응답이 없거나 음악 정보가 없으면 빈 Mono
      */
-    public BgmDto recommendMusic(String prompt) {
+    @SuppressWarnings("unchecked")
+    public Mono<BgmDto> recommendMusicAsync(String prompt) {
         log.info("Requesting music recommendation from relay server");
         log.debug("Prompt: {}", prompt.length() > 100 ? prompt.substring(0, 100) + "..." : prompt);
 
-        try {
-            Map<String, String> request = new HashMap<>();
-            request.put("prompt", prompt);
+        Map<String, String> request = new HashMap<>();
+        request.put("prompt", prompt);
 
-            Map<String, Object> response = relayServerWebClient.post()
+        return relayGateway.<Map<String, Object>>call(RelayEndpoint.BGM, client -> client.post()
                 .uri("/ai-bgm/api/analyze")
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(Map.class)
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
                 .timeout(Duration.ofSeconds(10))
                 .onErrorResume(WebClientResponseException.class, e -> {
                     log.error("Relay server error during music recommendation: {} - {}",
                         e.getStatusCode(), e.getResponseBodyAsString());
                     return Mono.empty();
-                })
-                .block();
-
-            if (response == null) {
-                log.warn("No response from relay server for music recommendation");
-                return null;
-            }
-
-            // Parse response
-            Map<String, Object> analysisData = (Map<String, Object>) response.get("analysis");
-            Map<String, Object> musicData = (Map<String, Object>) response.get("music");
-
-            if (musicData == null) {
-                log.warn("No music data in response");
-                return null;
-            }
-
-            BgmDto bgm = BgmDto.builder()
-                .mood((String) musicData.get("mood"))
-                .filename((String) musicData.get("filename"))
-                .streamingUrl((String) musicData.get("streaming_url"))
-                .intensity(analysisData != null ? (Double) analysisData.get("intensity") : null)
-                .emotionalTags(analysisData != null ? (List<String>) analysisData.get("emotional_tags") : null)
-                .build();
-
-            log.info("Music recommended: mood={}, file={}", bgm.getMood(), bgm.getFilename());
-            return bgm;
-
-        } catch (Exception e) {
-            log.error("Failed to recommend music: {}", e.getMessage(), e);
-            return null;
-        }
+                }))
+            .doOnSuccess(response -> {
+                if (response == null) {
+                    log.warn("No response from relay server for music recommendation");
+                }
+            })
+            .flatMap(response -> {
+                // Parse response
+                Map<String, Object> analysisData = (Map<String, Object>) response.get("analysis");
+                Map<String, Object> musicData = (Map<String, Object>) response.get("music");
+
+                if (musicData == null) {
+                    log.warn("No music data in response");
+                    return Mono.empty();
+                }
+
+                BgmDto bgm = BgmDto.builder()
+                    .mood((String) musicData.get("mood"))
+                    .filename((String) musicData.get("filename"))
+                    .streamingUrl((String) musicData.get("streaming_url"))
+                    .intensity(analysisData != null ? (Double) analysisData.get("intensity") : null)
+                    .emotionalTags(analysisData != null ? (List<String>) analysisData.get("emotional_tags") : null)
+                    .build();
+
+                log.info("Music recommended: mood={}, file={}", bgm.getMood(), bgm.getFilename());
+                return Mono.just(bgm);
+            });
     }
 
     /**
@@ -179,11 +196,11 @@ public class RelayServerClient {
      */
     public boolean checkHealth() {
         try {
-            String response = relayServerWebClient.get()
+            String response = relayGateway.call(RelayEndpoint.CHAT, client -> client.get()
                 .uri("/ai/health")
                 .retrieve()
                 .bodyToMono(String.class)
-                .timeout(Duration.ofSeconds(5))
+                .timeout(Duration.ofSeconds(5)))
                 .block();
             return response != null;
         } catch (Exception e) {
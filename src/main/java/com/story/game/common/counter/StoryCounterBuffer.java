@@ -0,0 +1,144 @@
+package com.story.game.common.counter;
+
+import com.story.game.common.util.CounterUtils;
+import com.story.game.common.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스토리 조회수/좋아요 수 버퍼
+ *
+ * 플레이/조회마다 story_data 행을 갱신하면 인기 스토리 행에 쓰기가 몰린다.
+ * 스토리별 LongAdder에 증감분만 모아 두고 flush-interval-ms마다
+ * UPDATE story_data SET view_count = view_count + ? ... 를 한 트랜잭션의 JDBC batch로 반영한다.
+ * DB 값은 최대 flush 주기만큼 늦게 반영되며, 종료 시 남은 증감분을 마지막으로 저장한다.
+ */
+@Component
+@Slf4j
+public class StoryCounterBuffer {
+
+    private static final String FLUSH_SQL =
+            "UPDATE story_data SET view_count = COALESCE(view_count, 0) + ?, " +
+            "likes_count = GREATEST(COALESCE(likes_count, 0) + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // storyDataId -> 아직 저장하지 않은 증감분
+    private final ConcurrentHashMap<Long, Deltas> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong recordedViews = new AtomicLong();
+    private final AtomicLong recordedLikes = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public StoryCounterBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 조회수 증가 (커밋 후 반영)
+     */
+    public void recordView(Long storyDataId) {
+        TransactionUtils.afterCommit(() -> {
+            deltas(storyDataId).views.increment();
+            recordedViews.incrementAndGet();
+        });
+    }
+
+    /**
+     * 좋아요 수 증감 (커밋 후 반영)
+     */
+    public void recordLike(Long storyDataId, boolean liked) {
+        TransactionUtils.afterCommit(() -> {
+            deltas(storyDataId).likes.add(liked ? 1 : -1);
+            recordedLikes.incrementAndGet();
+        });
+    }
+
+    /**
+     * 모인 증감분을 한 트랜잭션의 batch UPDATE로 저장
+     */
+    @Scheduled(fixedDelayString = "${game.story-counter.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, Deltas> entry : pending.entrySet()) {
+            Deltas deltas = entry.getValue();
+            long views = CounterUtils.drain(deltas.views);
+            long likes = CounterUtils.drain(deltas.likes);
+            if (views == 0 && likes == 0) {
+                continue;
+            }
+            rows.add(new Object[]{views, likes, entry.getKey()});
+        }
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 한 트랜잭션으로 묶어 일부 행만 반영된 채 실패하지 않게 함 (실패 시 전체를 되돌려 다시 시도해도 중복 가산 없음)
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, rows));
+            flushes.incrementAndGet();
+            flushedRows.addAndGet(rows.size());
+            log.debug("Flushed story counters: {} stories", rows.size());
+        } catch (Exception e) {
+            // 실패한 증감분은 다음 flush에서 다시 시도
+            failures.incrementAndGet();
+            for (Object[] row : rows) {
+                Deltas deltas = deltas((Long) row[2]);
+                deltas.views.add((Long) row[0]);
+                deltas.likes.add((Long) row[1]);
+            }
+            log.warn("Failed to flush story counters ({} stories), will retry: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing story counters before shutdown");
+        flush();
+    }
+
+    private Deltas deltas(Long storyDataId) {
+        return pending.computeIfAbsent(storyDataId, id -> new Deltas());
+    }
+
+    /**
+     * Get counter statistics
+     */
+    public Map<String, Object> getStats() {
+        long pendingStories = pending.values().stream()
+                .filter(d -> d.views.sum() != 0 || d.likes.sum() != 0)
+                .count();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingStories", pendingStories);
+        stats.put("recordedViews", recordedViews.get());
+        stats.put("recordedLikes", recordedLikes.get());
+        stats.put("flushes", flushes.get());
+        stats.put("flushedRows", flushedRows.get());
+        stats.put("failures", failures.get());
+        return stats;
+    }
+
+    private static final class Deltas {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder likes = new LongAdder();
+    }
+}
@@ -1,7 +1,9 @@
 package com.story.game.common.dto;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.story.game.gameplay.condition.EndingDecisionTable;
 import lombok.*;
 import java.util.List;
 
@@ -22,4 +24,8 @@ public class EpisodeDto {
 
     private List<StoryNodeDto> nodes;
     private List<EpisodeEndingDto> endings;
+
+    // DB에 저장된 엔딩 결정 테이블 (게임 그래프 생성용, API/S3 JSON에는 포함하지 않음)
+    @JsonIgnore
+    private EndingDecisionTable.Spec endingTable;
 }
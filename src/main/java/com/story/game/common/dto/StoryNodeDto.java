@@ -26,6 +26,9 @@ public class StoryNodeDto {
     private String episodeId;
     private List<StoryNodeDto> children;
 
+    // Node image (S3 file key, 게임 플레이 시 presigned URL로 변환)
+    private String imageFileKey;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
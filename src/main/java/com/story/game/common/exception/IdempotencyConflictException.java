@@ -0,0 +1,11 @@
+package com.story.game.common.exception;
+
+/**
+ * 같은 Idempotency-Key로 다른 요청이 들어왔거나, 같은 세션의 이전 요청이 아직 처리 중일 때 발생하는 예외
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
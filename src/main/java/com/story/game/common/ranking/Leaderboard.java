@@ -0,0 +1,84 @@
+package com.story.game.common.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 점수 순으로 정렬된 랭킹 보드
+ *
+ * id별 점수와 (점수 내림차순, id 오름차순)으로 정렬된 집합을 함께 유지한다.
+ * 점수 변경은 O(log n), 상위 K개 조회는 O(K)이다.
+ */
+public class Leaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingLong(Entry::score).reversed()
+            .thenComparingLong(Entry::id);
+
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+
+    /**
+     * 점수 증감 (없는 id는 0점에서 시작)
+     */
+    public synchronized long add(long id, long delta) {
+        Long current = scores.get(id);
+        long updated = (current != null ? current : 0L) + delta;
+        put(id, current, updated);
+        return updated;
+    }
+
+    /**
+     * 점수 설정
+     */
+    public synchronized void set(long id, long score) {
+        put(id, scores.get(id), score);
+    }
+
+    public synchronized void remove(long id) {
+        Long current = scores.remove(id);
+        if (current != null) {
+            ranked.remove(new Entry(id, current));
+        }
+    }
+
+    public synchronized boolean contains(long id) {
+        return scores.containsKey(id);
+    }
+
+    public synchronized long score(long id) {
+        return scores.getOrDefault(id, 0L);
+    }
+
+    /**
+     * 상위 limit개 (점수 내림차순)
+     */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(Math.max(limit, 0), ranked.size()));
+        Iterator<Entry> iterator = ranked.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return scores.size();
+    }
+
+    private void put(long id, Long current, long score) {
+        if (current != null) {
+            ranked.remove(new Entry(id, current));
+        }
+        scores.put(id, score);
+        ranked.add(new Entry(id, score));
+    }
+
+    public record Entry(long id, long score) {
+    }
+}
@@ -0,0 +1,521 @@
+package com.story.game.common.ranking;
+
+import com.story.game.achievement.repository.UserAchievementRepository;
+import com.story.game.achievement.repository.UserScoreView;
+import com.story.game.common.repository.StoryActivityView;
+import com.story.game.common.util.TransactionUtils;
+import com.story.game.community.repository.LikeRepository;
+import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.creation.repository.StoryOwnershipView;
+import com.story.game.gameplay.repository.GameSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 랭킹 엔진
+ *
+ * 유저(업적 포인트), 작가(조회수 + 좋아요 x2), 주간 인기 스토리 랭킹을 메모리의 정렬된 보드로 유지한다.
+ * 처음 조회할 때 DB 집계 쿼리로 한 번 채우고, 이후에는 업적 달성/좋아요/조회 이벤트(커밋 후)로 갱신한다.
+ * 주간 랭킹은 bucket-minutes 단위 구간을 window-days 만큼 유지하는 슬라이딩 윈도우로 계산한다.
+ *
+ * 누락된 이벤트(다른 인스턴스, 로딩 중 발생한 이벤트)는 rebuild-interval-ms마다 DB 집계로 다시 맞춘다.
+ * 주간 윈도우는 재시작 시 게임 시작 기록과 좋아요 기록으로 복원한다 (스토리 상세 조회수는 복원되지 않음).
+ */
+@Component
+@Slf4j
+public class RankingEngine {
+
+    private static final long VIEW_WEIGHT = 1L;
+    private static final long LIKE_WEIGHT = 2L; // 좋아요에 가중치
+
+    private final UserAchievementRepository userAchievementRepository;
+    private final StoryCreationRepository storyCreationRepository;
+    private final GameSessionRepository gameSessionRepository;
+    private final LikeRepository likeRepository;
+
+    private final int windowDays;
+    private final int bucketMinutes;
+    private final int windowBuckets;
+    private final long bucketMillis;
+
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+
+    // 유저 랭킹
+    private final Object userLock = new Object();
+    private Leaderboard users = new Leaderboard();
+    private Map<Long, Integer> achievementCounts = new HashMap<>();
+
+    // 작가 랭킹
+    private final Object creatorLock = new Object();
+    private Leaderboard creators = new Leaderboard();
+    private Map<Long, StoryStats> stories = new HashMap<>();
+    private Map<Long, CreatorStats> creatorStats = new HashMap<>();
+
+    // 주간 인기 스토리
+    private final Object weeklyLock = new Object();
+    private final Leaderboard weekly = new Leaderboard();
+    private final Map<Long, StoryWindow> windows = new HashMap<>();
+
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong ignoredEvents = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private volatile LocalDateTime lastRebuildAt;
+
+    public RankingEngine(UserAchievementRepository userAchievementRepository,
+                         StoryCreationRepository storyCreationRepository,
+                         GameSessionRepository gameSessionRepository,
+                         LikeRepository likeRepository,
+                         @Value("${game.ranking.window-days:7}") int windowDays,
+                         @Value("${game.ranking.bucket-minutes:60}") int bucketMinutes) {
+        this.userAchievementRepository = userAchievementRepository;
+        this.storyCreationRepository = storyCreationRepository;
+        this.gameSessionRepository = gameSessionRepository;
+        this.likeRepository = likeRepository;
+        this.windowDays = windowDays;
+        this.bucketMinutes = bucketMinutes;
+        this.windowBuckets = Math.max(1, windowDays * 24 * 60 / bucketMinutes);
+        this.bucketMillis = bucketMinutes * 60_000L;
+    }
+
+    // ==================== 조회 ====================
+
+    /**
+     * 업적 포인트 상위 유저
+     */
+    public List<UserScore> topUsers(int limit) {
+        ensureLoaded();
+        synchronized (userLock) {
+            List<UserScore> result = new ArrayList<>();
+            for (Leaderboard.Entry entry : users.top(limit)) {
+                result.add(new UserScore(entry.id(), entry.score(), achievementCounts.getOrDefault(entry.id(), 0)));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 인기도 상위 작가 (공개된 스토리가 있는 작가만)
+     */
+    public List<CreatorScore> topCreators(int limit) {
+        ensureLoaded();
+        synchronized (creatorLock) {
+            List<CreatorScore> result = new ArrayList<>();
+            for (Leaderboard.Entry entry : creators.top(limit)) {
+                CreatorStats stats = creatorStats.get(entry.id());
+                result.add(new CreatorScore(entry.id(), stats.storyCount, stats.views, stats.likes, entry.score()));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 최근 window-days 동안 인기 스토리 (id, 구간 내 점수)
+     */
+    public List<Leaderboard.Entry> topWeeklyStories(int limit) {
+        ensureLoaded();
+        return weekly.top(limit);
+    }
+
+    // ==================== 이벤트 (커밋 후 반영) ====================
+
+    public void onStoryViewed(Long storyDataId) {
+        TransactionUtils.afterCommit(() -> applyView(storyDataId));
+    }
+
+    public void onStoryLiked(Long storyDataId, boolean liked) {
+        TransactionUtils.afterCommit(() -> applyLike(storyDataId, liked));
+    }
+
+    public void onAchievementUnlocked(Long userId, int points) {
+        TransactionUtils.afterCommit(() -> applyUnlock(userId, points));
+    }
+
+    public void onStoryPublished(Long storyDataId, Long creatorId) {
+        TransactionUtils.afterCommit(() -> applyPublish(storyDataId, creatorId));
+    }
+
+    public void onStoryDeleted(Long storyDataId) {
+        TransactionUtils.afterCommit(() -> applyDelete(storyDataId));
+    }
+
+    void applyView(Long storyDataId) {
+        if (!accept(storyDataId)) {
+            return;
+        }
+        synchronized (creatorLock) {
+            StoryStats story = stories.get(storyDataId);
+            if (story != null) {
+                story.views++;
+                CreatorStats stats = creatorStats.get(story.creatorId);
+                stats.views++;
+                creators.add(story.creatorId, VIEW_WEIGHT);
+            }
+        }
+        recordWeekly(storyDataId, VIEW_WEIGHT, System.currentTimeMillis());
+    }
+
+    void applyLike(Long storyDataId, boolean liked) {
+        if (!accept(storyDataId)) {
+            return;
+        }
+        synchronized (creatorLock) {
+            StoryStats story = stories.get(storyDataId);
+            if (story != null && (liked || story.likes > 0)) {
+                long delta = liked ? 1 : -1;
+                story.likes += delta;
+                creatorStats.get(story.creatorId).likes += delta;
+                creators.add(story.creatorId, delta * LIKE_WEIGHT);
+            }
+        }
+        if (liked) {
+            recordWeekly(storyDataId, LIKE_WEIGHT, System.currentTimeMillis());
+        } else {
+            retractWeekly(storyDataId, LIKE_WEIGHT, System.currentTimeMillis());
+        }
+    }
+
+    void applyUnlock(Long userId, int points) {
+        if (!accept(userId)) {
+            return;
+        }
+        synchronized (userLock) {
+            users.add(userId, points);
+            achievementCounts.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    void applyPublish(Long storyDataId, Long creatorId) {
+        if (!accept(storyDataId) || creatorId == null) {
+            return;
+        }
+        synchronized (creatorLock) {
+            if (stories.putIfAbsent(storyDataId, new StoryStats(creatorId)) == null) {
+                creatorStats.computeIfAbsent(creatorId, id -> new CreatorStats()).storyCount++;
+                creators.add(creatorId, 0L);
+            }
+        }
+    }
+
+    void applyDelete(Long storyDataId) {
+        if (!accept(storyDataId)) {
+            return;
+        }
+        synchronized (creatorLock) {
+            StoryStats story = stories.remove(storyDataId);
+            if (story != null) {
+                CreatorStats stats = creatorStats.get(story.creatorId);
+                stats.storyCount--;
+                stats.views -= story.views;
+                stats.likes -= story.likes;
+                if (stats.storyCount <= 0) {
+                    creatorStats.remove(story.creatorId);
+                    creators.remove(story.creatorId);
+                } else {
+                    creators.set(story.creatorId, stats.score());
+                }
+            }
+        }
+        synchronized (weeklyLock) {
+            windows.remove(storyDataId);
+            weekly.remove(storyDataId);
+        }
+    }
+
+    // ==================== 주간 윈도우 ====================
+
+    private void recordWeekly(Long storyDataId, long weight, long nowMillis) {
+        long nowBucket = nowMillis / bucketMillis;
+        synchronized (weeklyLock) {
+            StoryWindow window = windows.computeIfAbsent(storyDataId, id -> new StoryWindow(windowBuckets, nowBucket));
+            window.add(nowBucket, nowBucket, weight);
+            weekly.set(storyDataId, window.total);
+        }
+    }
+
+    private void retractWeekly(Long storyDataId, long weight, long nowMillis) {
+        long nowBucket = nowMillis / bucketMillis;
+        synchronized (weeklyLock) {
+            StoryWindow window = windows.get(storyDataId);
+            if (window == null) {
+                return;
+            }
+            window.retract(nowBucket, weight);
+            updateWeekly(storyDataId, window);
+        }
+    }
+
+    /**
+     * 지난 구간을 윈도우에서 제거하고 점수 갱신
+     */
+    @Scheduled(fixedDelayString = "${game.ranking.rotate-interval-ms:60000}")
+    public void rotateWindow() {
+        rotateWindow(System.currentTimeMillis());
+    }
+
+    void rotateWindow(long nowMillis) {
+        if (!loaded) {
+            return;
+        }
+        long nowBucket = nowMillis / bucketMillis;
+        synchronized (weeklyLock) {
+            Iterator<Map.Entry<Long, StoryWindow>> iterator = windows.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, StoryWindow> entry = iterator.next();
+                StoryWindow window = entry.getValue();
+                long before = window.total;
+                window.advance(nowBucket);
+                if (window.total <= 0) {
+                    iterator.remove();
+                    weekly.remove(entry.getKey());
+                } else if (window.total != before) {
+                    weekly.set(entry.getKey(), window.total);
+                }
+            }
+        }
+    }
+
+    private void updateWeekly(Long storyDataId, StoryWindow window) {
+        if (window.total <= 0) {
+            windows.remove(storyDataId);
+            weekly.remove(storyDataId);
+        } else {
+            weekly.set(storyDataId, window.total);
+        }
+    }
+
+    // ==================== 로딩 / 재집계 ====================
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            loadUsers();
+            loadCreators();
+            loadWeekly(start);
+            loaded = true;
+            lastRebuildAt = LocalDateTime.now();
+            log.info("Ranking engine loaded in {}ms: weeklyStories={}", System.currentTimeMillis() - start, weekly.size());
+        }
+    }
+
+    /**
+     * 유저/작가 점수를 DB 집계로 다시 맞춤 (주간 윈도우는 이벤트로만 유지)
+     */
+    @Scheduled(fixedDelayString = "${game.ranking.rebuild-interval-ms:3600000}",
+               initialDelayString = "${game.ranking.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            synchronized (loadLock) {
+                loadUsers();
+                loadCreators();
+                rebuilds.incrementAndGet();
+                lastRebuildAt = LocalDateTime.now();
+            }
+        } catch (Exception e) {
+            log.warn("Ranking rebuild failed, keeping current scores: {}", e.getMessage());
+        }
+    }
+
+    private void loadUsers() {
+        Leaderboard board = new Leaderboard();
+        Map<Long, Integer> counts = new HashMap<>();
+        for (UserScoreView row : userAchievementRepository.sumUnlockedPointsByUser()) {
+            board.set(row.getUserId(), row.getTotalPoints() != null ? row.getTotalPoints() : 0L);
+            counts.put(row.getUserId(), row.getAchievementCount() != null ? row.getAchievementCount().intValue() : 0);
+        }
+        synchronized (userLock) {
+            users = board;
+            achievementCounts = counts;
+        }
+    }
+
+    private void loadCreators() {
+        Map<Long, StoryStats> storyMap = new HashMap<>();
+        Map<Long, CreatorStats> statsMap = new HashMap<>();
+        for (StoryOwnershipView row : storyCreationRepository.findPublishedStoryOwnership()) {
+            StoryStats story = new StoryStats(row.getCreatorId());
+            story.views = row.getViewCount() != null ? row.getViewCount() : 0L;
+            story.likes = row.getLikesCount() != null ? row.getLikesCount() : 0L;
+            storyMap.put(row.getStoryDataId(), story);
+
+            CreatorStats stats = statsMap.computeIfAbsent(row.getCreatorId(), id -> new CreatorStats());
+            stats.storyCount++;
+            stats.views += story.views;
+            stats.likes += story.likes;
+        }
+
+        Leaderboard board = new Leaderboard();
+        statsMap.forEach((creatorId, stats) -> board.set(creatorId, stats.score()));
+        synchronized (creatorLock) {
+            creators = board;
+            stories = storyMap;
+            creatorStats = statsMap;
+        }
+    }
+
+    private void loadWeekly(long nowMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minusDays(windowDays);
+        long nowBucket = nowMillis / bucketMillis;
+
+        synchronized (weeklyLock) {
+            windows.clear();
+            seedWeekly(gameSessionRepository.countStartsByStoryAndBucket(since, now, bucketMinutes), VIEW_WEIGHT, nowBucket);
+            seedWeekly(likeRepository.countStoryLikesByBucket(since, now, bucketMinutes), LIKE_WEIGHT, nowBucket);
+            windows.forEach((storyDataId, window) -> weekly.set(storyDataId, window.total));
+        }
+    }
+
+    private void seedWeekly(List<StoryActivityView> rows, long weight, long nowBucket) {
+        for (StoryActivityView row : rows) {
+            if (row.getStoryDataId() == null || row.getAgeBuckets() == null || row.getTotal() == null) {
+                continue;
+            }
+            StoryWindow window = windows.computeIfAbsent(row.getStoryDataId(), id -> new StoryWindow(windowBuckets, nowBucket));
+            window.add(nowBucket, nowBucket - row.getAgeBuckets(), row.getTotal() * weight);
+        }
+    }
+
+    private boolean accept(Long id) {
+        if (id == null) {
+            return false;
+        }
+        if (!loaded) {
+            // 아직 로딩 전: 로딩 시 DB 집계에 반영됨
+            ignoredEvents.incrementAndGet();
+            return false;
+        }
+        events.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Get ranking statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        synchronized (userLock) {
+            stats.put("users", users.size());
+        }
+        synchronized (creatorLock) {
+            stats.put("creators", creators.size());
+        }
+        stats.put("weeklyStories", weekly.size());
+        stats.put("windowDays", windowDays);
+        stats.put("bucketMinutes", bucketMinutes);
+        stats.put("events", events.get());
+        stats.put("ignoredEvents", ignoredEvents.get());
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("lastRebuildAt", lastRebuildAt);
+        return stats;
+    }
+
+    public record UserScore(long userId, long totalPoints, int achievementCount) {
+    }
+
+    public record CreatorScore(long creatorId, int storyCount, long totalViews, long totalLikes, long popularityScore) {
+    }
+
+    private static final class StoryStats {
+        private final long creatorId;
+        private long views;
+        private long likes;
+
+        private StoryStats(long creatorId) {
+            this.creatorId = creatorId;
+        }
+    }
+
+    private static final class CreatorStats {
+        private int storyCount;
+        private long views;
+        private long likes;
+
+        private long score() {
+            return views * VIEW_WEIGHT + likes * LIKE_WEIGHT;
+        }
+    }
+
+    /**
+     * 스토리별 슬라이딩 윈도우 (구간별 점수 링 버퍼)
+     */
+    static final class StoryWindow {
+        private final long[] buckets;
+        private long headBucket;
+        private long total;
+
+        StoryWindow(int size, long headBucket) {
+            this.buckets = new long[size];
+            this.headBucket = headBucket;
+        }
+
+        /**
+         * 윈도우를 nowBucket까지 이동 (벗어난 구간 제거)
+         */
+        void advance(long nowBucket) {
+            if (nowBucket <= headBucket) {
+                return;
+            }
+            long steps = Math.min(nowBucket - headBucket, buckets.length);
+            for (long i = 1; i <= steps; i++) {
+                int index = index(headBucket + i);
+                total -= buckets[index];
+                buckets[index] = 0;
+            }
+            headBucket = nowBucket;
+        }
+
+        void add(long nowBucket, long bucket, long value) {
+            advance(nowBucket);
+            if (bucket > headBucket || bucket <= headBucket - buckets.length) {
+                return;
+            }
+            buckets[index(bucket)] += value;
+            total += value;
+        }
+
+        /**
+         * 최근 구간부터 value만큼 차감 (좋아요 취소)
+         */
+        void retract(long nowBucket, long value) {
+            advance(nowBucket);
+            long remaining = value;
+            for (int i = 0; i < buckets.length && remaining > 0; i++) {
+                int index = index(headBucket - i);
+                long taken = Math.min(buckets[index], remaining);
+                buckets[index] -= taken;
+                total -= taken;
+                remaining -= taken;
+            }
+        }
+
+        long total() {
+            return total;
+        }
+
+        private int index(long bucket) {
+            return (int) Math.floorMod(bucket, (long) buckets.length);
+        }
+    }
+}
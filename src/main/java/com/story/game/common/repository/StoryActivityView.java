@@ -0,0 +1,13 @@
+package com.story.game.common.repository;
+
+/**
+ * 스토리별 최근 활동 집계 프로젝션 (ageBuckets: 현재 시점으로부터 몇 번째 이전 구간인지)
+ */
+public interface StoryActivityView {
+
+    Long getStoryDataId();
+
+    Long getAgeBuckets();
+
+    Long getTotal();
+}
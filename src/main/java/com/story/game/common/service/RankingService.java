@@ -1,57 +1,67 @@
 package com.story.game.common.service;
 
-import com.story.game.achievement.entity.UserAchievement;
-import com.story.game.achievement.repository.UserAchievementRepository;
 import com.story.game.auth.entity.User;
 import com.story.game.auth.repository.UserRepository;
 import com.story.game.common.entity.StoryData;
+import com.story.game.common.ranking.Leaderboard;
+import com.story.game.common.ranking.RankingEngine;
 import com.story.game.common.repository.StoryDataRepository;
-import com.story.game.creation.entity.StoryCreation;
-import com.story.game.creation.repository.StoryCreationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * 랭킹 조회
+ *
+ * 점수는 RankingEngine이 메모리에 유지하고, 여기서는 상위 K개의 유저/스토리 정보만 DB에서 읽는다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RankingService {
 
     private final UserRepository userRepository;
-    private final UserAchievementRepository userAchievementRepository;
     private final StoryDataRepository storyDataRepository;
-    private final StoryCreationRepository storyCreationRepository;
+    private final RankingEngine rankingEngine;
 
     /**
      * 유저 랭킹 (업적 포인트 기반)
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getUserRankingByAchievements(int limit) {
-        List<User> allUsers = userRepository.findAll();
+        List<RankingEngine.UserScore> scores = rankingEngine.topUsers(limit);
+        Map<Long, User> usersById = userRepository.findAllById(
+                        scores.stream().map(RankingEngine.UserScore::userId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
 
-        return allUsers.stream()
-                .map(user -> {
-                    List<UserAchievement> achievements = userAchievementRepository.findByUserAndIsUnlocked(user, true);
-                    int totalPoints = achievements.stream()
-                            .mapToInt(ua -> ua.getAchievement().getPoints())
-                            .sum();
+        List<Map<String, Object>> ranking = new ArrayList<>();
+        for (RankingEngine.UserScore score : scores) {
+            User user = usersById.get(score.userId());
+            if (user != null) {
+                ranking.add(toUserRanking(user, (int) score.totalPoints(), score.achievementCount()));
+            }
+        }
 
-                    Map<String, Object> userRanking = new HashMap<>();
-                    userRanking.put("userId", user.getId());
-                    userRanking.put("username", user.getUsername());
-                    userRanking.put("nickname", user.getNickname() != null ? user.getNickname() : user.getUsername());
-                    userRanking.put("profileImageUrl", user.getProfileImageUrl() != null ? user.getProfileImageUrl() : "");
-                    userRanking.put("totalPoints", totalPoints);
-                    userRanking.put("achievementCount", achievements.size());
-                    return userRanking;
-                })
-                .sorted((a, b) -> Integer.compare((Integer) b.get("totalPoints"), (Integer) a.get("totalPoints")))
-                .limit(limit)
-                .collect(Collectors.toList());
+        // 업적을 달성한 유저가 limit보다 적으면 0점 유저로 채움
+        if (ranking.size() < limit) {
+            for (User user : userRepository.findAll(PageRequest.of(0, limit + usersById.size(), Sort.by("id")))) {
+                if (ranking.size() >= limit) {
+                    break;
+                }
+                if (!usersById.containsKey(user.getId())) {
+                    ranking.add(toUserRanking(user, 0, 0));
+                }
+            }
+        }
+        return ranking;
     }
 
     /**
@@ -59,59 +69,72 @@ public class RankingService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getPopularCreatorsRanking(int limit) {
-        List<User> allUsers = userRepository.findAll();
-
-        return allUsers.stream()
-                .map(user -> {
-                    List<StoryCreation> storyCreations = storyCreationRepository.findByUserOrderByCreatedAtDesc(user);
-
-                    long totalViews = 0L;
-                    long totalLikes = 0L;
-                    int storyCount = 0;
+        List<RankingEngine.CreatorScore> scores = rankingEngine.topCreators(limit);
+        Map<Long, User> usersById = userRepository.findAllById(
+                        scores.stream().map(RankingEngine.CreatorScore::creatorId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
 
-                    for (StoryCreation storyCreation : storyCreations) {
-                        if (storyCreation.getStoryDataId() != null) {
-                            Optional<StoryData> storyDataOpt = storyDataRepository.findById(storyCreation.getStoryDataId());
-                            if (storyDataOpt.isPresent()) {
-                                StoryData storyData = storyDataOpt.get();
-                                totalViews += storyData.getViewCount() != null ? storyData.getViewCount() : 0L;
-                                totalLikes += storyData.getLikesCount() != null ? storyData.getLikesCount() : 0L;
-                                storyCount++;
-                            }
-                        }
-                    }
-
-                    long popularityScore = totalViews + (totalLikes * 2); // 좋아요에 가중치
-
-                    Map<String, Object> creatorRanking = new HashMap<>();
-                    creatorRanking.put("userId", user.getId());
-                    creatorRanking.put("username", user.getUsername());
-                    creatorRanking.put("nickname", user.getNickname() != null ? user.getNickname() : user.getUsername());
-                    creatorRanking.put("profileImageUrl", user.getProfileImageUrl() != null ? user.getProfileImageUrl() : "");
-                    creatorRanking.put("storyCount", storyCount);
-                    creatorRanking.put("totalViews", totalViews);
-                    creatorRanking.put("totalLikes", totalLikes);
-                    creatorRanking.put("popularityScore", popularityScore);
-                    return creatorRanking;
-                })
-                .filter(map -> (int) map.get("storyCount") > 0) // 스토리가 있는 작가만
-                .sorted((a, b) -> Long.compare((Long) b.get("popularityScore"), (Long) a.get("popularityScore")))
-                .limit(limit)
-                .collect(Collectors.toList());
+        List<Map<String, Object>> ranking = new ArrayList<>();
+        for (RankingEngine.CreatorScore score : scores) {
+            User user = usersById.get(score.creatorId());
+            if (user == null) {
+                continue;
+            }
+            Map<String, Object> creatorRanking = new HashMap<>();
+            creatorRanking.put("userId", user.getId());
+            creatorRanking.put("username", user.getUsername());
+            creatorRanking.put("nickname", user.getNickname() != null ? user.getNickname() : user.getUsername());
+            creatorRanking.put("profileImageUrl", user.getProfileImageUrl() != null ? user.getProfileImageUrl() : "");
+            creatorRanking.put("storyCount", score.storyCount());
+            creatorRanking.put("totalViews", score.totalViews());
+            creatorRanking.put("totalLikes", score.totalLikes());
+            creatorRanking.put("popularityScore", score.popularityScore());
+            ranking.add(creatorRanking);
+        }
+        return ranking;
     }
 
     /**
-     * 이번 주 인기 스토리 (최근 7일 기준)
+     * 이번 주 인기 스토리 (최근 7일 조회수 + 좋아요 기준)
      */
     @Transactional(readOnly = true)
     public List<StoryData> getWeeklyPopularStories(int limit) {
-        // 간단하게 조회수 기준 (실제로는 날짜 필터링 필요)
-        return storyDataRepository.findAll().stream()
-                .sorted((a, b) -> Long.compare(
-                        b.getViewCount() != null ? b.getViewCount() : 0L,
-                        a.getViewCount() != null ? a.getViewCount() : 0L
-                ))
-                .limit(limit)
+        List<Long> ids = rankingEngine.topWeeklyStories(limit).stream()
+                .map(Leaderboard.Entry::id)
                 .collect(Collectors.toList());
+        Map<Long, StoryData> storiesById = storyDataRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(StoryData::getId, Function.identity()));
+
+        List<StoryData> stories = ids.stream()
+                .map(storiesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        // 이번 주 활동이 있는 스토리가 limit보다 적으면 전체 조회수 순으로 채움
+        if (stories.size() < limit) {
+            Set<Long> rankedIds = new HashSet<>(ids);
+            for (StoryData storyData : storyDataRepository.findAllByOrderByViewCountDesc(
+                    PageRequest.of(0, limit + rankedIds.size()))) {
+                if (stories.size() >= limit) {
+                    break;
+                }
+                if (!rankedIds.contains(storyData.getId())) {
+                    stories.add(storyData);
+                }
+            }
+        }
+        return stories;
+    }
+
+    private Map<String, Object> toUserRanking(User user, int totalPoints, int achievementCount) {
+        Map<String, Object> userRanking = new HashMap<>();
+        userRanking.put("userId", user.getId());
+        userRanking.put("username", user.getUsername());
+        userRanking.put("nickname", user.getNickname() != null ? user.getNickname() : user.getUsername());
+        userRanking.put("profileImageUrl", user.getProfileImageUrl() != null ? user.getProfileImageUrl() : "");
+        userRanking.put("totalPoints", totalPoints);
+        userRanking.put("achievementCount", achievementCount);
+        return userRanking;
     }
 }
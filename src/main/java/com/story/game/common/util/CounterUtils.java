@@ -0,0 +1,50 @@
+package com.story.game.common.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메모리 증감분 버퍼(LongAdder)용 유틸리티 클래스
+ */
+@UtilityClass
+public class CounterUtils {
+
+    /**
+     * 현재 값을 읽고 읽은 값만큼만 차감
+     * sumThenReset은 sum과 reset 사이에 들어온 동시 증가분을 잃을 수 있으므로 사용하지 않는다.
+     * @param adder 증감분
+     * @return 꺼낸 값 (저장 실패 시 add로 되돌린다)
+     */
+    public static long drain(LongAdder adder) {
+        long value = adder.sum();
+        if (value != 0) {
+            adder.add(-value);
+        }
+        return value;
+    }
+
+    /**
+     * 키별 증감분을 꺼내고, 더 이상 증가하지 않을 키(지난 시간 구간 등)는 맵에서 제거
+     * 제거 후에 읽으므로, 제거 직전에 더해진 값도 이번에 함께 꺼낸다.
+     * @param pending 키 -> 증감분
+     * @param stale 맵에서 제거할지 여부
+     * @return 꺼낸 값
+     */
+    public static <K> long drain(ConcurrentMap<K, LongAdder> pending, K key, LongAdder adder, boolean stale) {
+        if (stale) {
+            pending.remove(key, adder);
+        }
+        return drain(adder);
+    }
+
+    /**
+     * 키별 증감분에 더함 (기록 및 저장 실패 시 되돌리기)
+     * @param pending 키 -> 증감분
+     * @param delta 더할 값
+     */
+    public static <K> void add(ConcurrentMap<K, LongAdder> pending, K key, long delta) {
+        pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+}
@@ -2,9 +2,13 @@ package com.story.game.community.repository;
 
 import com.story.game.community.entity.Like;
 import com.story.game.auth.entity.User;
+import com.story.game.common.repository.StoryActivityView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,13 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsByUserAndTargetTypeAndTargetId(User user, Like.TargetType targetType, Long targetId);
     void deleteByUserAndTargetTypeAndTargetId(User user, Like.TargetType targetType, Long targetId);
     List<Like> findByUserAndTargetType(User user, Like.TargetType targetType);
+
+    // 랭킹 집계: 최근 스토리 좋아요 수 (스토리별, 시간 구간별)
+    @Query(value = "SELECT target_id AS storyDataId, " +
+                   "TIMESTAMPDIFF(MINUTE, created_at, :now) DIV :bucketMinutes AS ageBuckets, COUNT(*) AS total " +
+                   "FROM likes WHERE target_type = 'STORY' AND created_at > :since AND created_at <= :now " +
+                   "GROUP BY target_id, ageBuckets", nativeQuery = true)
+    List<StoryActivityView> countStoryLikesByBucket(@Param("since") LocalDateTime since,
+                                                    @Param("now") LocalDateTime now,
+                                                    @Param("bucketMinutes") int bucketMinutes);
 }
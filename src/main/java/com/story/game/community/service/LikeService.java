@@ -2,7 +2,9 @@ package com.story.game.community.service;
 
 import com.story.game.auth.entity.User;
 import com.story.game.auth.repository.UserRepository;
+import com.story.game.common.counter.StoryCounterBuffer;
 import com.story.game.common.entity.StoryData;
+import com.story.game.common.ranking.RankingEngine;
 import com.story.game.common.repository.StoryDataRepository;
 import com.story.game.community.entity.Like;
 import com.story.game.community.repository.LikeRepository;
@@ -22,6 +24,8 @@ public class LikeService {
     private final LikeRepository likeRepository;
     private final StoryDataRepository storyDataRepository;
     private final UserRepository userRepository;
+    private final RankingEngine rankingEngine;
+    private final StoryCounterBuffer storyCounterBuffer;
 
     /**
      * 스토리 좋아요 토글 (추가/취소)
@@ -31,8 +35,9 @@ public class LikeService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
 
-        StoryData storyData = storyDataRepository.findById(storyDataId)
-                .orElseThrow(() -> new IllegalArgumentException("Story not found: " + storyDataId));
+        if (!storyDataRepository.existsById(storyDataId)) {
+            throw new IllegalArgumentException("Story not found: " + storyDataId);
+        }
 
         boolean exists = likeRepository.existsByUserAndTargetTypeAndTargetId(
                 user, Like.TargetType.STORY, storyDataId);
@@ -41,10 +46,9 @@ public class LikeService {
             // 좋아요 취소
             likeRepository.deleteByUserAndTargetTypeAndTargetId(
                     user, Like.TargetType.STORY, storyDataId);
-            storyData.decrementLikesCount();
-            storyDataRepository.save(storyData);
-            log.info("Story like removed: storyDataId={}, userId={}, likesCount={}",
-                    storyDataId, user.getId(), storyData.getLikesCount());
+            storyCounterBuffer.recordLike(storyDataId, false);
+            rankingEngine.onStoryLiked(storyDataId, false);
+            log.info("Story like removed: storyDataId={}, userId={}", storyDataId, user.getId());
             return false;
         } else {
             // 좋아요 추가
@@ -54,10 +58,9 @@ public class LikeService {
                     .targetId(storyDataId)
                     .build();
             likeRepository.save(like);
-            storyData.incrementLikesCount();
-            storyDataRepository.save(storyData);
-            log.info("Story like added: storyDataId={}, userId={}, likesCount={}",
-                    storyDataId, user.getId(), storyData.getLikesCount());
+            storyCounterBuffer.recordLike(storyDataId, true);
+            rankingEngine.onStoryLiked(storyDataId, true);
+            log.info("Story like added: storyDataId={}, userId={}", storyDataId, user.getId());
             return true;
         }
     }
@@ -0,0 +1,84 @@
+package com.story.game.creation.context;
+
+import com.story.game.common.dto.CharacterDto;
+import com.story.game.common.dto.FinalEndingDto;
+import com.story.game.common.dto.GaugeDto;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * StoryCreation의 JSON 컬럼을 한 번만 파싱해 둔 읽기 전용 스냅샷
+ *
+ * - gaugesJson / selectedGaugeIdsJson -> 게이지 정의, 선택된 게이지 ID
+ * - charactersJson / selectedCharactersForChatJson -> 캐릭터, 챗봇용으로 선택된 캐릭터 이름
+ * - endingConfigJson -> 최종 엔딩 목록 (ID 색인 포함)
+ *
+ * version은 StoryCreation.updatedAt이며, 값이 바뀌면 StoryContextCache가 다시 파싱한다.
+ * 여러 요청이 같은 인스턴스를 공유하므로 반환된 리스트와 DTO를 수정하면 안 된다.
+ */
+@Getter
+public final class StoryContext {
+
+    public static final String GAUGES = "gaugesJson";
+    public static final String SELECTED_GAUGE_IDS = "selectedGaugeIdsJson";
+    public static final String CHARACTERS = "charactersJson";
+    public static final String SELECTED_CHARACTERS = "selectedCharactersForChatJson";
+    public static final String FINAL_ENDINGS = "endingConfigJson";
+
+    private final String storyCreationId;
+    private final LocalDateTime version;
+    private final List<GaugeDto> gauges;
+    private final List<String> selectedGaugeIds;
+    // 선택된 게이지만 (선택이 없으면 전체 게이지)
+    private final List<GaugeDto> filteredGauges;
+    private final List<CharacterDto> characters;
+    // selectedCharactersForChatJson이 비어 있으면 null
+    private final List<String> selectedCharacterNames;
+    // endingConfigJson이 없으면 null
+    private final List<FinalEndingDto> finalEndings;
+    private final Set<String> parseErrors;
+
+    private final Map<String, FinalEndingDto> finalEndingsById;
+
+    StoryContext(String storyCreationId, LocalDateTime version,
+                 List<GaugeDto> gauges, List<String> selectedGaugeIds,
+                 List<CharacterDto> characters, List<String> selectedCharacterNames,
+                 List<FinalEndingDto> finalEndings, Set<String> parseErrors) {
+        this.storyCreationId = storyCreationId;
+        this.version = version;
+        this.gauges = Collections.unmodifiableList(gauges);
+        this.selectedGaugeIds = Collections.unmodifiableList(selectedGaugeIds);
+        this.filteredGauges = selectedGaugeIds.isEmpty()
+                ? this.gauges
+                : gauges.stream().filter(g -> selectedGaugeIds.contains(g.getId())).toList();
+        this.characters = Collections.unmodifiableList(characters);
+        this.selectedCharacterNames = selectedCharacterNames != null
+                ? Collections.unmodifiableList(selectedCharacterNames) : null;
+        this.finalEndings = finalEndings != null ? Collections.unmodifiableList(finalEndings) : null;
+        this.parseErrors = Collections.unmodifiableSet(parseErrors);
+
+        Map<String, FinalEndingDto> byId = new LinkedHashMap<>();
+        if (finalEndings != null) {
+            for (FinalEndingDto ending : finalEndings) {
+                if (ending.getId() != null) {
+                    byId.putIfAbsent(ending.getId(), ending);
+                }
+            }
+        }
+        this.finalEndingsById = Collections.unmodifiableMap(byId);
+    }
+
+    public FinalEndingDto findFinalEnding(String endingId) {
+        return endingId != null ? finalEndingsById.get(endingId) : null;
+    }
+
+    public boolean hasParseError(String field) {
+        return parseErrors.contains(field);
+    }
+}
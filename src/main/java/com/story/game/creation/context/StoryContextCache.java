@@ -0,0 +1,181 @@
+package com.story.game.creation.context;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.common.dto.CharacterDto;
+import com.story.game.common.dto.FinalEndingDto;
+import com.story.game.common.dto.GaugeDto;
+import com.story.game.common.util.TransactionUtils;
+import com.story.game.creation.entity.StoryCreation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StoryContext 캐시
+ *
+ * 게임 상태 응답마다 StoryCreation의 게이지/캐릭터/엔딩 JSON을 다시 파싱하지 않도록
+ * storyCreationId별로 파싱 결과를 보관한다. 항목은 StoryCreation.updatedAt을 버전으로 가지며,
+ * 요청에 들어온 엔티티의 updatedAt과 다르면 새로 파싱해 교체한다.
+ * updated_at은 초 단위이므로 같은 초에 커밋된 변경은 버전으로 구분되지 않아, JSON 컬럼을 바꾸는 쪽에서 invalidate를 호출한다.
+ */
+@Component
+@Slf4j
+public class StoryContextCache {
+
+    private static final TypeReference<List<GaugeDto>> GAUGE_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<CharacterDto>> CHARACTER_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<FinalEndingDto>> FINAL_ENDING_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final int maxStories;
+
+    // Cache: storyCreationId -> context
+    private final ConcurrentHashMap<String, CachedContext> contexts = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public StoryContextCache(ObjectMapper objectMapper,
+                             @Value("${game.story-context.max-stories:1000}") int maxStories) {
+        this.objectMapper = objectMapper;
+        this.maxStories = maxStories;
+    }
+
+    /**
+     * 파싱된 StoryContext 조회 (없거나 버전이 다르면 새로 파싱)
+     */
+    public StoryContext get(StoryCreation storyCreation) {
+        String id = storyCreation.getId();
+        LocalDateTime version = storyCreation.getUpdatedAt();
+
+        CachedContext cached = contexts.get(id);
+        if (cached != null && Objects.equals(cached.context.getVersion(), version)) {
+            hits.incrementAndGet();
+            cached.lastAccess = System.nanoTime();
+            return cached.context;
+        }
+
+        if (cached != null) {
+            reloads.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        StoryContext context = parse(storyCreation);
+        // 동시에 더 최신 버전이 들어왔을 수 있으므로 오래된 버전으로 덮어쓰지 않음
+        contexts.merge(id, new CachedContext(context), (existing, fresh) ->
+                isNewer(existing.context.getVersion(), fresh.context.getVersion()) ? existing : fresh);
+        evictIfNeeded();
+        return context;
+    }
+
+    /**
+     * 캐시된 StoryContext 무효화
+     * 트랜잭션 안에서 호출되면 커밋 이후에 제거하여, 커밋 전 데이터로 다시 파싱되는 것을 막는다.
+     */
+    public void invalidate(String storyCreationId) {
+        if (storyCreationId == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> contexts.remove(storyCreationId));
+    }
+
+    /**
+     * Get cache statistics
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get() + reloads.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", contexts.size());
+        stats.put("maxSize", maxStories);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("reloads", reloads.get());
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private StoryContext parse(StoryCreation storyCreation) {
+        Set<String> errors = new HashSet<>();
+
+        List<GaugeDto> gauges = read(storyCreation, StoryContext.GAUGES, storyCreation.getGaugesJson(), GAUGE_LIST, errors);
+        List<String> selectedGaugeIds = read(storyCreation, StoryContext.SELECTED_GAUGE_IDS,
+                storyCreation.getSelectedGaugeIdsJson(), STRING_LIST, errors);
+        List<CharacterDto> characters = read(storyCreation, StoryContext.CHARACTERS,
+                storyCreation.getCharactersJson(), CHARACTER_LIST, errors);
+        List<String> selectedCharacters = read(storyCreation, StoryContext.SELECTED_CHARACTERS,
+                storyCreation.getSelectedCharactersForChatJson(), STRING_LIST, errors);
+        List<FinalEndingDto> finalEndings = read(storyCreation, StoryContext.FINAL_ENDINGS,
+                storyCreation.getEndingConfigJson(), FINAL_ENDING_LIST, errors);
+
+        return new StoryContext(
+                storyCreation.getId(),
+                storyCreation.getUpdatedAt(),
+                gauges != null ? gauges : new ArrayList<>(),
+                selectedGaugeIds != null ? selectedGaugeIds : new ArrayList<>(),
+                characters != null ? characters : new ArrayList<>(),
+                selectedCharacters,
+                finalEndings,
+                errors
+        );
+    }
+
+    /**
+     * JSON 컬럼 하나를 파싱 (비어 있으면 null, 실패하면 기록 후 null)
+     */
+    private <T> T read(StoryCreation storyCreation, String field, String json, TypeReference<T> type, Set<String> errors) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            errors.add(field);
+            log.error("Failed to parse {} for story {}: {}", field, storyCreation.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isNewer(LocalDateTime a, LocalDateTime b) {
+        return a != null && (b == null || a.isAfter(b));
+    }
+
+    private void evictIfNeeded() {
+        while (contexts.size() > maxStories) {
+            contexts.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(eldest -> {
+                        if (contexts.remove(eldest.getKey(), eldest.getValue())) {
+                            evictions.incrementAndGet();
+                        }
+                    });
+        }
+    }
+
+    private static final class CachedContext {
+        private final StoryContext context;
+        private volatile long lastAccess = System.nanoTime();
+
+        private CachedContext(StoryContext context) {
+            this.context = context;
+        }
+    }
+}
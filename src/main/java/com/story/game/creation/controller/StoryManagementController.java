@@ -1,10 +1,10 @@
 package com.story.game.creation.controller;
 
-import com.story.game.common.dto.EpisodeDto;
 import com.story.game.common.dto.FullStoryDto;
 import com.story.game.common.dto.StoryNodeDto;
 import com.story.game.creation.dto.*;
 import com.story.game.creation.service.SequentialGenerationService;
+import com.story.game.creation.service.StoryAnalyticsService;
 import com.story.game.creation.service.StoryEditingService;
 import com.story.game.creation.service.StoryManagementService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,6 +28,7 @@ public class StoryManagementController {
     private final StoryManagementService storyManagementService;
     private final StoryEditingService storyEditingService;
     private final SequentialGenerationService sequentialGenerationService;
+    private final StoryAnalyticsService storyAnalyticsService;
 
     /**
      * 1. 소설 업로드 및 분석 시작
@@ -192,41 +193,43 @@ public class StoryManagementController {
     }
 
     /**
-     * 7. 스토리 생성 시작 (EP 1) - 동기 방식
+     * 7. 스토리 생성 시작 (EP 1)
      */
     @PostMapping("/{storyId}/generate")
     @Operation(
-            summary = "스토리 생성 시작 (EP 1) - 동기 방식",
-            description = "AI 서버에 에피소드 1 생성을 요청하고, 완료될 때까지 대기한 후 생성된 에피소드 데이터를 반환합니다."
+            summary = "스토리 생성 시작 (EP 1)",
+            description = "에피소드 1 생성 작업을 등록하고 바로 202를 반환합니다. " +
+                    "진행 상황과 생성된 에피소드는 /progress로 조회합니다."
     )
-    public ResponseEntity<EpisodeDto> startGeneration(
+    public ResponseEntity<StoryProgressResponseDto> startGeneration(
             @PathVariable String storyId) {
-        log.info("=== Start Generation Request (EP 1) - Synchronous ===");
+        log.info("=== Start Generation Request (EP 1) ===");
         log.info("StoryId: {}", storyId);
 
-        EpisodeDto response = sequentialGenerationService.startEpisodeGeneration(storyId);
+        sequentialGenerationService.startEpisodeGeneration(storyId);
 
-        log.info("Story generation completed for episode 1. Title: {}", response.getTitle());
-        return ResponseEntity.ok(response);
+        log.info("Episode 1 generation queued for story: {}", storyId);
+        return ResponseEntity.accepted().body(storyManagementService.getProgress(storyId));
     }
 
     /**
-     * 다음 에피소드 생성 시작 - 동기 방식
+     * 다음 에피소드 생성 시작
      */
     @PostMapping("/{storyId}/generate-next-episode")
     @Operation(
-            summary = "다음 에피소드 생성 시작 - 동기 방식",
-            description = "이전 에피소드에 이어 다음 에피소드의 생성을 시작하고, 완료될 때까지 대기한 후 생성된 에피소드 데이터를 반환합니다."
+            summary = "다음 에피소드 생성 시작",
+            description = "이전 에피소드에 이어 다음 에피소드 생성 작업을 등록하고 바로 202를 반환합니다. " +
+                    "진행 상황과 생성된 에피소드는 /progress로 조회합니다."
     )
-    public ResponseEntity<EpisodeDto> generateNextEpisode(
+    public ResponseEntity<StoryProgressResponseDto> generateNextEpisode(
             @PathVariable String storyId) {
-        log.info("=== Generate Next Episode Request - Synchronous ===");
+        log.info("=== Generate Next Episode Request ===");
         log.info("StoryId: {}", storyId);
 
-        EpisodeDto response = sequentialGenerationService.generateNextEpisode(storyId);
+        sequentialGenerationService.generateNextEpisode(storyId);
 
-        log.info("Next episode generation completed. Title: {}", response.getTitle());
-        return ResponseEntity.ok(response);
+        log.info("Next episode generation queued for story: {}", storyId);
+        return ResponseEntity.accepted().body(storyManagementService.getProgress(storyId));
     }
 
     /**
@@ -234,8 +237,9 @@ public class StoryManagementController {
      */
     @GetMapping("/{storyId}/progress")
     @Operation(
-            summary = "분석 진행률 조회",
-            description = "초기 소설 분석 단계의 진행 상태를 조회합니다."
+            summary = "분석/생성 진행률 조회",
+            description = "소설 분석과 에피소드 생성 작업의 진행 상태(작업 상태, 시도 횟수, 마지막 오류)를 조회합니다. " +
+                    "진행 중인 작업이 없으면 지금까지 생성된 에피소드 목록을 함께 반환합니다."
     )
     public ResponseEntity<StoryProgressResponseDto> getAnalysisProgress(
             @PathVariable String storyId) {
@@ -411,4 +415,49 @@ public class StoryManagementController {
         log.info("Thumbnail uploaded successfully for story: {}", storyId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 선택지/엔딩 통계 조회 (제작자 대시보드)
+     */
+    @GetMapping("/{storyId}/analytics")
+    @Operation(
+            summary = "선택지/엔딩 통계 조회",
+            description = "최근 days일(기본 30일, 최대 365일) 동안 노드별 선택지 선택 수와 비율, 엔딩별 도달 수, 날짜별 완주 수를 조회합니다. " +
+                    "플레이 집계는 주기적으로 저장되므로 최근 몇 초간의 선택은 아직 반영되지 않았을 수 있습니다. " +
+                    "본인이 생성한 스토리만 조회할 수 있습니다."
+    )
+    public ResponseEntity<StoryAnalyticsResponseDto> getAnalytics(
+            @PathVariable String storyId,
+            @RequestParam(defaultValue = "30") int days,
+            @org.springframework.security.core.annotation.AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
+        log.info("=== Get Analytics Request ===");
+        log.info("StoryId: {}, Days: {}, User: {}", storyId, days, userDetails != null ? userDetails.getUsername() : "anonymous");
+
+        com.story.game.auth.entity.User user = (com.story.game.auth.entity.User) userDetails;
+        StoryAnalyticsResponseDto response = storyAnalyticsService.getAnalytics(storyId, days, user);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 엔딩 도달 가능성 조회
+     */
+    @GetMapping("/{storyId}/reachability")
+    @Operation(
+            summary = "엔딩 도달 가능성 조회",
+            description = "매 선택지를 균등한 확률로 고른다고 가정하고 최종 엔딩과 에피소드 엔딩별 도달 확률을 계산합니다. " +
+                    "어떤 선택으로도 도달할 수 없는 엔딩은 unreachable 목록으로 반환합니다. " +
+                    "본인이 생성한 스토리만 조회할 수 있습니다."
+    )
+    public ResponseEntity<EndingReachabilityResponseDto> getEndingReachability(
+            @PathVariable String storyId,
+            @org.springframework.security.core.annotation.AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
+        log.info("=== Get Ending Reachability Request ===");
+        log.info("StoryId: {}, User: {}", storyId, userDetails != null ? userDetails.getUsername() : "anonymous");
+
+        com.story.game.auth.entity.User user = (com.story.game.auth.entity.User) userDetails;
+        EndingReachabilityResponseDto response = storyAnalyticsService.getEndingReachability(storyId, user);
+
+        return ResponseEntity.ok(response);
+    }
 }
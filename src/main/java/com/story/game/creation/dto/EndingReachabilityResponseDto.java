@@ -0,0 +1,59 @@
+package com.story.game.creation.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 엔딩 도달 가능성 시뮬레이션 결과
+ * 확률은 매 선택지를 균등한 확률로 고른다고 가정한 값이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EndingReachabilityResponseDto {
+
+    private String storyId;
+    // EXACT: 게이지 상태를 모두 펼쳐 계산, MONTE_CARLO: 무작위 플레이 표본 (도달 불가는 "관측되지 않음"을 뜻함)
+    private String mode;
+    private long playthroughs;
+    private long elapsedMillis;
+    // 에피소드 경로 수가 상한을 넘어 일부 경로만 계산했는지
+    private boolean truncated;
+
+    private List<FinalEndingStats> finalEndings;
+    private List<String> unreachableFinalEndings;
+    private List<EpisodeEndingStats> episodeEndings;
+    private List<String> unreachableEpisodeEndings;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FinalEndingStats {
+        private String endingId;
+        private String title;
+        private String condition;
+        private double probability;
+        private boolean reachable;
+        // 조건식 컴파일 오류 (게임에서는 항상 불일치로 처리됨)
+        private String conditionError;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EpisodeEndingStats {
+        private int episodeOrder;
+        private String episodeTitle;
+        private String endingId;
+        private String title;
+        // 에피소드에 도달할 확률
+        private double episodeReachProbability;
+        // 에피소드에 도달했을 때 이 엔딩으로 끝날 확률
+        private double probability;
+        private boolean reachable;
+    }
+}
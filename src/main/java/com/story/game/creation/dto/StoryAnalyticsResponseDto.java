@@ -0,0 +1,73 @@
+package com.story.game.creation.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 제작자 대시보드용 선택지/엔딩 통계 (choice_pick_rollups, ending_reach_rollups 집계)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoryAnalyticsResponseDto {
+
+    private String storyId;
+    private LocalDateTime from;
+    private int days;
+    private long totalPicks;
+    private long totalCompletions;
+
+    // 선택이 많은 노드 순
+    private List<NodeStats> nodes;
+    private List<EndingStats> endings;
+    // 날짜별 최종 엔딩 도달 수 (완주 수)
+    private List<DailyCount> completionsByDay;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class NodeStats {
+        private String nodeId;
+        private String episodeTitle;
+        private String nodeText;
+        private long picks;
+        private List<ChoiceStats> choices;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChoiceStats {
+        private int choiceOrder;
+        private String text;
+        private long picks;
+        // 노드 안에서 이 선택지를 고른 비율 (0~1)
+        private double pickRate;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EndingStats {
+        private String type;  // EPISODE, FINAL
+        private String endingId;
+        private String title;
+        private long reaches;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DailyCount {
+        private LocalDate date;
+        private long count;
+    }
+}
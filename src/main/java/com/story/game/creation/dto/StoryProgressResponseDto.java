@@ -4,6 +4,7 @@ import com.story.game.common.dto.EpisodeDto;
 import com.story.game.creation.entity.StoryCreation;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -15,7 +16,9 @@ public class StoryProgressResponseDto {
     private String storyId;
     private StoryCreation.CreationStatus status;
     private ProgressData progress;
-    private List<EpisodeDto> episodes;  // 생성된 에피소드 목록
+    private JobData job;  // 가장 최근 분석/생성 작업
+    private List<StageData> stages;  // 파이프라인 단계별 지표 (ANALYSIS, TEXT, IMAGES)
+    private List<EpisodeDto> episodes;  // 생성된 에피소드 목록 (진행 중인 작업이 없을 때만 포함)
 
     @Data
     @NoArgsConstructor
@@ -29,4 +32,38 @@ public class StoryProgressResponseDto {
         private String message;
         private String error;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class JobData {
+        private Long jobId;
+        private String type;        // ANALYZE_NOVEL, ANALYZE_NOVEL_S3, GENERATE_EPISODE
+        private String status;      // QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+        private Integer attempts;
+        private Integer maxAttempts;
+        private LocalDateTime queuedAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime heartbeatAt;
+        private LocalDateTime nextAttemptAt;  // 재시도 대기 중일 때 다음 시도 시각
+        private LocalDateTime finishedAt;
+        private String lastError;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StageData {
+        private String stage;          // ANALYSIS, TEXT, IMAGES
+        private Long queued;           // 대기 중 작업 수
+        private Long running;
+        private Long succeeded;
+        private Long failed;
+        private Long busySeconds;      // 작업 실행에 쓴 시간 합계
+        private Long completedItems;   // TEXT: 완료 에피소드, IMAGES: 이미지가 만들어진 노드
+        private Long pendingItems;     // IMAGES: 이미지를 기다리는 노드
+        private Double itemsPerMinute; // completedItems / 실행 시간
+    }
 }
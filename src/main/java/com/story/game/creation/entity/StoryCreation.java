@@ -32,9 +32,6 @@ public class StoryCreation {
     @Column(length = 100)
     private String genre;
 
-    @Column(columnDefinition = "LONGTEXT")
-    private String novelText;
-
     @Column(name = "s3_file_key", length = 500)
     private String s3FileKey;  // S3에 저장된 소설 파일의 키 (선택사항)
 
@@ -49,14 +46,12 @@ public class StoryCreation {
     @Builder.Default
     private CreationStatus status = CreationStatus.ANALYZING;
 
-    // Analysis results
-    @Column(columnDefinition = "TEXT")
-    private String summary;
-
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "characters_json", columnDefinition = "TEXT")
-    private String charactersJson;
+    // 원문 소설/요약/캐릭터 JSON (지연 로딩, 게임 플레이 조회에서는 읽지 않음)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "content_id", unique = true)
+    private StoryCreationContent content;
 
+    // Analysis results
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "gauges_json", columnDefinition = "TEXT")
     private String gaugesJson;
@@ -124,6 +119,75 @@ public class StoryCreation {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // 본문 필드는 StoryCreationContent에 위임 (호출 시점에 지연 로딩)
+
+    public String getNovelText() {
+        return content != null ? content.getNovelText() : null;
+    }
+
+    public void setNovelText(String novelText) {
+        ensureContent().setNovelText(novelText);
+        touch();
+    }
+
+    public String getSummary() {
+        return content != null ? content.getSummary() : null;
+    }
+
+    public void setSummary(String summary) {
+        ensureContent().setSummary(summary);
+        touch();
+    }
+
+    public String getCharactersJson() {
+        return content != null ? content.getCharactersJson() : null;
+    }
+
+    public void setCharactersJson(String charactersJson) {
+        ensureContent().setCharactersJson(charactersJson);
+        touch();
+    }
+
+    private StoryCreationContent ensureContent() {
+        if (content == null) {
+            content = new StoryCreationContent();
+        }
+        return content;
+    }
+
+    /**
+     * 본문만 바뀌면 story_creation 행이 dirty가 아니어서 @PreUpdate가 호출되지 않으므로
+     * updatedAt을 직접 갱신한다 (StoryContextCache 등이 버전으로 사용)
+     */
+    private void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public static class StoryCreationBuilder {
+
+        public StoryCreationBuilder novelText(String novelText) {
+            builderContent().setNovelText(novelText);
+            return this;
+        }
+
+        public StoryCreationBuilder summary(String summary) {
+            builderContent().setSummary(summary);
+            return this;
+        }
+
+        public StoryCreationBuilder charactersJson(String charactersJson) {
+            builderContent().setCharactersJson(charactersJson);
+            return this;
+        }
+
+        private StoryCreationContent builderContent() {
+            if (this.content == null) {
+                this.content = new StoryCreationContent();
+            }
+            return this.content;
+        }
+    }
+
     public enum CreationStatus {
         ANALYZING,           // 소설 분석 중
         SUMMARY_READY,       // 요약 완료
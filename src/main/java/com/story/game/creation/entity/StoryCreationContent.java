@@ -0,0 +1,36 @@
+package com.story.game.creation.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * StoryCreation의 대용량 본문 (원문 소설, 요약, 캐릭터 JSON)
+ *
+ * 게임 플레이 중 자주 조회되는 story_creation 행을 좁게 유지하기 위해 별도 테이블로 분리한다.
+ * StoryCreation에서 지연 로딩되므로 생성/분석 파이프라인처럼 실제로 필요한 곳에서만 읽힌다.
+ */
+@Entity
+@Table(name = "story_creation_content")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoryCreationContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "novel_text", columnDefinition = "LONGTEXT")
+    private String novelText;
+
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "characters_json", columnDefinition = "TEXT")
+    private String charactersJson;
+}
@@ -0,0 +1,43 @@
+package com.story.game.creation.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.creation.service.SequentialGenerationService;
+import com.story.game.creation.service.StoryManagementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 에피소드 생성 작업 (payload의 episodeOrder 번째 에피소드 하나)
+ */
+@Component
+@RequiredArgsConstructor
+public class EpisodeGenerationJobHandler implements StoryJobHandler {
+
+    private final SequentialGenerationService sequentialGenerationService;
+    private final StoryManagementService storyManagementService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Set<StoryJob.Type> types() {
+        return EnumSet.of(StoryJob.Type.GENERATE_EPISODE);
+    }
+
+    @Override
+    public void handle(StoryJob job) throws Exception {
+        int episodeOrder = objectMapper.readTree(job.getPayload()).path(StoryJob.EPISODE_ORDER).asInt(0);
+        if (episodeOrder < 1) {
+            throw new IllegalArgumentException("Invalid episode order in job payload: " + job.getPayload());
+        }
+        sequentialGenerationService.runEpisodeGeneration(job.getStoryCreationId(), episodeOrder);
+    }
+
+    @Override
+    public void onFailure(StoryJob job, String error) {
+        storyManagementService.updateStoryStatus(job.getStoryCreationId(), StoryCreation.CreationStatus.FAILED,
+                "Episode generation failed: " + error);
+    }
+}
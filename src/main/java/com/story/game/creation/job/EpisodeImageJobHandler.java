@@ -0,0 +1,59 @@
+package com.story.game.creation.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.creation.service.SequentialGenerationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 에피소드 노드 이미지 생성 작업 (파이프라인의 이미지 단계)
+ *
+ * 에피소드 텍스트가 저장되면 등록되고, 그동안 텍스트 단계는 다음 에피소드 생성을 진행할 수 있다.
+ * 동시 실행 수를 제한해 이미지 작업이 워커 슬롯을 모두 차지하지 않게 한다.
+ */
+@Slf4j
+@Component
+public class EpisodeImageJobHandler implements StoryJobHandler {
+
+    private final SequentialGenerationService sequentialGenerationService;
+    private final ObjectMapper objectMapper;
+    private final int concurrency;
+
+    public EpisodeImageJobHandler(
+            SequentialGenerationService sequentialGenerationService,
+            ObjectMapper objectMapper,
+            @Value("${game.story-jobs.image-stage-concurrency:2}") int concurrency) {
+        this.sequentialGenerationService = sequentialGenerationService;
+        this.objectMapper = objectMapper;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    @Override
+    public Set<StoryJob.Type> types() {
+        return EnumSet.of(StoryJob.Type.GENERATE_IMAGES);
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void handle(StoryJob job) throws Exception {
+        int episodeOrder = objectMapper.readTree(job.getPayload()).path(StoryJob.EPISODE_ORDER).asInt(0);
+        if (episodeOrder < 1) {
+            throw new IllegalArgumentException("Invalid episode order in job payload: " + job.getPayload());
+        }
+        sequentialGenerationService.runEpisodeImages(job.getStoryCreationId(), episodeOrder);
+    }
+
+    @Override
+    public void onFailure(StoryJob job, String error) {
+        // 이미지는 없어도 플레이할 수 있으므로 스토리 상태는 바꾸지 않음
+        log.warn("Image generation gave up for story {} (job {}): {}", job.getStoryCreationId(), job.getId(), error);
+    }
+}
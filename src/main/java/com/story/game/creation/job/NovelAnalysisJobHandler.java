@@ -0,0 +1,39 @@
+package com.story.game.creation.job;
+
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.creation.service.StoryManagementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 소설 분석 작업 (업로드 텍스트 / S3 파일)
+ */
+@Component
+@RequiredArgsConstructor
+public class NovelAnalysisJobHandler implements StoryJobHandler {
+
+    private final StoryManagementService storyManagementService;
+
+    @Override
+    public Set<StoryJob.Type> types() {
+        return EnumSet.of(StoryJob.Type.ANALYZE_NOVEL, StoryJob.Type.ANALYZE_NOVEL_S3);
+    }
+
+    @Override
+    public void handle(StoryJob job) throws Exception {
+        if (job.getType() == StoryJob.Type.ANALYZE_NOVEL_S3) {
+            storyManagementService.runNovelAnalysisFromS3(job.getStoryCreationId());
+        } else {
+            storyManagementService.runNovelAnalysis(job.getStoryCreationId());
+        }
+    }
+
+    @Override
+    public void onFailure(StoryJob job, String error) {
+        storyManagementService.updateStoryStatus(job.getStoryCreationId(), StoryCreation.CreationStatus.FAILED,
+                "Analysis failed: " + error);
+    }
+}
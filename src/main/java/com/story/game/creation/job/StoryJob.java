@@ -0,0 +1,61 @@
+package com.story.game.creation.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * story_jobs 테이블의 한 행 (소설 분석 / 에피소드 생성 백그라운드 작업)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class StoryJob {
+
+    // GENERATE_EPISODE / GENERATE_IMAGES payload 키
+    public static final String EPISODE_ORDER = "episodeOrder";
+
+    public enum Type {
+        ANALYZE_NOVEL,       // 업로드한 소설 텍스트 분석
+        ANALYZE_NOVEL_S3,    // S3에 올린 소설 파일 분석
+        GENERATE_EPISODE,    // 에피소드 하나 생성 (payload: episodeOrder)
+        GENERATE_IMAGES;     // 생성된 에피소드의 노드 이미지 생성 (payload: episodeOrder)
+
+        /**
+         * 생성 파이프라인 단계 (진행률의 단계별 지표 집계 단위)
+         */
+        public String stage() {
+            return switch (this) {
+                case GENERATE_EPISODE -> "TEXT";
+                case GENERATE_IMAGES -> "IMAGES";
+                default -> "ANALYSIS";
+            };
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isActive() {
+            return this == QUEUED || this == RUNNING;
+        }
+    }
+
+    private final long id;
+    private final String storyCreationId;
+    private final Type type;
+    private final String payload;
+    private final Status status;
+    private final int attempts;
+    private final int maxAttempts;
+    private final String leaseOwner;
+    private final LocalDateTime leaseUntil;
+    private final LocalDateTime heartbeatAt;
+    private final LocalDateTime availableAt;
+    private final String lastError;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+}
@@ -0,0 +1,29 @@
+package com.story.game.creation.job;
+
+import java.util.Set;
+
+/**
+ * 작업 종류별 실행기 (StoryJobWorker가 Spring 빈 목록으로 주입받아 types()로 찾음)
+ *
+ * handle()은 같은 작업이 다시 실행될 수 있다고 가정해야 한다 (재시도, lease 만료 후 다른 서버에서 재개).
+ * 이미 끝난 단계는 건너뛰도록 작성한다.
+ */
+public interface StoryJobHandler {
+
+    Set<StoryJob.Type> types();
+
+    void handle(StoryJob job) throws Exception;
+
+    /**
+     * 서버당 이 실행기의 작업을 동시에 몇 개까지 실행할지 (나머지 워커 슬롯은 다른 단계가 사용)
+     */
+    default int maxConcurrency() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 재시도 불가 오류이거나 max-attempts를 모두 소진해 작업이 FAILED로 끝났을 때 호출
+     */
+    default void onFailure(StoryJob job, String error) {
+    }
+}
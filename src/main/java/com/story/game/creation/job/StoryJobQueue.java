@@ -0,0 +1,259 @@
+package com.story.game.creation.job;
+
+import com.story.game.common.exception.InvalidStateException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * story_jobs 테이블 접근 (작업 등록 / lease 기반 가져가기 / 완료 처리)
+ *
+ * 시간 비교는 모두 DB의 NOW()로 하여 서버 간 시계 차이가 lease 판정에 영향을 주지 않게 한다.
+ * 상태 변경은 lease_owner 조건을 붙여, lease를 잃은 워커가 다른 워커의 작업 결과를 덮어쓰지 않게 한다.
+ * enqueue()는 호출한 쪽의 트랜잭션에 참여하므로 스토리 상태 변경과 함께 커밋/롤백된다.
+ */
+@Component
+@Slf4j
+public class StoryJobQueue {
+
+    private static final String CLAIMABLE = "((status = 'QUEUED' AND available_at <= NOW()) " +
+            "OR (status = 'RUNNING' AND lease_until < NOW()))";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO story_jobs (story_creation_id, job_type, payload, status, active_key, attempts, max_attempts, " +
+            "available_at, created_at) VALUES (?, ?, ?, 'QUEUED', ?, 0, ?, NOW(), NOW())";
+
+    private static final String SELECT_CLAIMABLE_SQL =
+            "SELECT id, job_type, status FROM story_jobs WHERE job_type IN (%s) AND " + CLAIMABLE + " ORDER BY available_at, id LIMIT ?";
+
+    private static final String CLAIM_SQL =
+            "UPDATE story_jobs SET status = 'RUNNING', attempts = attempts + 1, lease_owner = ?, " +
+            "lease_until = DATE_ADD(NOW(), INTERVAL ? SECOND), heartbeat_at = NOW(), started_at = COALESCE(started_at, NOW()) " +
+            "WHERE id = ? AND " + CLAIMABLE;
+
+    private static final String HEARTBEAT_SQL =
+            "UPDATE story_jobs SET lease_until = DATE_ADD(NOW(), INTERVAL ? SECOND), heartbeat_at = NOW() " +
+            "WHERE id IN (%s) AND status = 'RUNNING' AND lease_owner = ?";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE story_jobs SET status = 'SUCCEEDED', active_key = NULL, lease_owner = NULL, lease_until = NULL, " +
+            "last_error = NULL, finished_at = NOW() WHERE id = ? AND status = 'RUNNING' AND lease_owner = ?";
+
+    private static final String RETRY_SQL =
+            "UPDATE story_jobs SET status = 'QUEUED', lease_owner = NULL, lease_until = NULL, last_error = ?, " +
+            "available_at = DATE_ADD(NOW(), INTERVAL ? SECOND) WHERE id = ? AND status = 'RUNNING' AND lease_owner = ?";
+
+    private static final String FAIL_SQL =
+            "UPDATE story_jobs SET status = 'FAILED', active_key = NULL, lease_owner = NULL, lease_until = NULL, " +
+            "last_error = ?, finished_at = NOW() WHERE id = ? AND status = 'RUNNING' AND lease_owner = ?";
+
+    // 정상 종료 시 끝내지 못한 작업을 즉시 다른 워커가 가져가도록 반납 (이번 시도는 횟수에서 제외)
+    private static final String RELEASE_SQL =
+            "UPDATE story_jobs SET status = 'QUEUED', attempts = GREATEST(attempts - 1, 0), lease_owner = NULL, " +
+            "lease_until = NULL, available_at = NOW() WHERE id IN (%s) AND status = 'RUNNING' AND lease_owner = ?";
+
+    private static final String CANCEL_SQL =
+            "UPDATE story_jobs SET status = 'CANCELLED', active_key = NULL, lease_owner = NULL, lease_until = NULL, " +
+            "finished_at = NOW() WHERE story_creation_id = ? AND status IN ('QUEUED', 'RUNNING')";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, story_creation_id, job_type, payload, status, attempts, max_attempts, lease_owner, lease_until, " +
+            "heartbeat_at, available_at, last_error, created_at, started_at, finished_at FROM story_jobs ";
+
+    // 스토리의 작업 종류별 상태 집계 (busy_seconds: 첫 시작부터 종료(실행 중이면 현재)까지 시간 합, 재시도 대기 중인 작업은 제외)
+    private static final String STAGE_SQL =
+            "SELECT job_type, status, COUNT(*) AS cnt, " +
+            "COALESCE(SUM(CASE WHEN status = 'QUEUED' THEN 0 " +
+            "ELSE TIMESTAMPDIFF(SECOND, started_at, COALESCE(finished_at, NOW())) END), 0) AS busy_seconds " +
+            "FROM story_jobs WHERE story_creation_id = ? GROUP BY job_type, status";
+
+    private static final String COUNT_SQL =
+            "SELECT status, COUNT(*) AS cnt FROM story_jobs WHERE status IN ('QUEUED', 'RUNNING') GROUP BY status";
+
+    private static final RowMapper<StoryJob> ROW_MAPPER = (rs, rowNum) -> StoryJob.builder()
+            .id(rs.getLong("id"))
+            .storyCreationId(rs.getString("story_creation_id"))
+            .type(StoryJob.Type.valueOf(rs.getString("job_type")))
+            .payload(rs.getString("payload"))
+            .status(StoryJob.Status.valueOf(rs.getString("status")))
+            .attempts(rs.getInt("attempts"))
+            .maxAttempts(rs.getInt("max_attempts"))
+            .leaseOwner(rs.getString("lease_owner"))
+            .leaseUntil(toLocalDateTime(rs.getTimestamp("lease_until")))
+            .heartbeatAt(toLocalDateTime(rs.getTimestamp("heartbeat_at")))
+            .availableAt(toLocalDateTime(rs.getTimestamp("available_at")))
+            .lastError(rs.getString("last_error"))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .startedAt(toLocalDateTime(rs.getTimestamp("started_at")))
+            .finishedAt(toLocalDateTime(rs.getTimestamp("finished_at")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxAttempts;
+
+    public StoryJobQueue(JdbcTemplate jdbcTemplate,
+                         @Value("${game.story-jobs.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 작업 등록 (같은 스토리에 같은 종류의 작업이 대기/실행 중이면 InvalidStateException)
+     */
+    public void enqueue(String storyCreationId, StoryJob.Type type, String payload) {
+        enqueue(storyCreationId, type, payload, null);
+    }
+
+    /**
+     * 작업 등록 (discriminator가 다르면 같은 종류의 작업도 함께 대기 가능, 예: 에피소드별 이미지 작업)
+     */
+    public void enqueue(String storyCreationId, StoryJob.Type type, String payload, String discriminator) {
+        String activeKey = storyCreationId + ":" + type.name() + (discriminator != null ? ":" + discriminator : "");
+        try {
+            jdbcTemplate.update(INSERT_SQL, storyCreationId, type.name(), payload, activeKey, maxAttempts);
+            log.info("Enqueued story job: storyId={}, type={}, key={}", storyCreationId, type, activeKey);
+        } catch (DuplicateKeyException e) {
+            throw new InvalidStateException("A " + type + " job is already queued or running for story: " + storyCreationId);
+        }
+    }
+
+    /**
+     * 가져갈 수 있는 작업 후보 (id, 종류, 현재 상태만 채움, RUNNING이면 lease가 만료된 작업)
+     *
+     * @param types 지금 슬롯이 남아 있는 작업 종류
+     */
+    public List<StoryJob> findClaimable(Collection<StoryJob.Type> types, int limit) {
+        if (types.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        types.forEach(type -> args.add(type.name()));
+        args.add(limit);
+        return jdbcTemplate.query(String.format(SELECT_CLAIMABLE_SQL, placeholders(types.size())), (rs, rowNum) ->
+                StoryJob.builder()
+                        .id(rs.getLong("id"))
+                        .type(StoryJob.Type.valueOf(rs.getString("job_type")))
+                        .status(StoryJob.Status.valueOf(rs.getString("status")))
+                        .build(), args.toArray());
+    }
+
+    /**
+     * 조건부 UPDATE로 작업을 가져감 (다른 워커가 먼저 가져갔으면 false)
+     */
+    public boolean tryClaim(long jobId, String owner, int leaseSeconds) {
+        return jdbcTemplate.update(CLAIM_SQL, owner, leaseSeconds, jobId) == 1;
+    }
+
+    public Optional<StoryJob> find(long jobId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE id = ?", ROW_MAPPER, jobId).stream().findFirst();
+    }
+
+    /**
+     * 스토리의 가장 최근 분석/에피소드 생성 작업 (진행률 조회용)
+     *
+     * 이미지 작업은 텍스트 단계와 겹쳐 실행되므로 제외하고 단계별 지표(countByStage)로만 보여준다.
+     */
+    public Optional<StoryJob> findLatest(String storyCreationId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE story_creation_id = ? AND job_type <> 'GENERATE_IMAGES' " +
+                        "ORDER BY id DESC LIMIT 1",
+                ROW_MAPPER, storyCreationId).stream().findFirst();
+    }
+
+    /**
+     * 실행 중인 작업들의 lease 연장
+     *
+     * @return 연장된 작업 수 (그 사이 끝났거나 lease를 잃은 작업은 제외)
+     */
+    public int extendLeases(Collection<Long> jobIds, String owner, int leaseSeconds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(leaseSeconds);
+        args.addAll(jobIds);
+        args.add(owner);
+        return jdbcTemplate.update(String.format(HEARTBEAT_SQL, placeholders(jobIds.size())), args.toArray());
+    }
+
+    public boolean complete(long jobId, String owner) {
+        return jdbcTemplate.update(COMPLETE_SQL, jobId, owner) == 1;
+    }
+
+    public boolean retryLater(long jobId, String owner, String error, long delaySeconds) {
+        return jdbcTemplate.update(RETRY_SQL, error, delaySeconds, jobId, owner) == 1;
+    }
+
+    public boolean fail(long jobId, String owner, String error) {
+        return jdbcTemplate.update(FAIL_SQL, error, jobId, owner) == 1;
+    }
+
+    public int release(Collection<Long> jobIds, String owner) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(jobIds);
+        args.add(owner);
+        return jdbcTemplate.update(String.format(RELEASE_SQL, placeholders(jobIds.size())), args.toArray());
+    }
+
+    /**
+     * 스토리 삭제 시 대기/실행 중인 작업 취소 (실행 중인 워커는 완료 처리 시 lease 조건에 걸려 무시됨)
+     */
+    public int cancelForStory(String storyCreationId) {
+        return jdbcTemplate.update(CANCEL_SQL, storyCreationId);
+    }
+
+    /**
+     * 스토리의 작업 종류별 상태 집계
+     */
+    public List<StageCount> countByStage(String storyCreationId) {
+        return jdbcTemplate.query(STAGE_SQL, (rs, rowNum) -> new StageCount(
+                StoryJob.Type.valueOf(rs.getString("job_type")),
+                StoryJob.Status.valueOf(rs.getString("status")),
+                rs.getLong("cnt"),
+                rs.getLong("busy_seconds")), storyCreationId);
+    }
+
+    /**
+     * 대기/실행 중 작업 수 (상태 -> 개수)
+     */
+    public Map<String, Long> countActive() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(COUNT_SQL, rs -> {
+            counts.put(rs.getString("status"), rs.getLong("cnt"));
+        });
+        return counts;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StageCount {
+        private final StoryJob.Type type;
+        private final StoryJob.Status status;
+        private final long count;
+        private final long busySeconds;
+    }
+}
@@ -0,0 +1,359 @@
+package com.story.game.creation.job;
+
+import com.story.game.common.exception.InvalidStateException;
+import com.story.game.common.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * story_jobs 작업 실행기
+ *
+ * - poll-interval-ms마다 빈 슬롯 수만큼 작업을 가져와 workers 크기의 스레드 풀에서 실행 (여러 스토리 병렬 처리)
+ * - 실행기별 maxConcurrency를 넘지 않도록 가져감 (이미지 단계가 슬롯을 모두 차지해 다음 에피소드 생성이 밀리지 않게)
+ * - 실행 중인 작업은 heartbeat-interval-ms마다 lease를 lease-seconds만큼 연장
+ * - poll/heartbeat는 전용 스케줄러 스레드에서 실행 (Spring 기본 스케줄러 스레드 하나를 쓰는 보관 이동/랭킹 재계산 등이
+ *   오래 걸려도 lease가 만료되어 다른 서버가 같은 작업을 다시 실행하지 않게)
+ * - 서버가 죽어 heartbeat가 끊기면 lease가 만료되고, 살아 있는 서버(또는 재시작한 서버)가 이어서 실행
+ * - 실패 시 retry-backoff-seconds부터 두 배씩 늘려 max-attempts까지 재시도, 잘못된 상태/없는 스토리는 바로 실패 처리
+ * - 정상 종료 시 shutdown-grace-ms 동안 기다린 뒤 끝나지 않은 작업은 반납하여 다른 서버가 바로 가져가게 함
+ */
+@Component
+@Slf4j
+public class StoryJobWorker {
+
+    private static final long MAX_BACKOFF_SECONDS = 600;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final StoryJobQueue queue;
+    private final Map<StoryJob.Type, StoryJobHandler> handlers = new EnumMap<>(StoryJob.Type.class);
+    private final boolean enabled;
+    private final int workers;
+    private final int leaseSeconds;
+    private final long retryBackoffSeconds;
+    private final long shutdownGraceMs;
+    private final long pollIntervalMs;
+    private final long initialDelayMs;
+    private final long heartbeatIntervalMs;
+    private final String owner;
+    private final ThreadPoolExecutor executor;
+    private ScheduledExecutorService scheduler;
+    // 실행 중인 작업 id -> 종류
+    private final Map<Long, StoryJob.Type> running = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lostLeases = new AtomicLong();
+    private final AtomicLong pollFailures = new AtomicLong();
+    // 단계(작업 종류)별 성공 수 / 실행 시간 합
+    private final Map<StoryJob.Type, AtomicLong> succeededByType = new EnumMap<>(StoryJob.Type.class);
+    private final Map<StoryJob.Type, AtomicLong> runMillisByType = new EnumMap<>(StoryJob.Type.class);
+
+    public StoryJobWorker(StoryJobQueue queue,
+                          List<StoryJobHandler> handlerBeans,
+                          @Value("${game.story-jobs.enabled:true}") boolean enabled,
+                          @Value("${game.story-jobs.workers:4}") int workers,
+                          @Value("${game.story-jobs.lease-seconds:60}") int leaseSeconds,
+                          @Value("${game.story-jobs.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                          @Value("${game.story-jobs.shutdown-grace-ms:10000}") long shutdownGraceMs,
+                          @Value("${game.story-jobs.poll-interval-ms:1000}") long pollIntervalMs,
+                          @Value("${game.story-jobs.initial-delay-ms:5000}") long initialDelayMs,
+                          @Value("${game.story-jobs.heartbeat-interval-ms:15000}") long heartbeatIntervalMs) {
+        this.queue = queue;
+        for (StoryJob.Type type : StoryJob.Type.values()) {
+            succeededByType.put(type, new AtomicLong());
+            runMillisByType.put(type, new AtomicLong());
+        }
+        for (StoryJobHandler handler : handlerBeans) {
+            for (StoryJob.Type type : handler.types()) {
+                handlers.put(type, handler);
+            }
+        }
+        this.enabled = enabled;
+        this.workers = Math.max(1, workers);
+        this.leaseSeconds = leaseSeconds;
+        this.retryBackoffSeconds = retryBackoffSeconds;
+        this.shutdownGraceMs = shutdownGraceMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.initialDelayMs = initialDelayMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.workers), r -> {
+                    Thread thread = new Thread(r, "story-job-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // poll이 DB 대기로 늦어져도 heartbeat가 밀리지 않도록 스레드 두 개
+        AtomicInteger threadIndex = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(2, r -> {
+            Thread thread = new Thread(r, "story-job-scheduler-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, initialDelayMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Story job worker started: owner={}, workers={}, leaseSeconds={}, heartbeatMs={}",
+                owner, workers, leaseSeconds, heartbeatIntervalMs);
+    }
+
+    /**
+     * 빈 슬롯 수만큼 작업을 가져와 실행
+     */
+    public void poll() {
+        if (!enabled || stopping) {
+            return;
+        }
+        int free = workers - running.size();
+        if (free <= 0) {
+            return;
+        }
+        try {
+            Map<StoryJob.Type, Integer> runningByType = countRunningByType();
+            List<StoryJob.Type> eligible = new ArrayList<>();
+            for (Map.Entry<StoryJob.Type, StoryJobHandler> entry : handlers.entrySet()) {
+                if (runningByType.getOrDefault(entry.getKey(), 0) < entry.getValue().maxConcurrency()) {
+                    eligible.add(entry.getKey());
+                }
+            }
+            for (StoryJob candidate : queue.findClaimable(eligible, free)) {
+                long jobId = candidate.getId();
+                int typeRunning = runningByType.getOrDefault(candidate.getType(), 0);
+                if (typeRunning >= handlers.get(candidate.getType()).maxConcurrency()) {
+                    continue;
+                }
+                if (!queue.tryClaim(jobId, owner, leaseSeconds)) {
+                    // 다른 서버가 먼저 가져감
+                    contended.incrementAndGet();
+                    continue;
+                }
+                claimed.incrementAndGet();
+                if (candidate.getStatus() == StoryJob.Status.RUNNING) {
+                    reclaimed.incrementAndGet();
+                    log.warn("Reclaimed story job {} after its lease expired", jobId);
+                }
+                StoryJob job = queue.find(jobId).orElse(null);
+                if (job == null) {
+                    continue;
+                }
+                runningByType.put(job.getType(), typeRunning + 1);
+                running.put(jobId, job.getType());
+                try {
+                    executor.execute(() -> run(job));
+                } catch (RejectedExecutionException e) {
+                    // 종료 중: lease가 만료되면 다른 서버가 가져감
+                    running.remove(jobId);
+                }
+            }
+        } catch (Exception e) {
+            pollFailures.incrementAndGet();
+            log.warn("Story job poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 실행 중인 작업의 lease 연장
+     */
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            queue.extendLeases(new ArrayList<>(running.keySet()), owner, leaseSeconds);
+        } catch (Exception e) {
+            log.warn("Story job heartbeat failed ({} running): {}", running.size(), e.getMessage());
+        }
+    }
+
+    void run(StoryJob job) {
+        try {
+            StoryJobHandler handler = handlers.get(job.getType());
+            if (handler == null) {
+                finishFailed(job, null, "No handler for job type " + job.getType());
+                return;
+            }
+            if (job.getAttempts() > job.getMaxAttempts()) {
+                // 마지막 시도 중에 서버가 죽어 lease가 만료된 작업
+                finishFailed(job, handler, "Lease expired after " + job.getMaxAttempts() + " attempts");
+                return;
+            }
+
+            log.info("Running story job {}: storyId={}, type={}, attempt {}/{}",
+                    job.getId(), job.getStoryCreationId(), job.getType(), job.getAttempts(), job.getMaxAttempts());
+            long start = System.currentTimeMillis();
+            try {
+                handler.handle(job);
+            } catch (Exception e) {
+                String error = describe(e);
+                if (isPermanent(e) || job.getAttempts() >= job.getMaxAttempts()) {
+                    log.error("Story job {} failed: storyId={}, type={}", job.getId(), job.getStoryCreationId(), job.getType(), e);
+                    finishFailed(job, handler, error);
+                } else {
+                    long delay = Math.min(MAX_BACKOFF_SECONDS, retryBackoffSeconds << (job.getAttempts() - 1));
+                    log.warn("Story job {} failed (attempt {}/{}), retrying in {}s: {}",
+                            job.getId(), job.getAttempts(), job.getMaxAttempts(), delay, error);
+                    retried.incrementAndGet();
+                    if (!queue.retryLater(job.getId(), owner, error, delay)) {
+                        onLeaseLost(job);
+                    }
+                }
+                return;
+            }
+
+            succeeded.incrementAndGet();
+            succeededByType.get(job.getType()).incrementAndGet();
+            runMillisByType.get(job.getType()).addAndGet(System.currentTimeMillis() - start);
+            if (!queue.complete(job.getId(), owner)) {
+                onLeaseLost(job);
+            }
+        } catch (Exception e) {
+            // 완료 기록 실패: lease가 만료되면 다시 실행됨 (handler는 완료된 단계를 건너뜀)
+            log.warn("Failed to record result of story job {}: {}", job.getId(), e.getMessage());
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    /**
+     * Get job worker statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("owner", owner);
+        stats.put("workers", workers);
+        stats.put("running", running.size());
+        stats.put("claimed", claimed.get());
+        stats.put("reclaimed", reclaimed.get());
+        stats.put("contended", contended.get());
+        stats.put("succeeded", succeeded.get());
+        stats.put("retried", retried.get());
+        stats.put("failed", failed.get());
+        stats.put("lostLeases", lostLeases.get());
+        stats.put("pollFailures", pollFailures.get());
+        Map<String, Object> byType = new LinkedHashMap<>();
+        Map<StoryJob.Type, Integer> runningByType = countRunningByType();
+        for (StoryJob.Type type : handlers.keySet()) {
+            long done = succeededByType.get(type).get();
+            Map<String, Object> typeStats = new LinkedHashMap<>();
+            typeStats.put("running", runningByType.getOrDefault(type, 0));
+            typeStats.put("maxConcurrency", handlers.get(type).maxConcurrency());
+            typeStats.put("succeeded", done);
+            typeStats.put("avgMillis", done > 0 ? runMillisByType.get(type).get() / done : 0);
+            byType.put(type.name(), typeStats);
+        }
+        stats.put("byType", byType);
+        try {
+            stats.put("queue", queue.countActive());
+        } catch (Exception e) {
+            stats.put("queue", "unavailable: " + e.getMessage());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(shutdownGraceMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!running.isEmpty()) {
+            try {
+                int released = queue.release(new ArrayList<>(running.keySet()), owner);
+                log.info("Released {} unfinished story jobs on shutdown", released);
+            } catch (Exception e) {
+                log.warn("Failed to release story jobs on shutdown (they resume after lease expiry): {}", e.getMessage());
+            }
+        }
+    }
+
+    private Map<StoryJob.Type, Integer> countRunningByType() {
+        Map<StoryJob.Type, Integer> counts = new EnumMap<>(StoryJob.Type.class);
+        for (StoryJob.Type type : running.values()) {
+            counts.merge(type, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void finishFailed(StoryJob job, StoryJobHandler handler, String error) {
+        failed.incrementAndGet();
+        if (!queue.fail(job.getId(), owner, error)) {
+            onLeaseLost(job);
+            return;
+        }
+        if (handler != null) {
+            try {
+                handler.onFailure(job, error);
+            } catch (Exception e) {
+                log.warn("Failure callback of story job {} failed: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void onLeaseLost(StoryJob job) {
+        // 그 사이 lease가 만료되어 다른 워커가 가져갔거나 스토리 삭제로 취소됨
+        lostLeases.incrementAndGet();
+        log.warn("Lost lease of story job {} (storyId={}), result discarded", job.getId(), job.getStoryCreationId());
+    }
+
+    private static boolean isPermanent(Exception e) {
+        return e instanceof IllegalStateException
+                || e instanceof IllegalArgumentException
+                || e instanceof InvalidStateException
+                || e instanceof EntityNotFoundException
+                || e instanceof ResourceNotFoundException;
+    }
+
+    private static String describe(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static String hostName() {
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            return host.length() > 80 ? host.substring(0, 80) : host;
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -2,14 +2,28 @@ package com.story.game.creation.repository;
 
 import com.story.game.auth.entity.User;
 import com.story.game.creation.entity.StoryCreation;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface
 StoryCreationRepository extends JpaRepository<StoryCreation, String> {
+    // 게임 플레이 조회용: 본문(content)은 지연 로딩되어 story_creation 행만 읽음
     Optional<StoryCreation> findByStoryDataId(Long storyDataId);
+
+    // 생성/분석 파이프라인용: 원문 소설/요약/캐릭터 JSON을 함께 조회
+    @EntityGraph(attributePaths = "content")
+    Optional<StoryCreation> findWithContentById(String id);
+
+
     long countByUserAndStatus(User user, StoryCreation.CreationStatus status);
     List<StoryCreation> findByUserOrderByCreatedAtDesc(User user);
+
+    // 랭킹 집계: 공개된 스토리의 작가와 조회수/좋아요 수
+    @Query("SELECT sc.user.id AS creatorId, sd.id AS storyDataId, sd.viewCount AS viewCount, sd.likesCount AS likesCount " +
+           "FROM StoryCreation sc, StoryData sd WHERE sd.id = sc.storyDataId AND sc.user IS NOT NULL")
+    List<StoryOwnershipView> findPublishedStoryOwnership();
 }
@@ -0,0 +1,15 @@
+package com.story.game.creation.repository;
+
+/**
+ * 공개된 스토리의 작가와 조회수/좋아요 수 프로젝션
+ */
+public interface StoryOwnershipView {
+
+    Long getCreatorId();
+
+    Long getStoryDataId();
+
+    Long getViewCount();
+
+    Long getLikesCount();
+}
@@ -8,17 +8,20 @@ import com.story.game.creation.dto.RegenerateImageRequestDto;
 import com.story.game.creation.dto.UploadImageRequestDto;
 import com.story.game.creation.dto.UploadImageResponseDto;
 import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.gameplay.graph.StoryGraphCache;
 import com.story.game.infrastructure.s3.S3Service;
 import com.story.game.story.entity.Episode;
 import com.story.game.story.entity.StoryNode;
 import com.story.game.story.repository.EpisodeRepository;
 import com.story.game.story.repository.StoryNodeRepository;
+import com.story.game.story.snapshot.StorySnapshotStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -31,6 +34,8 @@ public class ImageCustomizationService {
     private final EpisodeRepository episodeRepository;
     private final RelayServerClient relayServerClient;
     private final S3Service s3Service;
+    private final StoryGraphCache storyGraphCache;
+    private final StorySnapshotStore storySnapshotStore;
 
     @Value("${aws.s3.bucket}")
     private String s3BucketName;
@@ -78,6 +83,8 @@ public class ImageCustomizationService {
         node.setImageUrl(null);  // Don't store direct S3 URL
         node.setImageFileKey(fileKey);  // Store extracted fileKey
         storyNodeRepository.save(node);
+        storyGraphCache.invalidate(storyId);
+        refreshEpisodeSnapshot(node);
 
         log.info("Custom image generated for node {}. FileKey: {}", nodeId, fileKey);
 
@@ -118,10 +125,24 @@ public class ImageCustomizationService {
         // Update node with file key (URL will be set after upload confirmation)
         node.setImageFileKey(fileKey);
         storyNodeRepository.save(node);
+        storyGraphCache.invalidate(storyId);
+        refreshEpisodeSnapshot(node);
 
         return response;
     }
 
+    /**
+     * 노드가 속한 에피소드의 S3 스냅샷 갱신 (실패해도 이미지 변경은 유지)
+     */
+    private void refreshEpisodeSnapshot(StoryNode node) {
+        Episode episode = node.getEpisode();
+        try {
+            storySnapshotStore.writeEpisodes(episode.getStory(), List.of(episode.getOrder()));
+        } catch (Exception e) {
+            log.warn("Failed to refresh snapshot for episode {} (non-critical): {}", episode.getOrder(), e.getMessage());
+        }
+    }
+
     /**
      * Get current image for a node
      */
@@ -0,0 +1,184 @@
+package com.story.game.creation.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 노드 이미지 생성 스케줄러
+ *
+ * - relay /generate-image 호출을 전용 스레드 풀에서 최대 parallelism개까지 동시에 실행
+ * - 같은 스토리/노드의 생성이 이미 진행 중이면 새로 호출하지 않고 그 결과를 공유 (single-flight)
+ * - 대기열이 가득 차면 요청한 스레드가 직접 실행 (이미지 작업 워커가 자연스럽게 속도를 늦춤)
+ * - 성공/실패 건수와 호출 지연 시간 히스토그램을 /api/health/metrics로 노출
+ */
+@Component
+@Slf4j
+public class ImageGenerationScheduler {
+
+    private final ImageGenerationService imageGenerationService;
+    private final int parallelism;
+    private final ThreadPoolExecutor executor;
+
+    // storyId:nodeId -> 진행 중인 생성 결과
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final LatencyHistogram successLatency = new LatencyHistogram();
+    private final LatencyHistogram failureLatency = new LatencyHistogram();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    public ImageGenerationScheduler(ImageGenerationService imageGenerationService,
+                                    @Value("${game.image-generation.parallelism:4}") int parallelism,
+                                    @Value("${game.image-generation.queue-capacity:200}") int queueCapacity) {
+        this.imageGenerationService = imageGenerationService;
+        this.parallelism = Math.max(1, parallelism);
+        this.executor = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), namedThreads("image-generation-"),
+                (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("Image generation scheduler is shut down");
+                    }
+                    callerRuns.incrementAndGet();
+                    task.run();
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // 실행되지 못한 작업을 기다리는 호출자가 멈추지 않도록 실패로 완료 (이미지 작업은 재시도 시 다시 생성)
+        inFlight.values().forEach(future -> future.complete(false));
+        inFlight.clear();
+    }
+
+    /**
+     * 노드 이미지 생성 등록
+     *
+     * @return 저장되면 true로 완료되는 future (같은 노드가 이미 진행 중이면 그 future)
+     */
+    public CompletableFuture<Boolean> submit(String storyId, ImageGenerationService.NodeImageTask task,
+                                             String episodeTitle, Integer episodeOrder) {
+        String key = storyId + ":" + task.getNodeId();
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            deduplicated.incrementAndGet();
+            log.debug("Image generation for node {} already in flight, sharing result", task.getNodeId());
+            return existing;
+        }
+
+        submitted.incrementAndGet();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(key, future, storyId, task, episodeTitle, episodeOrder, queuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            inFlight.remove(key, future);
+            future.complete(false);
+        }
+        return future;
+    }
+
+    /**
+     * 에피소드 노드들의 이미지를 병렬로 생성하고 모두 끝날 때까지 대기
+     *
+     * @return 저장된 이미지 수
+     */
+    public int generateAll(String storyId, List<ImageGenerationService.NodeImageTask> tasks,
+                           String episodeTitle, Integer episodeOrder) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(tasks.size());
+        for (ImageGenerationService.NodeImageTask task : tasks) {
+            futures.add(submit(storyId, task, episodeTitle, episodeOrder));
+        }
+
+        int saved = 0;
+        for (CompletableFuture<Boolean> future : futures) {
+            if (Boolean.TRUE.equals(future.join())) {
+                saved++;
+            }
+        }
+        return saved;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("parallelism", parallelism);
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("inFlightNodes", inFlight.size());
+        stats.put("submitted", submitted.get());
+        stats.put("deduplicated", deduplicated.get());
+        stats.put("succeeded", succeeded.get());
+        stats.put("failed", failed.get());
+        stats.put("callerRuns", callerRuns.get());
+        stats.put("rejected", rejected.get());
+        stats.put("successLatency", successLatency.snapshot());
+        stats.put("failureLatency", failureLatency.snapshot());
+        stats.put("queueWait", queueWait.snapshot());
+        stats.put("styleLearning", imageGenerationService.getStyleLearningStats());
+        return stats;
+    }
+
+    private void run(String key, CompletableFuture<Boolean> future, String storyId,
+                     ImageGenerationService.NodeImageTask task, String episodeTitle, Integer episodeOrder,
+                     long queuedAt) {
+        long startedAt = System.nanoTime();
+        queueWait.record(TimeUnit.NANOSECONDS.toMillis(startedAt - queuedAt));
+
+        boolean saved = false;
+        try {
+            saved = imageGenerationService.generateAndSaveNodeImage(storyId, task, episodeTitle, episodeOrder);
+        } catch (Exception e) {
+            log.error("Unexpected error generating image for node {}: {}", task.getNodeId(), e.getMessage(), e);
+        } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            if (saved) {
+                succeeded.incrementAndGet();
+                successLatency.record(elapsedMs);
+            } else {
+                failed.incrementAndGet();
+                failureLatency.record(elapsedMs);
+            }
+            inFlight.remove(key, future);
+            future.complete(saved);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
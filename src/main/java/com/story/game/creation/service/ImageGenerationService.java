@@ -7,16 +7,26 @@ import com.story.game.ai.service.RelayServerClient;
 import com.story.game.common.dto.ImageType;
 import com.story.game.creation.entity.StoryCreation;
 import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.gameplay.graph.StoryGraphCache;
 import com.story.game.infrastructure.s3.S3Service;
 import com.story.game.story.entity.StoryNode;
 import com.story.game.story.repository.StoryNodeRepository;
+import lombok.Builder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -27,6 +37,12 @@ public class ImageGenerationService {
     private final StoryCreationRepository storyCreationRepository;
     private final S3Service s3Service;
     private final WebClient.Builder webClientBuilder;
+    private final StoryGraphCache storyGraphCache;
+
+    // storyId -> 진행 중이거나 최근 끝난 스타일 학습 (같은 스토리 노드들이 한 번의 learnNovelStyle 결과를 공유)
+    private final ConcurrentHashMap<String, StyleLearning> styleLearnings = new ConcurrentHashMap<>();
+    private final AtomicLong styleLearnCalls = new AtomicLong();
+    private final AtomicLong styleLearnCoalesced = new AtomicLong();
 
     @Value("${aws.s3.bucket}")
     private String s3BucketName;
@@ -39,11 +55,35 @@ public class ImageGenerationService {
         return true;  // 모든 노드에 이미지 생성
     }
 
+    /**
+     * 이미지 생성에 필요한 노드 정보 (트랜잭션 밖에서 AI 서버를 호출할 수 있도록 엔티티에서 복사)
+     */
+    @Getter
+    @Builder
+    public static class NodeImageTask {
+        private final UUID nodeId;
+        private final String text;
+        private final String situation;
+        private final Integer depth;
+        private final ImageType imageType;
+    }
+
+    /**
+     * 노드 엔티티에서 이미지 생성 작업 정보 추출 (선택지 컬렉션을 읽으므로 트랜잭션 안에서 호출)
+     */
+    public NodeImageTask toTask(StoryNode node) {
+        return NodeImageTask.builder()
+            .nodeId(node.getId())
+            .text(node.getText())
+            .situation(node.getSituation())
+            .depth(node.getDepth())
+            .imageType(determineImageType(node))
+            .build();
+    }
+
     /**
      * Generate and save image for a node
-     * Synchronous processing as requested
      */
-    @Transactional
     public void generateAndSaveNodeImage(
         String storyId,
         StoryNode node,
@@ -54,29 +94,42 @@ public class ImageGenerationService {
             log.debug("Node {} does not require image generation", node.getId());
             return;
         }
+        generateAndSaveNodeImage(storyId, toTask(node), episodeTitle, episodeOrder);
+    }
 
+    /**
+     * Generate and save image for a node
+     * AI 서버 호출 동안 DB 트랜잭션을 잡지 않고, 결과 fileKey만 노드에 저장한다.
+     *
+     * @return 이미지가 저장되었으면 true (실패는 로그만 남기고 false)
+     */
+    public boolean generateAndSaveNodeImage(
+        String storyId,
+        NodeImageTask task,
+        String episodeTitle,
+        Integer episodeOrder
+    ) {
         log.info("Generating image for node {} (depth={}, type={})",
-            node.getId(), node.getDepth(), node.getNodeType());
+            task.getNodeId(), task.getDepth(), task.getImageType());
 
         try {
-            // Determine image type
-            ImageType imageType = determineImageType(node);
-            log.debug("Determined image type for node {}: {}", node.getId(), imageType);
+            ImageType imageType = task.getImageType();
+            long requestedAt = System.nanoTime();
 
             // Generate S3 presigned URL for image upload
-            String imageKey = "story-images/" + storyId + "/" + node.getId() + ".png";
+            String imageKey = "story-images/" + storyId + "/" + task.getNodeId() + ".png";
             String imageS3Url = s3Service.generatePresignedUploadUrl(imageKey).getUrl();
             log.debug("Generated presigned URL for image upload: {}", imageKey);
 
             // Build request
             ImageGenerationRequestDto request = ImageGenerationRequestDto.builder()
                 .storyId(storyId)
-                .nodeId(node.getId().toString())
-                .nodeText(node.getText())
-                .situation(node.getSituation())
+                .nodeId(task.getNodeId().toString())
+                .nodeText(task.getText())
+                .situation(task.getSituation())
                 .episodeTitle(episodeTitle)
                 .episodeOrder(episodeOrder)
-                .nodeDepth(node.getDepth())
+                .nodeDepth(task.getDepth())
                 .imageType(imageType.name())  // ImageType enum을 String으로 변환
                 .novelS3Bucket(s3BucketName)
                 .novelS3Key("novels/original/" + storyId + ".txt")
@@ -106,7 +159,7 @@ public class ImageGenerationService {
             // If style learning is needed, learn and retry (max 1 retry)
             if (retryWithStyleLearning) {
                 log.info("Attempting to learn novel style for story: {}", storyId);
-                boolean styleLearnSuccess = ensureNovelStyleLearned(storyId);
+                boolean styleLearnSuccess = learnNovelStyleOnce(storyId, requestedAt);
 
                 if (styleLearnSuccess) {
                     log.info("Novel style learned successfully. Retrying image generation (1/1)...");
@@ -115,17 +168,17 @@ public class ImageGenerationService {
                     } catch (Exception retryException) {
                         log.error("Retry failed after style learning for story {}: {}",
                             storyId, retryException.getMessage());
-                        return;  // No further retries
+                        return false;  // No further retries
                     }
                 } else {
                     log.error("Failed to learn novel style for story: {}", storyId);
-                    return;
+                    return false;
                 }
             }
 
             if (response == null) {
-                log.warn("No response from AI server for node {}", node.getId());
-                return;
+                log.warn("No response from AI server for node {}", task.getNodeId());
+                return false;
             }
 
             log.info("Image generation response - fileKey: {}, imageUrl: {}",
@@ -143,18 +196,94 @@ public class ImageGenerationService {
             finalFileKey = extractFileKeyFromUrl(finalFileKey);
 
             // Update node with S3 info - only store fileKey, not direct URL
+            StoryNode node = storyNodeRepository.findById(task.getNodeId()).orElse(null);
+            if (node == null) {
+                // 생성 중 스토리가 삭제/재생성됨
+                log.warn("Node {} no longer exists, discarding generated image", task.getNodeId());
+                return false;
+            }
             node.setImageUrl(null);  // Don't store direct URL
             node.setImageFileKey(finalFileKey);
-            node.setImageType(determineImageType(node).name());
+            node.setImageType(imageType.name());
             storyNodeRepository.save(node);
+            storyGraphCache.invalidate(storyId);
 
             log.info("✅ Image generated and saved for node {}: S3 key={}",
-                node.getId(), finalFileKey);
+                task.getNodeId(), finalFileKey);
+            return true;
 
         } catch (Exception e) {
             log.error("Failed to generate image for node {}: {}",
-                node.getId(), e.getMessage(), e);
+                task.getNodeId(), e.getMessage(), e);
             // Don't fail the entire story generation if image fails
+            return false;
+        }
+    }
+
+    /**
+     * 스토리 스타일 학습을 한 번만 실행하고 결과를 공유
+     *
+     * 이미 학습 중이면 그 결과를 기다리고, 이 노드의 요청 이후에 성공한 학습이 있으면 다시 학습하지 않는다.
+     * 실패했거나 요청보다 먼저 끝난 학습은 재사용하지 않는다 (그 학습으로도 스타일이 없었던 것).
+     *
+     * @param requestedAt 스타일 오류를 받은 이미지 요청을 보낸 시각 (System.nanoTime)
+     */
+    private boolean learnNovelStyleOnce(String storyId, long requestedAt) {
+        long now = System.nanoTime();
+        styleLearnings.values().removeIf(learning -> learning.isStale(now));
+
+        StyleLearning mine = new StyleLearning();
+        while (true) {
+            StyleLearning current = styleLearnings.putIfAbsent(storyId, mine);
+            if (current == null) {
+                break;
+            }
+            if (!current.future.isDone() || current.succeededAfter(requestedAt)) {
+                styleLearnCoalesced.incrementAndGet();
+                log.info("Waiting for in-flight style learning of story {}", storyId);
+                return current.future.join();
+            }
+            if (styleLearnings.replace(storyId, current, mine)) {
+                break;
+            }
+        }
+
+        styleLearnCalls.incrementAndGet();
+        boolean learned = false;
+        try {
+            learned = ensureNovelStyleLearned(storyId);
+        } finally {
+            mine.complete(learned);
+        }
+        return learned;
+    }
+
+    public Map<String, Object> getStyleLearningStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", styleLearnCalls.get());
+        stats.put("coalesced", styleLearnCoalesced.get());
+        stats.put("inFlight", styleLearnings.values().stream().filter(learning -> !learning.future.isDone()).count());
+        return stats;
+    }
+
+    private static class StyleLearning {
+        // 끝난 학습 결과를 재사용하는 최대 시간
+        private static final long RETAIN_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        void complete(boolean learned) {
+            completedAt = System.nanoTime();
+            future.complete(learned);
+        }
+
+        boolean succeededAfter(long requestedAt) {
+            return future.isDone() && Boolean.TRUE.equals(future.getNow(false)) && completedAt - requestedAt > 0;
+        }
+
+        boolean isStale(long now) {
+            return future.isDone() && now - completedAt > RETAIN_NANOS;
         }
     }
 
@@ -170,7 +299,7 @@ public class ImageGenerationService {
             log.info("Ensuring novel style is learned for story: {}", storyId);
 
             // Get story creation to access title and novel
-            StoryCreation storyCreation = storyCreationRepository.findById(storyId)
+            StoryCreation storyCreation = storyCreationRepository.findWithContentById(storyId)
                 .orElse(null);
 
             if (storyCreation == null) {
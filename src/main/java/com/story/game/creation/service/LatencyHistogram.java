@@ -0,0 +1,79 @@
+package com.story.game.creation.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 구간 지연 시간 히스토그램 (lock 없이 기록, 조회 시 구간별 건수와 근사 백분위 계산)
+ */
+class LatencyHistogram {
+
+    // 구간 상한 (ms), 마지막 구간은 60초 초과
+    private static final long[] BOUNDS_MS = {250, 500, 1000, 2000, 5000, 10000, 20000, 30000, 60000};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMs = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    void record(long millis) {
+        int index = 0;
+        while (index < BOUNDS_MS.length && millis > BOUNDS_MS[index]) {
+            index++;
+        }
+        buckets.incrementAndGet(index);
+        count.incrementAndGet();
+        totalMs.addAndGet(millis);
+        maxMs.accumulateAndGet(millis, Math::max);
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * 건수, 평균/최대, 구간 상한 기준 p50/p95/p99, 구간별 건수
+     */
+    Map<String, Object> snapshot() {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", total);
+        stats.put("avgMs", total > 0 ? totalMs.get() / total : 0);
+        stats.put("maxMs", maxMs.get());
+        stats.put("p50Ms", percentile(counts, total, 0.50));
+        stats.put("p95Ms", percentile(counts, total, 0.95));
+        stats.put("p99Ms", percentile(counts, total, 0.99));
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            histogram.put("le" + BOUNDS_MS[i], counts[i]);
+        }
+        histogram.put("gt" + BOUNDS_MS[BOUNDS_MS.length - 1], counts[BOUNDS_MS.length]);
+        stats.put("buckets", histogram);
+        return stats;
+    }
+
+    private long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // 마지막 구간은 상한이 없으므로 최대값으로 보고
+                return i < BOUNDS_MS.length ? BOUNDS_MS[i] : maxMs.get();
+            }
+        }
+        return maxMs.get();
+    }
+}
@@ -7,37 +7,40 @@ import com.story.game.common.dto.EpisodeDto;
 import com.story.game.common.dto.FullStoryDto;
 import com.story.game.common.dto.StoryNodeDto;
 import com.story.game.common.entity.StoryData;
+import com.story.game.common.exception.ExternalServiceException;
+import com.story.game.common.ranking.RankingEngine;
 import com.story.game.common.repository.StoryDataRepository;
-import com.story.game.creation.dto.StoryProgressResponseDto;
-import com.story.game.creation.dto.TaskStartResponseDto;
 import com.story.game.creation.entity.StoryCreation;
+import com.story.game.creation.job.StoryJob;
+import com.story.game.creation.job.StoryJobQueue;
 import com.story.game.creation.repository.StoryCreationRepository;
-import com.story.game.infrastructure.s3.S3Service;
+import com.story.game.infrastructure.relay.RelayEndpoint;
+import com.story.game.infrastructure.relay.RelayGateway;
 import com.story.game.rag.dto.CharacterIndexRequestDto;
 import com.story.game.rag.service.RagService;
 import com.story.game.achievement.service.AchievementService;
 import com.story.game.story.entity.Episode;
 import com.story.game.story.mapper.StoryMapper;
-import com.story.game.story.repository.EpisodeEndingRepository;
 import com.story.game.story.repository.EpisodeRepository;
 import com.story.game.story.repository.StoryNodeRepository;
+import com.story.game.story.snapshot.StorySnapshotStore;
 import jakarta.persistence.EntityNotFoundException;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -47,14 +50,17 @@ public class SequentialGenerationService {
     private final StoryDataRepository storyDataRepository;
     private final EpisodeRepository episodeRepository;
     private final StoryNodeRepository storyNodeRepository;
-    private final EpisodeEndingRepository episodeEndingRepository;
-    private final WebClient relayServerWebClient;
+    private final RelayGateway relayGateway;
     private final ObjectMapper objectMapper;
     private final StoryMapper storyMapper;
-    private final S3Service s3Service;
     private final RagService ragService;
     private final ImageGenerationService imageGenerationService;
+    private final ImageGenerationScheduler imageGenerationScheduler;
     private final AchievementService achievementService;
+    private final RankingEngine rankingEngine;
+    private final StoryAnalyticsService storyAnalyticsService;
+    private final StoryJobQueue storyJobQueue;
+    private final StorySnapshotStore storySnapshotStore;
     private final SequentialGenerationService self;
 
     public SequentialGenerationService(
@@ -62,44 +68,41 @@ public class SequentialGenerationService {
             StoryDataRepository storyDataRepository,
             EpisodeRepository episodeRepository,
             StoryNodeRepository storyNodeRepository,
-            EpisodeEndingRepository episodeEndingRepository,
-            WebClient relayServerWebClient,
+            RelayGateway relayGateway,
             ObjectMapper objectMapper,
             StoryMapper storyMapper,
-            S3Service s3Service,
             RagService ragService,
             ImageGenerationService imageGenerationService,
+            ImageGenerationScheduler imageGenerationScheduler,
             AchievementService achievementService,
+            RankingEngine rankingEngine,
+            StoryAnalyticsService storyAnalyticsService,
+            StoryJobQueue storyJobQueue,
+            StorySnapshotStore storySnapshotStore,
             @org.springframework.context.annotation.Lazy SequentialGenerationService self) {
         this.storyCreationRepository = storyCreationRepository;
         this.storyDataRepository = storyDataRepository;
         this.episodeRepository = episodeRepository;
         this.storyNodeRepository = storyNodeRepository;
-        this.episodeEndingRepository = episodeEndingRepository;
-        this.relayServerWebClient = relayServerWebClient;
+        this.relayGateway = relayGateway;
         this.objectMapper = objectMapper;
         this.storyMapper = storyMapper;
-        this.s3Service = s3Service;
         this.ragService = ragService;
         this.imageGenerationService = imageGenerationService;
+        this.imageGenerationScheduler = imageGenerationScheduler;
         this.achievementService = achievementService;
+        this.rankingEngine = rankingEngine;
+        this.storyAnalyticsService = storyAnalyticsService;
+        this.storyJobQueue = storyJobQueue;
+        this.storySnapshotStore = storySnapshotStore;
         this.self = self;
     }
 
-    private final Map<String, StoryProgressResponseDto> generationTasks = new ConcurrentHashMap<>();
-
-    public StoryProgressResponseDto getGenerationProgress(String taskId) {
-        return generationTasks.getOrDefault(taskId, StoryProgressResponseDto.builder()
-                .storyId(null)
-                .status(null)
-                .progress(StoryProgressResponseDto.ProgressData.builder()
-                        .message("Task not found or already completed.")
-                        .build())
-                .build());
-    }
-
+    /**
+     * 에피소드 1 생성 작업 등록 (실제 생성은 StoryJobWorker가 GENERATE_EPISODE 작업으로 실행)
+     */
     @Transactional
-    public EpisodeDto startEpisodeGeneration(String storyId) {
+    public void startEpisodeGeneration(String storyId) {
         log.info("=== Start Sequential Episode Generation (EP 1) for storyId: {} ===", storyId);
         StoryCreation storyCreation = storyCreationRepository.findById(storyId)
                 .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
@@ -119,15 +122,14 @@ public class SequentialGenerationService {
         storyCreation.setTotalEpisodesToGenerate(storyCreation.getNumEpisodes());
         storyCreationRepository.save(storyCreation);
 
-        log.info("🔥 Calling runEpisodeGenerationTaskSync for Episode 1");
-        EpisodeDto generatedEpisode = runEpisodeGenerationTaskSync(storyId, 1, null);
-        log.info("✅ Episode 1 generation completed");
-
-        return generatedEpisode;
+        enqueueEpisodeJob(storyId, StoryJob.Type.GENERATE_EPISODE, 1);
     }
 
+    /**
+     * 다음 에피소드 생성 작업 등록 (실제 생성은 StoryJobWorker가 GENERATE_EPISODE 작업으로 실행)
+     */
     @Transactional
-    public EpisodeDto generateNextEpisode(String storyId) {
+    public void generateNextEpisode(String storyId) {
         log.info("=== Generate Next Episode for storyId: {} ===", storyId);
         StoryCreation storyCreation = storyCreationRepository.findById(storyId)
                 .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
@@ -141,162 +143,169 @@ public class SequentialGenerationService {
 
         int nextEpisodeOrder = completedEpisodes + 1;
 
-        Episode previousEpisodeEntity = episodeRepository.findByStoryAndOrder(storyCreation, completedEpisodes)
-                .orElseThrow(() -> new IllegalStateException("Previous episode (order: " + completedEpisodes + ") not found in database."));
+        storyCreation.setStatus(StoryCreation.CreationStatus.GENERATING);
+        storyCreation.setCurrentPhase("GENERATING_EPISODE_" + nextEpisodeOrder);
+        storyCreationRepository.save(storyCreation);
 
-        EpisodeDto previousEpisodeDto = storyMapper.toEpisodeDto(previousEpisodeEntity);
+        enqueueEpisodeJob(storyId, StoryJob.Type.GENERATE_EPISODE, nextEpisodeOrder);
+    }
 
-        log.info("🔥 Calling runEpisodeGenerationTaskSync for Episode {}", nextEpisodeOrder);
-        EpisodeDto generatedEpisode = runEpisodeGenerationTaskSync(storyId, nextEpisodeOrder, previousEpisodeDto);
-        log.info("✅ Episode {} generation completed", nextEpisodeOrder);
+    private void enqueueEpisodeJob(String storyId, StoryJob.Type type, int episodeOrder) {
+        try {
+            // 이미지 작업은 에피소드마다 따로 대기할 수 있음 (텍스트 단계는 스토리당 하나)
+            String discriminator = type == StoryJob.Type.GENERATE_IMAGES ? String.valueOf(episodeOrder) : null;
+            storyJobQueue.enqueue(storyId, type,
+                    objectMapper.writeValueAsString(Map.of(StoryJob.EPISODE_ORDER, episodeOrder)), discriminator);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job payload", e);
+        }
+    }
+
+    /**
+     * 에피소드 하나 생성 (StoryJobWorker에서 GENERATE_EPISODE 작업으로 실행)
+     *
+     * AI 서버 호출은 트랜잭션 밖에서 하고, 결과 저장만 saveGeneratedEpisode 트랜잭션에서 한다.
+     * 이미 저장된 에피소드(재시도/서버 재시작 후 재개)는 다시 생성하지 않는다.
+     */
+    public void runEpisodeGeneration(String storyId, int episodeOrder) throws IOException {
+        log.info("🚀 runEpisodeGeneration STARTED - storyId: {}, episodeOrder: {}", storyId, episodeOrder);
+        StoryCreation storyCreation = storyCreationRepository.findWithContentById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
+
+        Integer completedEpisodes = storyCreation.getCompletedEpisodes();
+        if (completedEpisodes != null && completedEpisodes >= episodeOrder) {
+            log.info("Episode {} of story {} was already generated, skipping", episodeOrder, storyId);
+            return;
+        }
 
-        return generatedEpisode;
+        EpisodeDto previousEpisode = episodeOrder > 1 ? self.getEpisodeDto(storyId, episodeOrder - 1) : null;
+
+        log.info("[LOG-STEP 1] Preparing AI request for episode {}", episodeOrder);
+        GenerateNextEpisodeRequest aiRequest = prepareAiRequest(storyCreation, episodeOrder, previousEpisode);
+        log.info("[LOG-STEP 2] AI request prepared. Calling AI server...");
+
+        log.info("=== AI Request for Episode {} ===", episodeOrder);
+        log.info("📤 Sending AI request to: /generate-next-episode");
+        log.info("📦 Request payload - episodeOrder: {}, has previousEpisode: {}", episodeOrder, previousEpisode != null);
+
+        // 작업 워커 스레드에서 block하되, generation bulkhead로 동시 생성 수를 제한
+        EpisodeDto newEpisodeDto = relayGateway.call(RelayEndpoint.GENERATION, client -> client.post()
+                .uri("/ai/generate-next-episode")
+                .bodyValue(aiRequest)
+                .retrieve()
+                .bodyToMono(EpisodeDto.class))
+                .block();
+
+        log.info("[LOG-STEP 3] AI response received.");
+
+        if (newEpisodeDto == null) {
+            log.error("[LOG-FAIL] AI server returned null DTO.");
+            throw new ExternalServiceException("AI server returned no data for the new episode.");
+        }
+        log.info("✅ AI Response received - Episode title: {}", newEpisodeDto.getTitle());
+        log.info("📝 Intro text present: {} (length: {})",
+            newEpisodeDto.getIntroText() != null,
+            newEpisodeDto.getIntroText() != null ? newEpisodeDto.getIntroText().length() : 0);
+
+        self.saveGeneratedEpisode(storyId, episodeOrder, newEpisodeDto);
     }
 
-    @Transactional
-    public EpisodeDto runEpisodeGenerationTaskSync(String storyId, int episodeOrder, EpisodeDto previousEpisode) {
-        log.info("🚀 [SYNC] runEpisodeGenerationTaskSync STARTED - storyId: {}, episodeOrder: {}", storyId, episodeOrder);
-        StoryCreation storyCreation = null;
-        try {
-            storyCreation = storyCreationRepository.findById(storyId)
-                    .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
-
-            int totalEpisodes = storyCreation.getTotalEpisodesToGenerate();
-            log.info("📊 Total episodes to generate: {}", totalEpisodes);
-
-            log.info("[LOG-STEP 1] Preparing AI request for episode {}", episodeOrder);
-            GenerateNextEpisodeRequest aiRequest = prepareAiRequest(storyCreation, episodeOrder, previousEpisode);
-            log.info("[LOG-STEP 2] AI request prepared. Calling AI server...");
-
-            log.info("=== AI Request for Episode {} ===", episodeOrder);
-            log.info("📤 Sending AI request to: /generate-next-episode");
-            log.info("📦 Request payload - episodeOrder: {}, has previousEpisode: {}", episodeOrder, previousEpisode != null);
-
-            EpisodeDto newEpisodeDto = relayServerWebClient.post()
-                    .uri("/ai/generate-next-episode")
-                    .bodyValue(aiRequest)
-                    .retrieve()
-                    .bodyToMono(EpisodeDto.class)
-                    .block();
-            
-            log.info("[LOG-STEP 3] AI response received.");
-
-            if (newEpisodeDto == null) {
-                log.error("[LOG-FAIL] AI server returned null DTO.");
-                throw new RuntimeException("AI server returned no data for the new episode.");
-            }
-            log.info("✅ AI Response received - Episode title: {}", newEpisodeDto.getTitle());
-            log.info("📝 Intro text present: {} (length: {})",
-                newEpisodeDto.getIntroText() != null,
-                newEpisodeDto.getIntroText() != null ? newEpisodeDto.getIntroText().length() : 0);
-            log.info("[LOG-STEP 4] AI DTO is valid. Proceeding to save to DB...");
-
-            // 1. Save the new episode to the database and get the flattened node list
-            List<com.story.game.story.entity.StoryNode> savedNodes = storyMapper.saveEpisodeDtoToDb(newEpisodeDto, storyCreation);
-
-            log.info("[LOG-STEP 5] saveEpisodeDtoToDb completed. {} nodes saved.", savedNodes.size());
-
-            // Fetch the episode entity we just saved (no flush needed - managed by transaction)
-            Episode newEpisodeEntity = episodeRepository.findByStoryAndOrder(storyCreation, episodeOrder)
-                .orElseThrow(() -> new RuntimeException("Failed to fetch the newly created episode for order: " + episodeOrder));
-
-            log.info("[LOG-STEP 6] New episode entity fetched. Processing episode endings...");
-            // Save the episode endings provided by the AI
-            if (newEpisodeDto.getEndings() != null && !newEpisodeDto.getEndings().isEmpty()) {
-                log.info("Saving {} episode endings for episode order {}", newEpisodeDto.getEndings().size(), episodeOrder);
-                for (com.story.game.common.dto.EpisodeEndingDto endingDto : newEpisodeDto.getEndings()) {
-                    com.story.game.story.entity.EpisodeEnding endingEntity = new com.story.game.story.entity.EpisodeEnding();
-                    endingEntity.setEpisode(newEpisodeEntity);
-                    endingEntity.setTitle(endingDto.getTitle());
-                    endingEntity.setText(endingDto.getText());
-                    endingEntity.setCondition(endingDto.getCondition());
-
-                    if (endingDto.getGaugeChanges() != null) {
-                        try {
-                            endingEntity.setGaugeChanges(objectMapper.writeValueAsString(endingDto.getGaugeChanges()));
-                        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-                            log.error("Failed to serialize gauge changes for episode ending", e);
-                        }
-                    }
-
-                    episodeEndingRepository.save(endingEntity);
-                }
-            }
-            log.info("[LOG-STEP 7] Episode endings processed. Generating images for nodes (inline as they're saved)...");
-
-            // Generate images for each node immediately after save
-            generateImagesForNodesInline(storyCreation.getId(), savedNodes, newEpisodeEntity.getTitle(), newEpisodeEntity.getOrder());
-
-            log.info("[LOG-STEP 8] Image generation completed. Uploading snapshot to S3...");
-
-            // 2. Create a JSON snapshot and upload to S3
-            FullStoryDto fullStoryForS3 = storyMapper.buildFullStoryDtoFromDb(storyCreation);
-            String storyFileKey = "stories/" + storyId + ".json";
-            s3Service.uploadFile(storyFileKey, objectMapper.writeValueAsString(fullStoryForS3));
-            storyCreation.setS3FileKey(storyFileKey);
-
-            log.info("[LOG-STEP 8] S3 upload complete. Updating progress...");
-
-            // 3. Update progress
-            storyCreation.setCompletedEpisodes(episodeOrder);
-            int overallProgress = (int) (((double) episodeOrder / totalEpisodes) * 100);
-            storyCreation.setProgressPercentage(overallProgress);
-
-            if (episodeOrder == totalEpisodes) {
-                storyCreation.setStatus(StoryCreation.CreationStatus.COMPLETED);
-                storyCreation.setCompletedAt(LocalDateTime.now());
-                storyCreation.setCurrentPhase("COMPLETED");
-
-                // Create the final StoryData entity for gameplay
-                StoryData storyData = StoryData.builder()
-                    .title(storyCreation.getTitle())
-                    .genre(storyCreation.getGenre())
-                    .description(storyCreation.getDescription())
-                    .storyFileKey(storyCreation.getS3FileKey())
-                    .thumbnailFileKey(storyCreation.getThumbnailFileKey())  // Copy thumbnail fileKey
-                    .totalEpisodes(episodeRepository.findByStoryAndOrder(storyCreation, totalEpisodes).map(e -> e.getOrder()).orElse(0))
-                    .totalNodes((int) storyNodeRepository.countByEpisode_Story(storyCreation))
-                    .build();
-                storyDataRepository.save(storyData);
-                storyCreation.setStoryDataId(storyData.getId());
-
-                // 캐릭터 인덱싱은 사용자가 스텝 2에서 캐릭터 선택 시 자동으로 수행됩니다.
-                log.info("Story generation completed. Character indexing was done when user selected characters.");
-
-                // Update user achievements after story creation completion
-                if (storyCreation.getUser() != null) {
-                    try {
-                        achievementService.checkAndUpdateAchievements(storyCreation.getUser());
-                        log.info("Achievement progress updated for user {} after story creation",
-                            storyCreation.getUser().getUsername());
-                    } catch (Exception e) {
-                        log.error("Failed to update achievements for user {}: {}",
-                            storyCreation.getUser().getUsername(), e.getMessage(), e);
-                        // Continue anyway - achievement update failure shouldn't break creation flow
-                    }
-                }
-            } else {
-                storyCreation.setStatus(StoryCreation.CreationStatus.AWAITING_USER_ACTION);
-                storyCreation.setCurrentPhase("AWAITING_NEXT_EPISODE_TRIGGER");
-            }
-            storyCreationRepository.save(storyCreation);
+    @Transactional(readOnly = true)
+    public EpisodeDto getEpisodeDto(String storyId, int episodeOrder) {
+        StoryCreation storyCreation = storyCreationRepository.findById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
+        Episode episode = episodeRepository.findByStoryAndOrder(storyCreation, episodeOrder)
+                .orElseThrow(() -> new IllegalStateException("Previous episode (order: " + episodeOrder + ") not found in database."));
+        return storyMapper.toEpisodeDto(episode);
+    }
 
-            log.info("[LOG-STEP 9] Progress updated. Task finished successfully.");
-            log.info("[LOG-STEP 10] Mapping new episode entity back to DTO for response.");
-            EpisodeDto responseDto = storyMapper.toEpisodeDto(newEpisodeEntity);
-            return responseDto;
+    /**
+     * AI가 만든 에피소드 저장 + 이미지 작업 등록 + S3 스냅샷 + 진행률 갱신 (마지막 에피소드면 공개)
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void saveGeneratedEpisode(String storyId, int episodeOrder, EpisodeDto newEpisodeDto) throws IOException {
+        StoryCreation storyCreation = storyCreationRepository.findWithContentById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
 
-        } catch (Exception e) {
-            log.error("Episode generation task failed for storyId: {}", storyId, e);
-            if (storyCreation != null) {
-                storyCreation.setStatus(StoryCreation.CreationStatus.FAILED);
-                storyCreation.setErrorMessage(e.getMessage());
-                storyCreationRepository.save(storyCreation);
+        int totalEpisodes = storyCreation.getTotalEpisodesToGenerate();
+        log.info("📊 Total episodes to generate: {}", totalEpisodes);
+        log.info("[LOG-STEP 4] AI DTO is valid. Proceeding to save to DB...");
+
+        // 1. Save the new episode to the database and get the flattened node list
+        List<com.story.game.story.entity.StoryNode> savedNodes = storyMapper.saveEpisodeDtoToDb(newEpisodeDto, storyCreation);
+
+        log.info("[LOG-STEP 5] saveEpisodeDtoToDb completed. {} nodes saved.", savedNodes.size());
+
+        // Fetch the episode entity we just saved (no flush needed - managed by transaction)
+        Episode newEpisodeEntity = episodeRepository.findByStoryAndOrder(storyCreation, episodeOrder)
+            .orElseThrow(() -> new RuntimeException("Failed to fetch the newly created episode for order: " + episodeOrder));
+
+        // 엔딩은 saveEpisodeDtoToDb에서 에피소드와 함께 (순서 + 결정 테이블 포함) 저장됨
+        log.info("[LOG-STEP 6] New episode entity fetched. {} episode endings saved with the episode.",
+            newEpisodeEntity.getEndings().size());
+
+        // 노드 이미지는 이미지 단계(GENERATE_IMAGES 작업)로 넘기고, 텍스트 단계는 다음 에피소드를 바로 받을 수 있게 함
+        enqueueEpisodeJob(storyId, StoryJob.Type.GENERATE_IMAGES, episodeOrder);
+        log.info("[LOG-STEP 7] Image generation for {} nodes handed off to the image stage. Uploading snapshot to S3...",
+            savedNodes.size());
+
+        // 2. Upload the new episode's snapshot and refresh the manifest (other episodes are not rewritten)
+        String storyFileKey = storySnapshotStore.writeEpisodes(storyCreation, List.of(episodeOrder));
+        storyCreation.setS3FileKey(storyFileKey);
+
+        log.info("[LOG-STEP 8] S3 upload complete. Updating progress...");
+
+        // 3. Update progress
+        storyCreation.setCompletedEpisodes(episodeOrder);
+        int overallProgress = (int) (((double) episodeOrder / totalEpisodes) * 100);
+        storyCreation.setProgressPercentage(overallProgress);
+
+        if (episodeOrder == totalEpisodes) {
+            storyCreation.setStatus(StoryCreation.CreationStatus.COMPLETED);
+            storyCreation.setCompletedAt(LocalDateTime.now());
+            storyCreation.setCurrentPhase("COMPLETED");
+
+            // Create the final StoryData entity for gameplay
+            StoryData storyData = StoryData.builder()
+                .title(storyCreation.getTitle())
+                .genre(storyCreation.getGenre())
+                .description(storyCreation.getDescription())
+                .storyFileKey(storyCreation.getS3FileKey())
+                .thumbnailFileKey(storyCreation.getThumbnailFileKey())  // Copy thumbnail fileKey
+                .totalEpisodes(episodeRepository.findByStoryAndOrder(storyCreation, totalEpisodes).map(e -> e.getOrder()).orElse(0))
+                .totalNodes((int) storyNodeRepository.countByEpisode_Story(storyCreation))
+                .build();
+            storyDataRepository.save(storyData);
+            storyCreation.setStoryDataId(storyData.getId());
+            if (storyCreation.getUser() != null) {
+                rankingEngine.onStoryPublished(storyData.getId(), storyCreation.getUser().getId());
             }
-            throw new RuntimeException("Episode generation failed: " + e.getMessage(), e);
+            FullStoryDto publishedStory = storyMapper.buildFullStoryDtoFromDb(storyCreation);
+            storyAnalyticsService.checkEndingReachabilityOnPublish(storyCreation, publishedStory);
+
+            // 캐릭터 인덱싱은 사용자가 스텝 2에서 캐릭터 선택 시 자동으로 수행됩니다.
+            log.info("Story generation completed. Character indexing was done when user selected characters.");
+
+            // Update user achievements after story creation completion
+            if (storyCreation.getUser() != null) {
+                try {
+                    achievementService.checkAndUpdateAchievements(storyCreation.getUser());
+                    log.info("Achievement progress updated for user {} after story creation",
+                        storyCreation.getUser().getUsername());
+                } catch (Exception e) {
+                    log.error("Failed to update achievements for user {}: {}",
+                        storyCreation.getUser().getUsername(), e.getMessage(), e);
+                    // Continue anyway - achievement update failure shouldn't break creation flow
+                }
+            }
+        } else {
+            storyCreation.setStatus(StoryCreation.CreationStatus.AWAITING_USER_ACTION);
+            storyCreation.setCurrentPhase("AWAITING_NEXT_EPISODE_TRIGGER");
         }
-    }
+        storyCreationRepository.save(storyCreation);
 
+        log.info("[LOG-STEP 9] Progress updated. Episode {} of story {} saved.", episodeOrder, storyId);
+    }
 
     @Builder
     private static class GenerateNextEpisodeRequest {
@@ -367,10 +376,10 @@ public class SequentialGenerationService {
 
     public boolean checkAiServerHealth() {
         try {
-            String response = relayServerWebClient.get()
+            String response = relayGateway.call(RelayEndpoint.CHAT, client -> client.get()
                 .uri("/ai/health") // Relay server health endpoint
                 .retrieve()
-                .bodyToMono(String.class)
+                .bodyToMono(String.class))
                 .block();
             return response != null;
         } catch (Exception e) {
@@ -379,82 +388,72 @@ public class SequentialGenerationService {
         }
     }
 
-    private void updateProgress(String taskId, String storyId, StoryCreation.CreationStatus status, String message, int percentage, int completedEp, int totalEp, String error) {
-        // 현재까지 생성된 에피소드 목록 조회
-        List<EpisodeDto> episodes = new ArrayList<>();
-        try {
-            StoryCreation storyCreation = storyCreationRepository.findById(storyId).orElse(null);
-            if (storyCreation != null) {
-                List<Episode> episodeEntities = episodeRepository.findAllByStoryOrderByOrderAsc(storyCreation);
-                episodes = episodeEntities.stream()
-                        .map(storyMapper::toEpisodeDto)
-                        .collect(Collectors.toList());
-                log.info("📦 Progress update - found {} episodes for storyId: {}", episodes.size(), storyId);
-            }
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to fetch episodes for progress update: {}", e.getMessage());
+    /**
+     * 에피소드의 노드 이미지 생성 (StoryJobWorker에서 GENERATE_IMAGES 작업으로 실행)
+     *
+     * 이미지가 없는 노드만 ImageGenerationScheduler로 병렬 생성하므로 재시도/재개 시 이미 만든 이미지는 다시 만들지 않는다.
+     * 하나라도 실패하면 스냅샷을 갱신한 뒤 예외를 던져 작업 재시도로 남은 노드를 다시 시도한다.
+     */
+    public void runEpisodeImages(String storyId, int episodeOrder) throws IOException {
+        EpisodeImageBatch batch = self.getPendingImageBatch(storyId, episodeOrder);
+        if (batch.getTasks().isEmpty()) {
+            log.info("No pending images for episode {} of story {}", episodeOrder, storyId);
+            return;
         }
 
-        StoryProgressResponseDto.ProgressData progressData = StoryProgressResponseDto.ProgressData.builder()
-                .currentPhase(status.toString())
-                .completedEpisodes(completedEp)
-                .totalEpisodes(totalEp)
-                .percentage(percentage)
-                .message(message)
-                .error(error)
-                .build();
-        StoryProgressResponseDto progressDto = StoryProgressResponseDto.builder()
-                .storyId(storyId)
-                .status(status)
-                .progress(progressData)
-                .episodes(episodes)  // 생성된 에피소드 목록 포함
-                .build();
-        generationTasks.put(taskId, progressDto);
+        log.info("🎨 Starting image generation for {} nodes in episode {}", batch.getTasks().size(), episodeOrder);
+
+        int imageCount = imageGenerationScheduler.generateAll(
+            storyId, batch.getTasks(), batch.getEpisodeTitle(), episodeOrder);
+
+        log.info("🎉 Image generation completed: {} images generated out of {} nodes",
+            imageCount, batch.getTasks().size());
+
+        if (imageCount > 0) {
+            self.refreshEpisodeSnapshot(storyId, episodeOrder);
+        }
+        if (imageCount < batch.getTasks().size()) {
+            throw new ExternalServiceException(
+                (batch.getTasks().size() - imageCount) + " of " + batch.getTasks().size() + " images failed for episode " + episodeOrder);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public EpisodeImageBatch getPendingImageBatch(String storyId, int episodeOrder) {
+        StoryCreation storyCreation = storyCreationRepository.findById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
+        Episode episode = episodeRepository.findByStoryAndOrder(storyCreation, episodeOrder)
+                .orElseThrow(() -> new IllegalStateException("Episode (order: " + episodeOrder + ") not found in database."));
+
+        List<ImageGenerationService.NodeImageTask> tasks = episode.getNodes().stream()
+                .filter(node -> node.getImageFileKey() == null && imageGenerationService.shouldGenerateImage(node))
+                .sorted(Comparator.comparing(com.story.game.story.entity.StoryNode::getDepth,
+                        Comparator.nullsLast(Integer::compareTo)))
+                .map(imageGenerationService::toTask)
+                .toList();
+        return new EpisodeImageBatch(episode.getTitle(), tasks);
     }
 
     /**
-     * Generate images for nodes inline (immediately after DB save)
-     * Processes nodes sequentially in the order they were saved
+     * 에피소드 스냅샷을 현재 DB 상태로 다시 올림 (이미지 단계가 끝난 뒤 이미지 fileKey 반영)
      */
-    private void generateImagesForNodesInline(
-        String storyId,
-        List<com.story.game.story.entity.StoryNode> nodes,
-        String episodeTitle,
-        Integer episodeOrder
-    ) {
-        log.info("🎨 Starting inline image generation for {} nodes in episode {}", nodes.size(), episodeOrder);
-
-        int imageCount = 0;
-        for (com.story.game.story.entity.StoryNode node : nodes) {
-            // Generate image for this node if needed (root or ending nodes)
-            // ImageGenerationService will check if image is needed based on depth/type
-            try {
-                log.info("🖼️  Processing node {} (depth={}, type={})",
-                    node.getId(), node.getDepth(), node.getNodeType());
-
-                imageGenerationService.generateAndSaveNodeImage(
-                    storyId, node, episodeTitle, episodeOrder
-                );
-
-                // Only count if image was actually generated
-                if (imageGenerationService.shouldGenerateImage(node)) {
-                    imageCount++;
-                    log.info("✅ Image {}/{} generated for node {} (depth={})",
-                        imageCount, nodes.size(), node.getId(), node.getDepth());
-                }
-            } catch (Exception e) {
-                log.error("❌ Failed to generate image for node {}: {}", node.getId(), e.getMessage(), e);
-                // Continue with next node even if one fails
-            }
-        }
+    @Transactional(readOnly = true)
+    public void refreshEpisodeSnapshot(String storyId, int episodeOrder) throws IOException {
+        StoryCreation storyCreation = storyCreationRepository.findById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
+        storySnapshotStore.writeEpisodes(storyCreation, List.of(episodeOrder));
+    }
 
-        log.info("🎉 Image generation completed: {} images generated out of {} nodes",
-            imageCount, nodes.size());
+    @Getter
+    @AllArgsConstructor
+    public static class EpisodeImageBatch {
+        private final String episodeTitle;
+        private final List<ImageGenerationService.NodeImageTask> tasks;
     }
 
     /**
      * Generate images for root and ending nodes in an episode
-     * @deprecated Use generateImagesForNodesInline instead for better performance
+     * @deprecated Use runEpisodeImages (GENERATE_IMAGES job) instead
      */
     @Deprecated
     private void generateImagesForEpisode(
@@ -485,7 +484,7 @@ public class SequentialGenerationService {
 
     /**
      * Recursively process node tree to generate images for root and ending nodes
-     * @deprecated Use generateImagesForNodesInline instead for better performance
+     * @deprecated Use runEpisodeImages (GENERATE_IMAGES job) instead
      */
     @Deprecated
     private void processNodeTreeForImages(
@@ -0,0 +1,229 @@
+package com.story.game.creation.service;
+
+import com.story.game.common.dto.FinalEndingDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.common.exception.ResourceNotFoundException;
+import com.story.game.common.exception.UnauthorizedException;
+import com.story.game.creation.context.StoryContext;
+import com.story.game.creation.context.StoryContextCache;
+import com.story.game.creation.dto.EndingReachabilityResponseDto;
+import com.story.game.creation.dto.StoryAnalyticsResponseDto;
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.gameplay.analytics.ChoiceAnalyticsBuffer;
+import com.story.game.gameplay.graph.StoryGraph;
+import com.story.game.gameplay.graph.StoryGraphCache;
+import com.story.game.gameplay.simulation.EndingReachabilitySimulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 제작자 대시보드 통계 조회
+ *
+ * ChoiceAnalyticsBuffer가 시간 단위로 저장한 rollup 테이블만 GROUP BY로 읽고,
+ * 노드/선택지/엔딩 텍스트는 캐시된 StoryGraph와 StoryContext에서 붙인다 (플레이 기록 테이블은 읽지 않음).
+ * 엔딩 도달 가능성은 플레이 기록 없이 EndingReachabilitySimulator로 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StoryAnalyticsService {
+
+    static final int MAX_DAYS = 365;
+
+    private static final String CHOICES_SQL =
+            "SELECT node_id, choice_order, SUM(picks) AS picks FROM choice_pick_rollups " +
+            "WHERE story_creation_id = ? AND bucket_start >= ? GROUP BY node_id, choice_order";
+
+    private static final String ENDINGS_SQL =
+            "SELECT ending_type, ending_id, SUM(reaches) AS reaches FROM ending_reach_rollups " +
+            "WHERE story_creation_id = ? AND bucket_start >= ? GROUP BY ending_type, ending_id ORDER BY reaches DESC";
+
+    private static final String DAILY_SQL =
+            "SELECT DATE(bucket_start) AS day, SUM(reaches) AS reaches FROM ending_reach_rollups " +
+            "WHERE story_creation_id = ? AND bucket_start >= ? AND ending_type = '" + ChoiceAnalyticsBuffer.FINAL_ENDING + "' " +
+            "GROUP BY DATE(bucket_start) ORDER BY day";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StoryCreationRepository storyCreationRepository;
+    private final StoryGraphCache storyGraphCache;
+    private final StoryContextCache storyContextCache;
+    private final EndingReachabilitySimulator endingReachabilitySimulator;
+
+    @Value("${game.ending-simulation.run-on-publish:true}")
+    private boolean simulateOnPublish;
+
+    /**
+     * 최근 days일 동안의 선택지/엔딩 통계 (본인 스토리만)
+     */
+    @Transactional(readOnly = true)
+    public StoryAnalyticsResponseDto getAnalytics(String storyId, int days, com.story.game.auth.entity.User user) {
+        StoryCreation storyCreation = requireOwnedStory(storyId, user);
+
+        int window = Math.max(1, Math.min(days, MAX_DAYS));
+        LocalDateTime from = LocalDateTime.now().minusDays(window);
+        Timestamp since = Timestamp.valueOf(from);
+
+        StoryGraph graph = storyCreation.getStoryDataId() != null ? storyGraphCache.getGraph(storyCreation) : null;
+
+        Map<String, StoryAnalyticsResponseDto.NodeStats> nodes = new LinkedHashMap<>();
+        jdbcTemplate.query(CHOICES_SQL, rs -> {
+            String nodeId = rs.getString("node_id");
+            StoryAnalyticsResponseDto.NodeStats node = nodes.computeIfAbsent(nodeId, id -> newNodeStats(graph, id));
+            int order = rs.getInt("choice_order");
+            long picks = rs.getLong("picks");
+            node.setPicks(node.getPicks() + picks);
+            node.getChoices().add(StoryAnalyticsResponseDto.ChoiceStats.builder()
+                    .choiceOrder(order)
+                    .text(choiceText(graph, nodeId, order))
+                    .picks(picks)
+                    .build());
+        }, storyId, since);
+
+        long totalPicks = 0;
+        for (StoryAnalyticsResponseDto.NodeStats node : nodes.values()) {
+            totalPicks += node.getPicks();
+            node.getChoices().sort(Comparator.comparingInt(StoryAnalyticsResponseDto.ChoiceStats::getChoiceOrder));
+            for (StoryAnalyticsResponseDto.ChoiceStats choice : node.getChoices()) {
+                choice.setPickRate(node.getPicks() > 0 ? (double) choice.getPicks() / node.getPicks() : 0.0);
+            }
+        }
+        List<StoryAnalyticsResponseDto.NodeStats> nodeList = new ArrayList<>(nodes.values());
+        nodeList.sort(Comparator.comparingLong(StoryAnalyticsResponseDto.NodeStats::getPicks).reversed());
+
+        StoryContext context = storyContextCache.get(storyCreation);
+        List<StoryAnalyticsResponseDto.EndingStats> endings = jdbcTemplate.query(ENDINGS_SQL, (rs, rowNum) -> {
+            String type = rs.getString("ending_type");
+            String endingId = rs.getString("ending_id");
+            return StoryAnalyticsResponseDto.EndingStats.builder()
+                    .type(type)
+                    .endingId(endingId)
+                    .title(endingTitle(graph, context, type, endingId))
+                    .reaches(rs.getLong("reaches"))
+                    .build();
+        }, storyId, since);
+
+        List<StoryAnalyticsResponseDto.DailyCount> daily = jdbcTemplate.query(DAILY_SQL, (rs, rowNum) ->
+                StoryAnalyticsResponseDto.DailyCount.builder()
+                        .date(rs.getDate("day").toLocalDate())
+                        .count(rs.getLong("reaches"))
+                        .build(), storyId, since);
+
+        return StoryAnalyticsResponseDto.builder()
+                .storyId(storyId)
+                .from(from)
+                .days(window)
+                .totalPicks(totalPicks)
+                .totalCompletions(daily.stream().mapToLong(StoryAnalyticsResponseDto.DailyCount::getCount).sum())
+                .nodes(nodeList)
+                .endings(endings)
+                .completionsByDay(daily)
+                .build();
+    }
+
+    /**
+     * 최종/에피소드 엔딩 도달 확률과 도달할 수 없는 엔딩 (본인 스토리만)
+     */
+    @Transactional(readOnly = true)
+    public EndingReachabilityResponseDto getEndingReachability(String storyId, com.story.game.auth.entity.User user) {
+        StoryCreation storyCreation = requireOwnedStory(storyId, user);
+        StoryContext context = storyContextCache.get(storyCreation);
+        return endingReachabilitySimulator.simulate(storyId, storyGraphCache.getGraph(storyCreation),
+                context.getSelectedGaugeIds(), context.getFinalEndings());
+    }
+
+    /**
+     * 공개 직후 엔딩 도달 가능성 점검 (도달할 수 없는 엔딩은 경고 로그, 실패해도 공개는 계속)
+     * 캐시를 거치지 않고 방금 만든 스토리 스냅샷으로 그래프를 만든다.
+     */
+    public void checkEndingReachabilityOnPublish(StoryCreation storyCreation, FullStoryDto fullStory) {
+        if (!simulateOnPublish) {
+            return;
+        }
+        try {
+            StoryContext context = storyContextCache.get(storyCreation);
+            EndingReachabilityResponseDto report = endingReachabilitySimulator.simulate(storyCreation.getId(),
+                    StoryGraph.from(storyCreation.getId(), fullStory), context.getSelectedGaugeIds(), context.getFinalEndings());
+            if (!report.getUnreachableFinalEndings().isEmpty() || !report.getUnreachableEpisodeEndings().isEmpty()) {
+                log.warn("Story {} has unreachable endings: final={}, episode={} (mode={})", storyCreation.getId(),
+                        report.getUnreachableFinalEndings(), report.getUnreachableEpisodeEndings(), report.getMode());
+            }
+        } catch (Exception e) {
+            log.warn("Ending reachability check failed for story {}: {}", storyCreation.getId(), e.getMessage());
+        }
+    }
+
+    private StoryCreation requireOwnedStory(String storyId, com.story.game.auth.entity.User user) {
+        StoryCreation storyCreation = storyCreationRepository.findById(storyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Story not found: " + storyId));
+
+        if (storyCreation.getUser() == null || !storyCreation.getUser().getId().equals(user.getId())) {
+            throw new UnauthorizedException("Unauthorized: You can only view analytics of your own stories");
+        }
+        return storyCreation;
+    }
+
+    private StoryAnalyticsResponseDto.NodeStats newNodeStats(StoryGraph graph, String nodeId) {
+        StoryGraph.Node node = findNode(graph, nodeId);
+        return StoryAnalyticsResponseDto.NodeStats.builder()
+                .nodeId(nodeId)
+                .episodeTitle(node != null ? graph.getEpisodeOf(node).getTitle() : null)
+                .nodeText(node != null ? node.getText() : null)
+                .choices(new ArrayList<>())
+                .build();
+    }
+
+    private String choiceText(StoryGraph graph, String nodeId, int order) {
+        StoryGraph.Node node = findNode(graph, nodeId);
+        if (node == null) {
+            return null;
+        }
+        for (StoryGraph.Choice choice : graph.getChoices(node)) {
+            if (choice.getOrder() == order) {
+                return choice.getText();
+            }
+        }
+        return null;
+    }
+
+    private String endingTitle(StoryGraph graph, StoryContext context, String type, String endingId) {
+        if (ChoiceAnalyticsBuffer.FINAL_ENDING.equals(type)) {
+            FinalEndingDto ending = context.findFinalEnding(endingId);
+            return ending != null ? ending.getTitle() : null;
+        }
+        if (graph == null) {
+            return null;
+        }
+        try {
+            StoryGraph.Ending ending = graph.getEnding(UUID.fromString(endingId));
+            return ending != null ? ending.getTitle() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 재생성/편집으로 사라진 노드는 텍스트 없이 집계만 반환
+    private StoryGraph.Node findNode(StoryGraph graph, String nodeId) {
+        if (graph == null) {
+            return null;
+        }
+        try {
+            return graph.getNode(nodeId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -2,25 +2,26 @@ package com.story.game.creation.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.story.game.common.dto.FullStoryDto;
 import com.story.game.common.dto.StoryNodeDto;
 import com.story.game.creation.dto.RegenerateSubtreeResponseDto;
 import com.story.game.creation.dto.SubtreeRegenerationRequestDto;
 import com.story.game.creation.dto.UpdateNodeRequestDto;
 import com.story.game.creation.entity.StoryCreation;
 import com.story.game.creation.repository.StoryCreationRepository;
-import com.story.game.infrastructure.s3.S3Service;
+import com.story.game.gameplay.graph.StoryGraphCache;
+import com.story.game.infrastructure.relay.RelayEndpoint;
+import com.story.game.infrastructure.relay.RelayGateway;
 import com.story.game.story.entity.Episode;
 import com.story.game.story.entity.StoryNode;
 import com.story.game.story.mapper.StoryMapper;
 import com.story.game.story.repository.EpisodeRepository;
 import com.story.game.story.repository.StoryNodeRepository;
+import com.story.game.story.snapshot.StorySnapshotStore;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
@@ -35,10 +36,11 @@ public class StoryEditingService {
     private final StoryCreationRepository storyCreationRepository;
     private final EpisodeRepository episodeRepository;
     private final StoryNodeRepository storyNodeRepository;
-    private final S3Service s3Service; // Kept for snapshot updates
-    private final WebClient relayServerWebClient;
+    private final StorySnapshotStore storySnapshotStore;
+    private final RelayGateway relayGateway;
     private final ObjectMapper objectMapper;
     private final StoryMapper storyMapper;
+    private final StoryGraphCache storyGraphCache;
 
     @Transactional
     public List<StoryNodeDto> regenerateSubtreeSync(
@@ -89,11 +91,13 @@ public class StoryEditingService {
             }
             storyNodeRepository.save(sourceNode);
 
-            // Update S3 snapshot
-            FullStoryDto fullStoryForS3 = storyMapper.buildFullStoryDtoFromDb(storyCreation);
-            s3Service.uploadFile(storyCreation.getS3FileKey(), objectMapper.writeValueAsString(fullStoryForS3));
+            // Drop the gameplay graph snapshot (rebuilt on next play after commit)
+            storyGraphCache.invalidate(storyCreation.getId());
 
-            log.info("💾 Updated S3 snapshot");
+            // Update S3 snapshot (편집한 에피소드만 다시 올림)
+            storyCreation.setS3FileKey(storySnapshotStore.writeEpisodes(storyCreation, List.of(episode.getOrder())));
+
+            log.info("💾 Updated S3 snapshot for episode {}", episode.getOrder());
             log.info("✅ Subtree regeneration completed successfully");
 
             return regeneratedChildren;
@@ -134,11 +138,11 @@ public class StoryEditingService {
     }
 
     private Mono<List<StoryNodeDto>> callAiRegenerationApi(SubtreeRegenerationRequestDto aiRequest) {
-        return relayServerWebClient.post()
+        return relayGateway.call(RelayEndpoint.GENERATION, client -> client.post()
                 .uri("/ai/regenerate-subtree")
                 .bodyValue(aiRequest)
                 .retrieve()
-                .bodyToMono(RegenerateSubtreeResponseDto.class)
+                .bodyToMono(RegenerateSubtreeResponseDto.class))
                 .map(RegenerateSubtreeResponseDto::getRegeneratedNodes)
                 .doOnError(e -> log.error("AI server call failed: {}", e.getMessage()));
     }
@@ -6,23 +6,34 @@ import com.story.game.ai.dto.NovelStyleLearnRequestDto;
 import com.story.game.ai.service.RelayServerClient;
 import com.story.game.creation.dto.*;
 import com.story.game.common.dto.*;
+import com.story.game.creation.context.StoryContextCache;
 import com.story.game.creation.entity.StoryCreation;
+import com.story.game.creation.job.StoryJob;
+import com.story.game.creation.job.StoryJobQueue;
 import com.story.game.common.entity.StoryData;
 import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.common.ranking.RankingEngine;
 import com.story.game.common.repository.StoryDataRepository;
+import com.story.game.gameplay.graph.StoryGraphCache;
+import com.story.game.infrastructure.relay.RelayEndpoint;
+import com.story.game.infrastructure.relay.RelayGateway;
 import com.story.game.infrastructure.s3.S3Service;
 import com.story.game.rag.dto.CharacterIndexRequestDto;
 import com.story.game.rag.dto.NovelIndexRequestDto;
 import com.story.game.rag.service.RagService;
+import com.story.game.story.mapper.StoryMapper;
+import com.story.game.story.repository.StoryNodeRepository;
+import com.story.game.story.snapshot.StorySnapshotStore;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -36,11 +47,18 @@ public class StoryManagementService {
     private final StoryCreationRepository storyCreationRepository;
     private final RagService ragService;
     private final StoryDataRepository storyDataRepository;
-    private final WebClient relayServerWebClient;
+    private final RelayGateway relayGateway;
     private final RelayServerClient relayServerClient;
     private final ObjectMapper objectMapper;
     private final S3Service s3Service;
     private final com.story.game.story.repository.EpisodeRepository episodeRepository;
+    private final StoryGraphCache storyGraphCache;
+    private final StoryContextCache storyContextCache;
+    private final RankingEngine rankingEngine;
+    private final StoryJobQueue storyJobQueue;
+    private final StoryMapper storyMapper;
+    private final StoryNodeRepository storyNodeRepository;
+    private final StorySnapshotStore storySnapshotStore;
 
     @org.springframework.beans.factory.annotation.Value("${aws.s3.bucket}")
     private String bucketName;
@@ -66,60 +84,13 @@ public class StoryManagementService {
 
         storyCreation = storyCreationRepository.save(storyCreation);
 
-        // Upload novel to S3 first (for AI-IMAGE server)
+        // Upload novel to S3 first (for AI-IMAGE server and RAG)
         String novelFileKey = "novels/original/" + storyId + ".txt";
         s3Service.uploadFile(novelFileKey, request.getNovelText());
         log.info("Uploaded novel to S3: {}", novelFileKey);
 
-        // Generate thumbnail synchronously
-        String thumbnailImageUrl = null;
-        String thumbnailFileKey = "thumbnails/" + storyId + "/thumbnail.png";
-        try {
-            // Generate presigned URL for thumbnail upload
-            String thumbnailS3Url = s3Service.generatePresignedUploadUrl(thumbnailFileKey).getUrl();
-            log.info("Generated presigned URL for thumbnail upload: {}", thumbnailFileKey);
-
-            // Call AI-IMAGE server to learn style and generate thumbnail
-            com.story.game.ai.dto.NovelStyleLearnRequestDto learnRequest = com.story.game.ai.dto.NovelStyleLearnRequestDto.builder()
-                    .story_id(storyId)
-                    .title(request.getTitle())
-                    .novel_s3_bucket(bucketName)
-                    .novel_s3_key(novelFileKey)
-                    .thumbnail_s3_url(thumbnailS3Url)
-                    .thumbnail_s3_bucket(bucketName)  // 추가
-                    .thumbnail_s3_key(thumbnailFileKey)  // 추가
-                    .build();
-
-            // 디버깅 로그 추가
-            log.info("📋 Thumbnail request details:");
-            log.info("   thumbnail_s3_url: {}", thumbnailS3Url != null ? "SET (length: " + thumbnailS3Url.length() + ")" : "NULL");
-            log.info("   thumbnail_s3_bucket: {}", bucketName);
-            log.info("   thumbnail_s3_key: {}", thumbnailFileKey);
-
-            // Synchronous call to learn style and generate thumbnail
-            com.story.game.ai.dto.NovelStyleLearnResponseDto learnResponse = relayServerClient.learnNovelStyle(learnRequest);
-            if (learnResponse != null && learnResponse.getThumbnail_image_url() != null) {
-                log.info("Thumbnail generated by AI-IMAGE server: {}", learnResponse.getThumbnail_image_url());
-
-                // Generate presigned download URL for the thumbnail
-                thumbnailImageUrl = s3Service.generatePresignedDownloadUrl(thumbnailFileKey);
-                log.info("✅ Generated presigned download URL for thumbnail: {}",
-                    thumbnailImageUrl.substring(0, Math.min(100, thumbnailImageUrl.length())) + "...");
-
-                // Save thumbnail file key to StoryCreation
-                storyCreation.setThumbnailFileKey(thumbnailFileKey);
-                storyCreationRepository.save(storyCreation);
-                log.info("✅ Saved thumbnail fileKey to DB: {}", thumbnailFileKey);
-            } else {
-                log.warn("No thumbnail URL in response from AI-IMAGE server");
-            }
-        } catch (Exception e) {
-            log.error("Failed to generate thumbnail: {}", e.getMessage(), e);
-            // Continue without thumbnail
-        }
-
-        // Start AI analysis async
-        startAnalysisAsync(storyId, request.getNovelText());
+        // 분석/썸네일 생성은 백그라운드 작업으로 실행 (진행 상황은 /progress로 조회)
+        storyJobQueue.enqueue(storyId, StoryJob.Type.ANALYZE_NOVEL, null);
 
         return StoryUploadResponseDto.builder()
                 .storyId(storyCreation.getId())
@@ -127,106 +98,90 @@ public class StoryManagementService {
                 .genre(storyCreation.getGenre())
                 .status(storyCreation.getStatus())
                 .createdAt(storyCreation.getCreatedAt())
-                .thumbnailImageUrl(thumbnailImageUrl)
                 .build();
     }
 
-    @Transactional
-    public void startAnalysisAsync(String storyId, String novelText) {
-        try {
-            log.info("Starting AI analysis for story: {}", storyId);
-            log.info("Novel text parameter - is null: {}, length: {}",
-                novelText == null,
-                novelText != null ? novelText.length() : 0);
-
-            // Upload novel text to S3 for RAG access
-            String novelFileKey = "novels/original/" + storyId + ".txt";
-            s3Service.uploadFile(novelFileKey, novelText);
-            log.info("Uploaded original novel to S3: {}", novelFileKey);
-
-            // Generate pre-signed download URL for RAG server
-            String novelDownloadUrl = s3Service.generatePresignedDownloadUrl(novelFileKey);
-            log.info("Generated Pre-signed download URL for RAG server: {}", novelFileKey);
-
-            // Index novel to RAG server (병렬 처리 - 실패해도 분석 계속 진행)
-            StoryCreation storyCreationForRag = storyCreationRepository.findById(storyId)
-                    .orElseThrow(() -> new RuntimeException("Story not found"));
-            NovelIndexRequestDto ragRequest = NovelIndexRequestDto.builder()
-                    .storyId(storyId)
-                    .title(storyCreationForRag.getTitle())
-                    .fileKey(novelFileKey)
-                    .bucket(bucketName)
-                    .build();
-            ragService.indexNovel(ragRequest);
+    /**
+     * 업로드한 소설 텍스트 분석 (StoryJobWorker에서 ANALYZE_NOVEL 작업으로 실행)
+     * AI 서버 호출 동안 DB 트랜잭션을 잡지 않으며, 실패는 호출한 워커가 재시도/실패 처리한다.
+     */
+    public void runNovelAnalysis(String storyId) throws Exception {
+        StoryCreation storyCreationForRag = storyCreationRepository.findWithContentById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
+        if (storyCreationForRag.getStatus() != StoryCreation.CreationStatus.ANALYZING) {
+            // 재시도/재개 시 이미 분석이 끝난 스토리
+            log.info("Skipping analysis for story {}: status is {}", storyId, storyCreationForRag.getStatus());
+            return;
+        }
+        String novelText = storyCreationForRag.getNovelText();
 
-            NovelAnalysisRequestDto request = NovelAnalysisRequestDto.builder()
-                    .novelText(novelText)
-                    .fileKey(novelFileKey)  // S3 파일 키도 함께 전달
-                    .bucket(bucketName)
-                    .novelDownloadUrl(novelDownloadUrl)  // RAG가 원본 소설을 다운로드할 URL
-                    .build();
+        log.info("Starting AI analysis for story: {}", storyId);
+        log.info("Novel text - is null: {}, length: {}",
+            novelText == null,
+            novelText != null ? novelText.length() : 0);
 
-            log.info("Created NovelAnalysisRequestDto - novelText field is null: {}, length: {}",
-                request.getNovelText() == null,
-                request.getNovelText() != null ? request.getNovelText().length() : 0);
+        // Novel text was uploaded to S3 by uploadNovel
+        String novelFileKey = "novels/original/" + storyId + ".txt";
 
-            try {
-                String requestJson = objectMapper.writeValueAsString(request);
-                log.info("Serialized JSON to send to relay-server: {}",
-                    requestJson.length() > 500 ? requestJson.substring(0, 500) + "..." : requestJson);
-            } catch (Exception e) {
-                log.warn("Failed to serialize request for logging", e);
-            }
+        // Generate pre-signed download URL for RAG server
+        String novelDownloadUrl = s3Service.generatePresignedDownloadUrl(novelFileKey);
+        log.info("Generated Pre-signed download URL for RAG server: {}", novelFileKey);
 
-            NovelAnalysisResponseDto response = relayServerWebClient.post()
-                    .uri("/ai/analyze")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(NovelAnalysisResponseDto.class)
-                    .block();
+        // Index novel to RAG server (병렬 처리 - 실패해도 분석 계속 진행)
+        NovelIndexRequestDto ragRequest = NovelIndexRequestDto.builder()
+                .storyId(storyId)
+                .title(storyCreationForRag.getTitle())
+                .fileKey(novelFileKey)
+                .bucket(bucketName)
+                .build();
+        ragService.indexNovel(ragRequest);
 
-            if (response == null) {
-                throw new com.story.game.common.exception.ExternalServiceException("No response from AI server");
-            }
+        NovelAnalysisRequestDto request = NovelAnalysisRequestDto.builder()
+                .novelText(novelText)
+                .fileKey(novelFileKey)  // S3 파일 키도 함께 전달
+                .bucket(bucketName)
+                .novelDownloadUrl(novelDownloadUrl)  // RAG가 원본 소설을 다운로드할 URL
+                .build();
 
-            StoryCreation storyCreation = storyCreationRepository.findById(storyId)
-                    .orElseThrow(() -> new RuntimeException("Story not found"));
+        try {
+            String requestJson = objectMapper.writeValueAsString(request);
+            log.info("Serialized JSON to send to relay-server: {}",
+                requestJson.length() > 500 ? requestJson.substring(0, 500) + "..." : requestJson);
+        } catch (Exception e) {
+            log.warn("Failed to serialize request for logging", e);
+        }
 
-            storyCreation.setSummary(response.getSummary());
-            storyCreation.setCharactersJson(objectMapper.writeValueAsString(response.getCharacters()));
-            storyCreation.setGaugesJson(objectMapper.writeValueAsString(response.getGauges()));
-            storyCreation.setS3FileKey(novelFileKey);  // Save original novel S3 key
-            // Note: finalEndings will be generated after user selects gauges (in selectGauges method)
-            storyCreation.setStatus(StoryCreation.CreationStatus.GAUGES_READY);
-            storyCreation.setCurrentPhase("GAUGES_READY");
-            storyCreation.setProgressPercentage(30);
-            storyCreation.setProgressMessage("Novel analysis completed");
+        NovelAnalysisResponseDto response = relayGateway.call(RelayEndpoint.ANALYSIS, client -> client.post()
+                .uri("/ai/analyze")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(NovelAnalysisResponseDto.class))
+                .block();
 
-            storyCreationRepository.save(storyCreation);
+        if (response == null) {
+            throw new com.story.game.common.exception.ExternalServiceException("No response from AI server");
+        }
 
-            log.info("AI analysis completed for story: {}", storyId);
+        StoryCreation storyCreation = storyCreationRepository.findWithContentById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
 
-            // Learn novel style for image generation (non-blocking, failure is non-critical)
-            try {
-                NovelStyleLearnRequestDto styleRequest = NovelStyleLearnRequestDto.builder()
-                        .story_id(storyId)
-                        .novel_text(novelText)
-                        .title(storyCreation.getTitle())
-                        .build();
-
-                com.story.game.ai.dto.NovelStyleLearnResponseDto styleResult = relayServerClient.learnNovelStyle(styleRequest);
-                if (styleResult != null) {
-                    log.info("Novel style learned successfully for story: {}", storyId);
-                } else {
-                    log.warn("Novel style learning failed for story: {} (non-critical)", storyId);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to learn novel style (non-critical): {}", e.getMessage());
-            }
-        } catch (Exception e) {
-            log.error("Failed to analyze novel for story: {}", storyId, e);
-            updateStoryStatus(storyId, StoryCreation.CreationStatus.FAILED, "Analysis failed: " + e.getMessage());
-        }
+        storyCreation.setSummary(response.getSummary());
+        storyCreation.setCharactersJson(objectMapper.writeValueAsString(response.getCharacters()));
+        storyCreation.setGaugesJson(objectMapper.writeValueAsString(response.getGauges()));
+        storyContextCache.invalidate(storyId);
+        storyCreation.setS3FileKey(novelFileKey);  // Save original novel S3 key
+        // Note: finalEndings will be generated after user selects gauges (in selectGauges method)
+        storyCreation.setStatus(StoryCreation.CreationStatus.GAUGES_READY);
+        storyCreation.setCurrentPhase("GAUGES_READY");
+        storyCreation.setProgressPercentage(30);
+        storyCreation.setProgressMessage("Novel analysis completed");
+
+        storyCreation = storyCreationRepository.save(storyCreation);
+
+        log.info("AI analysis completed for story: {}", storyId);
+
+        // Learn novel style for image generation and generate thumbnail (failure is non-critical)
+        learnStyleAndGenerateThumbnail(storyCreation, novelFileKey);
     }
 
     @Transactional(readOnly = true)
@@ -340,6 +295,7 @@ public class StoryManagementService {
             storyCreation.setSelectedGaugeIdsJson(
                     objectMapper.writeValueAsString(request.getSelectedGaugeIds())
             );
+            storyContextCache.invalidate(storyCreation.getId());
             storyCreation.setStatus(StoryCreation.CreationStatus.GAUGES_SELECTED);
             storyCreation.setCurrentPhase("GAUGES_SELECTED");
             storyCreation.setProgressPercentage(40);
@@ -378,18 +334,18 @@ public class StoryManagementService {
                         "selected_gauges", selectedGauges
                 );
 
-                @SuppressWarnings("unchecked")
-                Map<String, Object> finalizeResponse = relayServerWebClient.post()
+                Map<String, Object> finalizeResponse = relayGateway.call(RelayEndpoint.ANALYSIS, client -> client.post()
                         .uri("/ai/finalize-analysis")
                         .bodyValue(finalizeRequest)
                         .retrieve()
-                        .bodyToMono(Map.class)
+                        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
                         .block();
 
                 if (finalizeResponse != null && finalizeResponse.containsKey("finalEndings")) {
                     storyCreation.setEndingConfigJson(
                             objectMapper.writeValueAsString(finalizeResponse.get("finalEndings"))
                     );
+                    storyContextCache.invalidate(storyCreation.getId());
                     storyCreationRepository.save(storyCreation);
                     log.info("Final endings generated and saved successfully");
                 } else {
@@ -466,6 +422,7 @@ public class StoryManagementService {
             storyCreation.setSelectedCharactersForChatJson(
                     objectMapper.writeValueAsString(request.getCharacterNames())
             );
+            storyContextCache.invalidate(storyCreation.getId());
             storyCreationRepository.save(storyCreation);
 
             // Index selected characters to NPC AI
@@ -777,6 +734,7 @@ public class StoryManagementService {
             // Save endingConfig as JSON
             if (request.getEndingConfig() != null) {
                 storyCreation.setEndingConfigJson(objectMapper.writeValueAsString(request.getEndingConfig()));
+                storyContextCache.invalidate(storyCreation.getId());
                 log.info("Ending config saved: {}", request.getEndingConfig());
             }
 
@@ -812,17 +770,87 @@ public class StoryManagementService {
         StoryCreation storyCreation = storyCreationRepository.findById(storyId)
                 .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
 
+        StoryJob job = storyJobQueue.findLatest(storyId).orElse(null);
+
+        // 생성된 에피소드는 진행 중인 작업이 없을 때만 포함 (생성 중 polling에서 트리 전체를 읽지 않음)
+        List<EpisodeDto> episodes = null;
+        Integer completedEpisodes = storyCreation.getCompletedEpisodes();
+        if ((job == null || !job.getStatus().isActive()) && completedEpisodes != null && completedEpisodes > 0) {
+            episodes = episodeRepository.findAllByStoryOrderByOrderAsc(storyCreation).stream()
+                    .map(storyMapper::toEpisodeDto)
+                    .collect(Collectors.toList());
+        }
+
         return StoryProgressResponseDto.builder()
                 .storyId(storyCreation.getId())
                 .status(storyCreation.getStatus())
                 .progress(StoryProgressResponseDto.ProgressData.builder()
                         .currentPhase(storyCreation.getCurrentPhase())
-                        .completedEpisodes(storyCreation.getCompletedEpisodes())
+                        .completedEpisodes(completedEpisodes)
                         .totalEpisodes(storyCreation.getTotalEpisodesToGenerate())
                         .percentage(storyCreation.getProgressPercentage())
                         .message(storyCreation.getProgressMessage())
                         .error(storyCreation.getErrorMessage())
                         .build())
+                .job(job != null ? toJobData(job) : null)
+                .stages(toStageData(storyCreation))
+                .episodes(episodes)
+                .build();
+    }
+
+    /**
+     * 작업 종류별 집계를 파이프라인 단계별로 묶음 (단계별 대기/실행 수, 처리량)
+     */
+    private List<StoryProgressResponseDto.StageData> toStageData(StoryCreation storyCreation) {
+        Map<String, StoryProgressResponseDto.StageData> stages = new LinkedHashMap<>();
+        for (StoryJobQueue.StageCount count : storyJobQueue.countByStage(storyCreation.getId())) {
+            String stage = count.getType().stage();
+            StoryProgressResponseDto.StageData data = stages.computeIfAbsent(stage, key ->
+                    StoryProgressResponseDto.StageData.builder()
+                            .stage(key).queued(0L).running(0L).succeeded(0L).failed(0L).busySeconds(0L)
+                            .build());
+            switch (count.getStatus()) {
+                case QUEUED -> data.setQueued(data.getQueued() + count.getCount());
+                case RUNNING -> data.setRunning(data.getRunning() + count.getCount());
+                case SUCCEEDED -> data.setSucceeded(data.getSucceeded() + count.getCount());
+                case FAILED -> data.setFailed(data.getFailed() + count.getCount());
+                default -> { }
+            }
+            data.setBusySeconds(data.getBusySeconds() + count.getBusySeconds());
+        }
+
+        StoryProgressResponseDto.StageData text = stages.get(StoryJob.Type.GENERATE_EPISODE.stage());
+        if (text != null) {
+            Integer completedEpisodes = storyCreation.getCompletedEpisodes();
+            text.setCompletedItems(completedEpisodes != null ? completedEpisodes.longValue() : 0L);
+        }
+        StoryProgressResponseDto.StageData images = stages.get(StoryJob.Type.GENERATE_IMAGES.stage());
+        if (images != null) {
+            long pending = storyNodeRepository.countByEpisode_StoryAndImageFileKeyIsNull(storyCreation);
+            images.setPendingItems(pending);
+            images.setCompletedItems(storyNodeRepository.countByEpisode_Story(storyCreation) - pending);
+        }
+        for (StoryProgressResponseDto.StageData data : stages.values()) {
+            if (data.getCompletedItems() != null && data.getBusySeconds() > 0) {
+                data.setItemsPerMinute(data.getCompletedItems() * 60.0 / data.getBusySeconds());
+            }
+        }
+        return new ArrayList<>(stages.values());
+    }
+
+    private StoryProgressResponseDto.JobData toJobData(StoryJob job) {
+        return StoryProgressResponseDto.JobData.builder()
+                .jobId(job.getId())
+                .type(job.getType().name())
+                .status(job.getStatus().name())
+                .attempts(job.getAttempts())
+                .maxAttempts(job.getMaxAttempts())
+                .queuedAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .heartbeatAt(job.getHeartbeatAt())
+                .nextAttemptAt(job.getStatus() == StoryJob.Status.QUEUED ? job.getAvailableAt() : null)
+                .finishedAt(job.getFinishedAt())
+                .lastError(job.getLastError())
                 .build();
     }
 
@@ -839,9 +867,7 @@ public class StoryManagementService {
                 .orElseThrow(() -> new RuntimeException("Story data not found"));
 
         try {
-            String storyJson = s3Service.downloadFileContent(storyData.getStoryFileKey());
-
-            FullStoryDto fullStory = objectMapper.readValue(storyJson, FullStoryDto.class);
+            FullStoryDto fullStory = storySnapshotStore.read(storyCreation, storyData.getStoryFileKey());
             EpisodeDto firstEpisode = fullStory.getEpisodes().stream()
                     .filter(ep -> ep.getOrder() == 1)
                     .findFirst()
@@ -902,8 +928,7 @@ public class StoryManagementService {
                 .orElseThrow(() -> new RuntimeException("Story data not found"));
 
         try {
-            String storyJson = s3Service.downloadFileContent(storyData.getStoryFileKey());
-            return objectMapper.readValue(storyJson, FullStoryDto.class);
+            return storySnapshotStore.read(storyCreation, storyData.getStoryFileKey());
         } catch (Exception e) {
             log.error("Failed to parse story JSON", e);
             throw new com.story.game.common.exception.InvalidStateException("Failed to parse story data: " + e.getMessage());
@@ -932,7 +957,8 @@ public class StoryManagementService {
 
         storyCreation = storyCreationRepository.save(storyCreation);
 
-        startAnalysisFromS3Async(storyId, request.getFileKey());
+        // 분석은 백그라운드 작업으로 실행 (진행 상황은 /progress로 조회)
+        storyJobQueue.enqueue(storyId, StoryJob.Type.ANALYZE_NOVEL_S3, null);
 
         return StoryUploadResponseDto.builder()
                 .storyId(storyCreation.getId())
@@ -943,142 +969,148 @@ public class StoryManagementService {
                 .build();
     }
 
-    @Transactional
-    public void startAnalysisFromS3Async(String storyId, String fileKey) {
-        try {
-            log.info("Starting AI analysis from S3 for story: {}, bucket: {}, fileKey: {}", storyId, bucketName, fileKey);
-
-            // Generate pre-signed URL for AI server to upload analysis result
-            String resultFileKey = "analysis/" + UUID.randomUUID().toString() + ".json";
-            String s3UploadUrl = s3Service.generatePresignedUploadUrl(resultFileKey).getUrl();
-            log.info("Generated Pre-signed URL for AI server to upload analysis result: {}", resultFileKey);
-
-            // Generate pre-signed download URL for RAG server to access original novel
-            String novelDownloadUrl = s3Service.generatePresignedDownloadUrl(fileKey);
-            log.info("Generated Pre-signed download URL for RAG server to access original novel: {}", fileKey);
-
-            // Index novel to RAG server (병렬 처리 - 실패해도 분석 계속 진행)
-            StoryCreation storyCreationForRag = storyCreationRepository.findById(storyId)
-                    .orElseThrow(() -> new RuntimeException("Story not found"));
-            NovelIndexRequestDto ragRequest = NovelIndexRequestDto.builder()
-                    .storyId(storyId)
-                    .title(storyCreationForRag.getTitle())
-                    .fileKey(fileKey)
-                    .bucket(bucketName)
-                    .build();
-            ragService.indexNovel(ragRequest);
-
-            NovelAnalysisRequestDto aiRequest = NovelAnalysisRequestDto.builder()
-                    .fileKey(fileKey)
-                    .bucket(bucketName)
-                    .s3UploadUrl(s3UploadUrl)
-                    .resultFileKey(resultFileKey)
-                    .novelDownloadUrl(novelDownloadUrl)  // RAG가 원본 소설을 다운로드할 URL
-                    .build();
-
-            log.info("Calling relay-server /ai/analyze-from-s3 endpoint for S3 mode");
+    /**
+     * S3에 올린 소설 파일 분석 (StoryJobWorker에서 ANALYZE_NOVEL_S3 작업으로 실행)
+     * AI 서버 호출 동안 DB 트랜잭션을 잡지 않으며, 실패는 호출한 워커가 재시도/실패 처리한다.
+     */
+    public void runNovelAnalysisFromS3(String storyId) throws Exception {
+        StoryCreation storyCreationForRag = storyCreationRepository.findById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
+        if (storyCreationForRag.getStatus() != StoryCreation.CreationStatus.ANALYZING) {
+            // 재시도/재개 시 이미 분석이 끝난 스토리
+            log.info("Skipping analysis for story {}: status is {}", storyId, storyCreationForRag.getStatus());
+            return;
+        }
+        String fileKey = storyCreationForRag.getS3FileKey();
+        log.info("Starting AI analysis from S3 for story: {}, bucket: {}, fileKey: {}", storyId, bucketName, fileKey);
+
+        // Generate pre-signed URL for AI server to upload analysis result
+        String resultFileKey = "analysis/" + UUID.randomUUID().toString() + ".json";
+        String s3UploadUrl = s3Service.generatePresignedUploadUrl(resultFileKey).getUrl();
+        log.info("Generated Pre-signed URL for AI server to upload analysis result: {}", resultFileKey);
+
+        // Generate pre-signed download URL for RAG server to access original novel
+        String novelDownloadUrl = s3Service.generatePresignedDownloadUrl(fileKey);
+        log.info("Generated Pre-signed download URL for RAG server to access original novel: {}", fileKey);
+
+        // Index novel to RAG server (병렬 처리 - 실패해도 분석 계속 진행)
+        NovelIndexRequestDto ragRequest = NovelIndexRequestDto.builder()
+                .storyId(storyId)
+                .title(storyCreationForRag.getTitle())
+                .fileKey(fileKey)
+                .bucket(bucketName)
+                .build();
+        ragService.indexNovel(ragRequest);
+
+        NovelAnalysisRequestDto aiRequest = NovelAnalysisRequestDto.builder()
+                .fileKey(fileKey)
+                .bucket(bucketName)
+                .s3UploadUrl(s3UploadUrl)
+                .resultFileKey(resultFileKey)
+                .novelDownloadUrl(novelDownloadUrl)  // RAG가 원본 소설을 다운로드할 URL
+                .build();
 
-            NovelAnalysisResponseDto response = relayServerWebClient.post()
-                    .uri("/ai/analyze-from-s3")  // S3 전용 엔드포인트 사용
-                    .bodyValue(aiRequest)
-                    .retrieve()
-                    .bodyToMono(NovelAnalysisResponseDto.class)
-                    .block();
+        log.info("Calling relay-server /ai/analyze-from-s3 endpoint for S3 mode");
 
-            if (response == null) {
-                throw new com.story.game.common.exception.ExternalServiceException("No response from AI server");
-            }
+        NovelAnalysisResponseDto response = relayGateway.call(RelayEndpoint.ANALYSIS, client -> client.post()
+                .uri("/ai/analyze-from-s3")  // S3 전용 엔드포인트 사용
+                .bodyValue(aiRequest)
+                .retrieve()
+                .bodyToMono(NovelAnalysisResponseDto.class))
+                .block();
 
-            StoryCreation storyCreation = storyCreationRepository.findById(storyId)
-                    .orElseThrow(() -> new RuntimeException("Story not found"));
+        if (response == null) {
+            throw new com.story.game.common.exception.ExternalServiceException("No response from AI server");
+        }
 
-            // [수정] S3 모드일 때도 데이터를 다운로드하여 DB에 저장 (누락 방지)
-            if (response.isS3Mode()) {
-                log.info("AI server uploaded analysis result to S3 directly: {}", response.getFileKey());
-                storyCreation.setAnalysisResultFileKey(response.getFileKey());
+        StoryCreation storyCreation = storyCreationRepository.findWithContentById(storyId)
+                .orElseThrow(() -> new EntityNotFoundException("Story not found: " + storyId));
 
-                // --- 필수 데이터 DB 저장 ---
-                try {
-                    String analysisJson = s3Service.downloadFileContent(response.getFileKey());
-                    NovelAnalysisResponseDto analysisData = objectMapper.readValue(analysisJson, NovelAnalysisResponseDto.class);
+        // [수정] S3 모드일 때도 데이터를 다운로드하여 DB에 저장 (누락 방지)
+        if (response.isS3Mode()) {
+            log.info("AI server uploaded analysis result to S3 directly: {}", response.getFileKey());
+            storyCreation.setAnalysisResultFileKey(response.getFileKey());
 
-                    storyCreation.setSummary(analysisData.getSummary());
-                    storyCreation.setCharactersJson(objectMapper.writeValueAsString(analysisData.getCharacters()));
-                    storyCreation.setGaugesJson(objectMapper.writeValueAsString(analysisData.getGauges()));
-                    // Note: finalEndings will be generated after user selects gauges (in selectGauges method)
+            // --- 필수 데이터 DB 저장 ---
+            try {
+                String analysisJson = s3Service.downloadFileContent(response.getFileKey());
+                NovelAnalysisResponseDto analysisData = objectMapper.readValue(analysisJson, NovelAnalysisResponseDto.class);
 
-                    log.info("Synced analysis data from S3 to DB for story: {}", storyId);
-                } catch (Exception e) {
-                    log.error("Failed to sync analysis data from S3 to DB", e);
-                    throw new com.story.game.common.exception.InvalidStateException("Failed to sync analysis data: " + e.getMessage());
-                }
-            }
-            else {
-                storyCreation.setSummary(response.getSummary());
-                storyCreation.setCharactersJson(objectMapper.writeValueAsString(response.getCharacters()));
-                storyCreation.setGaugesJson(objectMapper.writeValueAsString(response.getGauges()));
+                storyCreation.setSummary(analysisData.getSummary());
+                storyCreation.setCharactersJson(objectMapper.writeValueAsString(analysisData.getCharacters()));
+                storyCreation.setGaugesJson(objectMapper.writeValueAsString(analysisData.getGauges()));
+                storyContextCache.invalidate(storyId);
                 // Note: finalEndings will be generated after user selects gauges (in selectGauges method)
+
+                log.info("Synced analysis data from S3 to DB for story: {}", storyId);
+            } catch (Exception e) {
+                log.error("Failed to sync analysis data from S3 to DB", e);
+                throw new com.story.game.common.exception.ExternalServiceException("Failed to sync analysis data: " + e.getMessage());
             }
+        }
+        else {
+            storyCreation.setSummary(response.getSummary());
+            storyCreation.setCharactersJson(objectMapper.writeValueAsString(response.getCharacters()));
+            storyCreation.setGaugesJson(objectMapper.writeValueAsString(response.getGauges()));
+            storyContextCache.invalidate(storyId);
+            // Note: finalEndings will be generated after user selects gauges (in selectGauges method)
+        }
 
-            storyCreation.setStatus(StoryCreation.CreationStatus.GAUGES_READY);
-            storyCreation.setCurrentPhase("GAUGES_READY");
-            storyCreation.setProgressPercentage(30);
-            storyCreation.setProgressMessage("Analysis completed. Ready for gauge selection.");
+        storyCreation.setStatus(StoryCreation.CreationStatus.GAUGES_READY);
+        storyCreation.setCurrentPhase("GAUGES_READY");
+        storyCreation.setProgressPercentage(30);
+        storyCreation.setProgressMessage("Analysis completed. Ready for gauge selection.");
 
-            storyCreationRepository.save(storyCreation);
+        storyCreation = storyCreationRepository.save(storyCreation);
 
-            log.info("AI analysis from S3 completed for story: {}", storyId);
+        log.info("AI analysis from S3 completed for story: {}", storyId);
 
-            // Learn novel style for image generation and generate thumbnail (non-blocking, failure is non-critical)
-            try {
-                // Generate presigned URL for thumbnail upload
-                String thumbnailFileKey = "thumbnails/" + storyId + "/thumbnail.png";
-                String thumbnailS3Url = s3Service.generatePresignedUploadUrl(thumbnailFileKey).getUrl();
-                log.info("Generated presigned URL for thumbnail upload: {}", thumbnailFileKey);
-
-                // Build request with S3 info (AI-IMAGE will download from S3)
-                NovelStyleLearnRequestDto styleRequest = NovelStyleLearnRequestDto.builder()
-                        .story_id(storyId)
-                        .title(storyCreation.getTitle())
-                        .novel_s3_bucket(bucketName)
-                        .novel_s3_key(fileKey)
-                        .thumbnail_s3_url(thumbnailS3Url)
-                        .thumbnail_s3_bucket(bucketName)
-                        .thumbnail_s3_key(thumbnailFileKey)
-                        .build();
-
-                log.info("📋 Thumbnail request details (S3 mode):");
-                log.info("   novel_s3_bucket: {}", bucketName);
-                log.info("   novel_s3_key: {}", fileKey);
-                log.info("   thumbnail_s3_url: {}", thumbnailS3Url != null ? "SET (length: " + thumbnailS3Url.length() + ")" : "NULL");
-                log.info("   thumbnail_s3_bucket: {}", bucketName);
-                log.info("   thumbnail_s3_key: {}", thumbnailFileKey);
-
-                com.story.game.ai.dto.NovelStyleLearnResponseDto styleResult = relayServerClient.learnNovelStyle(styleRequest);
-                if (styleResult != null && styleResult.getThumbnail_image_url() != null) {
-                    log.info("✅ Novel style learned successfully with thumbnail for story: {}", storyId);
-
-                    // Save thumbnail file key to DB
-                    storyCreation.setThumbnailFileKey(thumbnailFileKey);
-                    storyCreationRepository.save(storyCreation);
-                    log.info("✅ Saved thumbnail fileKey to DB: {}", thumbnailFileKey);
-                } else {
-                    log.warn("Novel style learning succeeded but no thumbnail generated for story: {} (non-critical)", storyId);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to learn novel style or generate thumbnail (non-critical): {}", e.getMessage());
-            }
+        // Learn novel style for image generation and generate thumbnail (failure is non-critical)
+        learnStyleAndGenerateThumbnail(storyCreation, fileKey);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to analyze novel from S3", e);
+    /**
+     * AI-IMAGE 서버에 소설 화풍 학습 + 썸네일 생성 요청 (실패해도 분석 결과는 유지)
+     */
+    private void learnStyleAndGenerateThumbnail(StoryCreation storyCreation, String novelFileKey) {
+        String storyId = storyCreation.getId();
+        try {
+            // Generate presigned URL for thumbnail upload
+            String thumbnailFileKey = "thumbnails/" + storyId + "/thumbnail.png";
+            String thumbnailS3Url = s3Service.generatePresignedUploadUrl(thumbnailFileKey).getUrl();
+            log.info("Generated presigned URL for thumbnail upload: {}", thumbnailFileKey);
 
-            StoryCreation storyCreation = storyCreationRepository.findById(storyId).orElse(null);
-            if (storyCreation != null) {
-                storyCreation.setStatus(StoryCreation.CreationStatus.FAILED);
-                storyCreation.setCurrentPhase("FAILED");
-                storyCreation.setProgressMessage("Analysis failed: " + e.getMessage());
+            // Build request with S3 info (AI-IMAGE will download from S3)
+            NovelStyleLearnRequestDto styleRequest = NovelStyleLearnRequestDto.builder()
+                    .story_id(storyId)
+                    .title(storyCreation.getTitle())
+                    .novel_s3_bucket(bucketName)
+                    .novel_s3_key(novelFileKey)
+                    .thumbnail_s3_url(thumbnailS3Url)
+                    .thumbnail_s3_bucket(bucketName)
+                    .thumbnail_s3_key(thumbnailFileKey)
+                    .build();
+
+            log.info("📋 Thumbnail request details:");
+            log.info("   novel_s3_bucket: {}", bucketName);
+            log.info("   novel_s3_key: {}", novelFileKey);
+            log.info("   thumbnail_s3_url: {}", thumbnailS3Url != null ? "SET (length: " + thumbnailS3Url.length() + ")" : "NULL");
+            log.info("   thumbnail_s3_bucket: {}", bucketName);
+            log.info("   thumbnail_s3_key: {}", thumbnailFileKey);
+
+            com.story.game.ai.dto.NovelStyleLearnResponseDto styleResult = relayServerClient.learnNovelStyle(styleRequest);
+            if (styleResult != null && styleResult.getThumbnail_image_url() != null) {
+                log.info("✅ Novel style learned successfully with thumbnail for story: {}", storyId);
+
+                // Save thumbnail file key to DB
+                storyCreation.setThumbnailFileKey(thumbnailFileKey);
                 storyCreationRepository.save(storyCreation);
+                log.info("✅ Saved thumbnail fileKey to DB: {}", thumbnailFileKey);
+            } else {
+                log.warn("Novel style learning succeeded but no thumbnail generated for story: {} (non-critical)", storyId);
             }
+        } catch (Exception e) {
+            log.warn("Failed to learn novel style or generate thumbnail (non-critical): {}", e.getMessage());
         }
     }
 
@@ -1105,6 +1137,9 @@ public class StoryManagementService {
             throw new com.story.game.common.exception.UnauthorizedException("Unauthorized: You can only delete your own stories");
         }
 
+        // 2-1. 대기/실행 중인 분석/생성 작업 취소
+        storyJobQueue.cancelForStory(storyId);
+
         // 3. S3 파일 삭제 (실패해도 계속 진행)
         deleteS3FilesForStory(storyCreation);
 
@@ -1138,12 +1173,14 @@ public class StoryManagementService {
                 }
 
                 storyDataRepository.delete(storyData);
+                rankingEngine.onStoryDeleted(storyData.getId());
             });
         }
 
         // 5. StoryCreation 삭제 (연관된 Episodes, Nodes, Choices는 cascade로 자동 삭제됨)
         log.info("Deleting StoryCreation: {}", storyId);
         storyCreationRepository.delete(storyCreation);
+        storyGraphCache.invalidate(storyId);
 
         log.info("Story deleted successfully: {}", storyId);
     }
@@ -1154,6 +1191,9 @@ public class StoryManagementService {
     private void deleteS3FilesForStory(StoryCreation storyCreation) {
         log.info("Deleting S3 files for story: {}", storyCreation.getId());
 
+        // 에피소드별 스토리 스냅샷 (manifest + 에피소드 객체, s3FileKey가 manifest를 가리킬 수 있으므로 먼저 삭제)
+        storySnapshotStore.delete(storyCreation.getId());
+
         // 소설 원본 파일
         if (storyCreation.getS3FileKey() != null) {
             deleteS3File(storyCreation.getS3FileKey(), "Novel original");
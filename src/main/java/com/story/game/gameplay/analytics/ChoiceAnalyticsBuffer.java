@@ -0,0 +1,240 @@
+package com.story.game.gameplay.analytics;
+
+import com.story.game.common.util.CounterUtils;
+import com.story.game.common.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 선택지 클릭 / 엔딩 도달 집계 버퍼
+ *
+ * 선택지를 고를 때마다 집계 행을 갱신하면 인기 스토리의 같은 행에 쓰기가 몰리고 선택 응답도 느려진다.
+ * (스토리, 노드, 선택지 순서, 시간 구간) / (스토리, 엔딩, 시간 구간)별 LongAdder에 커밋 후 더하기만 하고,
+ * flush-interval-ms마다 choice_pick_rollups / ending_reach_rollups에 테이블별 한 트랜잭션의 JDBC batch upsert로 반영한다.
+ * 제작자 대시보드(StoryAnalyticsService)는 이 rollup 테이블만 읽으므로 최대 flush 주기만큼 늦게 보인다.
+ * 시간 구간 행은 플레이마다 늘어나므로 retention-days가 지난 구간은 purge-interval-ms마다 나눠서 삭제한다.
+ */
+@Component
+@Slf4j
+public class ChoiceAnalyticsBuffer {
+
+    public static final String EPISODE_ENDING = "EPISODE";
+    public static final String FINAL_ENDING = "FINAL";
+
+    private static final long BUCKET_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final String FLUSH_CHOICES_SQL =
+            "INSERT INTO choice_pick_rollups (story_creation_id, node_id, choice_order, bucket_start, picks) " +
+            "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE picks = picks + VALUES(picks)";
+
+    private static final String FLUSH_ENDINGS_SQL =
+            "INSERT INTO ending_reach_rollups (story_creation_id, ending_type, ending_id, bucket_start, reaches) " +
+            "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE reaches = reaches + VALUES(reaches)";
+
+    private static final String PURGE_CHOICES_SQL = "DELETE FROM choice_pick_rollups WHERE bucket_start < ? LIMIT ?";
+    private static final String PURGE_ENDINGS_SQL = "DELETE FROM ending_reach_rollups WHERE bucket_start < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int purgeBatchSize;
+
+    // 아직 저장하지 않은 증가분
+    private final ConcurrentHashMap<ChoiceKey, LongAdder> pendingChoices = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<EndingKey, LongAdder> pendingEndings = new ConcurrentHashMap<>();
+
+    private final AtomicLong recordedChoices = new AtomicLong();
+    private final AtomicLong recordedEndings = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong purgedRows = new AtomicLong();
+
+    public ChoiceAnalyticsBuffer(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${game.choice-analytics.enabled:true}") boolean enabled,
+                                 @Value("${game.choice-analytics.retention-days:365}") int retentionDays,
+                                 @Value("${game.choice-analytics.purge-batch-size:5000}") int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * 선택지 클릭 기록 (커밋 후 반영)
+     */
+    public void recordChoice(String storyCreationId, String nodeId, int choiceOrder) {
+        if (!enabled || storyCreationId == null || nodeId == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            ChoiceKey key = new ChoiceKey(storyCreationId, nodeId, choiceOrder, currentBucket());
+            CounterUtils.add(pendingChoices, key, 1);
+            recordedChoices.incrementAndGet();
+        });
+    }
+
+    /**
+     * 엔딩 도달 기록 (커밋 후 반영)
+     *
+     * @param endingType EPISODE_ENDING 또는 FINAL_ENDING
+     */
+    public void recordEnding(String storyCreationId, String endingType, String endingId) {
+        if (!enabled || storyCreationId == null || endingId == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            EndingKey key = new EndingKey(storyCreationId, endingType, endingId, currentBucket());
+            CounterUtils.add(pendingEndings, key, 1);
+            recordedEndings.incrementAndGet();
+        });
+    }
+
+    /**
+     * 모인 증가분을 테이블별 한 트랜잭션의 batch upsert로 저장
+     */
+    @Scheduled(fixedDelayString = "${game.choice-analytics.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        long staleBucket = currentBucket() - 1;
+
+        List<Object[]> choiceRows = new ArrayList<>();
+        for (Map.Entry<ChoiceKey, LongAdder> entry : pendingChoices.entrySet()) {
+            ChoiceKey key = entry.getKey();
+            long picks = CounterUtils.drain(pendingChoices, key, entry.getValue(), key.bucket() < staleBucket);
+            if (picks != 0) {
+                choiceRows.add(new Object[]{key.storyCreationId(), key.nodeId(), key.choiceOrder(),
+                        bucketStart(key.bucket()), picks});
+            }
+        }
+
+        List<Object[]> endingRows = new ArrayList<>();
+        for (Map.Entry<EndingKey, LongAdder> entry : pendingEndings.entrySet()) {
+            EndingKey key = entry.getKey();
+            long reaches = CounterUtils.drain(pendingEndings, key, entry.getValue(), key.bucket() < staleBucket);
+            if (reaches != 0) {
+                endingRows.add(new Object[]{key.storyCreationId(), key.endingType(), key.endingId(),
+                        bucketStart(key.bucket()), reaches});
+            }
+        }
+
+        if (!choiceRows.isEmpty()) {
+            write(FLUSH_CHOICES_SQL, choiceRows, row -> CounterUtils.add(pendingChoices,
+                    new ChoiceKey((String) row[0], (String) row[1], (Integer) row[2], bucketOf((Timestamp) row[3])),
+                    (Long) row[4]));
+        }
+        if (!endingRows.isEmpty()) {
+            write(FLUSH_ENDINGS_SQL, endingRows, row -> CounterUtils.add(pendingEndings,
+                    new EndingKey((String) row[0], (String) row[1], (String) row[2], bucketOf((Timestamp) row[3])),
+                    (Long) row[4]));
+        }
+    }
+
+    /**
+     * retention-days보다 오래된 시간 구간 삭제 (purge-batch-size씩 나눠 삭제해 긴 잠금을 피함)
+     */
+    @Scheduled(fixedDelayString = "${game.choice-analytics.purge-interval-ms:3600000}",
+               initialDelayString = "${game.choice-analytics.purge-initial-delay-ms:600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        Timestamp cutoff = bucketStart(currentBucket() - TimeUnit.DAYS.toHours(retentionDays));
+        long purged = purge(PURGE_CHOICES_SQL, cutoff) + purge(PURGE_ENDINGS_SQL, cutoff);
+        if (purged > 0) {
+            purgedRows.addAndGet(purged);
+            log.info("Purged choice analytics rollups older than {}: {} rows", cutoff, purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing choice analytics before shutdown");
+        flush();
+    }
+
+    /**
+     * Get analytics buffer statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("pendingChoiceKeys", pendingChoices.size());
+        stats.put("pendingEndingKeys", pendingEndings.size());
+        stats.put("recordedChoices", recordedChoices.get());
+        stats.put("recordedEndings", recordedEndings.get());
+        stats.put("flushes", flushes.get());
+        stats.put("flushedRows", flushedRows.get());
+        stats.put("failures", failures.get());
+        stats.put("retentionDays", retentionDays);
+        stats.put("purgedRows", purgedRows.get());
+        return stats;
+    }
+
+    private void write(String sql, List<Object[]> rows, Consumer<Object[]> restore) {
+        try {
+            // 한 트랜잭션으로 묶어 일부 행만 반영된 채 실패하지 않게 함 (실패 시 전체를 되돌려 다시 시도해도 중복 가산 없음)
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            flushes.incrementAndGet();
+            flushedRows.addAndGet(rows.size());
+            log.debug("Flushed choice analytics: {} rows", rows.size());
+        } catch (Exception e) {
+            // 실패한 증가분은 다음 flush에서 다시 시도
+            failures.incrementAndGet();
+            rows.forEach(restore);
+            log.warn("Failed to flush choice analytics ({} rows), will retry: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    private long purge(String sql, Timestamp cutoff) {
+        long total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(sql, cutoff, purgeBatchSize);
+                total += deleted;
+            } while (deleted >= purgeBatchSize);
+        } catch (Exception e) {
+            // 남은 행은 다음 주기에 이어서 삭제
+            log.warn("Failed to purge choice analytics rollups: {}", e.getMessage());
+        }
+        return total;
+    }
+
+    private static long currentBucket() {
+        return System.currentTimeMillis() / BUCKET_MILLIS;
+    }
+
+    private static Timestamp bucketStart(long bucket) {
+        return new Timestamp(bucket * BUCKET_MILLIS);
+    }
+
+    private static long bucketOf(Timestamp bucketStart) {
+        return bucketStart.getTime() / BUCKET_MILLIS;
+    }
+
+    private record ChoiceKey(String storyCreationId, String nodeId, int choiceOrder, long bucket) {
+    }
+
+    private record EndingKey(String storyCreationId, String endingType, String endingId, long bucket) {
+    }
+}
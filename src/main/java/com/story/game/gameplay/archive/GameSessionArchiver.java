@@ -0,0 +1,189 @@
+package com.story.game.gameplay.archive;
+
+import com.story.game.gameplay.session.GameSessionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 완료/방치된 게임 세션 보관 이동 작업
+ *
+ * game_sessions는 진행 중인 세션 조회와 사용자별 COUNT가 모두 읽는 테이블이라, 끝난 세션이 계속 쌓이면
+ * 버퍼 풀을 차지하는 행과 인덱스가 함께 커진다. 주기적으로 다음 세션을 game_session_archive로 옮긴다.
+ * - 완료 후 completed-retention-days가 지난 세션
+ * - abandoned-after-days 동안 갱신되지 않은 미완료 세션
+ *
+ * 배치마다 한 트랜잭션에서 대상 행을 잠그고 (1) 보관 테이블로 복사 (나머지 상태와 방문 기록은 COMPRESS),
+ * (2) 사용자별 누적 카운터/엔딩 목록 갱신, (3) 원본 삭제 (저널은 FK CASCADE)를 수행한다.
+ * 메모리에 올라와 있는 세션(GameSessionStore)은 건너뛰고, 옮기는 세션은 트랜잭션이 끝날 때까지 고정해
+ * 그 사이 플레이어가 이어 하기로 삭제될 행을 메모리에 올리지 못하게 한다.
+ */
+@Component
+@Slf4j
+public class GameSessionArchiver {
+
+    private static final String SELECT_COMPLETED_SQL =
+            "SELECT id FROM game_sessions WHERE is_completed = 1 AND updated_at < ? " +
+            "ORDER BY updated_at LIMIT ? FOR UPDATE";
+
+    private static final String SELECT_ABANDONED_SQL =
+            "SELECT id FROM game_sessions WHERE (is_completed = 0 OR is_completed IS NULL) AND updated_at < ? " +
+            "ORDER BY updated_at LIMIT ? FOR UPDATE";
+
+    private static final String COPY_SQL =
+            "INSERT INTO game_session_archive (id, user_id, story_data_id, story_creation_id, is_completed, " +
+            "final_ending_id, gauge_states, visited_count, state_compressed, visited_nodes_compressed, created_at, updated_at) " +
+            "SELECT g.id, g.user_id, g.story_data_id, g.story_creation_id, COALESCE(g.is_completed, 0), " +
+            "g.final_ending_id, g.gauge_states, g.visited_count, " +
+            "COMPRESS(JSON_OBJECT('selectedCharacterId', g.selected_character_id, 'currentEpisodeId', g.current_episode_id, " +
+            "'currentNodeId', g.current_node_id, 'accumulatedTags', JSON_EXTRACT(g.accumulated_tags, '$'), " +
+            "'completedEpisodes', JSON_EXTRACT(g.completed_episodes, '$'), 'currentEpisodeBgm', JSON_EXTRACT(g.current_episode_bgm, '$'))), " +
+            "(SELECT COMPRESS(GROUP_CONCAT(j.node_ids ORDER BY j.segment SEPARATOR '')) " +
+            " FROM game_session_journal j WHERE j.session_id = g.id), " +
+            "g.created_at, g.updated_at FROM game_sessions g WHERE g.id IN (%s)";
+
+    private static final String COUNT_SQL =
+            "INSERT INTO user_session_stats (user_id, archived_plays, archived_completions) " +
+            "SELECT user_id, COUNT(*), SUM(COALESCE(is_completed, 0)) FROM game_sessions " +
+            "WHERE id IN (%s) AND user_id IS NOT NULL GROUP BY user_id " +
+            "ON DUPLICATE KEY UPDATE archived_plays = archived_plays + VALUES(archived_plays), " +
+            "archived_completions = archived_completions + VALUES(archived_completions)";
+
+    private static final String ENDINGS_SQL =
+            "INSERT IGNORE INTO user_final_endings (user_id, final_ending_id) " +
+            "SELECT DISTINCT user_id, final_ending_id FROM game_sessions " +
+            "WHERE id IN (%s) AND user_id IS NOT NULL AND final_ending_id IS NOT NULL";
+
+    private static final String DELETE_SQL = "DELETE FROM game_sessions WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameSessionStore gameSessionStore;
+    private final boolean enabled;
+    private final int completedRetentionDays;
+    private final int abandonedAfterDays;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong archivedCompleted = new AtomicLong();
+    private final AtomicLong archivedAbandoned = new AtomicLong();
+    private final AtomicLong skippedResident = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastRunMillis;
+
+    public GameSessionArchiver(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               GameSessionStore gameSessionStore,
+                               @Value("${game.session-archive.enabled:true}") boolean enabled,
+                               @Value("${game.session-archive.completed-retention-days:30}") int completedRetentionDays,
+                               @Value("${game.session-archive.abandoned-after-days:30}") int abandonedAfterDays,
+                               @Value("${game.session-archive.batch-size:500}") int batchSize,
+                               @Value("${game.session-archive.max-batches:20}") int maxBatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.gameSessionStore = gameSessionStore;
+        this.enabled = enabled;
+        this.completedRetentionDays = completedRetentionDays;
+        this.abandonedAfterDays = abandonedAfterDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * 보관 대상 세션을 batch-size 단위로 옮김 (한 번에 최대 max-batches 배치)
+     */
+    @Scheduled(fixedDelayString = "${game.session-archive.interval-ms:3600000}",
+               initialDelayString = "${game.session-archive.initial-delay-ms:600000}")
+    public synchronized void archive() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        runs.incrementAndGet();
+        LocalDateTime now = LocalDateTime.now();
+        int completed = archivePhase(SELECT_COMPLETED_SQL, now.minusDays(completedRetentionDays), archivedCompleted);
+        int abandoned = archivePhase(SELECT_ABANDONED_SQL, now.minusDays(abandonedAfterDays), archivedAbandoned);
+        lastRunMillis = System.currentTimeMillis() - start;
+        if (completed + abandoned > 0) {
+            log.info("Archived game sessions: completed={}, abandoned={} ({}ms)", completed, abandoned, lastRunMillis);
+        }
+    }
+
+    /**
+     * Get archiver statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("runs", runs.get());
+        stats.put("archivedCompleted", archivedCompleted.get());
+        stats.put("archivedAbandoned", archivedAbandoned.get());
+        stats.put("skippedResident", skippedResident.get());
+        stats.put("failures", failures.get());
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+
+    private int archivePhase(String selectSql, LocalDateTime cutoff, AtomicLong counter) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int moved;
+            List<String> pinned = new ArrayList<>();
+            try {
+                Integer result = transactionTemplate.execute(status -> archiveBatch(selectSql, cutoff, pinned));
+                moved = result != null ? result : 0;
+            } catch (Exception e) {
+                // 다음 주기에 다시 시도
+                failures.incrementAndGet();
+                log.warn("Game session archive batch failed: {}", e.getMessage());
+                break;
+            } finally {
+                // 커밋 후에는 행이 없고, 롤백 후에는 원래 행을 다시 읽을 수 있음
+                gameSessionStore.releaseArchived(pinned);
+            }
+            counter.addAndGet(moved);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveBatch(String selectSql, LocalDateTime cutoff, List<String> pinned) {
+        List<String> candidates = jdbcTemplate.queryForList(selectSql, String.class, Timestamp.valueOf(cutoff), batchSize);
+        List<String> ids = gameSessionStore.pinForArchive(candidates);
+        pinned.addAll(ids);
+        skippedResident.addAndGet(candidates.size() - ids.size());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        // 저널 segment를 이어 붙이므로 GROUP_CONCAT 길이 제한을 늘림 (V9와 동일)
+        jdbcTemplate.execute("SET SESSION group_concat_max_len = 16777215");
+        jdbcTemplate.update(String.format(COPY_SQL, placeholders), args);
+        jdbcTemplate.update(String.format(COUNT_SQL, placeholders), args);
+        jdbcTemplate.update(String.format(ENDINGS_SQL, placeholders), args);
+        jdbcTemplate.update(String.format(DELETE_SQL, placeholders), args);
+        // 건너뛴 세션이 있으면 배치가 덜 차므로 이번 주기는 여기서 멈춤 (다음 주기에 다시 확인)
+        return ids.size();
+    }
+}
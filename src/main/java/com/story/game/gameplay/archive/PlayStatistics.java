@@ -0,0 +1,51 @@
+package com.story.game.gameplay.archive;
+
+import com.story.game.auth.entity.User;
+import com.story.game.gameplay.repository.GameHistoryView;
+import com.story.game.gameplay.repository.GameSessionArchiveRepository;
+import com.story.game.gameplay.repository.GameSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 사용자 플레이 통계 / 기록 조회
+ *
+ * game_sessions(hot)에 남아 있는 세션과 GameSessionArchiver가 옮긴 세션을 합쳐서 계산한다.
+ * 보관된 세션 수는 user_session_stats 누적 카운터에서 읽으므로 보관 테이블을 다시 세지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlayStatistics {
+
+    private final GameSessionRepository gameSessionRepository;
+    private final GameSessionArchiveRepository gameSessionArchiveRepository;
+
+    public long countPlays(User user) {
+        return gameSessionRepository.countByUser(user) + gameSessionArchiveRepository.countArchivedPlays(user.getId());
+    }
+
+    public long countCompletions(User user) {
+        return gameSessionRepository.countByUserAndIsCompleted(user, true)
+                + gameSessionArchiveRepository.countArchivedCompletions(user.getId());
+    }
+
+    public long countDistinctFinalEndings(User user) {
+        return gameSessionArchiveRepository.countDistinctFinalEndings(user.getId());
+    }
+
+    /**
+     * 플레이 기록 (hot + 보관, 시작 시각 최신순)
+     */
+    public List<GameHistoryView> findHistory(User user) {
+        List<GameHistoryView> history = new ArrayList<>(gameSessionRepository.findHistoryByUser(user));
+        history.addAll(gameSessionArchiveRepository.findHistoryByUserId(user.getId()));
+        history.sort(Comparator.comparing(GameHistoryView::getCreatedAt,
+                Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+        return history;
+    }
+}
@@ -0,0 +1,137 @@
+package com.story.game.gameplay.condition;
+
+import com.story.game.gameplay.state.StateSymbols;
+import com.story.game.gameplay.state.StateVector;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 번 파싱된 엔딩 조건식
+ *
+ * 조건식에 등장하는 변수(태그/게이지 ID)는 컴파일 시점에 0부터 시작하는 슬롯 번호로 치환되며,
+ * 평가는 슬롯 순서대로 정렬된 int 배열 위에서 이루어진다.
+ * 값이 없는 변수는 0으로 취급한다 (한 번도 누적되지 않은 태그 = 0회).
+ *
+ * StateVector로 평가할 때는 변수 슬롯을 벡터의 심볼 테이블 슬롯에 한 번 연결(binding)해 두고
+ * 이후에는 이름 조회 없이 int 배열끼리 옮겨 평가한다.
+ */
+public final class CompiledCondition {
+
+    /** "default", 빈 문자열 등 항상 참인 조건 */
+    static final CompiledCondition ALWAYS = new CompiledCondition("default", new String[0], slots -> true, null, Map.of());
+
+    private final String source;
+    private final String[] variables;
+    private final ConditionCompiler.BoolExpr root;
+    private final String error;
+    // 변수별 비교 상수 (모든 비교가 "변수 vs 상수"일 때만, 아니면 null)
+    private final Map<String, int[]> thresholds;
+    // 마지막으로 사용한 심볼 테이블의 슬롯 연결 (스토리가 다시 만들어지면 교체됨)
+    private volatile Binding binding;
+
+    CompiledCondition(String source, String[] variables, ConditionCompiler.BoolExpr root, String error,
+                      Map<String, int[]> thresholds) {
+        this.source = source;
+        this.variables = variables;
+        this.root = root;
+        this.error = error;
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * 컴파일에 실패한 조건식 - 기존 SpEL 평가와 동일하게 항상 false
+     */
+    static CompiledCondition invalid(String source, String error) {
+        return new CompiledCondition(source, new String[0], slots -> false, error, Map.of());
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 슬롯 순서대로 정렬된 변수 이름 목록
+     */
+    public List<String> getVariables() {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * 모든 비교가 "변수 vs 정수 상수" 형태인지 (각 변수의 상수 경계 사이에서 결과가 바뀌지 않음)
+     */
+    public boolean isThresholdForm() {
+        return thresholds != null;
+    }
+
+    /**
+     * 변수가 비교된 정수 상수 목록 (오름차순, isThresholdForm일 때만 의미 있음)
+     */
+    int[] getThresholds(String variable) {
+        int[] values = thresholds != null ? thresholds.get(variable) : null;
+        return values != null ? values : new int[0];
+    }
+
+    /**
+     * 슬롯 값 배열로 평가 (slots[i] = getVariables().get(i)의 값)
+     */
+    public boolean test(int[] slots) {
+        return root.eval(slots);
+    }
+
+    /**
+     * 이름 기반 값 맵으로 평가
+     * 조건식에 등장하는 변수만 조회하므로 비용은 맵 크기가 아닌 조건식의 변수 수에 비례한다.
+     */
+    public boolean test(Map<String, Integer> values) {
+        if (values instanceof StateVector vector) {
+            return test(vector);
+        }
+        int[] slots = new int[variables.length];
+        if (values != null) {
+            for (int i = 0; i < variables.length; i++) {
+                Integer value = values.get(variables[i]);
+                slots[i] = value != null ? value : 0;
+            }
+        }
+        return root.eval(slots);
+    }
+
+    /**
+     * 상태 벡터로 평가 (이름 조회/박싱 없음)
+     */
+    public boolean test(StateVector vector) {
+        int[] vectorSlots = bind(vector.getSymbols());
+        int[] slots = new int[vectorSlots.length];
+        for (int i = 0; i < vectorSlots.length; i++) {
+            slots[i] = vector.getInt(vectorSlots[i]);
+        }
+        return root.eval(slots);
+    }
+
+    private int[] bind(StateSymbols symbols) {
+        Binding current = binding;
+        if (current == null || current.symbols != symbols) {
+            int[] vectorSlots = new int[variables.length];
+            for (int i = 0; i < variables.length; i++) {
+                vectorSlots[i] = symbols.indexOf(variables[i]);
+            }
+            current = new Binding(symbols, vectorSlots);
+            binding = current;
+        }
+        return current.vectorSlots;
+    }
+
+    private record Binding(StateSymbols symbols, int[] vectorSlots) {
+    }
+}
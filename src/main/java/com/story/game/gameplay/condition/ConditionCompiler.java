@@ -0,0 +1,394 @@
+package com.story.game.gameplay.condition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 엔딩 조건식 컴파일러
+ *
+ * AI가 생성하는 조건식 문법을 그대로 지원한다:
+ * - 변수: {@code trust}, {@code #trust} (태그/게이지 ID, '#' 접두사 선택)
+ * - 비교: {@code > >= < <= == != =}
+ * - 논리: {@code && || !}, {@code AND OR NOT} (대소문자 무관)
+ * - 산술: {@code + - * / %}, 괄호, 정수 리터럴, {@code true}/{@code false}
+ *
+ * 결과는 변수 슬롯 배열 위에서 동작하는 람다 트리로, 평가 시 문자열 처리나 파싱이 일어나지 않는다.
+ * 모든 비교가 "변수 vs 정수 상수" 형태이면 변수별 경계 상수도 함께 기록한다 (EndingDecisionTable).
+ */
+public final class ConditionCompiler {
+
+    @FunctionalInterface
+    interface IntExpr {
+        int eval(int[] slots);
+    }
+
+    @FunctionalInterface
+    interface BoolExpr {
+        boolean eval(int[] slots);
+    }
+
+    private ConditionCompiler() {
+    }
+
+    /**
+     * 조건식을 컴파일한다. 문법 오류가 있어도 예외를 던지지 않고 항상 false인 조건을 반환한다.
+     */
+    public static CompiledCondition compile(String condition) {
+        if (condition == null || condition.isBlank() || "default".equals(condition.trim())) {
+            return CompiledCondition.ALWAYS;
+        }
+        try {
+            Parser parser = new Parser(condition);
+            BoolExpr root = parser.parse();
+            String[] variables = parser.slots.keySet().toArray(new String[0]);
+            return new CompiledCondition(condition, variables, root, null,
+                    parser.thresholdForm ? toThresholdArrays(parser.thresholds) : null);
+        } catch (ConditionSyntaxException e) {
+            return CompiledCondition.invalid(condition, e.getMessage());
+        }
+    }
+
+    private static Map<String, int[]> toThresholdArrays(Map<String, TreeSet<Integer>> thresholds) {
+        Map<String, int[]> arrays = new LinkedHashMap<>();
+        thresholds.forEach((name, values) -> arrays.put(name, values.stream().mapToInt(Integer::intValue).toArray()));
+        return arrays;
+    }
+
+    private enum TokenType { NUMBER, IDENT, OP, LPAREN, RPAREN, END }
+
+    private static final class Token {
+        final TokenType type;
+        final String text;
+        final int position;
+
+        Token(TokenType type, String text, int position) {
+            this.type = type;
+            this.text = text;
+            this.position = position;
+        }
+    }
+
+    /**
+     * 재귀 하강 파서
+     * or := and (OR and)* / and := not (AND not)* / not := NOT not | cmp
+     * cmp := sum (CMP sum)? / sum := term ((+|-) term)* / term := unary ((*|/|%) unary)*
+     */
+    private static final class Parser {
+        private final List<Token> tokens;
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+        // 변수별로 비교에 쓰인 정수 상수 (EndingDecisionTable 구간 분할용)
+        private final Map<String, TreeSet<Integer>> thresholds = new LinkedHashMap<>();
+        private boolean thresholdForm = true;
+        private int index;
+
+        Parser(String source) {
+            this.tokens = tokenize(source);
+        }
+
+        BoolExpr parse() {
+            BoolExpr expr = parseOr();
+            if (peek().type != TokenType.END) {
+                throw error("Unexpected token '" + peek().text + "'");
+            }
+            return expr;
+        }
+
+        private BoolExpr parseOr() {
+            BoolExpr left = parseAnd();
+            while (acceptKeyword("||", "or")) {
+                BoolExpr l = left;
+                BoolExpr r = parseAnd();
+                left = s -> l.eval(s) || r.eval(s);
+            }
+            return left;
+        }
+
+        private BoolExpr parseAnd() {
+            BoolExpr left = parseNot();
+            while (acceptKeyword("&&", "and")) {
+                BoolExpr l = left;
+                BoolExpr r = parseNot();
+                left = s -> l.eval(s) && r.eval(s);
+            }
+            return left;
+        }
+
+        private BoolExpr parseNot() {
+            if (acceptKeyword("!", "not")) {
+                BoolExpr operand = parseNot();
+                return s -> !operand.eval(s);
+            }
+            return parseComparison();
+        }
+
+        private BoolExpr parseComparison() {
+            Token start = peek();
+
+            // 괄호로 묶인 논리식: (a > 1 AND b > 2)
+            if (start.type == TokenType.LPAREN && isBooleanGroup()) {
+                index++;
+                BoolExpr inner = parseOr();
+                expect(TokenType.RPAREN);
+                return inner;
+            }
+            if (start.type == TokenType.IDENT) {
+                String word = start.text.toLowerCase(Locale.ROOT);
+                if ("true".equals(word) || "false".equals(word)) {
+                    index++;
+                    boolean constant = "true".equals(word);
+                    return s -> constant;
+                }
+            }
+
+            int leftStart = index;
+            IntExpr left = parseSum();
+            int leftEnd = index;
+            Token op = peek();
+            if (op.type != TokenType.OP) {
+                throw error("Comparison expected near position " + op.position);
+            }
+            if (!isComparison(op.text)) {
+                throw error("Comparison expected but found '" + op.text + "'");
+            }
+            index++;
+            int rightStart = index;
+            IntExpr right = parseSum();
+            noteThreshold(leftStart, leftEnd, rightStart, index);
+
+            switch (op.text) {
+                case ">":
+                    return s -> left.eval(s) > right.eval(s);
+                case ">=":
+                    return s -> left.eval(s) >= right.eval(s);
+                case "<":
+                    return s -> left.eval(s) < right.eval(s);
+                case "<=":
+                    return s -> left.eval(s) <= right.eval(s);
+                case "!=":
+                    return s -> left.eval(s) != right.eval(s);
+                default:
+                    // "==", "="
+                    return s -> left.eval(s) == right.eval(s);
+            }
+        }
+
+        private boolean isComparison(String op) {
+            return ">".equals(op) || ">=".equals(op) || "<".equals(op) || "<=".equals(op)
+                    || "==".equals(op) || "=".equals(op) || "!=".equals(op);
+        }
+
+        /**
+         * 비교식 양쪽이 "변수 vs 정수 리터럴" 한 토큰씩이면 그 상수를 변수의 경계값으로 기록
+         * 산술식/변수끼리 비교 등 다른 형태가 하나라도 있으면 경계값 형태가 아닌 것으로 표시
+         */
+        private void noteThreshold(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+            if (leftEnd - leftStart != 1 || rightEnd - rightStart != 1) {
+                thresholdForm = false;
+                return;
+            }
+            Token left = tokens.get(leftStart);
+            Token right = tokens.get(rightStart);
+            if (left.type == TokenType.IDENT && right.type == TokenType.NUMBER) {
+                thresholds.computeIfAbsent(left.text, k -> new TreeSet<>()).add(Integer.parseInt(right.text));
+            } else if (left.type == TokenType.NUMBER && right.type == TokenType.IDENT) {
+                thresholds.computeIfAbsent(right.text, k -> new TreeSet<>()).add(Integer.parseInt(left.text));
+            } else if (left.type != TokenType.NUMBER || right.type != TokenType.NUMBER) {
+                thresholdForm = false;
+            }
+        }
+
+        /**
+         * 현재 '('가 논리식 그룹인지 산술식 그룹인지 판별
+         * 짝이 맞는 ')' 안쪽 최상위 레벨에 비교/논리 연산자가 있으면 논리식이다.
+         */
+        private boolean isBooleanGroup() {
+            int depth = 0;
+            for (int i = index; i < tokens.size(); i++) {
+                Token t = tokens.get(i);
+                if (t.type == TokenType.LPAREN) {
+                    depth++;
+                } else if (t.type == TokenType.RPAREN) {
+                    depth--;
+                    if (depth == 0) {
+                        return false;
+                    }
+                } else if (depth >= 1 && (isComparisonOrLogical(t))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isComparisonOrLogical(Token t) {
+            if (t.type == TokenType.OP) {
+                return !"+".equals(t.text) && !"-".equals(t.text) && !"*".equals(t.text)
+                        && !"/".equals(t.text) && !"%".equals(t.text);
+            }
+            if (t.type == TokenType.IDENT) {
+                String word = t.text.toLowerCase(Locale.ROOT);
+                return "and".equals(word) || "or".equals(word) || "not".equals(word)
+                        || "true".equals(word) || "false".equals(word);
+            }
+            return false;
+        }
+
+        private IntExpr parseSum() {
+            IntExpr left = parseTerm();
+            while (peek().type == TokenType.OP && ("+".equals(peek().text) || "-".equals(peek().text))) {
+                String op = tokens.get(index++).text;
+                IntExpr l = left;
+                IntExpr r = parseTerm();
+                left = "+".equals(op) ? s -> l.eval(s) + r.eval(s) : s -> l.eval(s) - r.eval(s);
+            }
+            return left;
+        }
+
+        private IntExpr parseTerm() {
+            IntExpr left = parseUnary();
+            while (peek().type == TokenType.OP
+                    && ("*".equals(peek().text) || "/".equals(peek().text) || "%".equals(peek().text))) {
+                String op = tokens.get(index++).text;
+                IntExpr l = left;
+                IntExpr r = parseUnary();
+                if ("*".equals(op)) {
+                    left = s -> l.eval(s) * r.eval(s);
+                } else if ("/".equals(op)) {
+                    left = s -> {
+                        int divisor = r.eval(s);
+                        return divisor == 0 ? 0 : l.eval(s) / divisor;
+                    };
+                } else {
+                    left = s -> {
+                        int divisor = r.eval(s);
+                        return divisor == 0 ? 0 : l.eval(s) % divisor;
+                    };
+                }
+            }
+            return left;
+        }
+
+        private IntExpr parseUnary() {
+            if (peek().type == TokenType.OP && "-".equals(peek().text)) {
+                index++;
+                IntExpr operand = parseUnary();
+                return s -> -operand.eval(s);
+            }
+            return parsePrimary();
+        }
+
+        private IntExpr parsePrimary() {
+            Token t = tokens.get(index++);
+            switch (t.type) {
+                case NUMBER:
+                    int constant;
+                    try {
+                        constant = Integer.parseInt(t.text);
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid number '" + t.text + "'");
+                    }
+                    return s -> constant;
+                case IDENT:
+                    if (isKeyword(t.text)) {
+                        throw error("Unexpected keyword '" + t.text + "'");
+                    }
+                    int slot = slots.computeIfAbsent(t.text, k -> slots.size());
+                    return s -> s[slot];
+                case LPAREN:
+                    IntExpr inner = parseSum();
+                    expect(TokenType.RPAREN);
+                    return inner;
+                default:
+                    throw error("Unexpected token '" + t.text + "'");
+            }
+        }
+
+        private boolean acceptKeyword(String symbol, String word) {
+            Token t = peek();
+            if ((t.type == TokenType.OP && symbol.equals(t.text))
+                    || (t.type == TokenType.IDENT && word.equalsIgnoreCase(t.text))) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(TokenType type) {
+            Token t = tokens.get(index++);
+            if (t.type != type) {
+                throw error("Expected " + type + " but found '" + t.text + "'");
+            }
+        }
+
+        private Token peek() {
+            return tokens.get(index);
+        }
+
+        private ConditionSyntaxException error(String message) {
+            return new ConditionSyntaxException(message);
+        }
+    }
+
+    private static boolean isKeyword(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        return "and".equals(lower) || "or".equals(lower) || "not".equals(lower)
+                || "true".equals(lower) || "false".equals(lower);
+    }
+
+    private static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && Character.isDigit(source.charAt(i))) {
+                    i++;
+                }
+                if (i < length && source.charAt(i) == '.') {
+                    throw new ConditionSyntaxException("Decimal literals are not supported at position " + start);
+                }
+                tokens.add(new Token(TokenType.NUMBER, source.substring(start, i), start));
+            } else if (c == '#' || Character.isLetter(c) || c == '_') {
+                int start = i;
+                if (c == '#') {
+                    i++;
+                }
+                int nameStart = i;
+                while (i < length && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_')) {
+                    i++;
+                }
+                if (nameStart == i) {
+                    throw new ConditionSyntaxException("Variable name expected after '#' at position " + start);
+                }
+                tokens.add(new Token(TokenType.IDENT, source.substring(nameStart, i), start));
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.LPAREN, "(", i++));
+            } else if (c == ')') {
+                tokens.add(new Token(TokenType.RPAREN, ")", i++));
+            } else {
+                String two = i + 1 < length ? source.substring(i, i + 2) : "";
+                switch (two) {
+                    case ">=", "<=", "==", "!=", "&&", "||" -> {
+                        tokens.add(new Token(TokenType.OP, two, i));
+                        i += 2;
+                    }
+                    default -> {
+                        if ("><=!+-*/%".indexOf(c) < 0) {
+                            throw new ConditionSyntaxException("Unexpected character '" + c + "' at position " + i);
+                        }
+                        tokens.add(new Token(TokenType.OP, String.valueOf(c), i++));
+                    }
+                }
+            }
+        }
+        tokens.add(new Token(TokenType.END, "<end>", length));
+        return tokens;
+    }
+}
@@ -0,0 +1,97 @@
+package com.story.game.gameplay.condition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 엔딩 조건 평가 엔진
+ *
+ * 최종 엔딩의 조건식을 엔딩 ID별로 한 번만 컴파일하여 LRU 캐시에 보관한다.
+ * 같은 ID의 조건식 원문이 바뀌면 (스토리 재생성 등) 자동으로 다시 컴파일한다.
+ * 에피소드 엔딩은 스토리 그래프에 포함된 EndingDecisionTable로 결정한다.
+ */
+@Component
+@Slf4j
+public class ConditionEngine {
+
+    private final Map<String, CompiledCondition> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ConditionEngine(@Value("${game.condition.cache-size:10000}") int maxEntries) {
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledCondition> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시 키에 해당하는 컴파일된 조건식을 반환 (없거나 원문이 바뀌었으면 컴파일)
+     */
+    public CompiledCondition get(String key, String condition) {
+        synchronized (cache) {
+            CompiledCondition cached = cache.get(key);
+            if (cached != null && sameSource(cached, condition)) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        CompiledCondition compiled = ConditionCompiler.compile(condition);
+        if (!compiled.isValid()) {
+            log.warn("Failed to compile ending condition [{}]: {} -> {}", key, condition, compiled.getError());
+        }
+
+        synchronized (cache) {
+            cache.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * 조건식 평가
+     */
+    public boolean matches(String key, String condition, Map<String, Integer> values) {
+        return get(key, condition).test(values);
+    }
+
+    public static String finalEndingKey(String storyCreationId, String endingId) {
+        return "final-ending:" + storyCreationId + ":" + endingId;
+    }
+
+    /**
+     * Get cache statistics
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", getCacheSize());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private boolean sameSource(CompiledCondition compiled, String condition) {
+        if (compiled == CompiledCondition.ALWAYS) {
+            return condition == null || condition.isBlank() || "default".equals(condition.trim());
+        }
+        return compiled.getSource().equals(condition);
+    }
+}
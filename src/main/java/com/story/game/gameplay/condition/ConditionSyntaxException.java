@@ -0,0 +1,11 @@
+package com.story.game.gameplay.condition;
+
+/**
+ * 엔딩 조건식을 컴파일할 수 없을 때 발생하는 예외
+ */
+public class ConditionSyntaxException extends RuntimeException {
+
+    public ConditionSyntaxException(String message) {
+        super(message);
+    }
+}
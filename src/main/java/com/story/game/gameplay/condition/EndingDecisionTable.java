@@ -0,0 +1,291 @@
+package com.story.game.gameplay.condition;
+
+import com.story.game.gameplay.state.StateSymbols;
+import com.story.game.gameplay.state.StateVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 에피소드 엔딩 결정 테이블
+ *
+ * 에피소드의 엔딩 조건식들을 저장 시점에 한 번 분석하여, 누적 태그 값 → 엔딩 인덱스를 바로 찾는 표로 만든다.
+ * - 조건식에 쓰인 변수마다 비교 상수로 정수 구간을 나눈다 (상수 c마다 경계 c, c+1)
+ * - 모든 변수 구간의 조합(셀)마다 대표값으로 조건식을 순서대로 평가해 첫 번째로 맞는 엔딩을 기록
+ * - 조회는 변수별 이분 탐색으로 셀 번호를 계산한 뒤 배열 한 칸을 읽는다 (엔딩 수와 무관)
+ *
+ * 모든 비교가 "변수 vs 정수 상수" 형태여야 구간 안에서 결과가 바뀌지 않으므로, 그렇지 않은 조건식이 있거나
+ * 셀 수가 MAX_CELLS를 넘으면 컴파일된 조건식을 순서대로 평가하는 방식으로 대체한다.
+ * 어떤 조건도 맞지 않으면 기존과 같이 첫 번째 엔딩(0)을 반환한다.
+ */
+public final class EndingDecisionTable {
+
+    public static final int NO_ENDING = -1;
+    static final int MAX_CELLS = 4096;
+
+    private static final EndingDecisionTable EMPTY = new EndingDecisionTable(List.of(), new String[0], new int[0][], null, null);
+
+    private final List<String> conditions;
+    private final String[] variables;
+    private final int[][] breakpoints;
+    // 셀 번호 -> 엔딩 인덱스 (null이면 순차 평가)
+    private final int[] cells;
+    private final CompiledCondition[] compiled;
+    // 마지막으로 사용한 심볼 테이블의 변수 슬롯 연결
+    private volatile Binding binding;
+
+    private EndingDecisionTable(List<String> conditions, String[] variables, int[][] breakpoints, int[] cells,
+                                CompiledCondition[] compiled) {
+        this.conditions = conditions;
+        this.variables = variables;
+        this.breakpoints = breakpoints;
+        this.cells = cells;
+        this.compiled = compiled;
+    }
+
+    /**
+     * 엔딩 조건식 목록(저장 순서)으로 결정 테이블 생성
+     */
+    public static EndingDecisionTable compile(List<String> conditions) {
+        if (conditions == null || conditions.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> sources = sources(conditions);
+        CompiledCondition[] compiled = sources.stream().map(ConditionCompiler::compile).toArray(CompiledCondition[]::new);
+
+        Map<String, TreeSet<Integer>> bounds = new LinkedHashMap<>();
+        for (CompiledCondition condition : compiled) {
+            if (!condition.isThresholdForm()) {
+                return new EndingDecisionTable(sources, new String[0], new int[0][], null, compiled);
+            }
+            for (String variable : condition.getVariables()) {
+                TreeSet<Integer> points = bounds.computeIfAbsent(variable, k -> new TreeSet<>());
+                for (int c : condition.getThresholds(variable)) {
+                    points.add(c);
+                    if (c < Integer.MAX_VALUE) {
+                        points.add(c + 1);
+                    }
+                }
+            }
+        }
+
+        String[] variables = bounds.keySet().toArray(new String[0]);
+        int[][] breakpoints = new int[variables.length][];
+        long cellCount = 1;
+        for (int v = 0; v < variables.length; v++) {
+            breakpoints[v] = bounds.get(variables[v]).stream().mapToInt(Integer::intValue).toArray();
+            cellCount *= breakpoints[v].length + 1;
+            if (cellCount > MAX_CELLS) {
+                return new EndingDecisionTable(sources, new String[0], new int[0][], null, compiled);
+            }
+        }
+
+        int[] cells = new int[(int) cellCount];
+        int[] interval = new int[variables.length];
+        Map<String, Integer> values = new HashMap<>();
+        for (int cell = 0; cell < cells.length; cell++) {
+            for (int v = 0; v < variables.length; v++) {
+                values.put(variables[v], representative(breakpoints[v], interval[v]));
+            }
+            cells[cell] = firstMatch(compiled, values);
+            // 셀 번호와 같은 순서(마지막 변수가 가장 빠르게 변함)로 구간 조합을 증가
+            for (int v = variables.length - 1; v >= 0; v--) {
+                if (++interval[v] <= breakpoints[v].length) {
+                    break;
+                }
+                interval[v] = 0;
+            }
+        }
+        return new EndingDecisionTable(sources, variables, breakpoints, cells, compiled);
+    }
+
+    /**
+     * 저장된 테이블 복원. 저장 이후 조건식/순서가 바뀌었거나 형식이 맞지 않으면 다시 컴파일한다.
+     */
+    public static EndingDecisionTable restore(Spec spec, List<String> conditions) {
+        if (spec == null || !spec.isConsistent()) {
+            return compile(conditions);
+        }
+        List<String> sources = sources(conditions);
+        if (!sources.equals(spec.conditions())) {
+            return compile(conditions);
+        }
+        if (sources.isEmpty()) {
+            return EMPTY;
+        }
+        CompiledCondition[] compiled = sources.stream().map(ConditionCompiler::compile).toArray(CompiledCondition[]::new);
+        if (spec.cells() == null) {
+            return new EndingDecisionTable(sources, new String[0], new int[0][], null, compiled);
+        }
+        int[][] breakpoints = spec.breakpoints().stream().map(int[]::clone).toArray(int[][]::new);
+        return new EndingDecisionTable(sources, spec.variables().toArray(new String[0]), breakpoints,
+                spec.cells().clone(), compiled);
+    }
+
+    /**
+     * 저장용 형태 (episodes.ending_table JSON)
+     */
+    public Spec toSpec() {
+        return new Spec(conditions, List.of(variables),
+                cells != null ? Arrays.stream(breakpoints).map(int[]::clone).toList() : List.of(),
+                cells != null ? cells.clone() : null);
+    }
+
+    /**
+     * 누적 태그 값으로 엔딩 인덱스 조회 (엔딩이 없으면 NO_ENDING)
+     */
+    public int resolve(StateVector values) {
+        if (conditions.isEmpty()) {
+            return NO_ENDING;
+        }
+        if (cells == null) {
+            return firstMatch(compiled, values);
+        }
+        int[] slots = bind(values.getSymbols());
+        int cell = 0;
+        for (int v = 0; v < variables.length; v++) {
+            cell = cell * (breakpoints[v].length + 1) + intervalOf(breakpoints[v], values.getInt(slots[v]));
+        }
+        return cells[cell];
+    }
+
+    /**
+     * 이름 기반 값 맵으로 엔딩 인덱스 조회 (엔딩이 없으면 NO_ENDING)
+     */
+    public int resolve(Map<String, Integer> values) {
+        if (values instanceof StateVector vector) {
+            return resolve(vector);
+        }
+        if (conditions.isEmpty()) {
+            return NO_ENDING;
+        }
+        if (cells == null) {
+            return firstMatch(compiled, values);
+        }
+        int cell = 0;
+        for (int v = 0; v < variables.length; v++) {
+            Integer value = values != null ? values.get(variables[v]) : null;
+            cell = cell * (breakpoints[v].length + 1) + intervalOf(breakpoints[v], value != null ? value : 0);
+        }
+        return cells[cell];
+    }
+
+    /**
+     * 구간 표로 조회하는지 (false면 조건식 순차 평가)
+     */
+    public boolean isTabulated() {
+        return cells != null;
+    }
+
+    public int getCellCount() {
+        return cells != null ? cells.length : 0;
+    }
+
+    // null 조건식은 "default"와 같이 항상 참 (ConditionCompiler)
+    private static List<String> sources(List<String> conditions) {
+        List<String> sources = new ArrayList<>(conditions != null ? conditions.size() : 0);
+        if (conditions != null) {
+            for (String condition : conditions) {
+                sources.add(condition != null ? condition : "");
+            }
+        }
+        return Collections.unmodifiableList(sources);
+    }
+
+    private static int firstMatch(CompiledCondition[] compiled, Map<String, Integer> values) {
+        for (int i = 0; i < compiled.length; i++) {
+            if (compiled[i].test(values)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 값이 속한 구간 번호 = 값 이하인 경계의 개수 (0 ~ breakpoints.length)
+     */
+    private static int intervalOf(int[] breakpoints, int value) {
+        int low = 0;
+        int high = breakpoints.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (breakpoints[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int representative(int[] breakpoints, int interval) {
+        if (interval > 0) {
+            return breakpoints[interval - 1];
+        }
+        return breakpoints.length == 0 || breakpoints[0] == Integer.MIN_VALUE ? 0 : breakpoints[0] - 1;
+    }
+
+    private int[] bind(StateSymbols symbols) {
+        Binding current = binding;
+        if (current == null || current.symbols != symbols) {
+            int[] slots = new int[variables.length];
+            for (int v = 0; v < variables.length; v++) {
+                slots[v] = symbols.indexOf(variables[v]);
+            }
+            current = new Binding(symbols, slots);
+            binding = current;
+        }
+        return current.slots;
+    }
+
+    private record Binding(StateSymbols symbols, int[] slots) {
+    }
+
+    /**
+     * 저장 형식
+     *
+     * @param conditions  테이블을 만든 조건식 원문 (순서 포함, 복원 시 일치 여부 확인)
+     * @param variables   구간을 나눈 변수 이름
+     * @param breakpoints 변수별 구간 경계 (오름차순)
+     * @param cells       셀 번호 -> 엔딩 인덱스 (null이면 순차 평가)
+     */
+    public record Spec(List<String> conditions, List<String> variables, List<int[]> breakpoints, int[] cells) {
+
+        boolean isConsistent() {
+            if (conditions == null) {
+                return false;
+            }
+            if (cells == null) {
+                return true;
+            }
+            if (variables == null || breakpoints == null || variables.size() != breakpoints.size()) {
+                return false;
+            }
+            long cellCount = 1;
+            for (int[] points : breakpoints) {
+                if (points == null) {
+                    return false;
+                }
+                cellCount *= points.length + 1;
+                if (cellCount > MAX_CELLS) {
+                    return false;
+                }
+            }
+            if (cellCount != cells.length) {
+                return false;
+            }
+            for (int cell : cells) {
+                if (cell < 0 || cell >= conditions.size()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.story.game.gameplay.controller;
 
 import com.story.game.common.dto.FullStoryDto;
 import com.story.game.common.entity.StoryData;
+import com.story.game.gameplay.dto.ChoiceBatchRequestDto;
 import com.story.game.gameplay.dto.ChoiceRequestDto;
 import com.story.game.gameplay.dto.GameStateResponseDto;
 import com.story.game.gameplay.dto.StartGameRequestDto;
 import com.story.game.gameplay.service.GameService;
+import com.story.game.gameplay.session.IdempotentReplyCache;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +31,8 @@ public class GameController {
 
     private final GameService gameService;
 
+    private final IdempotentReplyCache idempotentReplyCache;
+
 
 
     /**
@@ -43,6 +47,8 @@ public class GameController {
 
             @Valid @RequestBody StartGameRequestDto request,
 
+            @RequestHeader(value = IdempotentReplyCache.HEADER, required = false) String idempotencyKey,
+
             @AuthenticationPrincipal UserDetails userDetails) {
 
         log.info("=== Start Game Request ===");
@@ -52,7 +58,10 @@ public class GameController {
         log.info("User: {}", userDetails != null ? userDetails.getUsername() : "anonymous");
 
         com.story.game.auth.entity.User user = convertToUser(userDetails);
-        GameStateResponseDto response = gameService.startGame(request.getStoryDataId(), user);
+        // 재시도 시 세션을 새로 만들지 않고 처음 만든 세션 응답을 그대로 반환
+        GameStateResponseDto response = idempotentReplyCache.execute(
+                "start:" + user.getId(), idempotencyKey, request.getStoryDataId(),
+                () -> gameService.startGame(request.getStoryDataId(), user));
 
         log.info("Game started. SessionId: {}", response.getSessionId());
 
@@ -105,6 +114,8 @@ public class GameController {
 
             @Valid @RequestBody ChoiceRequestDto request,
 
+            @RequestHeader(value = IdempotentReplyCache.HEADER, required = false) String idempotencyKey,
+
             @AuthenticationPrincipal UserDetails userDetails) {
 
         log.info("=== Make Choice Request ===");
@@ -116,7 +127,49 @@ public class GameController {
         log.info("User: {}", userDetails != null ? userDetails.getUsername() : "anonymous");
 
         com.story.game.auth.entity.User user = convertToUser(userDetails);
-        GameStateResponseDto response = gameService.makeChoice(sessionId, request.getChoiceIndex(), user);
+        // 같은 세션의 요청은 순서대로 처리하고, 같은 키의 재시도는 캐시된 응답을 반환
+        GameStateResponseDto response = idempotentReplyCache.execute(
+                "choice:" + user.getId() + ":" + sessionId, idempotencyKey, request.getChoiceIndex(),
+                () -> gameService.makeChoice(sessionId, request.getChoiceIndex(), user));
+
+        return ResponseEntity.ok(response);
+
+    }
+
+
+
+    /**
+
+     * Apply several choices in order and return only the final state (replay / auto-play)
+
+     */
+
+    @PostMapping("/{sessionId}/choices")
+
+    public ResponseEntity<GameStateResponseDto> makeChoices(
+
+            @PathVariable String sessionId,
+
+            @Valid @RequestBody ChoiceBatchRequestDto request,
+
+            @RequestHeader(value = IdempotentReplyCache.HEADER, required = false) String idempotencyKey,
+
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        log.info("=== Make Choices Request ===");
+
+        log.info("SessionId: {}", sessionId);
+
+        log.info("ChoiceCount: {}", request.getChoiceIndexes().size());
+
+        log.info("User: {}", userDetails != null ? userDetails.getUsername() : "anonymous");
+
+        com.story.game.auth.entity.User user = convertToUser(userDetails);
+        // 단일 선택과 같은 scope로 직렬화하여 한 세션에 대한 선택이 섞이지 않게 함
+        List<Integer> choiceIndexes = List.copyOf(request.getChoiceIndexes());
+        GameStateResponseDto response = idempotentReplyCache.execute(
+                "choice:" + user.getId() + ":" + sessionId, idempotencyKey, choiceIndexes,
+                () -> gameService.makeChoices(sessionId, choiceIndexes, user));
 
         return ResponseEntity.ok(response);
 
@@ -228,6 +281,30 @@ public class GameController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get visited node history for a game session
+     *
+     * 방문 노드 기록을 offset/limit 단위로 조회
+     */
+    @GetMapping("/{sessionId}/history")
+    @io.swagger.v3.oas.annotations.Operation(
+            summary = "방문 노드 기록 조회",
+            description = "게임 세션에서 방문한 노드 ID를 방문 순서대로 페이지 단위로 조회합니다. 에피소드별 시작 위치를 함께 반환합니다."
+    )
+    public ResponseEntity<com.story.game.gameplay.dto.VisitedNodesResponseDto> getVisitedNodes(
+            @PathVariable String sessionId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        if (offset < 0 || limit < 1 || limit > 1000) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit must be between 1 and 1000");
+        }
+
+        com.story.game.auth.entity.User user = convertToUser(userDetails);
+        return ResponseEntity.ok(gameService.getVisitedNodes(sessionId, user, offset, limit));
+    }
+
     /**
      * Get selected characters for NPC chat by storyDataId
      * 프론트엔드가 StoryData ID로 선택된 캐릭터를 조회할 수 있도록 지원
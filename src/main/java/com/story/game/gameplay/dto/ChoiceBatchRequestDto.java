@@ -0,0 +1,23 @@
+package com.story.game.gameplay.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 여러 선택지를 순서대로 한 번에 적용하는 요청 (다시 보기 / 자동 진행)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChoiceBatchRequestDto {
+    @NotEmpty(message = "Choice indexes are required")
+    @Size(max = 200, message = "At most 200 choices can be applied at once")
+    private List<@NotNull(message = "Choice index is required")
+            @Min(value = 0, message = "Choice index must be non-negative") Integer> choiceIndexes;
+}
@@ -0,0 +1,35 @@
+package com.story.game.gameplay.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 게임 세션 방문 노드 기록 페이지
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitedNodesResponseDto {
+
+    private String sessionId;
+    private Integer offset;
+    private Integer limit;
+    private Integer totalCount;
+    private List<String> nodeIds;
+    private List<EpisodeOffset> episodes;  // 에피소드별 기록 시작 위치
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EpisodeOffset {
+        private Integer episodeIndex;
+        private Integer startOffset;
+        private Integer nodeCount;
+    }
+}
@@ -1,6 +1,9 @@
 package com.story.game.gameplay.entity;
 
 import com.story.game.auth.entity.User;
+import com.story.game.gameplay.state.StateSymbols;
+import com.story.game.gameplay.state.StateVector;
+import com.story.game.gameplay.state.StateVectorConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -11,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.UUID;
 
 @Entity
 @Table(name = "game_sessions")
@@ -44,20 +48,28 @@ public class GameSession {
     @Column(name = "current_node_id")
     private String currentNodeId;
 
+    // 게임 진행 중에는 StateVector(int[])로 다루고, 컬럼은 기존과 같은 JSON 객체 (StateVectorConverter)
+    @Convert(converter = StateVectorConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "gauge_states", columnDefinition = "json")
     @Builder.Default
     private Map<String, Integer> gaugeStates = new HashMap<>();
 
+    @Convert(converter = StateVectorConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "accumulated_tags", columnDefinition = "json")
     @Builder.Default
     private Map<String, Integer> accumulatedTags = new HashMap<>();
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "visited_nodes", columnDefinition = "json")
+    // 방문 노드 기록은 game_session_journal에 append-only로 저장 (VisitedNodeJournal)
+    @Column(name = "visited_count", nullable = false)
+    @Builder.Default
+    private Integer visitedCount = 0;
+
+    // 아직 저널에 기록되지 않은 방문 (세션 저장 시 함께 기록)
+    @Transient
     @Builder.Default
-    private List<String> visitedNodes = new ArrayList<>();
+    private List<PendingVisit> pendingVisits = new ArrayList<>();
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "completed_episodes", columnDefinition = "json")
@@ -91,4 +103,67 @@ public class GameSession {
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * 게이지 상태를 스토리 심볼 테이블에 묶인 벡터로 반환 (필요하면 변환하여 교체)
+     */
+    public StateVector gaugeVector(StateSymbols symbols) {
+        StateVector vector = StateVector.bind(symbols, gaugeStates);
+        gaugeStates = vector;
+        return vector;
+    }
+
+    /**
+     * 현재 에피소드의 누적 태그를 스토리 심볼 테이블에 묶인 벡터로 반환
+     */
+    public StateVector tagVector(StateSymbols symbols) {
+        StateVector vector = StateVector.bind(symbols, accumulatedTags);
+        accumulatedTags = vector;
+        return vector;
+    }
+
+    /**
+     * 노드 방문 기록 (현재 에피소드 순번을 segment로 사용)
+     */
+    public void recordVisit(String nodeId) {
+        int offset = visitedCount != null ? visitedCount : 0;
+        int segment = completedEpisodes != null ? completedEpisodes.size() : 0;
+        if (pendingVisits == null) {
+            pendingVisits = new ArrayList<>();
+        }
+        pendingVisits.add(new PendingVisit(segment, offset, UUID.fromString(nodeId)));
+        visitedCount = offset + 1;
+    }
+
+    public boolean hasPendingVisits() {
+        return pendingVisits != null && !pendingVisits.isEmpty();
+    }
+
+    /**
+     * 저널에 기록할 방문 목록을 꺼내고 비움
+     */
+    public List<PendingVisit> drainPendingVisits() {
+        if (pendingVisits == null || pendingVisits.isEmpty()) {
+            return List.of();
+        }
+        List<PendingVisit> drained = new ArrayList<>(pendingVisits);
+        pendingVisits.clear();
+        return drained;
+    }
+
+    /**
+     * 저널 기록 실패 시 꺼냈던 방문 목록을 앞쪽에 되돌림
+     */
+    public void restorePendingVisits(List<PendingVisit> visits) {
+        if (visits.isEmpty()) {
+            return;
+        }
+        if (pendingVisits == null) {
+            pendingVisits = new ArrayList<>();
+        }
+        pendingVisits.addAll(0, visits);
+    }
+
+    public record PendingVisit(int segment, int offset, UUID nodeId) {
+    }
 }
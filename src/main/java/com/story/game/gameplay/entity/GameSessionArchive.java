@@ -0,0 +1,58 @@
+package com.story.game.gameplay.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 보관 이동된 게임 세션 (읽기 전용)
+ *
+ * 행은 GameSessionArchiver가 SQL로 직접 옮긴다. 플레이 기록 목록에 필요한 컬럼만 매핑하며,
+ * 압축된 상태/방문 기록(state_compressed, visited_nodes_compressed)은 매핑하지 않는다.
+ */
+@Entity
+@Immutable
+@Table(name = "game_session_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class GameSessionArchive {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "story_data_id", nullable = false)
+    private Long storyDataId;
+
+    @Column(name = "story_creation_id", nullable = false)
+    private String storyCreationId;
+
+    @Column(name = "is_completed", nullable = false)
+    private Boolean isCompleted;
+
+    @Column(name = "final_ending_id")
+    private String finalEndingId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "gauge_states", columnDefinition = "json")
+    private Map<String, Integer> gaugeStates;
+
+    @Column(name = "visited_count", nullable = false)
+    private Integer visitedCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,447 @@
+package com.story.game.gameplay.graph;
+
+import com.story.game.common.dto.EpisodeDto;
+import com.story.game.common.dto.EpisodeEndingDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.common.dto.GaugeDto;
+import com.story.game.common.dto.StoryChoiceDto;
+import com.story.game.common.dto.StoryNodeDto;
+import com.story.game.gameplay.condition.EndingDecisionTable;
+import com.story.game.gameplay.state.StateSymbols;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 게임 플레이용 읽기 전용 스토리 그래프 스냅샷
+ *
+ * 노드/선택지/에피소드/엔딩을 각각 하나의 배열에 담고, 서로를 배열 인덱스로 참조한다.
+ * - 노드의 선택지는 choices 배열의 연속 구간 [firstChoice, firstChoice + choiceCount)
+ * - 에피소드의 엔딩은 endings 배열의 연속 구간 [firstEnding, firstEnding + endingCount)
+ *   엔딩 결정은 에피소드별 EndingDecisionTable 조회로 이루어진다
+ * - 에피소드는 order 순으로 정렬되며 rootNode에 depth 0 노드 인덱스를 가진다
+ * - 선택지 태그와 게이지 ID는 스토리 심볼 테이블(tagSymbols, gaugeSymbols)의 슬롯 번호로도 보관한다
+ *
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 잠금 없이 공유한다.
+ */
+public final class StoryGraph {
+
+    public static final int NONE = -1;
+
+    @Getter
+    private final String storyCreationId;
+    private final Episode[] episodes;
+    private final Node[] nodes;
+    private final Choice[] choices;
+    private final Ending[] endings;
+    private final Map<UUID, Integer> nodeIndex;
+    private final Map<UUID, Integer> episodeIndex;
+    @Getter
+    private final StateSymbols tagSymbols;
+    @Getter
+    private final StateSymbols gaugeSymbols;
+
+    private StoryGraph(String storyCreationId, Episode[] episodes, Node[] nodes, Choice[] choices, Ending[] endings,
+                       StateSymbols tagSymbols, StateSymbols gaugeSymbols) {
+        this.storyCreationId = storyCreationId;
+        this.tagSymbols = tagSymbols;
+        this.gaugeSymbols = gaugeSymbols;
+        this.episodes = episodes;
+        this.nodes = nodes;
+        this.choices = choices;
+        this.endings = endings;
+        this.nodeIndex = new HashMap<>(nodes.length * 2);
+        for (Node node : nodes) {
+            nodeIndex.put(node.id, node.index);
+        }
+        this.episodeIndex = new HashMap<>(episodes.length * 2);
+        for (Episode episode : episodes) {
+            episodeIndex.put(episode.id, episode.index);
+        }
+    }
+
+    /**
+     * StoryMapper.buildFullStoryDtoFromDb 결과로부터 그래프를 생성
+     */
+    public static StoryGraph from(String storyCreationId, FullStoryDto fullStory) {
+        List<EpisodeDto> episodeDtos = new ArrayList<>(
+                fullStory.getEpisodes() != null ? fullStory.getEpisodes() : Collections.emptyList());
+        episodeDtos.sort(Comparator.comparing(EpisodeDto::getOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        // 1st pass: 노드 인덱스 부여 (선택지의 목적지를 인덱스로 연결하기 위해)
+        Map<String, Integer> nodeIds = new HashMap<>();
+        List<StoryNodeDto> nodeDtos = new ArrayList<>();
+        List<Integer> nodeEpisodes = new ArrayList<>();
+        Set<String> tagNames = new LinkedHashSet<>();
+        for (int e = 0; e < episodeDtos.size(); e++) {
+            List<StoryNodeDto> episodeNodes = episodeDtos.get(e).getNodes();
+            if (episodeNodes == null) {
+                continue;
+            }
+            for (StoryNodeDto nodeDto : episodeNodes) {
+                if (nodeDto == null || nodeDto.getId() == null || nodeIds.containsKey(nodeDto.getId())) {
+                    continue;
+                }
+                nodeIds.put(nodeDto.getId(), nodeDtos.size());
+                nodeDtos.add(nodeDto);
+                nodeEpisodes.add(e);
+                if (nodeDto.getChoices() != null) {
+                    for (StoryChoiceDto choiceDto : nodeDto.getChoices()) {
+                        if (choiceDto.getTags() != null) {
+                            tagNames.addAll(choiceDto.getTags());
+                        }
+                    }
+                }
+            }
+        }
+        StateSymbols tagSymbols = StateSymbols.of(tagNames);
+        StateSymbols gaugeSymbols = gaugeSymbols(fullStory, episodeDtos);
+
+        // 2nd pass: 노드 + 선택지
+        Node[] nodes = new Node[nodeDtos.size()];
+        List<Choice> choices = new ArrayList<>();
+        for (int n = 0; n < nodeDtos.size(); n++) {
+            StoryNodeDto dto = nodeDtos.get(n);
+            int firstChoice = choices.size();
+            List<StoryChoiceDto> choiceDtos = dto.getChoices() != null ? dto.getChoices() : Collections.emptyList();
+            List<StoryNodeDto> children = dto.getChildren() != null ? dto.getChildren() : Collections.emptyList();
+            for (int c = 0; c < choiceDtos.size(); c++) {
+                StoryChoiceDto choiceDto = choiceDtos.get(c);
+                StoryNodeDto child = c < children.size() ? children.get(c) : null;
+                Integer destination = child != null ? nodeIds.get(child.getId()) : null;
+                choices.add(new Choice(
+                        choices.size(),
+                        n,
+                        destination != null ? destination : NONE,
+                        c,
+                        choiceDto.getText(),
+                        immutableList(choiceDto.getTags()),
+                        choiceDto.getImmediateReaction(),
+                        tagSymbols.indicesOf(choiceDto.getTags())
+                ));
+            }
+
+            StoryNodeDto.StoryNodeDetailDto details = dto.getDetails();
+            nodes[n] = new Node(
+                    n,
+                    UUID.fromString(dto.getId()),
+                    nodeEpisodes.get(n),
+                    dto.getDepth() != null ? dto.getDepth() : 0,
+                    dto.getText(),
+                    dto.getNodeType(),
+                    details != null ? details.getSituation() : null,
+                    details != null ? nullableMap(details.getNpcEmotions()) : null,
+                    details != null ? nullableMap(details.getRelationsUpdate()) : null,
+                    dto.getImageFileKey(),
+                    firstChoice,
+                    choices.size() - firstChoice
+            );
+        }
+
+        // 에피소드 + 엔딩
+        Episode[] episodes = new Episode[episodeDtos.size()];
+        List<Ending> endings = new ArrayList<>();
+        for (int e = 0; e < episodeDtos.size(); e++) {
+            EpisodeDto dto = episodeDtos.get(e);
+            int firstEnding = endings.size();
+            List<String> conditions = new ArrayList<>();
+            if (dto.getEndings() != null) {
+                for (EpisodeEndingDto endingDto : dto.getEndings()) {
+                    Map<String, Integer> gaugeChanges = immutableMap(endingDto.getGaugeChanges());
+                    int[] gaugeSlots = new int[gaugeChanges.size()];
+                    int[] gaugeDeltas = new int[gaugeChanges.size()];
+                    int g = 0;
+                    for (Map.Entry<String, Integer> change : gaugeChanges.entrySet()) {
+                        gaugeSlots[g] = gaugeSymbols.indexOf(change.getKey());
+                        gaugeDeltas[g++] = change.getValue() != null ? change.getValue() : 0;
+                    }
+                    conditions.add(endingDto.getCondition());
+                    endings.add(new Ending(
+                            endings.size(),
+                            UUID.fromString(endingDto.getId()),
+                            e,
+                            endingDto.getTitle(),
+                            endingDto.getCondition(),
+                            endingDto.getText(),
+                            gaugeChanges,
+                            gaugeSlots,
+                            gaugeDeltas
+                    ));
+                }
+            }
+
+            int rootNode = NONE;
+            for (Node node : nodes) {
+                if (node.episodeIndex == e && node.depth == 0) {
+                    rootNode = node.index;
+                    break;
+                }
+            }
+
+            episodes[e] = new Episode(
+                    e,
+                    UUID.fromString(dto.getId()),
+                    dto.getOrder() != null ? dto.getOrder() : e + 1,
+                    dto.getTitle(),
+                    dto.getIntroText(),
+                    rootNode,
+                    firstEnding,
+                    endings.size() - firstEnding,
+                    EndingDecisionTable.restore(dto.getEndingTable(), conditions)
+            );
+        }
+
+        return new StoryGraph(storyCreationId, episodes, nodes,
+                choices.toArray(new Choice[0]), endings.toArray(new Ending[0]), tagSymbols, gaugeSymbols);
+    }
+
+    /**
+     * 선택된 게이지 + 에피소드 엔딩에서 변경하는 게이지 ID
+     */
+    private static StateSymbols gaugeSymbols(FullStoryDto fullStory, List<EpisodeDto> episodeDtos) {
+        Set<String> gaugeIds = new LinkedHashSet<>();
+        if (fullStory.getContext() != null && fullStory.getContext().getSelectedGauges() != null) {
+            for (GaugeDto gauge : fullStory.getContext().getSelectedGauges()) {
+                gaugeIds.add(gauge.getId());
+            }
+        }
+        for (EpisodeDto episodeDto : episodeDtos) {
+            if (episodeDto.getEndings() == null) {
+                continue;
+            }
+            for (EpisodeEndingDto endingDto : episodeDto.getEndings()) {
+                if (endingDto.getGaugeChanges() != null) {
+                    gaugeIds.addAll(endingDto.getGaugeChanges().keySet());
+                }
+            }
+        }
+        return StateSymbols.of(gaugeIds);
+    }
+
+    // === Lookup ===
+
+    public Node getNode(UUID nodeId) {
+        Integer index = nodeIndex.get(nodeId);
+        return index != null ? nodes[index] : null;
+    }
+
+    public Node getNode(String nodeId) {
+        return nodeId != null ? getNode(UUID.fromString(nodeId)) : null;
+    }
+
+    public Node getNode(int index) {
+        return index >= 0 && index < nodes.length ? nodes[index] : null;
+    }
+
+    public Episode getEpisode(UUID episodeId) {
+        Integer index = episodeIndex.get(episodeId);
+        return index != null ? episodes[index] : null;
+    }
+
+    public Episode getEpisode(String episodeId) {
+        return episodeId != null ? getEpisode(UUID.fromString(episodeId)) : null;
+    }
+
+    public Episode getEpisodeByOrder(int order) {
+        for (Episode episode : episodes) {
+            if (episode.order == order) {
+                return episode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 현재 에피소드 다음 순서의 에피소드 (없으면 null)
+     */
+    public Episode getNextEpisode(Episode episode) {
+        return getEpisodeByOrder(episode.order + 1);
+    }
+
+    public Episode getEpisodeOf(Node node) {
+        return episodes[node.episodeIndex];
+    }
+
+    public Node getRootNode(Episode episode) {
+        return getNode(episode.rootNode);
+    }
+
+    /**
+     * 노드의 선택지 목록 (choice_order 순)
+     */
+    public List<Choice> getChoices(Node node) {
+        return node.choiceCount == 0
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(choices).subList(node.firstChoice, node.firstChoice + node.choiceCount));
+    }
+
+    public Node getDestination(Choice choice) {
+        return getNode(choice.destinationIndex);
+    }
+
+    /**
+     * 에피소드 엔딩 목록 (저장 순서 유지)
+     */
+    public List<Ending> getEndings(Episode episode) {
+        return episode.endingCount == 0
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(endings).subList(episode.firstEnding, episode.firstEnding + episode.endingCount));
+    }
+
+    public Ending getEnding(UUID endingId) {
+        for (Ending ending : endings) {
+            if (ending.id.equals(endingId)) {
+                return ending;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 누적 태그로 에피소드 엔딩 결정 (결정 테이블 조회, 맞는 조건이 없으면 첫 번째 엔딩, 엔딩이 없으면 null)
+     */
+    public Ending resolveEnding(Episode episode, Map<String, Integer> accumulatedTags) {
+        int ending = episode.endingTable.resolve(accumulatedTags);
+        return ending == EndingDecisionTable.NO_ENDING || ending >= episode.endingCount
+                ? null
+                : endings[episode.firstEnding + ending];
+    }
+
+    public int getEpisodeCount() {
+        return episodes.length;
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    public int getChoiceCount() {
+        return choices.length;
+    }
+
+    public int getEndingCount() {
+        return endings.length;
+    }
+
+    private static <T> List<T> immutableList(List<T> list) {
+        return list == null || list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    private static <K, V> Map<K, V> immutableMap(Map<K, V> map) {
+        return map == null || map.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(map));
+    }
+
+    private static <K, V> Map<K, V> nullableMap(Map<K, V> map) {
+        return map == null ? null : Collections.unmodifiableMap(new HashMap<>(map));
+    }
+
+    // === Elements ===
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Episode {
+        private final int index;
+        private final UUID id;
+        private final int order;
+        private final String title;
+        private final String introText;
+        private final int rootNode;
+        private final int firstEnding;
+        private final int endingCount;
+        // 엔딩 조건식 결정 테이블 (저장 시점에 계산된 것을 복원하거나 다시 컴파일)
+        private final EndingDecisionTable endingTable;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Node {
+        private final int index;
+        private final UUID id;
+        private final int episodeIndex;
+        private final int depth;
+        private final String text;
+        private final String nodeType;
+        private final String situation;
+        private final Map<String, String> npcEmotions;
+        private final Map<String, String> relationsUpdate;
+        private final String imageFileKey;
+        private final int firstChoice;
+        private final int choiceCount;
+
+        public boolean hasChoices() {
+            return choiceCount > 0;
+        }
+
+        public boolean isType(String type) {
+            return nodeType != null && nodeType.equalsIgnoreCase(type);
+        }
+
+        public StoryNodeDto.StoryNodeDetailDto toDetailDto() {
+            if (situation == null && npcEmotions == null && relationsUpdate == null) {
+                return null;
+            }
+            return StoryNodeDto.StoryNodeDetailDto.builder()
+                    .situation(situation)
+                    .npcEmotions(npcEmotions)
+                    .relationsUpdate(relationsUpdate)
+                    .build();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Choice {
+        private final int index;
+        private final int sourceIndex;
+        private final int destinationIndex;
+        private final int order;
+        private final String text;
+        private final List<String> tags;
+        private final String immediateReaction;
+        // tags의 tagSymbols 슬롯 번호 (같은 순서)
+        private final int[] tagSlots;
+
+        public StoryChoiceDto toDto() {
+            return StoryChoiceDto.builder()
+                    .text(text)
+                    .tags(new ArrayList<>(tags))
+                    .immediateReaction(immediateReaction)
+                    .build();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Ending {
+        private final int index;
+        private final UUID id;
+        private final int episodeIndex;
+        private final String title;
+        private final String condition;
+        private final String text;
+        private final Map<String, Integer> gaugeChanges;
+        // gaugeChanges를 gaugeSymbols 슬롯 번호와 변화량 배열로 펼친 것
+        private final int[] gaugeSlots;
+        private final int[] gaugeDeltas;
+
+        public EpisodeEndingDto toDto() {
+            return EpisodeEndingDto.builder()
+                    .id(id.toString())
+                    .title(title)
+                    .condition(condition)
+                    .text(text)
+                    .gaugeChanges(new HashMap<>(gaugeChanges))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.story.game.gameplay.graph;
+
+import com.story.game.common.util.TransactionUtils;
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.story.mapper.StoryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스토리 그래프 캐시
+ *
+ * 스토리를 처음 플레이할 때 DB에서 전체 스토리를 한 번 읽어 StoryGraph로 만들고,
+ * 이후 게임 진행(노드/선택지/엔딩 조회)은 DB 대신 이 그래프를 사용한다.
+ * 스토리 편집/이미지 변경 시 invalidate로 스냅샷을 버리고 다음 조회 때 다시 만든다.
+ * 그래프 생성(DB 조회 포함)은 맵 잠금 밖에서 하며, 같은 스토리를 동시에 요청하면 먼저 시작한 생성 결과를 함께 기다린다.
+ */
+@Component
+@Slf4j
+public class StoryGraphCache {
+
+    private final StoryMapper storyMapper;
+    private final StoryCreationRepository storyCreationRepository;
+    private final int maxStories;
+
+    // Cache: storyCreationId -> graph
+    private final ConcurrentHashMap<String, CachedGraph> graphs = new ConcurrentHashMap<>();
+    // 생성 중인 그래프: storyCreationId -> 결과 future (invalidate되면 제거되어 결과를 캐시에 넣지 않음)
+    private final ConcurrentHashMap<String, CompletableFuture<StoryGraph>> building = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public StoryGraphCache(StoryMapper storyMapper,
+                           StoryCreationRepository storyCreationRepository,
+                           @Value("${game.story-graph.max-stories:500}") int maxStories) {
+        this.storyMapper = storyMapper;
+        this.storyCreationRepository = storyCreationRepository;
+        this.maxStories = maxStories;
+    }
+
+    /**
+     * 스토리 그래프 조회 (없으면 DB에서 생성)
+     */
+    public StoryGraph getGraph(StoryCreation storyCreation) {
+        CachedGraph cached = graphs.get(storyCreation.getId());
+        if (cached != null) {
+            hits.incrementAndGet();
+            cached.lastAccess = System.nanoTime();
+            return cached.graph;
+        }
+
+        String id = storyCreation.getId();
+        CompletableFuture<StoryGraph> future = new CompletableFuture<>();
+        CompletableFuture<StoryGraph> existing = building.putIfAbsent(id, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // 확인과 등록 사이에 다른 스레드가 생성을 끝냈을 수 있음
+            CachedGraph raced = graphs.get(id);
+            if (raced != null) {
+                future.complete(raced.graph);
+                return raced.graph;
+            }
+
+            misses.incrementAndGet();
+            StoryGraph graph = build(storyCreation);
+            // 생성 중 invalidate되었으면 (future가 제거됨) 이 요청에만 쓰고 캐시하지 않음
+            building.computeIfPresent(id, (key, inFlight) -> {
+                if (inFlight != future) {
+                    return inFlight;
+                }
+                graphs.put(key, new CachedGraph(graph));
+                return null;
+            });
+            future.complete(graph);
+            evictIfNeeded();
+            return graph;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.remove(id, future);
+        }
+    }
+
+    /**
+     * 스토리 ID로 그래프 조회 (캐시 미스일 때만 StoryCreation을 로드)
+     */
+    public StoryGraph getGraph(String storyCreationId) {
+        CachedGraph cached = graphs.get(storyCreationId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            cached.lastAccess = System.nanoTime();
+            return cached.graph;
+        }
+
+        StoryCreation storyCreation = storyCreationRepository.findById(storyCreationId)
+                .orElseThrow(() -> new RuntimeException("StoryCreation not found: " + storyCreationId));
+        return getGraph(storyCreation);
+    }
+
+    /**
+     * 스토리 그래프 무효화
+     * 트랜잭션 안에서 호출되면 커밋 이후에 제거하여, 커밋 전 데이터로 그래프가 다시 만들어지는 것을 막는다.
+     */
+    public void invalidate(String storyCreationId) {
+        if (storyCreationId == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> remove(storyCreationId));
+    }
+
+    /**
+     * Clear all cache
+     */
+    public void clearAll() {
+        int size = graphs.size();
+        building.clear();
+        graphs.clear();
+        log.info("Cleared all story graphs ({} entries)", size);
+    }
+
+    /**
+     * Get cache statistics
+     */
+    public Map<String, Object> getStats() {
+        long nodeCount = graphs.values().stream().mapToLong(c -> c.graph.getNodeCount()).sum();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", graphs.size());
+        stats.put("maxSize", maxStories);
+        stats.put("nodeCount", nodeCount);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("invalidations", invalidations.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    public int getCacheSize() {
+        return graphs.size();
+    }
+
+    private StoryGraph build(StoryCreation storyCreation) {
+        long start = System.currentTimeMillis();
+        StoryGraph graph = StoryGraph.from(storyCreation.getId(), storyMapper.buildFullStoryDtoFromDb(storyCreation));
+        log.info("Story graph built for story {}: episodes={}, nodes={}, choices={}, endings={} ({}ms)",
+                storyCreation.getId(), graph.getEpisodeCount(), graph.getNodeCount(),
+                graph.getChoiceCount(), graph.getEndingCount(), System.currentTimeMillis() - start);
+        return graph;
+    }
+
+    private static StoryGraph await(CompletableFuture<StoryGraph> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void remove(String storyCreationId) {
+        // 생성 중인 결과도 캐시에 들어가지 않도록, 같은 키 잠금 안에서 생성 표시와 그래프를 함께 제거
+        CachedGraph[] removed = new CachedGraph[1];
+        building.compute(storyCreationId, (key, inFlight) -> {
+            removed[0] = graphs.remove(key);
+            return null;
+        });
+        if (removed[0] != null) {
+            invalidations.incrementAndGet();
+            log.info("Story graph invalidated for story: {}", storyCreationId);
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (graphs.size() > maxStories) {
+            graphs.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(eldest -> {
+                        if (graphs.remove(eldest.getKey(), eldest.getValue())) {
+                            evictions.incrementAndGet();
+                            log.debug("Story graph evicted (LRU): {}", eldest.getKey());
+                        }
+                    });
+        }
+    }
+
+    private static final class CachedGraph {
+        private final StoryGraph graph;
+        private volatile long lastAccess = System.nanoTime();
+
+        private CachedGraph(StoryGraph graph) {
+            this.graph = graph;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.story.game.gameplay.journal;
+
+import com.story.game.gameplay.entity.GameSession.PendingVisit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 방문 노드 append-only 저널
+ *
+ * game_session_journal 테이블에 세션의 에피소드(segment)마다 한 행을 두고,
+ * 방문한 노드 UUID를 16바이트씩 node_ids 뒤에 이어 붙인다.
+ * 이전 기록은 다시 쓰지 않으므로 플레이가 길어져도 선택 한 번의 저장 비용은 일정하다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VisitedNodeJournal {
+
+    private static final int UUID_BYTES = 16;
+
+    private static final String APPEND_SQL =
+            "INSERT INTO game_session_journal (session_id, segment, start_offset, node_count, node_ids) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE node_ids = CONCAT(node_ids, VALUES(node_ids)), node_count = node_count + VALUES(node_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 한 세션의 방문 기록 추가
+     */
+    public void append(String sessionId, List<PendingVisit> visits) {
+        appendAll(Map.of(sessionId, visits));
+    }
+
+    /**
+     * 여러 세션의 방문 기록을 segment 단위로 묶어 한 번의 JDBC batch로 추가
+     */
+    public void appendAll(Map<String, List<PendingVisit>> visitsBySession) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<String, List<PendingVisit>> entry : visitsBySession.entrySet()) {
+            List<PendingVisit> visits = entry.getValue();
+            int i = 0;
+            while (i < visits.size()) {
+                int start = i;
+                int segment = visits.get(start).segment();
+                while (i < visits.size() && visits.get(i).segment() == segment) {
+                    i++;
+                }
+                rows.add(new Object[]{
+                        entry.getKey(), segment, visits.get(start).offset(), i - start, encode(visits.subList(start, i))
+                });
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPEND_SQL, rows);
+        }
+    }
+
+    /**
+     * 방문 기록 페이지 조회 (전체 방문 순서 기준 offset부터 limit개)
+     */
+    public List<UUID> read(String sessionId, int offset, int limit) {
+        List<UUID> nodeIds = new ArrayList<>(Math.min(limit, 256));
+        int end = offset + limit;
+
+        jdbcTemplate.query(
+                "SELECT start_offset, node_count, node_ids FROM game_session_journal " +
+                "WHERE session_id = ? AND start_offset < ? AND start_offset + node_count > ? ORDER BY start_offset",
+                (RowCallbackHandler) rs -> {
+                    int startOffset = rs.getInt("start_offset");
+                    int nodeCount = rs.getInt("node_count");
+                    int from = Math.max(offset - startOffset, 0);
+                    int to = Math.min(end - startOffset, nodeCount);
+                    ByteBuffer buffer = ByteBuffer.wrap(rs.getBytes("node_ids"));
+                    for (int i = from; i < to; i++) {
+                        nodeIds.add(new UUID(buffer.getLong(i * UUID_BYTES), buffer.getLong(i * UUID_BYTES + 8)));
+                    }
+                },
+                sessionId, end, offset);
+
+        return nodeIds;
+    }
+
+    /**
+     * 에피소드(segment)별 시작 위치와 방문 수 (node_ids는 읽지 않음)
+     */
+    public List<Segment> getSegments(String sessionId) {
+        return jdbcTemplate.query(
+                "SELECT segment, start_offset, node_count FROM game_session_journal WHERE session_id = ? ORDER BY segment",
+                (rs, rowNum) -> new Segment(rs.getInt("segment"), rs.getInt("start_offset"), rs.getInt("node_count")),
+                sessionId);
+    }
+
+    private static byte[] encode(List<PendingVisit> visits) {
+        ByteBuffer buffer = ByteBuffer.allocate(visits.size() * UUID_BYTES);
+        for (PendingVisit visit : visits) {
+            buffer.putLong(visit.nodeId().getMostSignificantBits());
+            buffer.putLong(visit.nodeId().getLeastSignificantBits());
+        }
+        return buffer.array();
+    }
+
+    public record Segment(int segment, int startOffset, int nodeCount) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.story.game.gameplay.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 플레이 기록 조회용 프로젝션 (user, 저널 등 세션 전체를 읽지 않음)
+ */
+public interface GameHistoryView {
+
+    String getId();
+
+    Long getStoryDataId();
+
+    Boolean getIsCompleted();
+
+    String getFinalEndingId();
+
+    Map<String, Integer> getGaugeStates();
+
+    Integer getVisitedCount();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
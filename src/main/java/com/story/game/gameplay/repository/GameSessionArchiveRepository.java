@@ -0,0 +1,34 @@
+package com.story.game.gameplay.repository;
+
+import com.story.game.gameplay.entity.GameSessionArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GameSessionArchiveRepository extends JpaRepository<GameSessionArchive, String> {
+
+    @Query("SELECT a.id AS id, a.storyDataId AS storyDataId, a.isCompleted AS isCompleted, a.finalEndingId AS finalEndingId, " +
+           "a.gaugeStates AS gaugeStates, a.visitedCount AS visitedCount, a.createdAt AS createdAt, a.updatedAt AS updatedAt " +
+           "FROM GameSessionArchive a WHERE a.userId = :userId ORDER BY a.createdAt DESC")
+    List<GameHistoryView> findHistoryByUserId(@Param("userId") Long userId);
+
+    // 보관 이동 시 누적한 사용자별 카운터 (행이 없으면 0)
+    @Query(value = "SELECT COALESCE(MAX(archived_plays), 0) FROM user_session_stats WHERE user_id = :userId",
+           nativeQuery = true)
+    long countArchivedPlays(@Param("userId") Long userId);
+
+    @Query(value = "SELECT COALESCE(MAX(archived_completions), 0) FROM user_session_stats WHERE user_id = :userId",
+           nativeQuery = true)
+    long countArchivedCompletions(@Param("userId") Long userId);
+
+    // hot 테이블과 보관된 엔딩을 합쳐 중복 없이 계산 (UNION이 중복 제거)
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "SELECT final_ending_id FROM game_sessions WHERE user_id = :userId AND final_ending_id IS NOT NULL " +
+                   "UNION SELECT final_ending_id FROM user_final_endings WHERE user_id = :userId) endings",
+           nativeQuery = true)
+    long countDistinctFinalEndings(@Param("userId") Long userId);
+}
@@ -2,10 +2,13 @@ package com.story.game.gameplay.repository;
 
 import com.story.game.gameplay.entity.GameSession;
 import com.story.game.auth.entity.User;
+import com.story.game.common.repository.StoryActivityView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,10 +22,21 @@ public interface GameSessionRepository extends JpaRepository<GameSession, String
 
     List<GameSession> findByUserOrderByCreatedAtDesc(User user);
 
+    @Query("SELECT g.id AS id, g.storyDataId AS storyDataId, g.isCompleted AS isCompleted, g.finalEndingId AS finalEndingId, " +
+           "g.gaugeStates AS gaugeStates, g.visitedCount AS visitedCount, g.createdAt AS createdAt, g.updatedAt AS updatedAt " +
+           "FROM GameSession g WHERE g.user = :user ORDER BY g.createdAt DESC")
+    List<GameHistoryView> findHistoryByUser(User user);
+
     long countByUser(User user);
 
     long countByUserAndIsCompleted(User user, Boolean isCompleted);
 
-    @Query("SELECT COUNT(DISTINCT g.finalEndingId) FROM GameSession g WHERE g.user = :user AND g.finalEndingId IS NOT NULL")
-    long countDistinctFinalEndingsByUser(User user);
+    // 랭킹 집계: 최근 게임 시작 수 (스토리별, 시간 구간별)
+    @Query(value = "SELECT story_data_id AS storyDataId, " +
+                   "TIMESTAMPDIFF(MINUTE, created_at, :now) DIV :bucketMinutes AS ageBuckets, COUNT(*) AS total " +
+                   "FROM game_sessions WHERE created_at > :since AND created_at <= :now " +
+                   "GROUP BY story_data_id, ageBuckets", nativeQuery = true)
+    List<StoryActivityView> countStartsByStoryAndBucket(@Param("since") LocalDateTime since,
+                                                        @Param("now") LocalDateTime now,
+                                                        @Param("bucketMinutes") int bucketMinutes);
 }
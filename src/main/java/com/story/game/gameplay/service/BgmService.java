@@ -2,13 +2,10 @@ package com.story.game.gameplay.service;
 
 import com.story.game.ai.service.RelayServerClient;
 import com.story.game.gameplay.dto.BgmDto;
-import com.story.game.story.entity.StoryChoice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
@@ -18,8 +15,8 @@ import java.util.concurrent.CompletableFuture;
  *
  * Features:
  * - Caching: Same node always gets same BGM (no duplicate API calls)
- * - Pre-loading: Pre-load BGM for next possible nodes in background
- * - Non-blocking: Pre-loading doesn't block game flow
+ * - Pre-loading: Pre-load BGM for the next episode in background (ChoicePrefetcher)
+ * - Single-flight: Concurrent requests for the same episode share one AI call
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +28,9 @@ public class BgmService {
     // Cache: nodeId -> BGM
     private final ConcurrentHashMap<String, BgmDto> bgmCache = new ConcurrentHashMap<>();
 
+    // 진행 중인 추천 요청: 같은 에피소드를 동시에 요청하면 먼저 시작한 요청의 결과를 기다림
+    private final ConcurrentHashMap<String, CompletableFuture<BgmDto>> inFlight = new ConcurrentHashMap<>();
+
     /**
      * Get BGM for an episode (based on episode title and intro)
      * AI server judges the appropriate music for the entire episode
@@ -51,24 +51,57 @@ public class BgmService {
             return cachedBgm;
         }
 
-        // Cache miss - request from AI server with episode context
-        log.info("BGM cache miss for episode: {} - requesting from AI server", episodeId);
+        // Already being requested (e.g. by pre-loading) - wait for that result
+        CompletableFuture<BgmDto> request = new CompletableFuture<>();
+        CompletableFuture<BgmDto> existing = inFlight.putIfAbsent(cacheKey, request);
+        if (existing != null) {
+            log.debug("BGM request in flight for episode: {} - waiting", episodeId);
+            return existing.join();
+        }
 
-        // Combine episode title and intro for better BGM recommendation
-        String prompt = String.format("에피소드: %s\n\n%s",
-            episodeTitle != null ? episodeTitle : "",
-            episodeIntro != null ? episodeIntro : "");
+        BgmDto bgm = null;
+        try {
+            // Cache miss - request from AI server with episode context
+            log.info("BGM cache miss for episode: {} - requesting from AI server", episodeId);
 
-        BgmDto bgm = requestBgmFromAi(prompt);
+            // Combine episode title and intro for better BGM recommendation
+            String prompt = String.format("에피소드: %s\n\n%s",
+                episodeTitle != null ? episodeTitle : "",
+                episodeIntro != null ? episodeIntro : "");
 
-        if (bgm != null) {
-            bgmCache.put(cacheKey, bgm);
-            log.info("BGM cached for episode: {} (mood={})", episodeId, bgm.getMood());
-        } else {
-            log.warn("Failed to get BGM for episode: {}", episodeId);
+            bgm = requestBgmFromAi(prompt);
+
+            if (bgm != null) {
+                bgmCache.put(cacheKey, bgm);
+                log.info("BGM cached for episode: {} (mood={})", episodeId, bgm.getMood());
+            } else {
+                log.warn("Failed to get BGM for episode: {}", episodeId);
+            }
+            return bgm;
+        } finally {
+            inFlight.remove(cacheKey, request);
+            request.complete(bgm);
+        }
+    }
+
+    /**
+     * Pre-load BGM for an episode (called from the choice lookahead worker)
+     *
+     * @return true if BGM is now cached
+     */
+    public boolean preloadEpisodeBgm(Long storyId, UUID episodeId, String episodeTitle, String episodeIntro) {
+        if (isEpisodeBgmCached(storyId, episodeId)) {
+            return true;
         }
+        log.debug("Pre-loading BGM for next episode: {}", episodeId);
+        return getBgmForEpisode(storyId, episodeId, episodeTitle, episodeIntro) != null;
+    }
 
-        return bgm;
+    /**
+     * Check whether BGM for an episode is already cached
+     */
+    public boolean isEpisodeBgmCached(Long storyId, UUID episodeId) {
+        return bgmCache.containsKey(generateEpisodeCacheKey(storyId, episodeId));
     }
 
     /**
@@ -105,55 +138,6 @@ public class BgmService {
         return bgm;
     }
 
-    /**
-     * Pre-load BGM for next possible nodes (async, non-blocking)
-     *
-     * @param storyId Story ID
-     * @param choices List of choices (next possible nodes)
-     */
-    @Async
-    public CompletableFuture<Void> preloadNextNodesBgm(Long storyId, List<StoryChoice> choices) {
-        if (choices == null || choices.isEmpty()) {
-            log.debug("No choices to preload BGM for");
-            return CompletableFuture.completedFuture(null);
-        }
-
-        log.info("Pre-loading BGM for {} next nodes", choices.size());
-
-        for (StoryChoice choice : choices) {
-            if (choice.getDestinationNode() == null) {
-                continue;
-            }
-
-            UUID nextNodeId = choice.getDestinationNode().getId();
-            String nextNodeText = choice.getDestinationNode().getText();
-            String cacheKey = generateCacheKey(storyId, nextNodeId);
-
-            // Skip if already cached
-            if (bgmCache.containsKey(cacheKey)) {
-                log.debug("BGM already cached for next node: {}", nextNodeId);
-                continue;
-            }
-
-            // Pre-load in background
-            try {
-                log.debug("Pre-loading BGM for next node: {}", nextNodeId);
-                BgmDto bgm = requestBgmFromAi(nextNodeText);
-
-                if (bgm != null) {
-                    bgmCache.put(cacheKey, bgm);
-                    log.info("BGM pre-loaded for next node: {} (mood={})", nextNodeId, bgm.getMood());
-                } else {
-                    log.warn("Failed to pre-load BGM for next node: {}", nextNodeId);
-                }
-            } catch (Exception e) {
-                log.error("Error pre-loading BGM for next node: {}", nextNodeId, e);
-            }
-        }
-
-        return CompletableFuture.completedFuture(null);
-    }
-
     /**
      * Request BGM from AI server via relay server
      */
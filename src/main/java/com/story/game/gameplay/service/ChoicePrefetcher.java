@@ -0,0 +1,215 @@
+package com.story.game.gameplay.service;
+
+import com.story.game.gameplay.graph.StoryGraph;
+import com.story.game.infrastructure.s3.S3Service;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 선택지 미리 읽기 (lookahead)
+ *
+ * 게임 상태 응답을 만들 때 현재 노드의 모든 선택지 목적지를 백그라운드에서 미리 준비한다.
+ * - 목적지 노드 이미지의 presigned URL 서명 (PresignedUrlCache에 저장)
+ * - 목적지가 에피소드 마지막 노드이면 다음 에피소드 루트 이미지 서명 + 에피소드 BGM 추천
+ * 다음 makeChoice는 그래프/URL/BGM 캐시만으로 응답할 수 있다.
+ *
+ * 세션당 작업은 하나만 유지하며, 플레이어가 다음 노드로 이동하면 이전 작업은 취소된다.
+ * 실행기는 스레드 수와 대기열이 제한되어 있고, 가득 차면 미리 읽기를 건너뛴다 (부가 기능).
+ */
+@Component
+@Slf4j
+public class ChoicePrefetcher {
+
+    private final S3Service s3Service;
+    private final BgmService bgmService;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+
+    // sessionId -> 진행 중인 미리 읽기 작업
+    private final ConcurrentHashMap<String, Task> tasks = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong warmedImages = new AtomicLong();
+    private final AtomicLong warmedBgm = new AtomicLong();
+
+    public ChoicePrefetcher(S3Service s3Service,
+                            BgmService bgmService,
+                            @Value("${game.choice-prefetch.enabled:true}") boolean enabled,
+                            @Value("${game.choice-prefetch.threads:4}") int threads,
+                            @Value("${game.choice-prefetch.queue-capacity:200}") int queueCapacity) {
+        this.s3Service = s3Service;
+        this.bgmService = bgmService;
+        this.enabled = enabled;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "choice-prefetch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * node에서 갈 수 있는 목적지 미리 준비 (블로킹 없음)
+     * 같은 세션의 이전 작업은 취소된다.
+     */
+    public void prefetch(String sessionId, Long storyDataId, StoryGraph graph, StoryGraph.Node node) {
+        if (!enabled || sessionId == null) {
+            return;
+        }
+
+        Task task = new Task(sessionId, storyDataId, graph, node);
+        cancelPrevious(tasks.put(sessionId, task));
+
+        if (!graph.getChoices(node).isEmpty()) {
+            try {
+                executor.execute(task);
+                submitted.incrementAndGet();
+                return;
+            } catch (RejectedExecutionException e) {
+                dropped.incrementAndGet();
+                log.debug("Choice prefetch queue full, skipping session: {}", sessionId);
+            }
+        }
+        tasks.remove(sessionId, task);
+    }
+
+    /**
+     * 세션의 미리 읽기 취소 (게임 종료 등)
+     */
+    public void cancel(String sessionId) {
+        if (sessionId != null) {
+            cancelPrevious(tasks.remove(sessionId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void cancelPrevious(Task previous) {
+        if (previous != null && !previous.done) {
+            previous.cancelled = true;
+            // 아직 대기열에 있으면 바로 제거하여 자리를 비움
+            executor.remove(previous);
+            cancelled.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get prefetch statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("submitted", submitted.get());
+        stats.put("cancelled", cancelled.get());
+        stats.put("dropped", dropped.get());
+        stats.put("completed", completed.get());
+        stats.put("failures", failures.get());
+        stats.put("warmedImages", warmedImages.get());
+        stats.put("warmedBgm", warmedBgm.get());
+        return stats;
+    }
+
+    private final class Task implements Runnable {
+        private final String sessionId;
+        private final Long storyDataId;
+        private final StoryGraph graph;
+        private final StoryGraph.Node node;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        private Task(String sessionId, Long storyDataId, StoryGraph graph, StoryGraph.Node node) {
+            this.sessionId = sessionId;
+            this.storyDataId = storyDataId;
+            this.graph = graph;
+            this.node = node;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (cancelled) {
+                    return;
+                }
+
+                // 1. 목적지 노드 (및 에피소드가 끝나는 경우 다음 에피소드 루트) 이미지
+                Set<String> fileKeys = new LinkedHashSet<>();
+                List<StoryGraph.Episode> nextEpisodes = new ArrayList<>();
+                for (StoryGraph.Choice choice : graph.getChoices(node)) {
+                    StoryGraph.Node destination = graph.getDestination(choice);
+                    if (destination == null) {
+                        addNextEpisode(graph.getEpisodeOf(node), fileKeys, nextEpisodes);
+                        continue;
+                    }
+                    if (destination.isType("FINAL_ENDING")) {
+                        continue;
+                    }
+                    if (destination.isType("ENDING") || !destination.hasChoices()) {
+                        addNextEpisode(graph.getEpisodeOf(destination), fileKeys, nextEpisodes);
+                    } else if (destination.getImageFileKey() != null) {
+                        fileKeys.add(GameService.extractFileKeyFromUrl(destination.getImageFileKey()));
+                    }
+                }
+
+                if (!fileKeys.isEmpty()) {
+                    warmedImages.addAndGet(s3Service.generatePresignedDownloadUrls(fileKeys).size());
+                }
+
+                // 2. 에피소드 마지막 depth에서만 다음 에피소드 BGM (가장 느린 작업이므로 마지막에)
+                for (StoryGraph.Episode episode : nextEpisodes) {
+                    if (cancelled) {
+                        return;
+                    }
+                    if (bgmService.preloadEpisodeBgm(storyDataId, episode.getId(), episode.getTitle(), episode.getIntroText())) {
+                        warmedBgm.incrementAndGet();
+                    }
+                }
+                completed.incrementAndGet();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                log.warn("Choice prefetch failed for session {}: {}", sessionId, e.getMessage());
+            } finally {
+                done = true;
+                tasks.remove(sessionId, this);
+            }
+        }
+
+        private void addNextEpisode(StoryGraph.Episode episode, Set<String> fileKeys, List<StoryGraph.Episode> nextEpisodes) {
+            StoryGraph.Episode next = graph.getNextEpisode(episode);
+            if (next == null || nextEpisodes.contains(next)) {
+                return;
+            }
+            nextEpisodes.add(next);
+            StoryGraph.Node root = graph.getRootNode(next);
+            if (root != null && root.getImageFileKey() != null) {
+                fileKeys.add(GameService.extractFileKeyFromUrl(root.getImageFileKey()));
+            }
+        }
+    }
+}
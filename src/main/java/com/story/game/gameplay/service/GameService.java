@@ -1,6 +1,5 @@
 package com.story.game.gameplay.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.story.game.common.dto.FinalEndingDto;
 import com.story.game.common.dto.FullStoryDto;
@@ -8,42 +7,38 @@ import com.story.game.common.dto.GaugeDto;
 import com.story.game.common.dto.ImageType;
 import com.story.game.common.dto.NodeImageInfo;
 import com.story.game.common.dto.StoryChoiceDto;
-import com.story.game.common.dto.EpisodeDto;
 import com.story.game.common.dto.StoryNodeDto;
 import com.story.game.common.entity.StoryData;
+import com.story.game.common.counter.StoryCounterBuffer;
+import com.story.game.common.ranking.RankingEngine;
 import com.story.game.common.repository.StoryDataRepository;
+import com.story.game.creation.context.StoryContext;
+import com.story.game.creation.context.StoryContextCache;
 import com.story.game.creation.entity.StoryCreation;
 import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.gameplay.analytics.ChoiceAnalyticsBuffer;
+import com.story.game.gameplay.condition.ConditionEngine;
 import com.story.game.gameplay.dto.GameStateResponseDto;
 import com.story.game.gameplay.entity.GameSession;
+import com.story.game.gameplay.graph.StoryGraph;
+import com.story.game.gameplay.graph.StoryGraphCache;
+import com.story.game.gameplay.journal.VisitedNodeJournal;
 import com.story.game.gameplay.repository.GameSessionRepository;
+import com.story.game.gameplay.session.GameSessionStore;
+import com.story.game.gameplay.state.StateVector;
 import com.story.game.rag.dto.GameProgressUpdateRequestDto;
-import com.story.game.rag.service.RagService;
+import com.story.game.rag.service.NpcProgressDispatcher;
 import com.story.game.achievement.service.AchievementService;
-import com.story.game.story.entity.Episode;
-import com.story.game.story.entity.EpisodeEnding;
-import com.story.game.story.entity.StoryChoice;
-import com.story.game.story.entity.StoryNode;
-import com.story.game.story.mapper.StoryMapper;
-import com.story.game.story.repository.EpisodeEndingRepository;
-import com.story.game.story.repository.EpisodeRepository;
-import com.story.game.story.repository.StoryChoiceRepository;
-import com.story.game.story.repository.StoryNodeRepository;
+import com.story.game.story.snapshot.StorySnapshotStore;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-// [SpEL] 조건 계산을 위한 패키지 임포트
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -59,32 +54,35 @@ public class GameService {
     private final StoryDataRepository storyDataRepository;
     private final ObjectMapper objectMapper;
     private final com.story.game.ai.service.RelayServerClient relayServerClient;
-    private final EpisodeRepository episodeRepository;
-    private final StoryNodeRepository storyNodeRepository;
-    private final StoryChoiceRepository storyChoiceRepository;
     private final StoryCreationRepository storyCreationRepository;
-    private final EpisodeEndingRepository episodeEndingRepository;
-    private final StoryMapper storyMapper;
     private final com.story.game.infrastructure.s3.S3Service s3Service;
 
     @Value("${aws.s3.bucket}")
     private String s3BucketName;
 
-    // [SpEL] 파서 인스턴스 생성
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final RagService ragService;
+    private final NpcProgressDispatcher npcProgressDispatcher;
     private final BgmService bgmService;
     private final AchievementService achievementService;
+    private final ConditionEngine conditionEngine;
+    private final StoryGraphCache storyGraphCache;
+    private final GameSessionStore gameSessionStore;
+    private final VisitedNodeJournal visitedNodeJournal;
+    private final RankingEngine rankingEngine;
+    private final StoryCounterBuffer storyCounterBuffer;
+    private final ChoicePrefetcher choicePrefetcher;
+    private final StoryContextCache storyContextCache;
+    private final ChoiceAnalyticsBuffer choiceAnalyticsBuffer;
+    private final StorySnapshotStore storySnapshotStore;
 
     @Transactional
     public GameStateResponseDto startGame(Long storyDataId, com.story.game.auth.entity.User user) {
         StoryData storyData = storyDataRepository.findById(storyDataId)
                 .orElseThrow(() -> new RuntimeException("Story not found: " + storyDataId));
 
-        // 조회수 증가
-        storyData.incrementViewCount();
-        storyDataRepository.save(storyData);
-        log.info("Story view count incremented on game start: storyDataId={}, viewCount={}", storyDataId, storyData.getViewCount());
+        // 조회수 증가 (버퍼에 모아 주기적으로 저장)
+        storyCounterBuffer.recordView(storyDataId);
+        rankingEngine.onStoryViewed(storyDataId);
+        log.debug("Story view recorded on game start: storyDataId={}", storyDataId);
 
         StoryCreation storyCreation = storyCreationRepository.findByStoryDataId(storyData.getId())
                 .orElseThrow(() -> new RuntimeException("StoryCreation not found for StoryData: " + storyData.getId()));
@@ -95,57 +93,31 @@ public class GameService {
             throw new IllegalStateException("Characters must be selected to start the game. NPC chatbot requires character selection.");
         }
 
-        // Extract character ID for RAG integration
-        String characterId = extractCharacterIdFromJson(storyCreation.getSelectedCharactersForChatJson());
-
-        Episode firstEpisode = episodeRepository.findByStoryAndOrder(storyCreation, 1)
-                .orElseThrow(() -> new RuntimeException("First episode not found"));
+        StoryContext storyContext = storyContextCache.get(storyCreation);
 
-        StoryNode rootNode = storyNodeRepository.findByEpisodeAndDepth(firstEpisode, 0)
-                .orElseThrow(() -> new RuntimeException("Root node not found"));
+        // Extract character ID for RAG integration
+        String characterId = extractCharacterId(storyContext);
 
-        Map<String, Integer> initialGauges = new HashMap<>();
-        try {
-            List<String> selectedGaugeIds = new ArrayList<>();
-            if (storyCreation.getSelectedGaugeIdsJson() != null) {
-                selectedGaugeIds = objectMapper.readValue(storyCreation.getSelectedGaugeIdsJson(),
-                        new TypeReference<List<String>>() {});
-            }
+        StoryGraph graph = storyGraphCache.getGraph(storyCreation);
 
-            if (!selectedGaugeIds.isEmpty()) {
-                for (String gaugeId : selectedGaugeIds) {
-                    initialGauges.put(gaugeId, 50);
-                }
-            }
-        } catch (Exception e) {
-            log.error("Failed to parse selected gauges JSON", e);
+        StoryGraph.Episode firstEpisode = graph.getEpisodeByOrder(1);
+        if (firstEpisode == null) {
+            throw new RuntimeException("First episode not found");
         }
 
-        GameSession session = GameSession.builder()
-                .user(user)
-                .storyDataId(storyDataId)
-                .storyCreationId(storyCreation.getId())
-                .selectedCharacterId(characterId)
-                .currentEpisodeId(firstEpisode.getId().toString())
-                .currentNodeId(rootNode.getId().toString())
-                .gaugeStates(initialGauges)
-                .accumulatedTags(new HashMap<>())
-                .visitedNodes(new ArrayList<>(List.of(rootNode.getId().toString())))
-                .completedEpisodes(new ArrayList<>())
-                .build();
-
-        session = gameSessionRepository.save(session);
-        log.info("Game session created for user: {} with sessionId: {}", user.getUsername(), session.getId());
+        StoryGraph.Node rootNode = graph.getRootNode(firstEpisode);
+        if (rootNode == null) {
+            throw new RuntimeException("Root node not found");
+        }
 
-        NodeImageInfo nodeImage = generateNodeImage(
-                session.getStoryCreationId(),
-                rootNode.getId().toString(),
-                storyMapper.toStoryNodeDto(rootNode),
-                storyMapper.toEpisodeDto(firstEpisode)
-        );
+        StateVector initialGauges = new StateVector(graph.getGaugeSymbols());
+        for (String gaugeId : storyContext.getSelectedGaugeIds()) {
+            initialGauges.put(gaugeId, 50);
+        }
 
         // Get BGM for first episode (episode-based, not node-based)
         com.story.game.gameplay.dto.BgmDto bgm = null;
+        String bgmJson = null;
         try {
             bgm = bgmService.getBgmForEpisode(
                 storyDataId,
@@ -156,21 +128,41 @@ public class GameService {
 
             // Save BGM to session for this episode
             if (bgm != null) {
-                session.setCurrentEpisodeBgmJson(objectMapper.writeValueAsString(bgm));
-                gameSessionRepository.save(session);
+                bgmJson = objectMapper.writeValueAsString(bgm);
                 log.info("BGM set for episode {}: mood={}", firstEpisode.getId(), bgm.getMood());
             }
         } catch (Exception e) {
             log.warn("Failed to get BGM for first episode: {}", e.getMessage());
         }
 
-        return buildGameStateResponse(session, storyCreation, firstEpisode, rootNode, true, nodeImage, bgm);
+        GameSession session = GameSession.builder()
+                .user(user)
+                .storyDataId(storyDataId)
+                .storyCreationId(storyCreation.getId())
+                .selectedCharacterId(characterId)
+                .currentEpisodeId(firstEpisode.getId().toString())
+                .currentNodeId(rootNode.getId().toString())
+                .gaugeStates(initialGauges)
+                .accumulatedTags(new StateVector(graph.getTagSymbols()))
+                .completedEpisodes(new ArrayList<>())
+                .currentEpisodeBgmJson(bgmJson)
+                .build();
+        session.recordVisit(rootNode.getId().toString());
+
+        List<GameSession.PendingVisit> pendingVisits = session.drainPendingVisits();
+        session = gameSessionRepository.saveAndFlush(session);
+        visitedNodeJournal.append(session.getId(), pendingVisits);
+        gameSessionStore.register(session);
+        log.info("Game session created for user: {} with sessionId: {}", user.getUsername(), session.getId());
+
+        NodeImageInfo nodeImage = generateNodeImage(rootNode);
+
+        return buildGameStateResponse(session, storyCreation, graph, firstEpisode, rootNode, true, nodeImage, bgm);
     }
 
     @Transactional(readOnly = true)
     public GameStateResponseDto getGameState(String sessionId, com.story.game.auth.entity.User user) {
-        GameSession session = gameSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+        GameSession session = gameSessionStore.load(sessionId);
 
         if (session.getUser() != null && !session.getUser().getId().equals(user.getId())) {
             throw new com.story.game.common.exception.UnauthorizedException("You don't have permission to access this game session");
@@ -180,7 +172,7 @@ public class GameService {
                 .orElseThrow(() -> new RuntimeException("StoryCreation not found"));
 
         if (Boolean.TRUE.equals(session.getIsCompleted())) {
-            EpisodeEnding lastEpisodeEnding = null;
+            StoryGraph.Ending lastEpisodeEnding = null;
             FinalEndingDto matchedFinalEnding = null;
 
             if (session.getFinalEndingId() != null) {
@@ -190,19 +182,13 @@ public class GameService {
             return handleGameEndResponse(session, storyCreation, lastEpisodeEnding, matchedFinalEnding);
         }
 
-        Episode currentEpisode = episodeRepository.findById(UUID.fromString(session.getCurrentEpisodeId()))
-                .orElseThrow(() -> new RuntimeException("Episode not found"));
-        StoryNode currentNode = storyNodeRepository.findById(UUID.fromString(session.getCurrentNodeId()))
-                .orElseThrow(() -> new RuntimeException("Node not found"));
+        StoryGraph graph = storyGraphCache.getGraph(storyCreation);
+        StoryGraph.Episode currentEpisode = requireEpisode(graph, session.getCurrentEpisodeId());
+        StoryGraph.Node currentNode = requireNode(graph, session.getCurrentNodeId());
 
         boolean isFirstNodeOfEpisode = currentNode.getDepth() == 0;
 
-        NodeImageInfo nodeImage = generateNodeImage(
-                session.getStoryCreationId(),
-                session.getCurrentNodeId(),
-                storyMapper.toStoryNodeDto(currentNode),
-                storyMapper.toEpisodeDto(currentEpisode)
-        );
+        NodeImageInfo nodeImage = generateNodeImage(currentNode);
 
         // Get BGM for current episode (from session storage)
         com.story.game.gameplay.dto.BgmDto bgm = null;
@@ -217,116 +203,261 @@ public class GameService {
             log.warn("Failed to retrieve BGM for current episode: {}", e.getMessage());
         }
 
-        return buildGameStateResponse(session, storyCreation, currentEpisode, currentNode, isFirstNodeOfEpisode, nodeImage, bgm);
+        return buildGameStateResponse(session, storyCreation, graph, currentEpisode, currentNode, isFirstNodeOfEpisode, nodeImage, bgm);
     }
 
     @Transactional
     public GameStateResponseDto makeChoice(String sessionId, Integer choiceIndex, com.story.game.auth.entity.User user) {
-        GameSession session = gameSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+        GameSession session = gameSessionStore.load(sessionId);
 
         if (session.getUser() != null && !session.getUser().getId().equals(user.getId())) {
             throw new com.story.game.common.exception.UnauthorizedException("You don't have permission to modify this game session");
         }
 
+        // 메모리의 세션 객체를 공유하므로 같은 세션에 대한 요청은 순서대로 처리
+        // 저장(flush/evict)은 세션 잠금을 놓은 뒤에 수행 (GameSessionStore 잠금 순서: flushLock → session)
+        Outcome outcome;
+        synchronized (session) {
+            outcome = applyChoice(session, choiceIndex, user);
+        }
+        return persist(session, outcome);
+    }
+
+    private Outcome applyChoice(GameSession session, Integer choiceIndex, com.story.game.auth.entity.User user) {
         if (Boolean.TRUE.equals(session.getIsCompleted())) {
-            return getGameState(sessionId, user);
+            return Outcome.of(getGameState(session.getId(), user));
         }
 
-        StoryNode currentNode = storyNodeRepository.findById(UUID.fromString(session.getCurrentNodeId()))
-                .orElseThrow(() -> new RuntimeException("Current node not found: " + session.getCurrentNodeId()));
+        StoryGraph graph = storyGraphCache.getGraph(session.getStoryCreationId());
+        Step step = advance(session, graph, choiceIndex, user);
+        if (step.type() == StepType.GAME_END) {
+            return Outcome.gameEnd(completeGame(session, loadStoryCreation(session), step.ending()));
+        }
+        // 에피소드 경계에서는 즉시 저장 (다음 에피소드 BGM을 세션에 기록한 뒤)
+        return new Outcome(renderStep(session, graph, step), step.type() == StepType.EPISODE_END, null);
+    }
 
-        List<StoryChoice> choices = storyChoiceRepository.findBySourceNodeOrderByChoiceOrderAsc(currentNode);
+    /**
+     * 여러 선택지를 한 번에 적용 (이미 본 분기 다시 보기 / 자동 진행)
+     *
+     * 전체 경로를 먼저 그래프에서 검증한 뒤 한 트랜잭션에서 순서대로 적용하며,
+     * 중간 단계의 이미지 서명/BGM 조회/응답 생성은 건너뛰고 마지막 상태의 응답만 만든다.
+     * 에피소드 경계를 지났으면 마지막에 한 번만 저장한다.
+     */
+    @Transactional
+    public GameStateResponseDto makeChoices(String sessionId, List<Integer> choiceIndexes, com.story.game.auth.entity.User user) {
+        GameSession session = gameSessionStore.load(sessionId);
 
-        if (choices.isEmpty()) {
-            return handleEpisodeEnd(session);
+        if (session.getUser() != null && !session.getUser().getId().equals(user.getId())) {
+            throw new com.story.game.common.exception.UnauthorizedException("You don't have permission to modify this game session");
         }
 
-        if (choiceIndex < 0 || choiceIndex >= choices.size()) {
-            throw new com.story.game.common.exception.InvalidStateException("Invalid choice index: " + choiceIndex);
+        Outcome outcome;
+        synchronized (session) {
+            outcome = applyChoices(session, choiceIndexes, user);
         }
+        return persist(session, outcome);
+    }
 
-        StoryChoice selectedChoice = choices.get(choiceIndex);
+    private Outcome applyChoices(GameSession session, List<Integer> choiceIndexes, com.story.game.auth.entity.User user) {
+        if (Boolean.TRUE.equals(session.getIsCompleted())) {
+            return Outcome.of(getGameState(session.getId(), user));
+        }
 
-        if (selectedChoice.getTags() != null) {
-            try {
-                List<String> tags = objectMapper.readValue(selectedChoice.getTags(), new TypeReference<List<String>>() {});
-                for (String tag : tags) {
-                    session.getAccumulatedTags().merge(tag, 1, Integer::sum);
-                }
-            } catch (Exception e) {
-                log.error("Failed to parse choice tags", e);
-            }
+        StoryGraph graph = storyGraphCache.getGraph(session.getStoryCreationId());
+        // 잘못된 인덱스가 있으면 메모리 세션을 바꾸기 전에 거절
+        validateChoicePath(graph, session, choiceIndexes);
+
+        Step step = null;
+        boolean crossedEpisode = false;
+        for (Integer choiceIndex : choiceIndexes) {
+            step = advance(session, graph, choiceIndex, user);
+            crossedEpisode |= step.type() == StepType.EPISODE_END;
         }
 
-        StoryNode nextNode = selectedChoice.getDestinationNode();
+        if (step.type() == StepType.GAME_END) {
+            return Outcome.gameEnd(completeGame(session, loadStoryCreation(session), step.ending()));
+        }
+        return new Outcome(renderStep(session, graph, step), crossedEpisode, null);
+    }
 
-        if (nextNode != null) {
-            session.setCurrentNodeId(nextNode.getId().toString());
-            session.getVisitedNodes().add(nextNode.getId().toString());
+    /**
+     * 세션 잠금 밖에서 적용 결과 저장 (에피소드 경계 즉시 저장 / 게임 종료 저장)
+     */
+    private GameStateResponseDto persist(GameSession session, Outcome outcome) {
+        if (outcome.gameEnd() != null) {
+            return handleGameEnd(session, outcome.gameEnd());
+        }
+        if (outcome.flush()) {
+            gameSessionStore.flush(session);
+        }
+        return outcome.response();
+    }
 
-            // 다음 선택지로 넘어갈 때 현재 스토리의 대화 내역만 삭제
-            try {
-                String storyId = session.getStoryCreationId();
-                ragService.deleteConversationsByStoryId(user.getUsername(), storyId);
-                log.info("Deleted conversations for user: {} and story: {} on choice selection",
-                        user.getUsername(), storyId);
-            } catch (Exception e) {
-                log.warn("Failed to delete conversations (non-critical): {}", e.getMessage());
+    /**
+     * 선택지 경로를 세션 상태를 바꾸지 않고 그래프 위에서만 따라가며 검증
+     * (advance와 같은 규칙: 선택지가 없는 노드는 인덱스와 무관하게 에피소드 종료)
+     */
+    private void validateChoicePath(StoryGraph graph, GameSession session, List<Integer> choiceIndexes) {
+        StoryGraph.Episode episode = requireEpisode(graph, session.getCurrentEpisodeId());
+        StoryGraph.Node node = requireNode(graph, session.getCurrentNodeId());
+
+        for (int i = 0; i < choiceIndexes.size(); i++) {
+            if (node == null) {
+                throw new com.story.game.common.exception.InvalidStateException(
+                        "Game ends before choice #" + (i + 1) + " of " + choiceIndexes.size());
             }
 
-            if (nextNode.getNodeType() != null) {
-                String nodeType = nextNode.getNodeType().toUpperCase();
-                if (nodeType.equals("ENDING")) {
-                    gameSessionRepository.save(session);
-                    return handleEpisodeEnd(session);
-                } else if (nodeType.equals("FINAL_ENDING")) {
-                    return handleGameEnd(session, nextNode.getEpisode().getStory(), null);
+            List<StoryGraph.Choice> choices = graph.getChoices(node);
+            StoryGraph.Node next = null;
+            if (!choices.isEmpty()) {
+                Integer choiceIndex = choiceIndexes.get(i);
+                if (choiceIndex == null || choiceIndex < 0 || choiceIndex >= choices.size()) {
+                    throw new com.story.game.common.exception.InvalidStateException(
+                            "Invalid choice index at position " + i + ": " + choiceIndex);
                 }
+                next = graph.getDestination(choices.get(choiceIndex));
+            }
+
+            if (next != null && next.isType("FINAL_ENDING")) {
+                node = null;
+            } else if (next == null || next.isType("ENDING") || !next.hasChoices()) {
+                episode = graph.getNextEpisode(episode);
+                node = episode != null ? graph.getRootNode(episode) : null;
+            } else {
+                node = next;
             }
+        }
+    }
 
-            gameSessionRepository.save(session);
+    /**
+     * 선택지 하나를 적용하여 세션 상태만 변경 (응답 생성/이미지/BGM 없음)
+     */
+    private Step advance(GameSession session, StoryGraph graph, Integer choiceIndex, com.story.game.auth.entity.User user) {
+        StoryGraph.Node currentNode = graph.getNode(session.getCurrentNodeId());
+        if (currentNode == null) {
+            throw new RuntimeException("Current node not found: " + session.getCurrentNodeId());
+        }
 
+        List<StoryGraph.Choice> choices = graph.getChoices(currentNode);
 
-            // NPC AI에 게임 진행 상황 업데이트 (비동기, 실패해도 게임 진행에 영향 없음)
-            try {
-                // StoryDataId null 체크
-                if (session.getStoryCreationId() == null) {
-                    log.warn("StoryCreationId is null, skipping NPC AI update for session: {}", session.getId());
-                } else {
-                    String progressContent = buildProgressContent(selectedChoice, currentNode, nextNode);
-
-                    GameProgressUpdateRequestDto updateRequest = GameProgressUpdateRequestDto.builder()
-                            .characterId(session.getStoryCreationId())  // StoryCreation ID를 session_id로 사용
-                            .content(progressContent)
-                            .metadata(Map.of(
-                                    "nodeId", nextNode.getId().toString(),
-                                    "depth", nextNode.getDepth(),
-                                    "episodeId", nextNode.getEpisode().getId().toString(),
-                                    "gameSessionId", session.getId(),  // 게임 세션 ID (참고용)
-                                    "timestamp", System.currentTimeMillis()
-                            ))
-                            .build();
-
-                    ragService.updateGameProgress(updateRequest);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to update game progress to NPC AI (non-critical): {}", e.getMessage());
+        if (choices.isEmpty()) {
+            return endEpisode(session, graph);
+        }
+
+        if (choiceIndex < 0 || choiceIndex >= choices.size()) {
+            throw new com.story.game.common.exception.InvalidStateException("Invalid choice index: " + choiceIndex);
+        }
+
+        StoryGraph.Choice selectedChoice = choices.get(choiceIndex);
+        choiceAnalyticsBuffer.recordChoice(session.getStoryCreationId(), currentNode.getId().toString(), selectedChoice.getOrder());
+
+        StateVector accumulatedTags = session.tagVector(graph.getTagSymbols());
+        for (int tagSlot : selectedChoice.getTagSlots()) {
+            accumulatedTags.add(tagSlot, 1);
+        }
+
+        StoryGraph.Node nextNode = graph.getDestination(selectedChoice);
+
+        if (nextNode == null) {
+            return endEpisode(session, graph);
+        }
+
+        session.setCurrentNodeId(nextNode.getId().toString());
+        session.recordVisit(nextNode.getId().toString());
+
+        // 다음 선택지로 넘어갈 때 현재 스토리의 대화 내역만 삭제 (비동기, 응답을 기다리지 않음)
+        npcProgressDispatcher.submitConversationCleanup(user.getUsername(), session.getStoryCreationId());
+
+        if (nextNode.isType("ENDING")) {
+            return endEpisode(session, graph);
+        } else if (nextNode.isType("FINAL_ENDING")) {
+            return new Step(StepType.GAME_END, null, null, null);
+        }
+
+        // 에피소드 내 진행은 메모리에만 반영하고 주기적으로 모아서 저장
+        gameSessionStore.markDirty(session);
+
+        // NPC AI에 게임 진행 상황 업데이트 (비동기, 실패해도 게임 진행에 영향 없음)
+        try {
+            // StoryDataId null 체크
+            if (session.getStoryCreationId() == null) {
+                log.warn("StoryCreationId is null, skipping NPC AI update for session: {}", session.getId());
+            } else {
+                String progressContent = buildProgressContent(graph, selectedChoice, currentNode, nextNode);
+
+                GameProgressUpdateRequestDto updateRequest = GameProgressUpdateRequestDto.builder()
+                        .characterId(session.getStoryCreationId())  // StoryCreation ID를 session_id로 사용
+                        .content(progressContent)
+                        .metadata(Map.of(
+                                "nodeId", nextNode.getId().toString(),
+                                "depth", nextNode.getDepth(),
+                                "episodeId", graph.getEpisodeOf(nextNode).getId().toString(),
+                                "gameSessionId", session.getId(),  // 게임 세션 ID (참고용)
+                                "timestamp", System.currentTimeMillis()
+                        ))
+                        .build();
+
+                npcProgressDispatcher.submit(updateRequest);
             }
+        } catch (Exception e) {
+            log.warn("Failed to update game progress to NPC AI (non-critical): {}", e.getMessage());
+        }
+
+        if (!nextNode.hasChoices()) {
+            return endEpisode(session, graph);
+        }
 
+        return new Step(StepType.NODE, graph.getEpisodeOf(currentNode), nextNode, null);
+    }
 
-            List<StoryChoice> nextNodeChoices = storyChoiceRepository.findBySourceNodeOrderByChoiceOrderAsc(nextNode);
-            if (nextNodeChoices.isEmpty()) {
-                return handleEpisodeEnd(session);
+    /**
+     * 에피소드 엔딩 평가, 게이지 반영 후 다음 에피소드 루트로 이동 (마지막 에피소드면 게임 종료 단계)
+     */
+    private Step endEpisode(GameSession session, StoryGraph graph) {
+        StoryGraph.Episode currentEpisode = requireEpisode(graph, session.getCurrentEpisodeId());
+
+        StoryGraph.Ending matchedEnding = graph.resolveEnding(currentEpisode, session.tagVector(graph.getTagSymbols()));
+
+        if (matchedEnding != null) {
+            choiceAnalyticsBuffer.recordEnding(session.getStoryCreationId(), ChoiceAnalyticsBuffer.EPISODE_ENDING,
+                    matchedEnding.getId().toString());
+            StateVector gauges = session.gaugeVector(graph.getGaugeSymbols());
+            int[] gaugeSlots = matchedEnding.getGaugeSlots();
+            int[] gaugeDeltas = matchedEnding.getGaugeDeltas();
+            for (int i = 0; i < gaugeSlots.length; i++) {
+                gauges.addClamped(gaugeSlots[i], gaugeDeltas[i], 0, 100);
             }
+        }
 
-            NodeImageInfo nodeImage = generateNodeImage(
-                    session.getStoryCreationId(),
-                    nextNode.getId().toString(),
-                    storyMapper.toStoryNodeDto(nextNode),
-                    storyMapper.toEpisodeDto(currentNode.getEpisode())
-            );
+        session.getCompletedEpisodes().add(currentEpisode.getId().toString());
+
+        StoryGraph.Episode nextEpisode = graph.getNextEpisode(currentEpisode);
+        if (nextEpisode == null) {
+            return new Step(StepType.GAME_END, null, null, matchedEnding);
+        }
+
+        StoryGraph.Node rootNode = graph.getRootNode(nextEpisode);
+        if (rootNode == null) {
+            throw new RuntimeException("Root node not found for next episode");
+        }
+
+        session.setCurrentEpisodeId(nextEpisode.getId().toString());
+        session.setCurrentNodeId(rootNode.getId().toString());
+        session.recordVisit(rootNode.getId().toString());
+        session.setAccumulatedTags(new StateVector(graph.getTagSymbols()));
 
+        return new Step(StepType.EPISODE_END, nextEpisode, rootNode, matchedEnding);
+    }
+
+    /**
+     * 적용된 단계의 응답 생성 (노드 이미지, 에피소드 BGM; 게임 종료는 completeGame/handleGameEnd)
+     */
+    private GameStateResponseDto renderStep(GameSession session, StoryGraph graph, Step step) {
+        StoryCreation storyCreation = loadStoryCreation(session);
+        NodeImageInfo nodeImage = generateNodeImage(step.node());
+
+        if (step.type() == StepType.NODE) {
             // Get BGM for current episode (from session storage)
             // Since we're in the same episode, use the stored BGM
             com.story.game.gameplay.dto.BgmDto bgm = null;
@@ -341,90 +472,84 @@ public class GameService {
                 log.warn("Failed to retrieve BGM for current episode: {}", e.getMessage());
             }
 
-            return buildGameStateResponse(session, currentNode.getEpisode().getStory(), currentNode.getEpisode(), nextNode, false, nodeImage, bgm);
-        } else {
-            return handleEpisodeEnd(session);
+            return buildGameStateResponse(session, storyCreation, graph, step.episode(), step.node(), false, nodeImage, bgm);
         }
-    }
-
-    private GameStateResponseDto handleEpisodeEnd(GameSession session) {
-        Episode currentEpisode = episodeRepository.findById(UUID.fromString(session.getCurrentEpisodeId()))
-                .orElseThrow(() -> new RuntimeException("Episode not found"));
-        StoryCreation storyCreation = currentEpisode.getStory();
 
-        List<EpisodeEnding> endings = episodeEndingRepository.findByEpisode(currentEpisode);
-        EpisodeEnding matchedEnding = evaluateEpisodeEnding(endings, session.getAccumulatedTags());
+        StoryGraph.Episode nextEpisode = step.episode();
+        // Get BGM for next episode (episode-based)
+        com.story.game.gameplay.dto.BgmDto bgm = null;
+        try {
+            bgm = bgmService.getBgmForEpisode(
+                session.getStoryDataId(),
+                nextEpisode.getId(),
+                nextEpisode.getTitle(),
+                nextEpisode.getIntroText()
+            );
 
-        if (matchedEnding != null && matchedEnding.getGaugeChanges() != null) {
-            try {
-                Map<String, Integer> gaugeChanges = objectMapper.readValue(matchedEnding.getGaugeChanges(),
-                        new TypeReference<Map<String, Integer>>() {});
-                for (Map.Entry<String, Integer> change : gaugeChanges.entrySet()) {
-                    session.getGaugeStates().merge(change.getKey(), change.getValue(), Integer::sum);
-                    int newValue = Math.max(0, Math.min(100, session.getGaugeStates().get(change.getKey())));
-                    session.getGaugeStates().put(change.getKey(), newValue);
-                }
-            } catch (Exception e) {
-                log.error("Failed to parse gauge changes", e);
+            // Save BGM to session for this new episode
+            if (bgm != null) {
+                session.setCurrentEpisodeBgmJson(objectMapper.writeValueAsString(bgm));
+                log.info("BGM set for next episode {}: mood={}", nextEpisode.getId(), bgm.getMood());
             }
+        } catch (Exception e) {
+            log.warn("Failed to get BGM for next episode: {}", e.getMessage());
         }
 
-        session.getCompletedEpisodes().add(currentEpisode.getId().toString());
-
-        Optional<Episode> nextEpisodeOpt = episodeRepository.findByStoryAndOrder(storyCreation, currentEpisode.getOrder() + 1);
+        GameStateResponseDto response = buildGameStateResponse(session, storyCreation, graph, nextEpisode, step.node(), true, nodeImage, bgm);
+        response.setIsEpisodeEnd(true);
+        response.setEpisodeEnding(step.ending() != null ? step.ending().toDto() : null);
+        return response;
+    }
 
-        if (nextEpisodeOpt.isPresent()) {
-            Episode nextEpisode = nextEpisodeOpt.get();
-            StoryNode rootNode = storyNodeRepository.findByEpisodeAndDepth(nextEpisode, 0)
-                    .orElseThrow(() -> new RuntimeException("Root node not found for next episode"));
+    private enum StepType {
+        NODE,          // 같은 에피소드의 다음 노드
+        EPISODE_END,   // 에피소드 종료 후 다음 에피소드 루트
+        GAME_END       // 마지막 에피소드 종료 또는 최종 엔딩 노드
+    }
 
-            session.setCurrentEpisodeId(nextEpisode.getId().toString());
-            session.setCurrentNodeId(rootNode.getId().toString());
-            session.getVisitedNodes().add(rootNode.getId().toString());
-            session.setAccumulatedTags(new HashMap<>());
-            gameSessionRepository.save(session);
+    // episode/node는 이동한 위치, ending은 방금 끝난 에피소드의 엔딩
+    private record Step(StepType type, StoryGraph.Episode episode, StoryGraph.Node node, StoryGraph.Ending ending) {
+    }
 
-            NodeImageInfo nodeImage = generateNodeImage(
-                    session.getStoryCreationId(),
-                    rootNode.getId().toString(),
-                    storyMapper.toStoryNodeDto(rootNode),
-                    storyMapper.toEpisodeDto(nextEpisode)
-            );
-            // Get BGM for next episode (episode-based)
-            com.story.game.gameplay.dto.BgmDto bgm = null;
-            try {
-                bgm = bgmService.getBgmForEpisode(
-                    session.getStoryDataId(),
-                    nextEpisode.getId(),
-                    nextEpisode.getTitle(),
-                    nextEpisode.getIntroText()
-                );
-
-                // Save BGM to session for this new episode
-                if (bgm != null) {
-                    session.setCurrentEpisodeBgmJson(objectMapper.writeValueAsString(bgm));
-                    gameSessionRepository.save(session);
-                    log.info("BGM set for next episode {}: mood={}", nextEpisode.getId(), bgm.getMood());
-                }
-            } catch (Exception e) {
-                log.warn("Failed to get BGM for next episode: {}", e.getMessage());
-            }
+    // 세션 잠금 안에서 만든 결과: 응답, 즉시 저장 여부, 게임 종료 정보 (잠금 밖에서 저장)
+    private record Outcome(GameStateResponseDto response, boolean flush, GameEnd gameEnd) {
+        static Outcome of(GameStateResponseDto response) {
+            return new Outcome(response, false, null);
+        }
 
-            GameStateResponseDto response = buildGameStateResponse(session, storyCreation, nextEpisode, rootNode, true, nodeImage, bgm);
-            response.setIsEpisodeEnd(true);
-            response.setEpisodeEnding(storyMapper.toEpisodeEndingDto(matchedEnding));
-            return response;
-        } else {
-            return handleGameEnd(session, storyCreation, matchedEnding);
+        static Outcome gameEnd(GameEnd gameEnd) {
+            return new Outcome(null, false, gameEnd);
         }
     }
 
-    private GameStateResponseDto handleGameEnd(GameSession session, StoryCreation storyCreation, EpisodeEnding lastEpisodeEnding) {
+    private record GameEnd(StoryCreation storyCreation, StoryGraph.Ending lastEpisodeEnding, FinalEndingDto finalEnding) {
+    }
+
+    /**
+     * 세션을 완료 상태로 표시하고 최종 엔딩 결정 (세션 잠금 안에서 호출)
+     */
+    private GameEnd completeGame(GameSession session, StoryCreation storyCreation, StoryGraph.Ending lastEpisodeEnding) {
         FinalEndingDto matchedFinalEnding = evaluateFinalEnding(storyCreation, session.getGaugeStates());
 
         session.setIsCompleted(true);
         session.setFinalEndingId(matchedFinalEnding != null ? matchedFinalEnding.getId() : "default_end");
-        gameSessionRepository.save(session);
+        choiceAnalyticsBuffer.recordEnding(session.getStoryCreationId(), ChoiceAnalyticsBuffer.FINAL_ENDING, session.getFinalEndingId());
+        return new GameEnd(storyCreation, lastEpisodeEnding, matchedFinalEnding);
+    }
+
+    /**
+     * 완료된 세션 저장 및 업적 반영 (세션 잠금 밖에서 호출)
+     */
+    private GameStateResponseDto handleGameEnd(GameSession session, GameEnd gameEnd) {
+        // 완료된 세션은 메모리에서 내리고 바로 저장
+        gameSessionStore.evict(session.getId());
+        choicePrefetcher.cancel(session.getId());
+        List<GameSession.PendingVisit> pendingVisits;
+        synchronized (session) {
+            pendingVisits = session.drainPendingVisits();
+        }
+        session = gameSessionRepository.save(session);
+        visitedNodeJournal.append(session.getId(), pendingVisits);
 
         // Update user achievements after game completion
         if (session.getUser() != null) {
@@ -438,11 +563,11 @@ public class GameService {
             }
         }
 
-        return handleGameEndResponse(session, storyCreation, lastEpisodeEnding, matchedFinalEnding);
+        return handleGameEndResponse(session, gameEnd.storyCreation(), gameEnd.lastEpisodeEnding(), gameEnd.finalEnding());
     }
 
     // [수정] 프론트엔드가 엔딩 텍스트를 표시할 수 있도록 nodeText에도 엔딩 내용을 매핑합니다.
-    private GameStateResponseDto handleGameEndResponse(GameSession session, StoryCreation storyCreation, EpisodeEnding lastEpisodeEnding, FinalEndingDto matchedFinalEnding) {
+    private GameStateResponseDto handleGameEndResponse(GameSession session, StoryCreation storyCreation, StoryGraph.Ending lastEpisodeEnding, FinalEndingDto matchedFinalEnding) {
         // [수정] 필터링된 게이지 정보 사용
         List<GaugeDto> gaugeDefinitions = getFilteredGauges(storyCreation);
 
@@ -472,8 +597,8 @@ public class GameService {
         return GameStateResponseDto.builder()
                 .sessionId(session.getId())
                 .currentEpisodeId(session.getCurrentEpisodeId())
-                .gaugeStates(session.getGaugeStates())
-                .accumulatedTags(session.getAccumulatedTags())
+                .gaugeStates(new HashMap<>(session.getGaugeStates()))
+                .accumulatedTags(new HashMap<>(session.getAccumulatedTags()))
                 .gaugeDefinitions(gaugeDefinitions)
 
                 // [핵심 수정] 엔딩 제목과 내용을 UI 표시 필드에 설정
@@ -484,58 +609,35 @@ public class GameService {
                 .bgm(bgm)
                 .isEpisodeEnd(true)
                 .isGameEnd(true) // 이 플래그 덕분에 프론트엔드가 엔딩 화면으로 인식함
-                .episodeEnding(storyMapper.toEpisodeEndingDto(lastEpisodeEnding))
+                .episodeEnding(lastEpisodeEnding != null ? lastEpisodeEnding.toDto() : null)
                 .finalEnding(matchedFinalEnding)
                 .build();
     }
 
-    // [SpEL 적용] 조건 평가 로직 개선
-    private boolean evaluateCondition(String condition, Map<String, Integer> values) {
-        if (condition == null || condition.isBlank() || "default".equals(condition)) {
-            return true;
-        }
+    // 조건식은 엔딩 ID별로 한 번만 컴파일되어 캐시됨 (ConditionEngine)
+    private boolean evaluateCondition(String cacheKey, String condition, Map<String, Integer> values) {
         try {
-            String expr = condition.replace("AND", "&&").replace("OR", "||");
-
-            StandardEvaluationContext context = new StandardEvaluationContext();
-            for (Map.Entry<String, Integer> entry : values.entrySet()) {
-                context.setVariable(entry.getKey(), entry.getValue());
-            }
-
-            for (String key : values.keySet()) {
-                String pattern = "(?<!#)\\b" + java.util.regex.Pattern.quote(key) + "\\b";
-                expr = expr.replaceAll(pattern, "#" + key);
-            }
-
-            return Boolean.TRUE.equals(parser.parseExpression(expr).getValue(context, Boolean.class));
-
+            return conditionEngine.matches(cacheKey, condition, values);
         } catch (Exception e) {
-            log.warn("Failed to evaluate condition with SpEL: {} -> {}", condition, e.getMessage());
+            log.warn("Failed to evaluate condition: {} -> {}", condition, e.getMessage());
             return false;
         }
     }
 
-    private EpisodeEnding evaluateEpisodeEnding(List<EpisodeEnding> endings, Map<String, Integer> accumulatedTags) {
-        if (endings == null || endings.isEmpty()) return null;
-        for (EpisodeEnding ending : endings) {
-            if (evaluateCondition(ending.getCondition(), accumulatedTags)) {
-                return ending;
-            }
-        }
-        return endings.get(0);
-    }
-
     private FinalEndingDto evaluateFinalEnding(StoryCreation storyCreation, Map<String, Integer> gaugeStates) {
         if (storyCreation.getEndingConfigJson() == null) {
             log.error("Final Ending Config is NULL for story: {}", storyCreation.getId());
             return null;
         }
         try {
-            List<FinalEndingDto> finalEndings = objectMapper.readValue(storyCreation.getEndingConfigJson(),
-                    new TypeReference<List<FinalEndingDto>>() {});
+            List<FinalEndingDto> finalEndings = storyContextCache.get(storyCreation).getFinalEndings();
+            if (finalEndings == null) {
+                return null;
+            }
 
             for (FinalEndingDto ending : finalEndings) {
-                if (evaluateCondition(ending.getCondition(), gaugeStates)) {
+                String cacheKey = ConditionEngine.finalEndingKey(storyCreation.getId(), ending.getId());
+                if (evaluateCondition(cacheKey, ending.getCondition(), gaugeStates)) {
                     log.info("Matched Final Ending: {}", ending.getTitle());
                     return ending;
                 }
@@ -549,30 +651,19 @@ public class GameService {
 
     private FinalEndingDto findFinalEndingById(StoryCreation storyCreation, String endingId) {
         if (storyCreation.getEndingConfigJson() == null) return null;
-        try {
-            List<FinalEndingDto> finalEndings = objectMapper.readValue(storyCreation.getEndingConfigJson(),
-                    new TypeReference<List<FinalEndingDto>>() {});
-            return finalEndings.stream()
-                    .filter(e -> e.getId().equals(endingId))
-                    .findFirst()
-                    .orElse(null);
-        } catch(Exception e) {
-            return null;
-        }
+        return storyContextCache.get(storyCreation).findFinalEnding(endingId);
     }
 
-    private GameStateResponseDto buildGameStateResponse(GameSession session, StoryCreation storyCreation,
-                                                        Episode episode, StoryNode node, boolean showIntro, NodeImageInfo nodeImage, com.story.game.gameplay.dto.BgmDto bgm) {
-        List<StoryChoice> choices = storyChoiceRepository.findBySourceNodeOrderByChoiceOrderAsc(node);
-        List<StoryChoiceDto> choiceDtos = choices.stream()
-                .map(storyMapper::toStoryChoiceDto)
+    private GameStateResponseDto buildGameStateResponse(GameSession session, StoryCreation storyCreation, StoryGraph graph,
+                                                        StoryGraph.Episode episode, StoryGraph.Node node, boolean showIntro, NodeImageInfo nodeImage, com.story.game.gameplay.dto.BgmDto bgm) {
+        List<StoryChoiceDto> choiceDtos = graph.getChoices(node).stream()
+                .map(StoryGraph.Choice::toDto)
                 .collect(Collectors.toList());
 
         // [수정] 필터링된 게이지 정보만 전송
         List<GaugeDto> gaugeDefinitions = getFilteredGauges(storyCreation);
 
-        StoryNodeDto nodeDto = storyMapper.toStoryNodeDto(node);
-        StoryNodeDto.StoryNodeDetailDto nodeDetails = nodeDto != null ? nodeDto.getDetails() : null;
+        StoryNodeDto.StoryNodeDetailDto nodeDetails = node.toDetailDto();
 
         String nodeText = node.getText();
         String introText = showIntro ? episode.getIntroText() : null;
@@ -588,13 +679,16 @@ public class GameService {
         log.info("Node Image: type={}, url={}", nodeImage != null ? nodeImage.getType() : "null", nodeImage != null ? nodeImage.getImageUrl() : "null");
         log.info("====================================");
 
+        // 다음 선택에 필요한 이미지 URL / BGM을 미리 준비 (비동기)
+        choicePrefetcher.prefetch(session.getId(), session.getStoryDataId(), graph, node);
+
         return GameStateResponseDto.builder()
                 .sessionId(session.getId())
                 .characterId(session.getSelectedCharacterId())
                 .currentEpisodeId(session.getCurrentEpisodeId())
                 .currentNodeId(session.getCurrentNodeId())
-                .gaugeStates(session.getGaugeStates())
-                .accumulatedTags(session.getAccumulatedTags())
+                .gaugeStates(new HashMap<>(session.getGaugeStates()))
+                .accumulatedTags(new HashMap<>(session.getAccumulatedTags()))
                 .episodeTitle(episode.getTitle())
                 .introText(introText)
                 .nodeText(nodeText)
@@ -608,52 +702,52 @@ public class GameService {
                 .build();
     }
 
-    // [추가] 선택된 게이지만 필터링하는 메서드
-    private List<GaugeDto> getFilteredGauges(StoryCreation storyCreation) {
-        try {
-            List<GaugeDto> allGauges = new ArrayList<>();
-            if (storyCreation.getGaugesJson() != null) {
-                allGauges = objectMapper.readValue(storyCreation.getGaugesJson(),
-                        new TypeReference<List<GaugeDto>>() {});
-            }
-
-            List<String> selectedIds = new ArrayList<>();
-            if (storyCreation.getSelectedGaugeIdsJson() != null) {
-                selectedIds = objectMapper.readValue(storyCreation.getSelectedGaugeIdsJson(),
-                        new TypeReference<List<String>>() {});
-            }
-
-            if (selectedIds.isEmpty()) return allGauges;
+    private StoryGraph.Episode requireEpisode(StoryGraph graph, String episodeId) {
+        StoryGraph.Episode episode = graph.getEpisode(episodeId);
+        if (episode == null) {
+            throw new RuntimeException("Episode not found");
+        }
+        return episode;
+    }
 
-            List<String> finalSelectedIds = selectedIds;
-            return allGauges.stream()
-                    .filter(g -> finalSelectedIds.contains(g.getId()))
-                    .collect(Collectors.toList());
+    private StoryGraph.Node requireNode(StoryGraph graph, String nodeId) {
+        StoryGraph.Node node = graph.getNode(nodeId);
+        if (node == null) {
+            throw new RuntimeException("Node not found");
+        }
+        return node;
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to filter gauges", e);
+    private StoryCreation loadStoryCreation(GameSession session) {
+        return storyCreationRepository.findById(session.getStoryCreationId())
+                .orElseThrow(() -> new RuntimeException("StoryCreation not found: " + session.getStoryCreationId()));
+    }
+    // [추가] 선택된 게이지만 필터링하는 메서드 (StoryContextCache에서 한 번만 계산)
+    private List<GaugeDto> getFilteredGauges(StoryCreation storyCreation) {
+        StoryContext storyContext = storyContextCache.get(storyCreation);
+        if (storyContext.hasParseError(StoryContext.GAUGES) || storyContext.hasParseError(StoryContext.SELECTED_GAUGE_IDS)) {
             return Collections.emptyList();
         }
+        return storyContext.getFilteredGauges();
     }
 
-    private NodeImageInfo generateNodeImage(String storyId, String nodeId, StoryNodeDto node, EpisodeDto episode) {
+    private NodeImageInfo generateNodeImage(StoryGraph.Node node) {
         // Determine image type based on node properties
         ImageType imageType = determineImageType(node);
 
-        // Check if image already exists in database
-        Optional<StoryNode> nodeOpt = storyNodeRepository.findById(UUID.fromString(nodeId));
-        if (nodeOpt.isPresent() && nodeOpt.get().getImageFileKey() != null) {
-            String rawFileKey = nodeOpt.get().getImageFileKey();
+        // Check if image already exists (story graph snapshot of the node row)
+        if (node.getImageFileKey() != null) {
+            String rawFileKey = node.getImageFileKey();
 
             // Extract fileKey if it's a full URL (legacy data issue)
             String fileKey = extractFileKeyFromUrl(rawFileKey);
 
             log.info("DB image_file_key for node {}: {} -> extracted: {}",
-                nodeId, rawFileKey, fileKey);
+                node.getId(), rawFileKey, fileKey);
 
             // Image exists, generate presigned download URL
             String presignedUrl = s3Service.generatePresignedDownloadUrl(fileKey);
-            log.info("Using existing image for node {}: {}", nodeId,
+            log.info("Using existing image for node {}: {}", node.getId(),
                 presignedUrl.substring(0, Math.min(100, presignedUrl.length())) + "...");
 
             return NodeImageInfo.builder()
@@ -666,15 +760,14 @@ public class GameService {
 
         // Image doesn't exist - don't generate during gameplay
         // Images should only be generated during story creation
-        log.info("No existing image found for node {}. Image generation during gameplay is disabled.", nodeId);
+        log.info("No existing image found for node {}. Image generation during gameplay is disabled.", node.getId());
         return null;
     }
-
     /**
      * Extract S3 file key from full URL or return as-is if already a key
      * Handles legacy data where full URLs were stored instead of keys
      */
-    private String extractFileKeyFromUrl(String fileKeyOrUrl) {
+    static String extractFileKeyFromUrl(String fileKeyOrUrl) {
         if (fileKeyOrUrl == null) {
             return null;
         }
@@ -711,8 +804,8 @@ public class GameService {
     /**
      * Determine image type based on node properties
      */
-    private ImageType determineImageType(StoryNodeDto node) {
-        if (node.getDepth() != null && node.getDepth() == 0) {
+    private ImageType determineImageType(StoryGraph.Node node) {
+        if (node.getDepth() == 0) {
             return ImageType.EPISODE_START;
         }
         // For other nodes, it's a regular scene image
@@ -723,7 +816,7 @@ public class GameService {
     /**
      * Generate alt text for accessibility
      */
-    private String generateAltText(StoryNodeDto node, ImageType imageType) {
+    private String generateAltText(StoryGraph.Node node, ImageType imageType) {
         StringBuilder altText = new StringBuilder();
 
         switch (imageType) {
@@ -780,27 +873,25 @@ public class GameService {
             log.warn("Loading {} stories into memory. Consider implementing pagination for better performance.", stories.size());
         }
 
-        // Generate presigned URLs for thumbnails
+        // Generate presigned URLs for thumbnails (한 번에 서명, 캐시된 URL 재사용)
+        // Extract fileKey if it's a full URL (legacy data)
+        Map<Long, String> fileKeys = new HashMap<>();
         for (StoryData story : stories) {
             if (story.getThumbnailFileKey() != null && !story.getThumbnailFileKey().isEmpty()) {
-                try {
-                    // Extract fileKey if it's a full URL (legacy data)
-                    String fileKey = extractFileKeyFromUrl(story.getThumbnailFileKey());
-
-                    // Generate presigned download URL
-                    String presignedUrl = s3Service.generatePresignedDownloadUrl(fileKey);
-
-                    // Set the presigned URL to thumbnailUrl (for frontend display)
-                    // Note: This modifies the entity but doesn't persist to DB
-                    story.setThumbnailUrl(presignedUrl);
-                    log.debug("Generated presigned URL for story {} thumbnail: {}",
-                        story.getId(), presignedUrl.substring(0, Math.min(100, presignedUrl.length())) + "...");
-                } catch (Exception e) {
-                    log.warn("Failed to generate presigned URL for story {} thumbnail: {}",
-                        story.getId(), e.getMessage());
-                    // Keep original value if presigned URL generation fails
-                }
+                fileKeys.put(story.getId(), extractFileKeyFromUrl(story.getThumbnailFileKey()));
+            }
+        }
+
+        Map<String, String> presignedUrls = s3Service.generatePresignedDownloadUrls(fileKeys.values());
+
+        for (StoryData story : stories) {
+            String presignedUrl = presignedUrls.get(fileKeys.get(story.getId()));
+            if (presignedUrl != null) {
+                // Set the presigned URL to thumbnailUrl (for frontend display)
+                // Note: This modifies the entity but doesn't persist to DB
+                story.setThumbnailUrl(presignedUrl);
             }
+            // Keep original value if presigned URL generation fails
         }
 
         return stories;
@@ -811,14 +902,15 @@ public class GameService {
         StoryData storyData = storyDataRepository.findById(storyDataId)
                 .orElseThrow(() -> new RuntimeException("Story data not found: " + storyDataId));
 
-        // 조회수 증가
-        storyData.incrementViewCount();
-        storyDataRepository.save(storyData);
-        log.info("Story view count incremented: storyDataId={}, viewCount={}", storyDataId, storyData.getViewCount());
+        // 조회수 증가 (버퍼에 모아 주기적으로 저장)
+        storyCounterBuffer.recordView(storyDataId);
+        rankingEngine.onStoryViewed(storyDataId);
+        log.debug("Story view recorded: storyDataId={}", storyDataId);
 
         StoryCreation storyCreation = storyCreationRepository.findByStoryDataId(storyData.getId())
                 .orElseThrow(() -> new RuntimeException("StoryCreation not found"));
-        return storyMapper.buildFullStoryDtoFromDb(storyCreation);
+        // 에피소드별 S3 스냅샷을 캐시에서 조립 (스냅샷이 없으면 DB에서 생성)
+        return storySnapshotStore.read(storyCreation, storyData.getStoryFileKey());
     }
 
     /**
@@ -827,8 +919,7 @@ public class GameService {
      */
     @Transactional(readOnly = true)
     public com.story.game.gameplay.dto.FinalEndingResponseDto getFinalEnding(String sessionId, com.story.game.auth.entity.User user) {
-        GameSession session = gameSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+        GameSession session = gameSessionStore.load(sessionId);
 
         if (session.getUser() != null && !session.getUser().getId().equals(user.getId())) {
             throw new com.story.game.common.exception.UnauthorizedException("You don't have permission to access this game session");
@@ -852,18 +943,62 @@ public class GameService {
                 .sessionId(session.getId())
                 .isCompleted(session.getIsCompleted())
                 .finalEnding(matchedFinalEnding)
-                .finalGaugeStates(session.getGaugeStates())
+                .finalGaugeStates(new HashMap<>(session.getGaugeStates()))
                 .gaugeDefinitions(gaugeDefinitions)
                 .completedEpisodesCount(session.getCompletedEpisodes() != null ? session.getCompletedEpisodes().size() : 0)
                 .build();
     }
 
 
+    /**
+     * 방문 노드 기록 페이지 조회 (VisitedNodeJournal)
+     */
+    // 대기 중인 방문 기록을 저장할 수 있으므로 읽기 전용 트랜잭션이 아님
+    @Transactional
+    public com.story.game.gameplay.dto.VisitedNodesResponseDto getVisitedNodes(String sessionId, com.story.game.auth.entity.User user,
+                                                                                int offset, int limit) {
+        GameSession session = gameSessionStore.load(sessionId);
+
+        if (session.getUser() != null && !session.getUser().getId().equals(user.getId())) {
+            throw new com.story.game.common.exception.UnauthorizedException("You don't have permission to access this game session");
+        }
+
+        // 아직 저널에 기록되지 않은 방문이 있으면 먼저 저장
+        boolean hasPendingVisits;
+        synchronized (session) {
+            hasPendingVisits = session.hasPendingVisits();
+        }
+        if (hasPendingVisits) {
+            gameSessionStore.flush(session);
+        }
+
+        List<String> nodeIds = visitedNodeJournal.read(sessionId, offset, limit).stream()
+                .map(UUID::toString)
+                .collect(Collectors.toList());
+
+        List<com.story.game.gameplay.dto.VisitedNodesResponseDto.EpisodeOffset> episodes = visitedNodeJournal.getSegments(sessionId).stream()
+                .map(segment -> com.story.game.gameplay.dto.VisitedNodesResponseDto.EpisodeOffset.builder()
+                        .episodeIndex(segment.segment())
+                        .startOffset(segment.startOffset())
+                        .nodeCount(segment.nodeCount())
+                        .build())
+                .collect(Collectors.toList());
+
+        return com.story.game.gameplay.dto.VisitedNodesResponseDto.builder()
+                .sessionId(sessionId)
+                .offset(offset)
+                .limit(limit)
+                .totalCount(session.getVisitedCount())
+                .nodeIds(nodeIds)
+                .episodes(episodes)
+                .build();
+    }
+
     /**
      * 게임 진행 상황을 텍스트로 변환
-     * JSON 형식의 노드 정보(NPC 감정, 관계 변화 등)를 파싱하여 포함
+     * 노드 정보(NPC 감정, 관계 변화 등)를 포함
      */
-    private String buildProgressContent(StoryChoice choice, StoryNode fromNode, StoryNode toNode) {
+    private String buildProgressContent(StoryGraph graph, StoryGraph.Choice choice, StoryGraph.Node fromNode, StoryGraph.Node toNode) {
         StringBuilder sb = new StringBuilder();
 
         sb.append("=== 게임 진행 상황 ===").append("\n\n");
@@ -877,15 +1012,8 @@ public class GameService {
         sb.append("'").append(choice.getText()).append("'").append("\n\n");
 
         // 선택의 태그 정보
-        if (choice.getTags() != null && !choice.getTags().isEmpty()) {
-            try {
-                List<String> tags = objectMapper.readValue(choice.getTags(), new TypeReference<List<String>>() {});
-                if (!tags.isEmpty()) {
-                    sb.append("선택의 의미: ").append(String.join(", ", tags)).append("\n\n");
-                }
-            } catch (Exception e) {
-                log.debug("Failed to parse choice tags for progress content", e);
-            }
+        if (!choice.getTags().isEmpty()) {
+            sb.append("선택의 의미: ").append(String.join(", ", choice.getTags())).append("\n\n");
         }
 
         // 즉각 반응
@@ -903,61 +1031,40 @@ public class GameService {
             sb.append("\n상세 상황: ").append(toNode.getSituation()).append("\n");
         }
 
-        // NPC 감정 정보 파싱
+        // NPC 감정 정보
         if (toNode.getNpcEmotions() != null && !toNode.getNpcEmotions().isEmpty()) {
-            try {
-                Map<String, String> emotions = objectMapper.readValue(toNode.getNpcEmotions(),
-                        new TypeReference<Map<String, String>>() {});
-                if (!emotions.isEmpty()) {
-                    sb.append("\nNPC 감정 상태:\n");
-                    emotions.forEach((npc, emotion) ->
-                        sb.append("- ").append(npc).append(": ").append(emotion).append("\n")
-                    );
-                }
-            } catch (Exception e) {
-                log.debug("Failed to parse NPC emotions for progress content", e);
-            }
+            sb.append("\nNPC 감정 상태:\n");
+            toNode.getNpcEmotions().forEach((npc, emotion) ->
+                sb.append("- ").append(npc).append(": ").append(emotion).append("\n")
+            );
         }
 
-        // 관계 변화 정보 파싱
+        // 관계 변화 정보
         if (toNode.getRelationsUpdate() != null && !toNode.getRelationsUpdate().isEmpty()) {
-            try {
-                Map<String, String> relations = objectMapper.readValue(toNode.getRelationsUpdate(),
-                        new TypeReference<Map<String, String>>() {});
-                if (!relations.isEmpty()) {
-                    sb.append("\n관계 변화:\n");
-                    relations.forEach((character, change) ->
-                        sb.append("- ").append(character).append(": ").append(change).append("\n")
-                    );
-                }
-            } catch (Exception e) {
-                log.debug("Failed to parse relations update for progress content", e);
-            }
+            sb.append("\n관계 변화:\n");
+            toNode.getRelationsUpdate().forEach((character, change) ->
+                sb.append("- ").append(character).append(": ").append(change).append("\n")
+            );
         }
 
         // 에피소드 정보
-        if (toNode.getEpisode() != null) {
-            sb.append("\n에피소드: ").append(toNode.getEpisode().getTitle());
-        }
+        sb.append("\n에피소드: ").append(graph.getEpisodeOf(toNode).getTitle());
 
         return sb.toString();
     }
-
     /**
-     * Extract character ID from selected characters JSON
+     * Extract character ID from selected characters
      * Used for RAG integration - extracts the first character ID
      */
-    private String extractCharacterIdFromJson(String selectedCharactersJson) {
-        try {
-            com.fasterxml.jackson.databind.JsonNode root = objectMapper.readTree(selectedCharactersJson);
-            if (root.isArray() && root.size() > 0) {
-                return root.get(0).asText();
-            }
+    private String extractCharacterId(StoryContext storyContext) {
+        if (storyContext.hasParseError(StoryContext.SELECTED_CHARACTERS)) {
+            throw new IllegalStateException("Failed to parse character selection");
+        }
+        List<String> selectedNames = storyContext.getSelectedCharacterNames();
+        if (selectedNames == null || selectedNames.isEmpty()) {
             throw new IllegalStateException("No character selected");
-        } catch (Exception e) {
-            log.error("Failed to parse character selection JSON", e);
-            throw new IllegalStateException("Failed to parse character selection", e);
         }
+        return selectedNames.get(0);
     }
 
     /**
@@ -989,20 +1096,13 @@ public class GameService {
         }
 
         try {
-            // 선택된 캐릭터 이름 파싱
-            List<String> selectedNames = objectMapper.readValue(
-                    storyCreation.getSelectedCharactersForChatJson(),
-                    new TypeReference<List<String>>() {}
-            );
-
-            // 전체 캐릭터 파싱
-            List<com.story.game.common.dto.CharacterDto> allCharacters = new ArrayList<>();
-            if (storyCreation.getCharactersJson() != null && !storyCreation.getCharactersJson().isBlank()) {
-                allCharacters = objectMapper.readValue(
-                        storyCreation.getCharactersJson(),
-                        new TypeReference<List<com.story.game.common.dto.CharacterDto>>() {}
-                );
+            // 파싱된 선택 캐릭터 이름 / 전체 캐릭터 (StoryContextCache)
+            StoryContext storyContext = storyContextCache.get(storyCreation);
+            if (storyContext.hasParseError(StoryContext.SELECTED_CHARACTERS) || storyContext.hasParseError(StoryContext.CHARACTERS)) {
+                throw new IllegalStateException("Invalid character JSON for story: " + storyCreation.getId());
             }
+            List<String> selectedNames = storyContext.getSelectedCharacterNames();
+            List<com.story.game.common.dto.CharacterDto> allCharacters = storyContext.getCharacters();
 
             // 선택된 캐릭터만 필터링하고 각 캐릭터에 chatCharacterId 할당
             List<com.story.game.common.dto.CharacterDto> selectedCharacters = allCharacters.stream()
@@ -0,0 +1,491 @@
+package com.story.game.gameplay.session;
+
+import com.story.game.common.exception.InvalidStateException;
+import com.story.game.gameplay.entity.GameSession;
+import com.story.game.gameplay.journal.VisitedNodeJournal;
+import com.story.game.gameplay.repository.GameSessionRepository;
+import com.story.game.gameplay.state.StateVector;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게임 세션 write-behind 저장소
+ *
+ * 플레이 중인 세션을 메모리에 유지하고, 선택지 진행마다 DB에 쓰는 대신 dirty 표시만 한다.
+ * dirty 세션은 주기적으로 한 트랜잭션에 모아 저장하며, 에피소드 경계에서는 즉시 저장한다.
+ *
+ * - 캐시된 세션은 영속성 컨텍스트에서 분리(detach)된 상태로 보관
+ * - 저장 시 세션의 스냅샷을 merge하므로 @Version 낙관적 락은 그대로 동작
+ * - 버전 충돌 시 메모리 상태를 버리고 다음 조회 때 DB에서 다시 읽는다
+ * - 세션 객체 변경은 호출 측에서 synchronized (session) 안에서 수행
+ * - 잠금 순서는 flushLock → session: flush/evict는 synchronized (session) 밖에서 호출해야 한다
+ * - 저장되지 않은 방문 노드는 같은 트랜잭션에서 VisitedNodeJournal에 추가
+ * - 보관 이동(GameSessionArchiver) 중인 세션은 고정이 풀릴 때까지 DB에서 읽지 않는다
+ */
+@Component
+@Slf4j
+public class GameSessionStore {
+
+    private final GameSessionRepository gameSessionRepository;
+    private final VisitedNodeJournal visitedNodeJournal;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxSessions;
+    private final long idleTimeoutMs;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Cache: sessionId -> entry
+    private final ConcurrentHashMap<String, Entry> sessions = new ConcurrentHashMap<>();
+    // 보관 이동 트랜잭션이 고정한 세션 id
+    private final Set<String> archiving = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong flushedSessions = new AtomicLong();
+    private final AtomicLong flushBatches = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GameSessionStore(GameSessionRepository gameSessionRepository,
+                            VisitedNodeJournal visitedNodeJournal,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${game.session-store.batch-size:100}") int batchSize,
+                            @Value("${game.session-store.max-sessions:10000}") int maxSessions,
+                            @Value("${game.session-store.idle-timeout-ms:1800000}") long idleTimeoutMs) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.visitedNodeJournal = visitedNodeJournal;
+        // 요청 트랜잭션 안의 즉시 저장은 그 트랜잭션에 참여 (요청당 커넥션 하나만 사용)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    /**
+     * 세션 조회 (메모리에 없으면 DB에서 읽어 캐시)
+     */
+    public GameSession load(String sessionId) {
+        Entry cached = sessions.get(sessionId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            cached.touch();
+            return cached.session;
+        }
+
+        misses.incrementAndGet();
+        requireNotArchiving(sessionId);
+        GameSession session = gameSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+
+        // 요청 트랜잭션 커밋 시 dirty checking으로 저장되지 않도록 분리
+        if (entityManager.contains(session)) {
+            entityManager.detach(session);
+        }
+
+        Entry entry = new Entry(session);
+        Entry existing = sessions.putIfAbsent(sessionId, entry);
+        if (existing == null && archiving.contains(sessionId)) {
+            // 읽는 사이 보관 이동이 고정함: 삭제될 행으로 만든 세션이므로 올리지 않음
+            sessions.remove(sessionId, entry);
+            requireNotArchiving(sessionId);
+        }
+        evictIfNeeded();
+        return existing != null ? existing.session : session;
+    }
+
+    /**
+     * 새로 저장된 세션을 캐시에 등록
+     */
+    public void register(GameSession session) {
+        sessions.put(session.getId(), new Entry(session));
+        evictIfNeeded();
+    }
+
+    /**
+     * 세션 변경 표시 (다음 주기 flush 때 저장)
+     */
+    public void markDirty(GameSession session) {
+        Entry entry = sessions.computeIfAbsent(session.getId(), id -> new Entry(session));
+        if (entry.session != session) {
+            // 충돌로 캐시에서 제거된 뒤 다른 인스턴스가 올라온 경우: 이 변경은 바로 저장 시도
+            write(List.of(new Entry(session)));
+            return;
+        }
+        if (entry.dirty) {
+            coalescedWrites.incrementAndGet();
+        }
+        entry.dirty = true;
+        entry.touch();
+    }
+
+    /**
+     * 세션 즉시 저장 (에피소드 경계 등, 세션 잠금 밖에서 호출)
+     */
+    public void flush(GameSession session) {
+        requireUnlocked(session);
+        Entry entry = sessions.get(session.getId());
+        if (entry == null || entry.session != session) {
+            write(List.of(new Entry(session)));
+            return;
+        }
+
+        entry.flushLock.lock();
+        try {
+            entry.dirty = true;
+            write(List.of(entry));
+        } catch (OptimisticLockingFailureException e) {
+            discard(entry, e);
+            throw e;
+        } finally {
+            entry.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 보관 이동할 세션 고정 (메모리에 올라와 있는 세션은 제외하고 고정한 id만 반환)
+     * 고정한 id는 releaseArchived 전까지 load가 거절하므로, 호출 측은 트랜잭션이 끝난 뒤 반드시 풀어야 한다.
+     */
+    public List<String> pinForArchive(Collection<String> sessionIds) {
+        List<String> pinned = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            // 먼저 고정한 뒤 확인: load는 캐시에 넣은 뒤 고정 여부를 다시 보므로 둘 중 한쪽은 반드시 상대를 본다
+            archiving.add(sessionId);
+            if (sessions.containsKey(sessionId)) {
+                archiving.remove(sessionId);
+            } else {
+                pinned.add(sessionId);
+            }
+        }
+        return pinned;
+    }
+
+    public void releaseArchived(Collection<String> sessionIds) {
+        archiving.removeAll(sessionIds);
+    }
+
+    /**
+     * 캐시에서 세션 제거 (진행 중인 flush가 있으면 끝날 때까지 대기, 세션 잠금 밖에서 호출)
+     * 남아 있는 변경 사항은 호출 측이 직접 저장해야 한다.
+     */
+    public void evict(String sessionId) {
+        Entry entry = sessions.get(sessionId);
+        if (entry == null) {
+            return;
+        }
+        requireUnlocked(entry.session);
+        sessions.remove(sessionId, entry);
+        entry.flushLock.lock();
+        try {
+            entry.evicted = true;
+        } finally {
+            entry.flushLock.unlock();
+        }
+    }
+
+    /**
+     * dirty 세션을 batch-size 단위로 모아 저장하고, 오래 사용되지 않은 세션을 메모리에서 제거
+     */
+    @Scheduled(fixedDelayString = "${game.session-store.flush-interval-ms:5000}")
+    public void flushDirty() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        for (Entry entry : sessions.values()) {
+            if (!entry.dirty || !entry.flushLock.tryLock()) {
+                continue;
+            }
+            if (entry.evicted || !entry.dirty) {
+                entry.flushLock.unlock();
+                continue;
+            }
+            batch.add(entry);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing dirty game sessions before shutdown...");
+        flushDirty();
+    }
+
+    /**
+     * Get store statistics
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", sessions.size());
+        stats.put("maxSize", maxSessions);
+        stats.put("dirty", sessions.values().stream().filter(e -> e.dirty).count());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("coalescedWrites", coalescedWrites.get());
+        stats.put("flushedSessions", flushedSessions.get());
+        stats.put("flushBatches", flushBatches.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    public int getCacheSize() {
+        return sessions.size();
+    }
+
+    /**
+     * 한 트랜잭션으로 배치 저장, 실패하면 세션별로 다시 시도해 실패한 세션만 격리
+     * 호출 시점에 batch의 flushLock은 모두 잡혀 있어야 한다.
+     */
+    private void writeBatch(List<Entry> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException batchError) {
+            if (batch.size() == 1) {
+                handleFailure(batch.get(0), batchError);
+            } else {
+                for (Entry entry : batch) {
+                    try {
+                        write(List.of(entry));
+                    } catch (RuntimeException e) {
+                        handleFailure(entry, e);
+                    }
+                }
+            }
+        } finally {
+            for (Entry entry : batch) {
+                entry.flushLock.unlock();
+            }
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        List<String> ids = new ArrayList<>(entries.size());
+        List<GameSession> snapshots = new ArrayList<>(entries.size());
+        Map<String, List<GameSession.PendingVisit>> visits = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            synchronized (entry.session) {
+                snapshots.add(snapshot(entry.session));
+                visits.put(entry.session.getId(), entry.session.drainPendingVisits());
+                entry.dirty = false;
+            }
+            ids.add(entry.session.getId());
+        }
+
+        boolean joined = TransactionSynchronizationManager.isActualTransactionActive();
+        List<GameSession> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                // 한 번의 SELECT로 영속성 컨텍스트에 올려 merge 시 세션별 조회를 피함
+                gameSessionRepository.findAllById(ids);
+                // 참여한 트랜잭션은 아직 커밋 전이므로 flush해서 증가될 @Version을 받아온다
+                List<GameSession> merged = gameSessionRepository.saveAllAndFlush(snapshots);
+                visitedNodeJournal.appendAll(visits);
+                return merged;
+            });
+        } catch (RuntimeException e) {
+            restore(entries, visits);
+            throw e;
+        }
+
+        if (joined) {
+            deferUntilCompletion(entries, saved, visits);
+        } else {
+            applySaved(entries, saved);
+        }
+    }
+
+    /**
+     * 요청 트랜잭션에 참여한 저장은 커밋 전까지 확정이 아니므로 결과 반영을 트랜잭션 종료 시점으로 미룬다.
+     * 커밋되면 증가된 version을 반영하고, 롤백되면 꺼낸 방문 기록과 dirty를 되돌린다.
+     * 그 사이 주기 flush가 커밋 전 version으로 다시 쓰지 않도록 flushLock도 종료 시점까지 유지한다.
+     */
+    private void deferUntilCompletion(List<Entry> entries, List<GameSession> saved,
+                                      Map<String, List<GameSession.PendingVisit>> visits) {
+        List<Entry> held = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (entry.flushLock.isHeldByCurrentThread()) {
+                entry.flushLock.lock();
+                held.add(entry);
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applySaved(entries, saved);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_ROLLED_BACK) {
+                        restore(entries, visits);
+                    }
+                } finally {
+                    for (Entry entry : held) {
+                        entry.flushLock.unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    private void applySaved(List<Entry> entries, List<GameSession> saved) {
+        for (int i = 0; i < entries.size(); i++) {
+            GameSession session = entries.get(i).session;
+            synchronized (session) {
+                session.setVersion(saved.get(i).getVersion());
+                session.setUpdatedAt(saved.get(i).getUpdatedAt());
+            }
+        }
+        flushedSessions.addAndGet(entries.size());
+        flushBatches.incrementAndGet();
+    }
+
+    private void restore(List<Entry> entries, Map<String, List<GameSession.PendingVisit>> visits) {
+        for (Entry entry : entries) {
+            synchronized (entry.session) {
+                // 저장 실패 시 꺼낸 방문 기록을 앞쪽에 되돌려 다음 flush에서 다시 기록
+                entry.session.restorePendingVisits(visits.get(entry.session.getId()));
+            }
+            entry.dirty = true;
+        }
+    }
+
+    private void requireNotArchiving(String sessionId) {
+        if (archiving.contains(sessionId)) {
+            throw new InvalidStateException("Session is being archived: " + sessionId);
+        }
+    }
+
+    // flush 스레드는 flushLock을 잡은 채 세션 잠금을 기다리므로, 세션 잠금을 잡고 flushLock을 기다리면 교착
+    private static void requireUnlocked(GameSession session) {
+        if (Thread.holdsLock(session)) {
+            throw new IllegalStateException("flush/evict must be called outside synchronized (session): " + session.getId());
+        }
+    }
+
+    private void handleFailure(Entry entry, RuntimeException e) {
+        if (e instanceof OptimisticLockingFailureException) {
+            discard(entry, e);
+        } else {
+            log.error("Failed to flush game session {} (will retry): {}", entry.session.getId(), e.getMessage());
+        }
+    }
+
+    private void discard(Entry entry, RuntimeException e) {
+        conflicts.incrementAndGet();
+        entry.evicted = true;
+        entry.dirty = false;
+        sessions.remove(entry.session.getId(), entry);
+        log.warn("Game session {} was modified concurrently, discarding in-memory state: {}",
+                entry.session.getId(), e.getMessage());
+    }
+
+    private void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleTimeoutMs;
+        for (Entry entry : sessions.values()) {
+            if (entry.lastAccess < threshold) {
+                removeIfClean(entry);
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        int overflow = sessions.size() - maxSessions;
+        if (overflow <= 0) {
+            return;
+        }
+        // dirty 세션은 다음 flush 이후에 제거 대상이 된다
+        sessions.values().stream()
+                .filter(e -> !e.dirty)
+                .sorted(Comparator.comparingLong(e -> e.lastAccess))
+                .limit(overflow)
+                .forEach(this::removeIfClean);
+    }
+
+    private void removeIfClean(Entry entry) {
+        if (!entry.flushLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!entry.dirty && sessions.remove(entry.session.getId(), entry)) {
+                entry.evicted = true;
+                evictions.incrementAndGet();
+                log.debug("Game session evicted from memory: {}", entry.session.getId());
+            }
+        } finally {
+            entry.flushLock.unlock();
+        }
+    }
+
+    private static GameSession snapshot(GameSession session) {
+        return GameSession.builder()
+                .id(session.getId())
+                .user(session.getUser())
+                .storyDataId(session.getStoryDataId())
+                .storyCreationId(session.getStoryCreationId())
+                .selectedCharacterId(session.getSelectedCharacterId())
+                .currentEpisodeId(session.getCurrentEpisodeId())
+                .currentNodeId(session.getCurrentNodeId())
+                .gaugeStates(StateVector.copyOf(session.getGaugeStates()))
+                .accumulatedTags(StateVector.copyOf(session.getAccumulatedTags()))
+                .visitedCount(session.getVisitedCount())
+                .completedEpisodes(new ArrayList<>(session.getCompletedEpisodes()))
+                .isCompleted(session.getIsCompleted())
+                .finalEndingId(session.getFinalEndingId())
+                .currentEpisodeBgmJson(session.getCurrentEpisodeBgmJson())
+                .version(session.getVersion())
+                .createdAt(session.getCreatedAt())
+                .updatedAt(session.getUpdatedAt())
+                .build();
+    }
+
+    private static final class Entry {
+        private final GameSession session;
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private volatile boolean dirty;
+        private volatile boolean evicted;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private Entry(GameSession session) {
+            this.session = session;
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.story.game.gameplay.session;
+
+import com.story.game.common.exception.IdempotencyConflictException;
+import com.story.game.gameplay.dto.GameStateResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 응답 캐시 (게임 시작 / 선택지 제출)
+ *
+ * (scope, key) -> GameStateResponseDto를 접근 순서 LRU로 최대 max-entries개, 마지막 접근 후 ttl 동안 보관한다.
+ * - 같은 키로 재시도하면 캐시된 응답을 바로 반환 (처리 중이면 끝날 때까지 기다렸다가 같은 응답)
+ * - 같은 키로 다른 요청(선택지 번호 등)이 오면 409
+ * - 키가 있는 요청은 scope(세션)마다 잠금으로 직렬화하여, 동시에 들어온 서로 다른 선택이
+ *   DB에서 낙관적 잠금 충돌을 일으키기 전에 순서대로 처리되게 한다 (잠금은 쓰는 요청이 없으면 제거)
+ * - 키가 없는 요청은 캐시도 잠금도 거치지 않고 바로 실행
+ *
+ * 트랜잭션 바깥(컨트롤러)에서 호출하므로 커밋된 결과만 캐시된다. 실패한 요청은 캐시하지 않아 재시도할 수 있다.
+ */
+@Component
+public class IdempotentReplyCache {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long waitTimeoutMillis;
+
+    // 접근 순서 LinkedHashMap: 맨 앞이 가장 오래 접근되지 않은 항목 (entries 잠금 안에서만 사용)
+    private final LinkedHashMap<String, Entry> entries;
+    private final ConcurrentHashMap<String, ScopeLock> scopeLocks = new ConcurrentHashMap<>();
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong inFlightJoins = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong serializedWaits = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public IdempotentReplyCache(@Value("${game.idempotency.max-entries:10000}") int maxEntries,
+                                @Value("${game.idempotency.ttl-seconds:600}") long ttlSeconds,
+                                @Value("${game.idempotency.wait-timeout-ms:15000}") long waitTimeoutMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= IdempotentReplyCache.this.maxEntries) {
+                    return false;
+                }
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * scope 안에서 key로 한 번만 action을 실행
+     *
+     * @param scope       직렬화/캐시 범위 (예: 사용자 + 세션)
+     * @param key         Idempotency-Key 헤더 (없으면 캐시/직렬화 없이 바로 실행)
+     * @param fingerprint 같은 키로 다른 요청이 왔는지 판별할 요청 내용
+     */
+    public GameStateResponseDto execute(String scope, String key, Object fingerprint, Supplier<GameStateResponseDto> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String entryKey = scope + '\n' + key;
+        Entry fresh = new Entry(fingerprint);
+        Entry existing;
+        synchronized (entries) {
+            long now = System.currentTimeMillis();
+            expire(now);
+            existing = entries.get(entryKey);
+            if (existing == null) {
+                entries.put(entryKey, fresh);
+            } else {
+                existing.lastAccess = now;
+            }
+        }
+
+        if (existing == null) {
+            return executeOwned(entryKey, fresh, scope, action);
+        }
+        if (!Objects.equals(existing.fingerprint, fingerprint)) {
+            conflicts.incrementAndGet();
+            throw new IdempotencyConflictException(HEADER + " was already used for a different request");
+        }
+        return awaitReply(existing);
+    }
+
+    /**
+     * Get idempotency statistics
+     */
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxEntries);
+        stats.put("activeScopes", scopeLocks.size());
+        stats.put("executed", executed.get());
+        stats.put("replays", replays.get());
+        stats.put("inFlightJoins", inFlightJoins.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("serializedWaits", serializedWaits.get());
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        return stats;
+    }
+
+    private GameStateResponseDto executeOwned(String entryKey, Entry entry, String scope, Supplier<GameStateResponseDto> action) {
+        try {
+            GameStateResponseDto reply = runSerialized(scope, action);
+            entry.reply.complete(reply);
+            executed.incrementAndGet();
+            return reply;
+        } catch (RuntimeException e) {
+            // 실패한 요청은 캐시하지 않음 (기다리던 재시도에는 같은 예외 전달)
+            synchronized (entries) {
+                entries.remove(entryKey, entry);
+            }
+            entry.reply.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private GameStateResponseDto awaitReply(Entry entry) {
+        if (entry.reply.isDone()) {
+            replays.incrementAndGet();
+        } else {
+            inFlightJoins.incrementAndGet();
+        }
+        try {
+            return entry.reply.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            conflicts.incrementAndGet();
+            throw new IdempotencyConflictException("A request with the same " + HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private GameStateResponseDto runSerialized(String scope, Supplier<GameStateResponseDto> action) {
+        ScopeLock scopeLock = scopeLocks.compute(scope, (s, current) -> {
+            ScopeLock held = current != null ? current : new ScopeLock();
+            held.users++;
+            return held;
+        });
+        try {
+            boolean acquired = scopeLock.lock.tryLock();
+            if (!acquired) {
+                serializedWaits.incrementAndGet();
+                try {
+                    acquired = scopeLock.lock.tryLock(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (!acquired) {
+                    conflicts.incrementAndGet();
+                    throw new IdempotencyConflictException("Another request for this game session is still in progress");
+                }
+            }
+            try {
+                return action.get();
+            } finally {
+                scopeLock.lock.unlock();
+            }
+        } finally {
+            // 마지막 사용자가 나가면 잠금 제거 (compute 안에서 세므로 다른 요청이 가져가는 중인 잠금은 남는다)
+            scopeLocks.computeIfPresent(scope, (s, held) -> --held.users == 0 ? null : held);
+        }
+    }
+
+    // 마지막 접근 기준 TTL이므로 접근 순서상 앞쪽부터 만료된다: 만료되지 않은 항목을 만나면 중단
+    private void expire(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (now - entry.lastAccess <= ttlMillis) {
+                return;
+            }
+            it.remove();
+            expirations.incrementAndGet();
+        }
+    }
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final CompletableFuture<GameStateResponseDto> reply = new CompletableFuture<>();
+        private long lastAccess = System.currentTimeMillis();
+
+        private Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static final class ScopeLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int users;
+    }
+}
@@ -0,0 +1,566 @@
+package com.story.game.gameplay.simulation;
+
+import com.story.game.common.dto.FinalEndingDto;
+import com.story.game.creation.dto.EndingReachabilityResponseDto;
+import com.story.game.gameplay.condition.CompiledCondition;
+import com.story.game.gameplay.condition.ConditionEngine;
+import com.story.game.gameplay.graph.StoryGraph;
+import com.story.game.gameplay.state.StateVector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * 엔딩 도달 가능성 시뮬레이터
+ *
+ * 메모리의 StoryGraph 위에서 GameService와 같은 규칙으로 플레이를 재현하여 최종/에피소드 엔딩별 도달 확률과
+ * 도달할 수 없는 엔딩을 계산한다. 매 선택지는 균등한 확률로 고른다고 가정한다.
+ * - 태그는 에피소드마다 초기화되므로 에피소드별 결과(엔딩 / 엔딩 없음 / FINAL_ENDING 노드)의 분포를
+ *   에피소드 트리의 모든 경로를 따라가 정확히 한 번 계산한다 (엔딩 결정은 StoryGraph.resolveEnding)
+ * - 이후 에피소드 순서대로 게이지 상태 분포를 펼쳐 최종 엔딩 조건을 평가한다 (EXACT)
+ * - 게이지 상태 수가 max-exact-states를 넘으면 fork-join 공용 풀에서 playthroughs번의
+ *   무작위 플레이로 추정한다 (MONTE_CARLO, 청크마다 분할한 SplittableRandom 사용)
+ */
+@Component
+@Slf4j
+public class EndingReachabilitySimulator {
+
+    public static final String EXACT = "EXACT";
+    public static final String MONTE_CARLO = "MONTE_CARLO";
+
+    private static final String DEFAULT_FINAL_ENDING = "default_end";
+    private static final int GAUGE_MIN = 0;
+    private static final int GAUGE_MAX = 100;
+    // 게이지 값(0~100) 하나를 7비트로 묶어 long 키로 사용 (최대 9개)
+    private static final int GAUGE_BITS = 7;
+    private static final int MAX_PACKED_GAUGES = Long.SIZE / GAUGE_BITS;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MAX_MEMO_ENTRIES = 1 << 16;
+
+    // 에피소드 결과 코드 (0 이상은 그래프 엔딩 인덱스)
+    private static final int NO_ENDING = -1;
+    private static final int FINAL_JUMP = -2;
+
+    private final ConditionEngine conditionEngine;
+    private final long playthroughs;
+    private final int maxExactStates;
+    private final int maxEpisodePaths;
+    private final long seed;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong exactRuns = new AtomicLong();
+    private final AtomicLong monteCarloRuns = new AtomicLong();
+    private final AtomicLong unreachableFound = new AtomicLong();
+    private volatile long lastRunMillis;
+
+    public EndingReachabilitySimulator(ConditionEngine conditionEngine,
+                                       @Value("${game.ending-simulation.playthroughs:1000000}") long playthroughs,
+                                       @Value("${game.ending-simulation.max-exact-states:200000}") int maxExactStates,
+                                       @Value("${game.ending-simulation.max-episode-paths:1000000}") int maxEpisodePaths,
+                                       @Value("${game.ending-simulation.seed:20240601}") long seed) {
+        this.conditionEngine = conditionEngine;
+        this.playthroughs = playthroughs;
+        this.maxExactStates = maxExactStates;
+        this.maxEpisodePaths = maxEpisodePaths;
+        this.seed = seed;
+    }
+
+    /**
+     * 스토리 그래프와 최종 엔딩 설정으로 도달 가능성 계산
+     *
+     * @param selectedGaugeIds 게임 시작 시 50으로 설정되는 게이지 (StoryContext.getSelectedGaugeIds)
+     * @param finalEndings     최종 엔딩 목록 (endingConfigJson, 평가 순서)
+     */
+    public EndingReachabilityResponseDto simulate(String storyId, StoryGraph graph,
+                                                  List<String> selectedGaugeIds, List<FinalEndingDto> finalEndings) {
+        long start = System.currentTimeMillis();
+        runs.incrementAndGet();
+
+        List<StoryGraph.Episode> chain = new ArrayList<>();
+        for (StoryGraph.Episode episode = graph.getEpisodeByOrder(1); episode != null; episode = graph.getNextEpisode(episode)) {
+            chain.add(episode);
+        }
+
+        List<String> gaugeNames = new ArrayList<>(graph.getGaugeSymbols().getNames());
+        int[] initial = new int[gaugeNames.size()];
+        if (selectedGaugeIds != null) {
+            for (String gaugeId : selectedGaugeIds) {
+                int slot = gaugeNames.indexOf(gaugeId);
+                if (slot < 0) {
+                    gaugeNames.add(gaugeId);
+                    initial = Arrays.copyOf(initial, gaugeNames.size());
+                    slot = gaugeNames.size() - 1;
+                }
+                initial[slot] = 50;
+            }
+        }
+
+        FinalRules rules = new FinalRules(storyId, finalEndings, gaugeNames);
+        boolean truncated = false;
+        List<EpisodeOutcomes> outcomes = new ArrayList<>(chain.size());
+        for (StoryGraph.Episode episode : chain) {
+            PathBudget budget = new PathBudget(maxEpisodePaths);
+            outcomes.add(enumerate(graph, episode, budget));
+            truncated |= budget.truncated;
+        }
+
+        double[] finalProbabilities = new double[rules.size()];
+        double[] episodeReach = new double[chain.size()];
+        String mode;
+        long simulated = 0;
+        if (!chain.isEmpty() && !exact(outcomes, initial, rules, finalProbabilities, episodeReach)) {
+            mode = MONTE_CARLO;
+            simulated = Math.max(1, playthroughs);
+            monteCarloRuns.incrementAndGet();
+            monteCarlo(outcomes, initial, rules, simulated, finalProbabilities, episodeReach);
+        } else {
+            mode = EXACT;
+            exactRuns.incrementAndGet();
+        }
+
+        EndingReachabilityResponseDto report = report(storyId, chain, graph, outcomes, rules,
+                finalProbabilities, episodeReach, mode, simulated, truncated);
+        lastRunMillis = System.currentTimeMillis() - start;
+        report.setElapsedMillis(lastRunMillis);
+        unreachableFound.addAndGet(report.getUnreachableFinalEndings().size() + report.getUnreachableEpisodeEndings().size());
+        log.info("Ending reachability for story {}: mode={}, unreachable final={}, episode={} ({}ms)",
+                storyId, mode, report.getUnreachableFinalEndings(), report.getUnreachableEpisodeEndings(), lastRunMillis);
+        return report;
+    }
+
+    /**
+     * Get simulator statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("runs", runs.get());
+        stats.put("exactRuns", exactRuns.get());
+        stats.put("monteCarloRuns", monteCarloRuns.get());
+        stats.put("unreachableFound", unreachableFound.get());
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+
+    // === Episode enumeration ===
+
+    /**
+     * 에피소드 루트부터 모든 선택 경로를 따라가 결과별 확률을 합산 (GameService.advance/endEpisode와 같은 규칙)
+     */
+    private EpisodeOutcomes enumerate(StoryGraph graph, StoryGraph.Episode episode, PathBudget budget) {
+        Map<Integer, Double> distribution = new LinkedHashMap<>();
+        StoryGraph.Node root = graph.getRootNode(episode);
+        if (root != null) {
+            walk(graph, episode, root, new StateVector(graph.getTagSymbols()), 1.0, 0, distribution, budget);
+        }
+        return EpisodeOutcomes.of(graph, episode, distribution);
+    }
+
+    private void walk(StoryGraph graph, StoryGraph.Episode episode, StoryGraph.Node node, StateVector tags,
+                      double probability, int depth, Map<Integer, Double> distribution, PathBudget budget) {
+        List<StoryGraph.Choice> choices = graph.getChoices(node);
+        if (choices.isEmpty()) {
+            budget.record(distribution, endingOf(graph, episode, tags), probability);
+            return;
+        }
+        double share = probability / choices.size();
+        for (StoryGraph.Choice choice : choices) {
+            if (budget.isExhausted()) {
+                return;
+            }
+            for (int tagSlot : choice.getTagSlots()) {
+                tags.add(tagSlot, 1);
+            }
+            StoryGraph.Node next = graph.getDestination(choice);
+            if (next != null && next.isType("FINAL_ENDING")) {
+                budget.record(distribution, FINAL_JUMP, share);
+            } else if (next == null || next.isType("ENDING") || !next.hasChoices()) {
+                budget.record(distribution, endingOf(graph, episode, tags), share);
+            } else if (depth >= graph.getNodeCount()) {
+                // 순환 경로 방지
+                budget.truncated = true;
+            } else {
+                walk(graph, episode, next, tags, share, depth + 1, distribution, budget);
+            }
+            for (int tagSlot : choice.getTagSlots()) {
+                tags.add(tagSlot, -1);
+            }
+        }
+    }
+
+    private static int endingOf(StoryGraph graph, StoryGraph.Episode episode, StateVector tags) {
+        StoryGraph.Ending ending = graph.resolveEnding(episode, tags);
+        return ending != null ? ending.getIndex() : NO_ENDING;
+    }
+
+    // === Exact propagation ===
+
+    /**
+     * 게이지 상태 분포를 에피소드 순서대로 펼쳐 최종 엔딩 확률 계산 (상태 수가 상한을 넘으면 false)
+     */
+    private boolean exact(List<EpisodeOutcomes> outcomes, int[] initial, FinalRules rules,
+                          double[] finalProbabilities, double[] episodeReach) {
+        if (initial.length > MAX_PACKED_GAUGES) {
+            return false;
+        }
+        Map<Long, Double> states = new HashMap<>();
+        states.put(pack(initial), 1.0);
+        Map<Long, Double> terminal = new HashMap<>();
+        int[] gauges = new int[initial.length];
+
+        for (int e = 0; e < outcomes.size(); e++) {
+            EpisodeOutcomes episode = outcomes.get(e);
+            boolean last = e == outcomes.size() - 1;
+            Map<Long, Double> next = new HashMap<>();
+            for (Map.Entry<Long, Double> state : states.entrySet()) {
+                episodeReach[e] += state.getValue();
+                for (int o = 0; o < episode.size(); o++) {
+                    double probability = state.getValue() * episode.probabilities[o];
+                    if (episode.codes[o] == FINAL_JUMP) {
+                        terminal.merge(state.getKey(), probability, Double::sum);
+                        continue;
+                    }
+                    unpack(state.getKey(), gauges);
+                    apply(gauges, episode.endings[o]);
+                    (last ? terminal : next).merge(pack(gauges), probability, Double::sum);
+                }
+            }
+            if (next.size() > maxExactStates || terminal.size() > maxExactStates) {
+                Arrays.fill(episodeReach, 0.0);
+                return false;
+            }
+            states = next;
+        }
+
+        for (Map.Entry<Long, Double> state : terminal.entrySet()) {
+            unpack(state.getKey(), gauges);
+            finalProbabilities[rules.resolve(gauges)] += state.getValue();
+        }
+        return true;
+    }
+
+    // === Monte Carlo ===
+
+    private void monteCarlo(List<EpisodeOutcomes> outcomes, int[] initial, FinalRules rules, long total,
+                            double[] finalProbabilities, double[] episodeReach) {
+        int chunks = (int) ((total + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        long[] counts = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> runChunk(randoms[c], Math.min(CHUNK_SIZE, total - (long) c * CHUNK_SIZE),
+                        outcomes, initial, rules))
+                .reduce(EndingReachabilitySimulator::sum)
+                .orElseGet(() -> new long[rules.size() + outcomes.size()]);
+
+        for (int i = 0; i < finalProbabilities.length; i++) {
+            finalProbabilities[i] = (double) counts[i] / total;
+        }
+        for (int e = 0; e < episodeReach.length; e++) {
+            episodeReach[e] = (double) counts[rules.size() + e] / total;
+        }
+    }
+
+    /**
+     * 플레이 count번 실행 → [최종 엔딩별 도달 수..., 에피소드별 진입 수...]
+     */
+    private static long[] runChunk(SplittableRandom random, long count, List<EpisodeOutcomes> outcomes,
+                                   int[] initial, FinalRules rules) {
+        long[] counts = new long[rules.size() + outcomes.size()];
+        int[] gauges = new int[initial.length];
+        boolean packable = initial.length <= MAX_PACKED_GAUGES;
+        Map<Long, Integer> memo = new HashMap<>();
+
+        for (long n = 0; n < count; n++) {
+            System.arraycopy(initial, 0, gauges, 0, initial.length);
+            for (int e = 0; e < outcomes.size(); e++) {
+                counts[rules.size() + e]++;
+                EpisodeOutcomes episode = outcomes.get(e);
+                int o = episode.sample(random.nextDouble());
+                if (episode.codes[o] == FINAL_JUMP) {
+                    break;
+                }
+                apply(gauges, episode.endings[o]);
+            }
+
+            int ending;
+            if (packable) {
+                long key = pack(gauges);
+                Integer cached = memo.get(key);
+                if (cached == null) {
+                    cached = rules.resolve(gauges);
+                    if (memo.size() < MAX_MEMO_ENTRIES) {
+                        memo.put(key, cached);
+                    }
+                }
+                ending = cached;
+            } else {
+                ending = rules.resolve(gauges);
+            }
+            counts[ending]++;
+        }
+        return counts;
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] result = a.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] += b[i];
+        }
+        return result;
+    }
+
+    // === Gauges ===
+
+    /**
+     * 에피소드 엔딩의 게이지 변화 적용 (0~100으로 제한, GameService.endEpisode와 동일)
+     */
+    private static void apply(int[] gauges, StoryGraph.Ending ending) {
+        if (ending == null) {
+            return;
+        }
+        int[] slots = ending.getGaugeSlots();
+        int[] deltas = ending.getGaugeDeltas();
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] >= 0 && slots[i] < gauges.length) {
+                gauges[slots[i]] = Math.max(GAUGE_MIN, Math.min(GAUGE_MAX, gauges[slots[i]] + deltas[i]));
+            }
+        }
+    }
+
+    private static long pack(int[] gauges) {
+        long key = 0;
+        for (int gauge : gauges) {
+            key = (key << GAUGE_BITS) | gauge;
+        }
+        return key;
+    }
+
+    private static void unpack(long key, int[] gauges) {
+        long mask = (1L << GAUGE_BITS) - 1;
+        for (int i = gauges.length - 1; i >= 0; i--) {
+            gauges[i] = (int) (key & mask);
+            key >>>= GAUGE_BITS;
+        }
+    }
+
+    // === Report ===
+
+    private static EndingReachabilityResponseDto report(String storyId, List<StoryGraph.Episode> chain, StoryGraph graph,
+                                                        List<EpisodeOutcomes> outcomes, FinalRules rules,
+                                                        double[] finalProbabilities, double[] episodeReach,
+                                                        String mode, long simulated, boolean truncated) {
+        List<EndingReachabilityResponseDto.FinalEndingStats> finals = new ArrayList<>();
+        List<String> unreachableFinals = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            FinalEndingDto ending = rules.ending(i);
+            boolean reachable = finalProbabilities[i] > 0;
+            String endingId = ending != null ? ending.getId() : DEFAULT_FINAL_ENDING;
+            finals.add(EndingReachabilityResponseDto.FinalEndingStats.builder()
+                    .endingId(endingId)
+                    .title(ending != null ? ending.getTitle() : null)
+                    .condition(ending != null ? ending.getCondition() : null)
+                    .probability(finalProbabilities[i])
+                    .reachable(reachable)
+                    .conditionError(rules.error(i))
+                    .build());
+            if (!reachable) {
+                unreachableFinals.add(endingId);
+            }
+        }
+
+        List<EndingReachabilityResponseDto.EpisodeEndingStats> episodeEndings = new ArrayList<>();
+        List<String> unreachableEpisodeEndings = new ArrayList<>();
+        for (int e = 0; e < chain.size(); e++) {
+            StoryGraph.Episode episode = chain.get(e);
+            for (StoryGraph.Ending ending : graph.getEndings(episode)) {
+                double probability = outcomes.get(e).probabilityOf(ending.getIndex());
+                boolean reachable = probability > 0 && episodeReach[e] > 0;
+                episodeEndings.add(EndingReachabilityResponseDto.EpisodeEndingStats.builder()
+                        .episodeOrder(episode.getOrder())
+                        .episodeTitle(episode.getTitle())
+                        .endingId(ending.getId().toString())
+                        .title(ending.getTitle())
+                        .episodeReachProbability(episodeReach[e])
+                        .probability(probability)
+                        .reachable(reachable)
+                        .build());
+                if (!reachable) {
+                    unreachableEpisodeEndings.add(ending.getId().toString());
+                }
+            }
+        }
+
+        return EndingReachabilityResponseDto.builder()
+                .storyId(storyId)
+                .mode(mode)
+                .playthroughs(simulated)
+                .truncated(truncated)
+                .finalEndings(finals)
+                .unreachableFinalEndings(unreachableFinals)
+                .episodeEndings(episodeEndings)
+                .unreachableEpisodeEndings(unreachableEpisodeEndings)
+                .build();
+    }
+
+    // === Helpers ===
+
+    /**
+     * 에피소드 결과 분포 (codes[i]: 엔딩 인덱스 / NO_ENDING / FINAL_JUMP)
+     */
+    private static final class EpisodeOutcomes {
+        private final int[] codes;
+        private final StoryGraph.Ending[] endings;
+        private final double[] probabilities;
+        private final double[] cumulative;
+
+        private EpisodeOutcomes(int[] codes, StoryGraph.Ending[] endings, double[] probabilities) {
+            this.codes = codes;
+            this.endings = endings;
+            this.probabilities = probabilities;
+            this.cumulative = new double[probabilities.length];
+            double total = 0;
+            for (double probability : probabilities) {
+                total += probability;
+            }
+            double running = 0;
+            for (int i = 0; i < probabilities.length; i++) {
+                // 경로 상한으로 일부만 계산했으면 합이 1이 되도록 정규화
+                probabilities[i] = total > 0 ? probabilities[i] / total : 0;
+                running += probabilities[i];
+                cumulative[i] = running;
+            }
+        }
+
+        static EpisodeOutcomes of(StoryGraph graph, StoryGraph.Episode episode, Map<Integer, Double> distribution) {
+            if (distribution.isEmpty()) {
+                // 루트 노드가 없는 에피소드: 엔딩 없이 다음 에피소드로
+                return new EpisodeOutcomes(new int[]{NO_ENDING}, new StoryGraph.Ending[1], new double[]{1.0});
+            }
+            List<StoryGraph.Ending> episodeEndings = graph.getEndings(episode);
+            int firstEnding = episodeEndings.isEmpty() ? 0 : episodeEndings.get(0).getIndex();
+            int[] codes = new int[distribution.size()];
+            StoryGraph.Ending[] endings = new StoryGraph.Ending[distribution.size()];
+            double[] probabilities = new double[distribution.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Double> entry : distribution.entrySet()) {
+                codes[i] = entry.getKey();
+                endings[i] = entry.getKey() >= 0 ? episodeEndings.get(entry.getKey() - firstEnding) : null;
+                probabilities[i] = entry.getValue();
+                i++;
+            }
+            return new EpisodeOutcomes(codes, endings, probabilities);
+        }
+
+        int size() {
+            return codes.length;
+        }
+
+        int sample(double u) {
+            for (int i = 0; i < cumulative.length - 1; i++) {
+                if (u < cumulative[i]) {
+                    return i;
+                }
+            }
+            return cumulative.length - 1;
+        }
+
+        double probabilityOf(int code) {
+            for (int i = 0; i < codes.length; i++) {
+                if (codes[i] == code) {
+                    return probabilities[i];
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class PathBudget {
+        private final int maxPaths;
+        private int paths;
+        private boolean truncated;
+
+        PathBudget(int maxPaths) {
+            this.maxPaths = maxPaths;
+        }
+
+        boolean isExhausted() {
+            return paths >= maxPaths;
+        }
+
+        void record(Map<Integer, Double> distribution, int code, double probability) {
+            if (isExhausted()) {
+                truncated = true;
+                return;
+            }
+            paths++;
+            distribution.merge(code, probability, Double::sum);
+        }
+    }
+
+    /**
+     * 최종 엔딩 조건 (GameService.evaluateFinalEnding과 동일: 순서대로 첫 매칭, 없으면 마지막 엔딩)
+     * 조건식은 게임과 같은 ConditionEngine 캐시 키로 가져오고, 변수를 게이지 배열 인덱스에 미리 연결한다.
+     */
+    private final class FinalRules {
+        private final List<FinalEndingDto> endings;
+        private final CompiledCondition[] conditions;
+        private final int[][] variableSlots;
+
+        FinalRules(String storyId, List<FinalEndingDto> finalEndings, List<String> gaugeNames) {
+            this.endings = finalEndings != null ? finalEndings : List.of();
+            this.conditions = new CompiledCondition[endings.size()];
+            this.variableSlots = new int[endings.size()][];
+            for (int i = 0; i < endings.size(); i++) {
+                FinalEndingDto ending = endings.get(i);
+                conditions[i] = conditionEngine.get(ConditionEngine.finalEndingKey(storyId, ending.getId()), ending.getCondition());
+                List<String> variables = conditions[i].getVariables();
+                variableSlots[i] = new int[variables.size()];
+                for (int v = 0; v < variables.size(); v++) {
+                    variableSlots[i][v] = gaugeNames.indexOf(variables.get(v));
+                }
+            }
+        }
+
+        /**
+         * 결과 칸 수 (최종 엔딩이 없으면 default_end 한 칸)
+         */
+        int size() {
+            return Math.max(1, endings.size());
+        }
+
+        int resolve(int[] gauges) {
+            for (int i = 0; i < conditions.length; i++) {
+                int[] slots = variableSlots[i];
+                int[] values = new int[slots.length];
+                for (int v = 0; v < slots.length; v++) {
+                    values[v] = slots[v] >= 0 ? gauges[slots[v]] : 0;
+                }
+                if (conditions[i].test(values)) {
+                    return i;
+                }
+            }
+            return Math.max(0, conditions.length - 1);
+        }
+
+        FinalEndingDto ending(int index) {
+            return index < endings.size() ? endings.get(index) : null;
+        }
+
+        String error(int index) {
+            return index < conditions.length ? conditions[index].getError() : null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.story.game.gameplay.state;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게이지 ID / 태그 이름을 0부터 시작하는 슬롯 번호로 바꾸는 심볼 테이블
+ *
+ * 스토리마다 StoryGraph가 한 번 만들어 공유하며, 생성 이후 변경되지 않는다.
+ * 테이블에 없는 이름이 들어오면 (이전 버전 스토리에서 누적된 태그 등) extend로
+ * 기존 슬롯 번호를 그대로 유지한 채 뒤에 덧붙인 새 테이블을 만든다.
+ */
+public final class StateSymbols {
+
+    public static final int NONE = -1;
+
+    private static final StateSymbols EMPTY = new StateSymbols(new String[0], null);
+
+    private final String[] names;
+    private final Map<String, Integer> index;
+    // extend로 만들어진 테이블이면 원본 테이블 (원본의 슬롯 번호가 그대로 유효)
+    private final StateSymbols root;
+
+    private StateSymbols(String[] names, StateSymbols root) {
+        this.names = names;
+        this.index = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            index.putIfAbsent(names[i], i);
+        }
+        this.root = root != null ? root : this;
+    }
+
+    public static StateSymbols empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 이름 목록으로 테이블 생성 (null/중복 이름은 건너뜀, 순서 유지)
+     */
+    public static StateSymbols of(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return EMPTY;
+        }
+        return new StateSymbols(names.stream().filter(name -> name != null).distinct().toArray(String[]::new), null);
+    }
+
+    /**
+     * 이름이 없으면 NONE
+     */
+    public int indexOf(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer slot = index.get(name);
+        return slot != null ? slot : NONE;
+    }
+
+    public String nameAt(int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * 이름들의 슬롯 번호 (테이블에 없는 이름은 NONE)
+     */
+    public int[] indicesOf(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new int[0];
+        }
+        int[] slots = new int[keys.size()];
+        int i = 0;
+        for (String key : keys) {
+            slots[i++] = indexOf(key);
+        }
+        return slots;
+    }
+
+    /**
+     * 이 테이블(또는 이 테이블을 확장한 테이블)의 슬롯 번호를 그대로 쓸 수 있는지
+     */
+    public boolean isCompatibleWith(StateSymbols other) {
+        return other != null && (this == other || this.root == other);
+    }
+
+    /**
+     * 기존 슬롯을 유지하고 name을 마지막 슬롯으로 추가한 새 테이블
+     */
+    StateSymbols extend(String name) {
+        String[] extended = Arrays.copyOf(names, names.length + 1);
+        extended[names.length] = name;
+        return new StateSymbols(extended, root);
+    }
+}
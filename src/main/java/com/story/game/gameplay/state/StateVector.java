@@ -0,0 +1,238 @@
+package com.story.game.gameplay.state;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * int[] 기반 게이지/태그 상태 벡터
+ *
+ * 값은 StateSymbols의 슬롯 번호로 접근하며, 누적/클램프/조건 평가는 박싱이나 해싱 없이 처리한다.
+ * 기존 코드와 응답 DTO, JSON 컬럼과의 호환을 위해 Map&lt;String, Integer&gt;으로도 동작하지만
+ * Map 메서드는 이름 조회와 박싱이 필요하므로 경계 (저장, 응답 생성)에서만 사용한다.
+ *
+ * 한 번도 값이 들어오지 않은 슬롯은 Map에 나타나지 않으며 getInt는 0을 반환한다.
+ * 세션 하나에 묶여 사용되므로 스레드 안전하지 않다.
+ */
+public final class StateVector extends AbstractMap<String, Integer> {
+
+    private StateSymbols symbols;
+    private int[] values;
+    private boolean[] present;
+    private int size;
+
+    public StateVector() {
+        this(StateSymbols.empty());
+    }
+
+    public StateVector(StateSymbols symbols) {
+        this.symbols = symbols;
+        this.values = new int[symbols.size()];
+        this.present = new boolean[symbols.size()];
+    }
+
+    StateVector(StateSymbols symbols, int[] values, boolean[] present, int size) {
+        this.symbols = symbols;
+        this.values = values;
+        this.present = present;
+        this.size = size;
+    }
+
+    /**
+     * map을 symbols 슬롯 배치의 벡터로 변환
+     * 이미 같은 테이블에 묶인 벡터면 그대로 반환하고, 테이블에 없는 이름은 뒤 슬롯에 덧붙여 보존한다.
+     */
+    public static StateVector bind(StateSymbols symbols, Map<String, Integer> map) {
+        if (map instanceof StateVector vector && vector.symbols.isCompatibleWith(symbols)) {
+            return vector;
+        }
+        StateVector bound = new StateVector(symbols);
+        if (map != null) {
+            bound.putAll(map);
+        }
+        return bound;
+    }
+
+    /**
+     * 같은 슬롯 배치의 독립된 복사본 (StateVector가 아니면 이름 기준으로 복사)
+     */
+    public static StateVector copyOf(Map<String, Integer> map) {
+        if (map instanceof StateVector vector) {
+            return new StateVector(vector.symbols, vector.values.clone(), vector.present.clone(), vector.size);
+        }
+        return bind(StateSymbols.empty(), map);
+    }
+
+    public StateSymbols getSymbols() {
+        return symbols;
+    }
+
+    // === 슬롯 기반 (박싱 없음) ===
+
+    /**
+     * 슬롯 값 (범위 밖이거나 값이 없으면 0)
+     */
+    public int getInt(int slot) {
+        return slot >= 0 && slot < values.length ? values[slot] : 0;
+    }
+
+    public boolean isPresent(int slot) {
+        return slot >= 0 && slot < present.length && present[slot];
+    }
+
+    public void setInt(int slot, int value) {
+        if (slot < 0 || slot >= values.length) {
+            return;
+        }
+        if (!present[slot]) {
+            present[slot] = true;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * 슬롯 값에 delta를 더함 (값이 없으면 delta로 시작)
+     */
+    public void add(int slot, int delta) {
+        setInt(slot, getInt(slot) + delta);
+    }
+
+    /**
+     * delta를 더한 뒤 [min, max]로 제한
+     */
+    public void addClamped(int slot, int delta, int min, int max) {
+        setInt(slot, Math.max(min, Math.min(max, getInt(slot) + delta)));
+    }
+
+    /**
+     * 슬롯 수 (값이 없는 슬롯 포함)
+     */
+    public int capacity() {
+        return values.length;
+    }
+
+    // === Map ===
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && isPresent(symbols.indexOf(name));
+    }
+
+    @Override
+    public Integer get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        int slot = symbols.indexOf(name);
+        return isPresent(slot) ? values[slot] : null;
+    }
+
+    @Override
+    public Integer put(String key, Integer value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("StateVector does not support null keys or values");
+        }
+        int slot = symbols.indexOf(key);
+        if (slot == StateSymbols.NONE) {
+            slot = grow(key);
+        }
+        Integer previous = present[slot] ? values[slot] : null;
+        setInt(slot, value);
+        return previous;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        int slot = symbols.indexOf(name);
+        if (!isPresent(slot)) {
+            return null;
+        }
+        int previous = values[slot];
+        clearSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0);
+        Arrays.fill(present, false);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Integer>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void clearSlot(int slot) {
+        present[slot] = false;
+        values[slot] = 0;
+        size--;
+    }
+
+    private int grow(String key) {
+        symbols = symbols.extend(key);
+        values = Arrays.copyOf(values, symbols.size());
+        present = Arrays.copyOf(present, symbols.size());
+        return symbols.size() - 1;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Integer>> {
+        private int next = advance(0);
+        private int last = StateSymbols.NONE;
+
+        private int advance(int from) {
+            int slot = from;
+            while (slot < present.length && !present[slot]) {
+                slot++;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < present.length;
+        }
+
+        @Override
+        public Entry<String, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new SimpleImmutableEntry<>(symbols.nameAt(last), values[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last == StateSymbols.NONE || !present[last]) {
+                throw new IllegalStateException();
+            }
+            clearSlot(last);
+        }
+    }
+}
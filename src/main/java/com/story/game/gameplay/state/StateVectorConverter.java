@@ -0,0 +1,103 @@
+package com.story.game.gameplay.state;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * game_sessions.gauge_states / accumulated_tags 컬럼 코덱
+ *
+ * 컬럼 형식은 기존과 같은 {"이름": 정수} JSON 객체이며, Jackson 스트리밍 API로
+ * int[] 벡터를 직접 읽고 써서 중간 HashMap이나 Integer 박싱을 만들지 않는다.
+ * 읽은 벡터는 컬럼에 있던 이름으로 만든 임시 심볼 테이블을 가지며,
+ * GameService에서 처음 사용할 때 스토리 심볼 테이블로 다시 묶인다 (StateVector.bind).
+ */
+@Converter
+public class StateVectorConverter implements AttributeConverter<Map<String, Integer>, String> {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, Integer> attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON.createGenerator(writer)) {
+            generator.writeStartObject();
+            if (attribute instanceof StateVector vector) {
+                StateSymbols symbols = vector.getSymbols();
+                for (int slot = 0; slot < vector.capacity(); slot++) {
+                    if (vector.isPresent(slot)) {
+                        generator.writeNumberField(symbols.nameAt(slot), vector.getInt(slot));
+                    }
+                }
+            } else {
+                for (Map.Entry<String, Integer> entry : attribute.entrySet()) {
+                    if (entry.getValue() != null) {
+                        generator.writeNumberField(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode state vector", e);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public Map<String, Integer> convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        int[] values = new int[8];
+        try (JsonParser parser = JSON.createParser(dbData)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("State vector column is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if (!token.isNumeric()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (names.size() == values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                values[names.size()] = parser.getIntValue();
+                names.add(name);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode state vector", e);
+        }
+
+        StateSymbols symbols = StateSymbols.of(names);
+        if (symbols.size() != names.size()) {
+            // 중복 키: 마지막 값 우선 (Jackson Map 역직렬화와 동일)
+            StateVector vector = new StateVector(symbols);
+            for (int i = 0; i < names.size(); i++) {
+                vector.setInt(symbols.indexOf(names.get(i)), values[i]);
+            }
+            return vector;
+        }
+        boolean[] present = new boolean[names.size()];
+        Arrays.fill(present, true);
+        return new StateVector(symbols, Arrays.copyOf(values, names.size()), present, names.size());
+    }
+}
@@ -29,6 +29,21 @@ public class FileUploadProperties {
      */
     private int presignedUrlExpiration = 900; // 15분
 
+    /**
+     * 다운로드용 Pre-signed URL 유효 시간 (초)
+     */
+    private int presignedDownloadUrlExpiration = 60 * 60 * 24 * 7; // 7일
+
+    /**
+     * 다운로드 URL 재사용 비율 (유효 시간 중 이 비율이 지나기 전까지는 같은 URL 재사용)
+     */
+    private double presignedUrlReuseFraction = 0.5;
+
+    /**
+     * Pre-signed URL 캐시 최대 개수
+     */
+    private int presignedUrlCacheSize = 10000;
+
     @Data
     public static class Size {
         private long story = 10 * 1024 * 1024;   // 10MB
@@ -1,8 +1,26 @@
 package com.story.game.infrastructure.config;
 
 import com.story.game.gameplay.repository.GameSessionRepository;
+import com.story.game.common.counter.StoryCounterBuffer;
+import com.story.game.common.ranking.RankingEngine;
 import com.story.game.common.repository.StoryDataRepository;
+import com.story.game.creation.context.StoryContextCache;
+import com.story.game.creation.job.StoryJobWorker;
+import com.story.game.creation.service.ImageGenerationScheduler;
 import com.story.game.creation.service.SequentialGenerationService;
+import com.story.game.gameplay.analytics.ChoiceAnalyticsBuffer;
+import com.story.game.gameplay.archive.GameSessionArchiver;
+import com.story.game.gameplay.condition.ConditionEngine;
+import com.story.game.gameplay.graph.StoryGraphCache;
+import com.story.game.gameplay.service.ChoicePrefetcher;
+import com.story.game.gameplay.session.GameSessionStore;
+import com.story.game.gameplay.simulation.EndingReachabilitySimulator;
+import com.story.game.gameplay.session.IdempotentReplyCache;
+import com.story.game.infrastructure.relay.RelayGateway;
+import com.story.game.infrastructure.s3.PresignedUrlCache;
+import com.story.game.rag.service.NpcProgressDispatcher;
+import com.story.game.story.snapshot.StorySnapshotStore;
+import com.story.game.story.writer.EpisodeBulkWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -28,6 +47,24 @@ public class HealthCheckController {
     private final StoryDataRepository storyDataRepository;
     private final GameSessionRepository gameSessionRepository;
     private final SequentialGenerationService sequentialGenerationService;
+    private final StoryGraphCache storyGraphCache;
+    private final StoryContextCache storyContextCache;
+    private final ConditionEngine conditionEngine;
+    private final GameSessionStore gameSessionStore;
+    private final NpcProgressDispatcher npcProgressDispatcher;
+    private final PresignedUrlCache presignedUrlCache;
+    private final RankingEngine rankingEngine;
+    private final StoryCounterBuffer storyCounterBuffer;
+    private final RelayGateway relayGateway;
+    private final ChoicePrefetcher choicePrefetcher;
+    private final IdempotentReplyCache idempotentReplyCache;
+    private final GameSessionArchiver gameSessionArchiver;
+    private final ChoiceAnalyticsBuffer choiceAnalyticsBuffer;
+    private final EndingReachabilitySimulator endingReachabilitySimulator;
+    private final StoryJobWorker storyJobWorker;
+    private final ImageGenerationScheduler imageGenerationScheduler;
+    private final EpisodeBulkWriter episodeBulkWriter;
+    private final StorySnapshotStore storySnapshotStore;
 
     @GetMapping
     @Operation(summary = "전체 시스템 상태 확인", description = "서버, 데이터베이스, AI 서버의 연결 상태를 확인합니다")
@@ -97,6 +134,31 @@ public class HealthCheckController {
         return ResponseEntity.ok(aiStatus);
     }
 
+    @GetMapping("/metrics")
+    @Operation(summary = "게임 플레이 캐시/파이프라인 지표", description = "스토리 그래프, 조건식 캐시 등의 적중률과 크기를 확인합니다")
+    public ResponseEntity<Map<String, Object>> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("storyGraph", storyGraphCache.getStats());
+        metrics.put("storyContext", storyContextCache.getStats());
+        metrics.put("conditionCache", conditionEngine.getStats());
+        metrics.put("sessionStore", gameSessionStore.getStats());
+        metrics.put("npcProgress", npcProgressDispatcher.getStats());
+        metrics.put("presignedUrls", presignedUrlCache.getStats());
+        metrics.put("ranking", rankingEngine.getStats());
+        metrics.put("storyCounters", storyCounterBuffer.getStats());
+        metrics.put("relay", relayGateway.getStats());
+        metrics.put("choicePrefetch", choicePrefetcher.getStats());
+        metrics.put("idempotency", idempotentReplyCache.getStats());
+        metrics.put("sessionArchive", gameSessionArchiver.getStats());
+        metrics.put("choiceAnalytics", choiceAnalyticsBuffer.getStats());
+        metrics.put("endingSimulation", endingReachabilitySimulator.getStats());
+        metrics.put("storyJobs", storyJobWorker.getStats());
+        metrics.put("imageGeneration", imageGenerationScheduler.getStats());
+        metrics.put("episodeBulkWrite", episodeBulkWriter.getStats());
+        metrics.put("storySnapshots", storySnapshotStore.getStats());
+        return ResponseEntity.ok(metrics);
+    }
+
     private boolean checkDatabaseConnection() {
         try {
             Connection connection = dataSource.getConnection();
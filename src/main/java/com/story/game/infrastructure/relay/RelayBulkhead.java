@@ -0,0 +1,157 @@
+package com.story.game.infrastructure.relay;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * relay 호출 종류별 동시 실행 제한
+ *
+ * 동시에 maxConcurrent개까지 실행하고, 넘치는 호출은 maxQueue개까지 대기시킨 뒤 나머지는 즉시 거절한다.
+ * 스레드를 점유하지 않고 구독 시점에 자리를 얻으며, 완료/취소 시 다음 대기 호출을 시작한다.
+ */
+@Slf4j
+class RelayBulkhead {
+
+    private final RelayEndpoint endpoint;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Duration timeout;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong queuedTotal = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    RelayBulkhead(RelayEndpoint endpoint, int maxConcurrent, int maxQueue, Duration timeout) {
+        this.endpoint = endpoint;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.timeout = timeout;
+    }
+
+    <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        Mono<T> guarded = Mono.create(sink -> {
+            calls.incrementAndGet();
+            AtomicReference<Disposable> running = new AtomicReference<>();
+            AtomicBoolean released = new AtomicBoolean();
+
+            Runnable start = () -> running.set(Mono.defer(call)
+                    .doFinally(signal -> {
+                        if (released.compareAndSet(false, true)) {
+                            release();
+                        }
+                    })
+                    .subscribe(sink::success, sink::error, sink::success));
+
+            if (tryAcquire()) {
+                start.run();
+            } else if (queued.incrementAndGet() <= maxQueue) {
+                queuedTotal.incrementAndGet();
+                waiting.add(start);
+                sink.onCancel(() -> {
+                    if (waiting.remove(start)) {
+                        queued.decrementAndGet();
+                    }
+                });
+                drain();
+            } else {
+                queued.decrementAndGet();
+                rejected.incrementAndGet();
+                log.warn("Relay bulkhead '{}' is full (active={}, queued={}), rejecting call",
+                        endpoint.getKey(), active.get(), queued.get());
+                sink.error(new RelayRejectedException(endpoint));
+                return;
+            }
+
+            sink.onDispose(() -> {
+                Disposable disposable = running.get();
+                if (disposable != null) {
+                    disposable.dispose();
+                }
+            });
+        });
+
+        return guarded
+                .timeout(timeout)
+                .doOnError(e -> {
+                    if (e instanceof TimeoutException) {
+                        timeouts.incrementAndGet();
+                    } else if (!(e instanceof RelayRejectedException)) {
+                        failures.incrementAndGet();
+                    }
+                });
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = active.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * 빈 자리가 있으면 대기 중인 호출 시작
+     */
+    private void drain() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                active.decrementAndGet();
+                return;
+            }
+            queued.decrementAndGet();
+            next.run();
+        }
+    }
+
+    int getActive() {
+        return active.get();
+    }
+
+    int getQueued() {
+        return queued.get();
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("maxQueue", maxQueue);
+        stats.put("timeoutMs", timeout.toMillis());
+        stats.put("active", active.get());
+        stats.put("queued", queued.get());
+        stats.put("calls", calls.get());
+        stats.put("queuedTotal", queuedTotal.get());
+        stats.put("rejected", rejected.get());
+        stats.put("timeouts", timeouts.get());
+        stats.put("failures", failures.get());
+        return stats;
+    }
+}
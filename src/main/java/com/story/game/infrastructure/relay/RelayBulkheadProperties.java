@@ -0,0 +1,33 @@
+package com.story.game.infrastructure.relay;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * relay 서버 호출 종류별 bulkhead 설정
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "relay-server")
+public class RelayBulkheadProperties {
+
+    /**
+     * 호출 종류(chat, rag, image, bgm, analysis, generation)별 설정
+     */
+    private Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    public Bulkhead get(RelayEndpoint endpoint) {
+        return bulkheads.getOrDefault(endpoint.getKey(), new Bulkhead());
+    }
+
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrent = 16;   // 동시 호출 수 (= 커넥션 풀 크기)
+        private int maxQueue = 32;        // 대기 가능한 호출 수, 넘으면 즉시 거절
+        private long timeoutMs = 60_000;  // 대기 + 응답까지 전체 제한 시간
+    }
+}
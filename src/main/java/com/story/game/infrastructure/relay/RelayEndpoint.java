@@ -0,0 +1,24 @@
+package com.story.game.infrastructure.relay;
+
+/**
+ * relay 서버 호출 종류 (종류마다 별도 bulkhead와 커넥션 풀 사용)
+ */
+public enum RelayEndpoint {
+
+    CHAT("chat"),             // 캐릭터 챗봇 대화
+    RAG("rag"),               // RAG 인덱싱, 캐릭터 설정, 게임 진행 상황 전송
+    IMAGE("image"),           // 이미지 생성, 화풍 학습
+    BGM("bgm"),               // 배경음악 추천
+    ANALYSIS("analysis"),     // 소설 분석
+    GENERATION("generation"); // 에피소드 생성, 서브트리 재생성
+
+    private final String key;
+
+    RelayEndpoint(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,97 @@
+package com.story.game.infrastructure.relay;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * relay 서버 호출 게이트웨이
+ *
+ * 호출 종류(RelayEndpoint)마다 커넥션 풀, 제한 시간, bulkhead를 따로 두어
+ * 느린 엔드포인트(예: 소설 분석)가 다른 호출(예: 챗봇, BGM)의 자원을 점유하지 못하게 한다.
+ * 모든 API는 Mono/CompletableFuture를 반환하며, 호출 측에서 block 여부를 정한다.
+ */
+@Component
+@Slf4j
+public class RelayGateway {
+
+    private static final int CONNECT_TIMEOUT_MS = 5_000;
+
+    private final Map<RelayEndpoint, WebClient> clients = new EnumMap<>(RelayEndpoint.class);
+    private final Map<RelayEndpoint, RelayBulkhead> bulkheads = new EnumMap<>(RelayEndpoint.class);
+    private final Map<RelayEndpoint, ConnectionProvider> connectionProviders = new EnumMap<>(RelayEndpoint.class);
+
+    public RelayGateway(RelayBulkheadProperties properties,
+                        @Value("${relay-server.url:http://localhost:8081}") String relayServerUrl) {
+        for (RelayEndpoint endpoint : RelayEndpoint.values()) {
+            RelayBulkheadProperties.Bulkhead config = properties.get(endpoint);
+            Duration timeout = Duration.ofMillis(config.getTimeoutMs());
+
+            ConnectionProvider provider = ConnectionProvider.builder("relay-" + endpoint.getKey())
+                    .maxConnections(config.getMaxConcurrent())
+                    .pendingAcquireMaxCount(Math.max(config.getMaxQueue(), 1))
+                    .pendingAcquireTimeout(timeout)
+                    .maxIdleTime(Duration.ofSeconds(30))
+                    .build();
+
+            HttpClient httpClient = HttpClient.create(provider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(CONNECT_TIMEOUT_MS, config.getTimeoutMs()))
+                    .responseTimeout(timeout);
+
+            clients.put(endpoint, WebClient.builder()
+                    .baseUrl(relayServerUrl)
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                    .build());
+            bulkheads.put(endpoint, new RelayBulkhead(endpoint, config.getMaxConcurrent(), config.getMaxQueue(), timeout));
+            connectionProviders.put(endpoint, provider);
+
+            log.info("Relay bulkhead '{}': maxConcurrent={}, maxQueue={}, timeout={}ms",
+                    endpoint.getKey(), config.getMaxConcurrent(), config.getMaxQueue(), config.getTimeoutMs());
+        }
+    }
+
+    /**
+     * endpoint의 bulkhead 안에서 relay 서버 호출
+     * 자리가 없고 대기열도 가득 차면 RelayRejectedException으로 즉시 실패한다.
+     */
+    public <T> Mono<T> call(RelayEndpoint endpoint, Function<WebClient, Mono<T>> request) {
+        WebClient client = clients.get(endpoint);
+        return bulkheads.get(endpoint).execute(() -> request.apply(client));
+    }
+
+    public <T> CompletableFuture<T> callAsync(RelayEndpoint endpoint, Function<WebClient, Mono<T>> request) {
+        return call(endpoint, request).toFuture();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+    }
+
+    /**
+     * Get bulkhead statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        bulkheads.forEach((endpoint, bulkhead) -> stats.put(endpoint.getKey(), bulkhead.getStats()));
+        return stats;
+    }
+}
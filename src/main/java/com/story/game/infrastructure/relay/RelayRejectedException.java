@@ -0,0 +1,13 @@
+package com.story.game.infrastructure.relay;
+
+import com.story.game.common.exception.ExternalServiceException;
+
+/**
+ * bulkhead가 가득 차 relay 서버 호출을 거절했을 때 발생하는 예외
+ */
+public class RelayRejectedException extends ExternalServiceException {
+
+    public RelayRejectedException(RelayEndpoint endpoint) {
+        super("Relay server is busy (" + endpoint.getKey() + "), please retry later");
+    }
+}
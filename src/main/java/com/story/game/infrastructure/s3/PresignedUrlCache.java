@@ -0,0 +1,163 @@
+package com.story.game.infrastructure.s3;
+
+import com.story.game.infrastructure.config.FileUploadProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 다운로드용 Pre-signed URL 캐시
+ *
+ * 파일 키별로 서명된 URL을 보관하고, 유효 시간의 일정 비율(presigned-url-reuse-fraction)이
+ * 지나기 전까지는 다시 서명하지 않고 재사용한다. 최대 개수를 넘으면 LRU로 제거한다.
+ */
+@Component
+@Slf4j
+public class PresignedUrlCache {
+
+    private final long reuseMillis;
+    private final int maxEntries;
+    private final Map<String, CachedUrl> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong signed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PresignedUrlCache(FileUploadProperties properties) {
+        this.reuseMillis = (long) (properties.getPresignedDownloadUrlExpiration() * 1000L
+                * properties.getPresignedUrlReuseFraction());
+        this.maxEntries = properties.getPresignedUrlCacheSize();
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUrl> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 URL 반환 (없거나 재사용 기간이 지났으면 signer로 새로 서명)
+     */
+    public String get(String fileKey, Function<String, String> signer) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedUrl cached = cache.get(fileKey);
+            if (cached != null && cached.isReusable(now)) {
+                hits.incrementAndGet();
+                return cached.url;
+            }
+        }
+
+        misses.incrementAndGet();
+        String url = signer.apply(fileKey);
+        signed.incrementAndGet();
+
+        synchronized (cache) {
+            cache.put(fileKey, new CachedUrl(url, now + reuseMillis));
+        }
+        return url;
+    }
+
+    /**
+     * 여러 파일 키의 URL을 한 번에 조회 (중복 키는 한 번만 서명)
+     * 서명에 실패한 키는 결과에서 제외된다.
+     */
+    public Map<String, String> getAll(Collection<String> fileKeys, Function<String, String> signer) {
+        long now = System.currentTimeMillis();
+        Map<String, String> result = new LinkedHashMap<>();
+        Map<String, String> toSign = new LinkedHashMap<>();
+
+        synchronized (cache) {
+            for (String fileKey : fileKeys) {
+                if (fileKey == null || result.containsKey(fileKey) || toSign.containsKey(fileKey)) {
+                    continue;
+                }
+                CachedUrl cached = cache.get(fileKey);
+                if (cached != null && cached.isReusable(now)) {
+                    hits.incrementAndGet();
+                    result.put(fileKey, cached.url);
+                } else {
+                    toSign.put(fileKey, null);
+                }
+            }
+        }
+
+        for (String fileKey : toSign.keySet()) {
+            misses.incrementAndGet();
+            try {
+                toSign.put(fileKey, signer.apply(fileKey));
+                signed.incrementAndGet();
+            } catch (Exception e) {
+                log.warn("Failed to generate presigned URL for {}: {}", fileKey, e.getMessage());
+            }
+        }
+
+        synchronized (cache) {
+            toSign.forEach((fileKey, url) -> {
+                if (url != null) {
+                    cache.put(fileKey, new CachedUrl(url, now + reuseMillis));
+                    result.put(fileKey, url);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * 파일 삭제 시 캐시 제거
+     */
+    public void evict(String fileKey) {
+        synchronized (cache) {
+            cache.remove(fileKey);
+        }
+    }
+
+    /**
+     * Get cache statistics
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", getCacheSize());
+        stats.put("maxSize", maxEntries);
+        stats.put("reuseSeconds", reuseMillis / 1000);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("signed", signed.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static final class CachedUrl {
+        private final String url;
+        private final long reuseUntil;
+
+        private CachedUrl(String url, long reuseUntil) {
+            this.url = url;
+            this.reuseUntil = reuseUntil;
+        }
+
+        private boolean isReusable(long now) {
+            return now < reuseUntil;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
+import com.story.game.infrastructure.config.FileUploadProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,7 +15,9 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -23,6 +26,8 @@ import java.util.UUID;
 public class S3Service {
 
     private final AmazonS3 amazonS3;
+    private final PresignedUrlCache presignedUrlCache;
+    private final FileUploadProperties fileUploadProperties;
 
     @Value("${aws.s3.bucket}")
     private String bucketName;
@@ -53,11 +58,25 @@ public class S3Service {
 
     /**
      * Pre-signed URL 생성 (다운로드용)
+     * 재사용 기간 안에는 캐시된 URL을 반환 (PresignedUrlCache)
      */
     public String generatePresignedDownloadUrl(String fileKey) {
+        return presignedUrlCache.get(fileKey, this::signDownloadUrl);
+    }
+
+    /**
+     * Pre-signed URL 일괄 생성 (다운로드용, 목록 API)
+     *
+     * @return fileKey -> URL (서명에 실패한 키는 제외)
+     */
+    public Map<String, String> generatePresignedDownloadUrls(Collection<String> fileKeys) {
+        return presignedUrlCache.getAll(fileKeys, this::signDownloadUrl);
+    }
+
+    private String signDownloadUrl(String fileKey) {
         Date expiration = new Date();
         long expTimeMillis = expiration.getTime();
-        expTimeMillis += 1000 * 60 * 60 * 24 * 7; // 7일 유효
+        expTimeMillis += fileUploadProperties.getPresignedDownloadUrlExpiration() * 1000L;
         expiration.setTime(expTimeMillis);
 
         GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, fileKey)
@@ -141,6 +160,7 @@ public class S3Service {
     public void deleteFile(String fileKey) {
         try {
             amazonS3.deleteObject(bucketName, fileKey);
+            presignedUrlCache.evict(fileKey);
             log.info("File deleted from S3: {}", fileKey);
         } catch (Exception e) {
             log.error("Failed to delete file from S3: {}", fileKey, e);
@@ -13,6 +13,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/rag")
@@ -64,7 +65,7 @@ public class RagController {
                     "대화 내역은 자동으로 저장되며, 프론트엔드는 conversationHistory를 전달하지 않아도 됩니다."
     )
     @PostMapping("/chat")
-    public ResponseEntity<ChatMessageResponseDto> sendMessage(
+    public CompletableFuture<ResponseEntity<ChatMessageResponseDto>> sendMessage(
             @AuthenticationPrincipal UserDetails userDetails,
             @Valid @RequestBody ChatMessageRequestDto request) {
         log.info("=== Chat Message Request ===");
@@ -72,10 +73,12 @@ public class RagController {
         log.info("Character: {}", request.getCharacterId());
         log.info("User message: {}", request.getUserMessage());
 
-        ChatMessageResponseDto response = ragService.sendMessage(userDetails.getUsername(), request);
-
-        log.info("AI response received");
-        return ResponseEntity.ok(response);
+        // AI 응답을 기다리는 동안 서블릿 스레드를 반환 (MVC 비동기 처리)
+        return ragService.sendMessageAsync(userDetails.getUsername(), request)
+                .thenApply(response -> {
+                    log.info("AI response received");
+                    return ResponseEntity.ok(response);
+                });
     }
 
     @Operation(
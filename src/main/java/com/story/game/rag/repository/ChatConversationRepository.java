@@ -5,6 +5,7 @@ import com.story.game.rag.entity.ChatConversation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +17,6 @@ public interface ChatConversationRepository extends JpaRepository<ChatConversati
     List<ChatConversation> findByUserOrderByUpdatedAtDesc(User user);
 
     List<ChatConversation> findByUserAndStoryIdOrderByUpdatedAtDesc(User user, String storyId);
+
+    List<ChatConversation> findByUserAndStoryIdAndUpdatedAtLessThanEqual(User user, String storyId, LocalDateTime cutoff);
 }
@@ -0,0 +1,353 @@
+package com.story.game.rag.service;
+
+import com.story.game.rag.dto.GameProgressUpdateRequestDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NPC AI 게임 진행 업데이트 / 대화 정리 비동기 전송기
+ *
+ * 선택지 처리 스레드는 이벤트를 큐에 넣고 바로 반환하며, 전용 워커가 relay 서버로 전송한다.
+ * - 큐는 storyCreationId별로 이벤트를 모아 두고, 워커가 한 번에 최대 max-batch건을 묶어 전송
+ * - 같은 스토리는 동시에 하나의 요청만 전송하여 순서를 유지
+ * - 큐가 가득 차면 drop-policy에 따라 가장 오래된 이벤트 또는 새 이벤트를 버림 (NPC 진행 정보는 부가 기능)
+ * - 전송 실패 시 지수 백오프로 max-retries까지 재시도
+ */
+@Component
+@Slf4j
+public class NpcProgressDispatcher {
+
+    public enum DropPolicy {
+        DROP_OLDEST, DROP_NEWEST
+    }
+
+    private final RagService ragService;
+    private final int capacity;
+    private final int maxBatch;
+    private final int workerCount;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final DropPolicy dropPolicy;
+
+    private final Object lock = new Object();
+    // storyCreationId -> 전송 대기 이벤트 (삽입 순서 = 전송 순서)
+    private final LinkedHashMap<String, ArrayDeque<Event>> pending = new LinkedHashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private int pendingEvents;
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    // 대화 정리: username:storyId -> cutoff (같은 키의 요청은 하나로 합침)
+    private final ConcurrentHashMap<String, LocalDateTime> pendingCleanups = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor cleanupExecutor;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batchesSent = new AtomicLong();
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cleanupsRun = new AtomicLong();
+    private final AtomicLong cleanupsCoalesced = new AtomicLong();
+    private final AtomicLong cleanupsDropped = new AtomicLong();
+    private volatile long lastLagMs;
+    private volatile long maxLagMs;
+
+    public NpcProgressDispatcher(RagService ragService,
+                                 @Value("${game.npc-progress.queue-capacity:1000}") int capacity,
+                                 @Value("${game.npc-progress.max-batch:20}") int maxBatch,
+                                 @Value("${game.npc-progress.workers:2}") int workerCount,
+                                 @Value("${game.npc-progress.max-retries:3}") int maxRetries,
+                                 @Value("${game.npc-progress.retry-backoff-ms:500}") long retryBackoffMs,
+                                 @Value("${game.npc-progress.drop-policy:DROP_OLDEST}") DropPolicy dropPolicy) {
+        this.ragService = ragService;
+        this.capacity = capacity;
+        this.maxBatch = maxBatch;
+        this.workerCount = workerCount;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.dropPolicy = dropPolicy;
+        this.cleanupExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), namedThreads("npc-conversation-cleanup-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        workers = Executors.newFixedThreadPool(workerCount, namedThreads("npc-progress-"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::workLoop);
+        }
+        log.info("NPC progress dispatcher started: workers={}, capacity={}, maxBatch={}, dropPolicy={}",
+                workerCount, capacity, maxBatch, dropPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        if (workers != null) {
+            workers.shutdown();
+        }
+        cleanupExecutor.shutdown();
+        try {
+            if (workers != null) {
+                workers.awaitTermination(5, TimeUnit.SECONDS);
+            }
+            cleanupExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            if (pendingEvents > 0) {
+                log.warn("NPC progress dispatcher stopped with {} unsent events", pendingEvents);
+            }
+        }
+    }
+
+    /**
+     * 게임 진행 업데이트 이벤트 등록 (블로킹 없음)
+     *
+     * @return 큐에 들어갔으면 true, drop-policy로 버려졌으면 false
+     */
+    public boolean submit(GameProgressUpdateRequestDto request) {
+        String key = request.getCharacterId();
+        synchronized (lock) {
+            if (pendingEvents >= capacity) {
+                if (dropPolicy == DropPolicy.DROP_NEWEST || !dropOldestLocked()) {
+                    dropped.incrementAndGet();
+                    log.debug("NPC progress queue full, dropping new event for story: {}", key);
+                    return false;
+                }
+            }
+
+            ArrayDeque<Event> events = pending.get(key);
+            if (events == null) {
+                events = new ArrayDeque<>();
+                pending.put(key, events);
+            } else {
+                coalesced.incrementAndGet();
+            }
+            events.addLast(new Event(request.getContent(), System.nanoTime()));
+            pendingEvents++;
+            submitted.incrementAndGet();
+            lock.notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * 스토리 대화 내역 정리 등록 (블로킹 없음)
+     * 이미 대기 중인 정리 요청이 있으면 cutoff만 갱신하여 하나로 합친다.
+     */
+    public void submitConversationCleanup(String username, String storyId) {
+        String key = username + ":" + storyId;
+        LocalDateTime cutoff = LocalDateTime.now();
+        if (pendingCleanups.put(key, cutoff) != null) {
+            cleanupsCoalesced.incrementAndGet();
+            return;
+        }
+
+        try {
+            cleanupExecutor.execute(() -> {
+                LocalDateTime latestCutoff = pendingCleanups.remove(key);
+                if (latestCutoff == null) {
+                    return;
+                }
+                try {
+                    ragService.deleteConversationsByStoryIdBefore(username, storyId, latestCutoff);
+                    cleanupsRun.incrementAndGet();
+                } catch (Exception e) {
+                    log.warn("Failed to delete conversations (non-critical): {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingCleanups.remove(key, cutoff);
+            cleanupsDropped.incrementAndGet();
+            log.warn("Conversation cleanup queue full, dropping cleanup for story: {}", storyId);
+        }
+    }
+
+    /**
+     * Get dispatcher statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (lock) {
+            stats.put("queueSize", pendingEvents);
+            stats.put("queueCapacity", capacity);
+            stats.put("pendingStories", pending.size());
+            stats.put("inFlightStories", inFlight.size());
+            stats.put("oldestPendingAgeMs", oldestPendingAgeMsLocked());
+        }
+        stats.put("submitted", submitted.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("dropped", dropped.get());
+        stats.put("batchesSent", batchesSent.get());
+        stats.put("eventsSent", eventsSent.get());
+        stats.put("retries", retries.get());
+        stats.put("failed", failed.get());
+        stats.put("lastLagMs", lastLagMs);
+        stats.put("maxLagMs", maxLagMs);
+        stats.put("cleanupQueueSize", cleanupExecutor.getQueue().size());
+        stats.put("cleanupsRun", cleanupsRun.get());
+        stats.put("cleanupsCoalesced", cleanupsCoalesced.get());
+        stats.put("cleanupsDropped", cleanupsDropped.get());
+        return stats;
+    }
+
+    private void workLoop() {
+        while (running) {
+            Batch batch;
+            synchronized (lock) {
+                batch = nextBatchLocked();
+                while (batch == null && running) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    batch = nextBatchLocked();
+                }
+            }
+            if (batch == null) {
+                return;
+            }
+
+            try {
+                send(batch);
+            } finally {
+                synchronized (lock) {
+                    inFlight.remove(batch.storyCreationId());
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * 전송 중이 아닌 가장 오래된 스토리의 이벤트를 최대 max-batch건 꺼냄
+     */
+    private Batch nextBatchLocked() {
+        Iterator<Map.Entry<String, ArrayDeque<Event>>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, ArrayDeque<Event>> entry = iterator.next();
+            if (inFlight.contains(entry.getKey())) {
+                continue;
+            }
+
+            ArrayDeque<Event> events = entry.getValue();
+            List<String> contents = new ArrayList<>(Math.min(events.size(), maxBatch));
+            long oldest = events.peekFirst().enqueuedAt();
+            while (!events.isEmpty() && contents.size() < maxBatch) {
+                contents.add(events.pollFirst().content());
+            }
+            if (events.isEmpty()) {
+                iterator.remove();
+            }
+            pendingEvents -= contents.size();
+            inFlight.add(entry.getKey());
+            return new Batch(entry.getKey(), contents, oldest);
+        }
+        return null;
+    }
+
+    private boolean dropOldestLocked() {
+        Iterator<Map.Entry<String, ArrayDeque<Event>>> iterator = pending.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        Map.Entry<String, ArrayDeque<Event>> eldest = iterator.next();
+        eldest.getValue().pollFirst();
+        if (eldest.getValue().isEmpty()) {
+            iterator.remove();
+        }
+        pendingEvents--;
+        dropped.incrementAndGet();
+        log.debug("NPC progress queue full, dropped oldest event for story: {}", eldest.getKey());
+        return true;
+    }
+
+    private long oldestPendingAgeMsLocked() {
+        long oldest = Long.MAX_VALUE;
+        for (ArrayDeque<Event> events : pending.values()) {
+            if (!events.isEmpty()) {
+                oldest = Math.min(oldest, events.peekFirst().enqueuedAt());
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+    }
+
+    private void send(Batch batch) {
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0) {
+                retries.incrementAndGet();
+                try {
+                    Thread.sleep(retryBackoffMs << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            if (Boolean.TRUE.equals(ragService.updateGameProgressBatch(batch.storyCreationId(), batch.contents()))) {
+                long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.oldestEnqueuedAt());
+                lastLagMs = lag;
+                maxLagMs = Math.max(maxLagMs, lag);
+                batchesSent.incrementAndGet();
+                eventsSent.addAndGet(batch.contents().size());
+                return;
+            }
+
+            if (!running) {
+                break;
+            }
+        }
+
+        failed.addAndGet(batch.contents().size());
+        log.warn("Failed to send {} game progress events to NPC AI for story {} after {} retries (non-critical)",
+                batch.contents().size(), batch.storyCreationId(), maxRetries);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Event(String content, long enqueuedAt) {
+    }
+
+    private record Batch(String storyCreationId, List<String> contents, long oldestEnqueuedAt) {
+    }
+}
@@ -4,33 +4,52 @@ import com.story.game.auth.entity.User;
 import com.story.game.auth.repository.UserRepository;
 import com.story.game.creation.entity.StoryCreation;
 import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.infrastructure.relay.RelayEndpoint;
+import com.story.game.infrastructure.relay.RelayGateway;
+import com.story.game.infrastructure.relay.RelayRejectedException;
 import com.story.game.rag.dto.*;
 import com.story.game.rag.entity.ChatConversation;
 import com.story.game.rag.entity.ChatMessage;
 import com.story.game.rag.repository.ChatConversationRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RagService {
 
-    private final WebClient relayServerWebClient;
+    private final RelayGateway relayGateway;
     private final ChatConversationRepository chatConversationRepository;
     private final UserRepository userRepository;
     private final StoryCreationRepository storyCreationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RagService(RelayGateway relayGateway,
+                      ChatConversationRepository chatConversationRepository,
+                      UserRepository userRepository,
+                      StoryCreationRepository storyCreationRepository,
+                      PlatformTransactionManager transactionManager) {
+        this.relayGateway = relayGateway;
+        this.chatConversationRepository = chatConversationRepository;
+        this.userRepository = userRepository;
+        this.storyCreationRepository = storyCreationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * 소설 원본을 RAG 시스템에 인덱싱
@@ -50,11 +69,11 @@ public class RagService {
             aiNpcRequest.put("bucket", "pillango-front");
             aiNpcRequest.put("character_name", request.getTitle());
 
-            Map<String, Object> result = relayServerWebClient.post()
+            Map<String, Object> result = relayGateway.call(RelayEndpoint.ANALYSIS, client -> client.post()
                     .uri("/ai-npc/api/ai/train-from-s3")
                     .bodyValue(aiNpcRequest)
                     .retrieve()
-                    .bodyToMono(Map.class)
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
                     .block();
 
             log.info("Novel indexing result: {}", result);
@@ -89,11 +108,11 @@ public class RagService {
             aiNpcRequest.put("character_name", request.getName());
             aiNpcRequest.put("character_description", request.getDescription());
 
-            Map<String, Object> result = relayServerWebClient.post()
+            Map<String, Object> result = relayGateway.call(RelayEndpoint.RAG, client -> client.post()
                     .uri("/ai-npc/api/ai/character")
                     .bodyValue(aiNpcRequest)
                     .retrieve()
-                    .bodyToMono(Map.class)
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
                     .block();
 
             log.info("Character indexing result: {}", result);
@@ -114,15 +133,53 @@ public class RagService {
     }
 
     /**
-     * 캐릭터 챗봇에게 메시지 전송 및 대화 내역 저장
+     * 캐릭터 챗봇에게 메시지 전송 및 대화 내역 저장 (비동기)
+     *
+     * 대화 준비와 메시지 저장만 짧은 트랜잭션으로 처리하고, AI 응답을 기다리는 동안에는
+     * 요청 스레드와 DB 커넥션을 잡지 않는다. relay 호출은 chat bulkhead를 거친다.
      */
-    @Transactional
-    public ChatMessageResponseDto sendMessage(String username, ChatMessageRequestDto request) {
+    public CompletableFuture<ChatMessageResponseDto> sendMessageAsync(String username, ChatMessageRequestDto request) {
         log.info("=== Send Chat Message ===");
         log.info("Username: {}", username);
         log.info("Character ID (원본): {}", request.getCharacterId());
         log.info("User message: {}", request.getUserMessage());
 
+        Long conversationId = transactionTemplate.execute(status -> prepareConversation(username, request));
+
+        // AI-NPC 서버 스펙에 맞게 필드명 변환
+        Map<String, Object> aiNpcRequest = new HashMap<>();
+        aiNpcRequest.put("session_id", request.getCharacterId());
+        aiNpcRequest.put("character_name", request.getCharacterName());
+        aiNpcRequest.put("message", request.getUserMessage());
+
+        log.info("AI-NPC 서버로 전송: {}", aiNpcRequest);
+
+        return relayGateway.<Map<String, Object>>call(RelayEndpoint.CHAT, client -> client.post()
+                        .uri("/ai-npc/api/ai/chat")
+                        .bodyValue(aiNpcRequest)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
+                // 응답 저장은 블로킹 JPA 작업이므로 Netty 이벤트 루프에서 벗어나 처리
+                .publishOn(Schedulers.boundedElastic())
+                .map(responseMap -> {
+                    String aiMessage = (String) responseMap.get("response");
+                    log.info("AI response: {}", aiMessage);
+
+                    transactionTemplate.executeWithoutResult(status ->
+                            saveExchange(conversationId, request.getUserMessage(), aiMessage));
+
+                    return ChatMessageResponseDto.builder()
+                            .aiMessage(aiMessage)
+                            .build();
+                })
+                .onErrorMap(this::toChatException)
+                .toFuture();
+    }
+
+    /**
+     * 대화 조회/생성 후 요청에 대화 내역, 캐릭터 이름, 스토리 ID를 채움
+     */
+    private Long prepareConversation(String username, ChatMessageRequestDto request) {
         // characterId에서 storyId와 캐릭터 이름 추출 (story_39a5d3b1_로미오 → story_39a5d3b1, 로미오)
         String characterId = request.getCharacterId();
         String storyId = characterId;
@@ -182,60 +239,49 @@ public class RagService {
         log.info("Python RAG 서버로 전송: character_id={}, story_id={}, character_name={}",
                 request.getCharacterId(), storyId, request.getCharacterName());
 
-        try {
-            // AI-NPC 서버 스펙에 맞게 필드명 변환
-            Map<String, Object> aiNpcRequest = new HashMap<>();
-            aiNpcRequest.put("session_id", request.getCharacterId());
-            aiNpcRequest.put("character_name", request.getCharacterName());
-            aiNpcRequest.put("message", request.getUserMessage());
-
-            log.info("AI-NPC 서버로 전송: {}", aiNpcRequest);
+        return conversation.getId();
+    }
 
-            Map<String, Object> responseMap = relayServerWebClient.post()
-                    .uri("/ai-npc/api/ai/chat")
-                    .bodyValue(aiNpcRequest)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
+    /**
+     * 사용자 메시지와 AI 응답을 대화 내역에 저장
+     */
+    private void saveExchange(Long conversationId, String userContent, String aiMessage) {
+        ChatConversation conversation = chatConversationRepository.findById(conversationId)
+                .orElseThrow(() -> new RuntimeException("Conversation not found: " + conversationId));
+
+        // 사용자 메시지 저장
+        ChatMessage userMessage = ChatMessage.builder()
+                .role("user")
+                .content(userContent)
+                .build();
+        conversation.addMessage(userMessage);
 
-            if (responseMap != null) {
-                String aiMessage = (String) responseMap.get("response");
-                log.info("AI response: {}", aiMessage);
-
-                // 사용자 메시지 저장
-                ChatMessage userMessage = ChatMessage.builder()
-                        .role("user")
-                        .content(request.getUserMessage())
-                        .build();
-                conversation.addMessage(userMessage);
-
-                // AI 응답 저장
-                ChatMessage assistantMessage = ChatMessage.builder()
-                        .role("assistant")
-                        .content(aiMessage)
-                        .build();
-                conversation.addMessage(assistantMessage);
-
-                chatConversationRepository.save(conversation);
-
-                return ChatMessageResponseDto.builder()
-                        .aiMessage(aiMessage)
-                        .build();
-            }
+        // AI 응답 저장
+        ChatMessage assistantMessage = ChatMessage.builder()
+                .role("assistant")
+                .content(aiMessage)
+                .build();
+        conversation.addMessage(assistantMessage);
 
-            return null;
+        chatConversationRepository.save(conversation);
+    }
 
-        } catch (WebClientResponseException e) {
+    private Throwable toChatException(Throwable e) {
+        if (e instanceof WebClientResponseException ex) {
             log.error("Relay server returned error while sending chat message - Status: {}, Body: {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Failed to send chat message: RAG server error - " + e.getStatusCode());
-        } catch (WebClientRequestException e) {
+                    ex.getStatusCode(), ex.getResponseBodyAsString());
+            return new RuntimeException("Failed to send chat message: RAG server error - " + ex.getStatusCode());
+        }
+        if (e instanceof WebClientRequestException) {
             log.error("Failed to connect to relay server while sending chat message: {}", e.getMessage());
-            throw new RuntimeException("Failed to send chat message: Cannot connect to RAG server");
-        } catch (Exception e) {
-            log.error("Unexpected error while sending chat message", e);
-            throw new RuntimeException("Failed to send chat message: " + e.getMessage());
+            return new RuntimeException("Failed to send chat message: Cannot connect to RAG server");
+        }
+        if (e instanceof RelayRejectedException) {
+            log.warn("Chat request rejected by relay bulkhead: {}", e.getMessage());
+            return e;
         }
+        log.error("Unexpected error while sending chat message", e);
+        return new RuntimeException("Failed to send chat message: " + e.getMessage());
     }
 
     /**
@@ -359,6 +405,23 @@ public class RagService {
         log.info("Deleted {} conversations for story: {}", count, storyId);
     }
 
+    /**
+     * 특정 스토리의 대화 내역 중 cutoff 이전에 마지막으로 갱신된 것만 삭제
+     * 비동기 정리 시 요청 이후에 이어진 대화는 남겨두기 위해 사용
+     */
+    @Transactional
+    public int deleteConversationsByStoryIdBefore(String username, String storyId, LocalDateTime cutoff) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+
+        List<ChatConversation> conversations = chatConversationRepository
+                .findByUserAndStoryIdAndUpdatedAtLessThanEqual(user, storyId, cutoff);
+
+        chatConversationRepository.deleteAll(conversations);
+        log.debug("Deleted {} conversations for story: {} (cutoff: {})", conversations.size(), storyId, cutoff);
+        return conversations.size();
+    }
+
     /**
      * 사용자의 모든 대화 내역 삭제
      */
@@ -387,12 +450,12 @@ public class RagService {
         log.info("StoryId: {}", storyId);
 
         try {
-            Boolean result = relayServerWebClient.delete()
+            Boolean result = relayGateway.call(RelayEndpoint.RAG, client -> client.delete()
                     .uri(uriBuilder -> uriBuilder
                             .path("/ai-npc/api/ai/session/{storyId}")
                             .build(storyId))
                     .retrieve()
-                    .bodyToMono(Boolean.class)
+                    .bodyToMono(Boolean.class))
                     .block();
 
             log.info("RAG deletion result for story {}: {}", storyId, result);
@@ -416,20 +479,28 @@ public class RagService {
      * 게임 진행 상황을 NPC AI에 업데이트
      */
     public Boolean updateGameProgress(GameProgressUpdateRequestDto request) {
+        return updateGameProgressBatch(request.getCharacterId(), List.of(request.getContent()));
+    }
+
+    /**
+     * 같은 스토리의 게임 진행 상황 여러 건을 한 번의 요청으로 NPC AI에 업데이트
+     * 내용은 발생 순서대로 이어 붙여 전송
+     */
+    public Boolean updateGameProgressBatch(String sessionId, List<String> contents) {
         log.info("=== Update Game Progress ===");
-        log.info("Character: {}", request.getCharacterId());
+        log.info("Character: {}, events: {}", sessionId, contents.size());
 
         try {
             // AI-NPC 서버 스펙에 맞게 변환
             Map<String, Object> aiNpcRequest = new HashMap<>();
-            aiNpcRequest.put("session_id", request.getCharacterId());
-            aiNpcRequest.put("content", request.getContent());
+            aiNpcRequest.put("session_id", sessionId);
+            aiNpcRequest.put("content", String.join("\n\n", contents));
 
-            Map<String, Object> result = relayServerWebClient.post()
+            Map<String, Object> result = relayGateway.call(RelayEndpoint.RAG, client -> client.post()
                     .uri("/ai-npc/api/ai/update")
                     .bodyValue(aiNpcRequest)
                     .retrieve()
-                    .bodyToMono(Map.class)
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
                     .block();
 
             log.info("Game progress update result: {}", result);
@@ -464,11 +535,11 @@ public class RagService {
             aiNpcRequest.put("character_name", request.getCharacterName());
             aiNpcRequest.put("character_description", request.getCharacterDescription());
 
-            Map<String, Object> result = relayServerWebClient.post()
+            Map<String, Object> result = relayGateway.call(RelayEndpoint.RAG, client -> client.post()
                     .uri("/ai-npc/api/ai/character")
                     .bodyValue(aiNpcRequest)
                     .retrieve()
-                    .bodyToMono(Map.class)
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}))
                     .block();
 
             log.info("Character set result: {}", result);
@@ -4,6 +4,8 @@ import com.story.game.creation.entity.StoryCreation;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -49,6 +51,15 @@ public class Episode {
     private List<StoryNode> nodes = new ArrayList<>();
 
     @OneToMany(mappedBy = "episode", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("endingOrder ASC")
     @Builder.Default
     private List<EpisodeEnding> endings = new ArrayList<>();
+
+    /**
+     * 저장 시점에 계산한 엔딩 결정 테이블 (EndingDecisionTable.Spec JSON)
+     * 엔딩 조건식이 바뀌면 로드 시 다시 계산하므로 없어도 된다
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "ending_table", columnDefinition = "TEXT")
+    private String endingTable;
 }
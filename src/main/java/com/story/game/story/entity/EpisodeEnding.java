@@ -37,6 +37,12 @@ public class EpisodeEnding {
     @Column(nullable = false)
     private String title;
 
+    /**
+     * 에피소드 내 엔딩 순서 (조건식은 이 순서대로 평가)
+     */
+    @Column(name = "ending_order")
+    private Integer endingOrder;
+
     @Column(name = "`condition`", columnDefinition = "TEXT")
     private String condition;
 
@@ -6,19 +6,26 @@ import com.story.game.common.dto.EpisodeDto;
 import com.story.game.common.dto.FullStoryDto;
 import com.story.game.common.dto.StoryChoiceDto;
 import com.story.game.common.dto.StoryNodeDto;
+import com.story.game.creation.context.StoryContext;
+import com.story.game.creation.context.StoryContextCache;
 import com.story.game.creation.entity.StoryCreation;
+import com.story.game.gameplay.condition.EndingDecisionTable;
 import com.story.game.story.entity.Episode;
 import com.story.game.story.entity.EpisodeEnding;
 import com.story.game.story.entity.StoryChoice;
 import com.story.game.story.entity.StoryNode;
 import com.story.game.story.repository.EpisodeRepository;
+import com.story.game.story.writer.EpisodeBulkWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -33,30 +40,58 @@ public class StoryMapper {
 
     private final ObjectMapper objectMapper;
     private final EpisodeRepository episodeRepository;
+    private final StoryContextCache storyContextCache;
+    private final EpisodeBulkWriter episodeBulkWriter;
+
+    @Value("${game.episode-bulk-write.enabled:true}")
+    private boolean bulkWriteEnabled;
 
     @Transactional
     public List<StoryNode> saveEpisodeDtoToDb(EpisodeDto episodeDto, StoryCreation storyCreation) {
         Episode episode = toEpisodeEntity(episodeDto, storyCreation);
         List<StoryNode> allNodes = new ArrayList<>();
+        List<StoryChoice> allChoices = new ArrayList<>();
         if (episodeDto.getNodes() != null && !episodeDto.getNodes().isEmpty()) {
             StoryNode rootNode = toStoryNodeEntityRecursive(episodeDto.getNodes().get(0), episode, null);
-            flattenNodeTree(rootNode, allNodes, new HashSet<>());
+            flattenNodeTree(rootNode, allNodes, allChoices);
             episode.setNodes(allNodes);
         }
-        episodeRepository.save(episode);
+
+        if (bulkWriteEnabled) {
+            // UUID를 미리 할당하고 테이블별 multi-row INSERT로 저장
+            episode.setId(UUID.randomUUID());
+            allNodes.forEach(node -> node.setId(UUID.randomUUID()));
+            allChoices.forEach(choice -> choice.setId(UUID.randomUUID()));
+            episode.getEndings().forEach(ending -> ending.setId(UUID.randomUUID()));
+            episodeBulkWriter.write(episode, allNodes, allChoices, episode.getEndings());
+        } else {
+            episodeRepository.save(episode);
+        }
 
         // Return the flattened node list for image generation
         return allNodes;
     }
 
-    private void flattenNodeTree(StoryNode node, List<StoryNode> flatList, Set<StoryNode> visited) {
-        if (node == null || !visited.add(node)) { // Cycle detection
-            return;
-        }
-        flatList.add(node);
-        if (node.getOutgoingChoices() != null) {
+    /**
+     * 노드 트리를 너비 우선으로 펼침 (노드는 깊이 순, 선택지는 출발 노드 순)
+     */
+    private void flattenNodeTree(StoryNode root, List<StoryNode> nodes, List<StoryChoice> choices) {
+        Set<StoryNode> visited = new HashSet<>();
+        ArrayDeque<StoryNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        visited.add(root);
+        while (!queue.isEmpty()) {
+            StoryNode node = queue.poll();
+            nodes.add(node);
+            if (node.getOutgoingChoices() == null) {
+                continue;
+            }
             for (StoryChoice choice : node.getOutgoingChoices()) {
-                flattenNodeTree(choice.getDestinationNode(), flatList, visited);
+                choices.add(choice);
+                StoryNode destination = choice.getDestinationNode();
+                if (destination != null && visited.add(destination)) { // Cycle detection
+                    queue.add(destination);
+                }
             }
         }
     }
@@ -68,49 +103,32 @@ public class StoryMapper {
                 .map(this::toEpisodeDto)
                 .collect(Collectors.toList());
 
-        // Build metadata
-        int totalNodes = (int) episodes.stream()
-                .flatMap(ep -> ep.getNodes().stream())
-                .count();
-
-        List<String> tempGaugeIds = new ArrayList<>();
-        if (storyCreation.getSelectedGaugeIdsJson() != null) {
-            try {
-                tempGaugeIds = objectMapper.readValue(storyCreation.getSelectedGaugeIdsJson(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
-            } catch (JsonProcessingException e) {
-                log.error("Failed to parse selected gauge IDs", e);
-            }
-        }
-        final List<String> gaugeIds = tempGaugeIds;
+        int totalNodes = episodeDtos.stream()
+                .mapToInt(ep -> ep.getNodes() != null ? ep.getNodes().size() : 0)
+                .sum();
+        return toFullStoryDto(storyCreation, episodeDtos, totalNodes);
+    }
 
-        List<com.story.game.common.dto.GaugeDto> gauges = new ArrayList<>();
-        if (storyCreation.getGaugesJson() != null) {
-            try {
-                gauges = objectMapper.readValue(storyCreation.getGaugesJson(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, com.story.game.common.dto.GaugeDto.class));
-            } catch (JsonProcessingException e) {
-                log.error("Failed to parse gauges", e);
-            }
-        }
+    /**
+     * 스토리 메타데이터/컨텍스트와 주어진 에피소드 목록으로 FullStoryDto 조립
+     * (에피소드별 스냅샷은 노드 수만 알고 있으므로 totalNodes를 따로 받음)
+     */
+    public FullStoryDto toFullStoryDto(StoryCreation storyCreation, List<EpisodeDto> episodeDtos, int totalNodes) {
+        // 게이지/캐릭터/엔딩 JSON은 StoryContextCache에서 파싱된 값을 재사용
+        StoryContext storyContext = storyContextCache.get(storyCreation);
+        List<String> gaugeIds = storyContext.getSelectedGaugeIds();
+        List<com.story.game.common.dto.GaugeDto> gauges = storyContext.getGauges();
 
+        // Build metadata
         FullStoryDto.MetadataDto metadata = FullStoryDto.MetadataDto.builder()
-                .totalEpisodes(episodes.size())
+                .totalEpisodes(episodeDtos.size())
                 .totalNodes(totalNodes)
-                .gauges(gaugeIds)
+                .gauges(new ArrayList<>(gaugeIds))
                 .characterCount(0) // Can be calculated if needed
                 .build();
 
         // Build context
-        List<com.story.game.common.dto.CharacterDto> characters = new ArrayList<>();
-        if (storyCreation.getCharactersJson() != null) {
-            try {
-                characters = objectMapper.readValue(storyCreation.getCharactersJson(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, com.story.game.common.dto.CharacterDto.class));
-            } catch (JsonProcessingException e) {
-                log.error("Failed to parse characters", e);
-            }
-        }
+        List<com.story.game.common.dto.CharacterDto> characters = new ArrayList<>(storyContext.getCharacters());
 
         List<com.story.game.common.dto.GaugeDto> selectedGauges = new ArrayList<>();
         if (!gaugeIds.isEmpty() && !gauges.isEmpty()) {
@@ -119,15 +137,9 @@ public class StoryMapper {
                     .collect(Collectors.toList());
         }
 
-        List<com.story.game.common.dto.FinalEndingDto> finalEndings = new ArrayList<>();
-        if (storyCreation.getEndingConfigJson() != null) {
-            try {
-                finalEndings = objectMapper.readValue(storyCreation.getEndingConfigJson(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, com.story.game.common.dto.FinalEndingDto.class));
-            } catch (JsonProcessingException e) {
-                log.error("Failed to parse final endings", e);
-            }
-        }
+        List<com.story.game.common.dto.FinalEndingDto> finalEndings = storyContext.getFinalEndings() != null
+                ? new ArrayList<>(storyContext.getFinalEndings())
+                : new ArrayList<>();
 
         FullStoryDto.ContextDto context = FullStoryDto.ContextDto.builder()
                 .novelSummary(storyCreation.getSummary())
@@ -176,12 +188,23 @@ public class StoryMapper {
                 .build();
 
         if (dto.getEndings() != null) {
-            List<EpisodeEnding> endings = dto.getEndings().stream()
-                    .map(endingDto -> toEpisodeEndingEntity(endingDto, episode))
-                    .collect(Collectors.toList());
+            List<EpisodeEnding> endings = new ArrayList<>();
+            for (int i = 0; i < dto.getEndings().size(); i++) {
+                endings.add(toEpisodeEndingEntity(dto.getEndings().get(i), episode, i));
+            }
             episode.setEndings(endings);
         }
 
+        // 엔딩 조건식을 저장 시점에 결정 테이블로 컴파일 (플레이 중에는 조회만)
+        List<String> conditions = episode.getEndings().stream()
+                .map(EpisodeEnding::getCondition)
+                .collect(Collectors.toList());
+        try {
+            episode.setEndingTable(objectMapper.writeValueAsString(EndingDecisionTable.compile(conditions).toSpec()));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize ending decision table for episode: {}", dto.getTitle(), e);
+        }
+
         return episode;
     }
 
@@ -260,7 +283,7 @@ public class StoryMapper {
                 .build();
     }
 
-    private EpisodeEnding toEpisodeEndingEntity(com.story.game.common.dto.EpisodeEndingDto dto, Episode episode) {
+    private EpisodeEnding toEpisodeEndingEntity(com.story.game.common.dto.EpisodeEndingDto dto, Episode episode, int order) {
         String gaugeChangesJson = null;
         if (dto.getGaugeChanges() != null) {
             try {
@@ -273,6 +296,7 @@ public class StoryMapper {
                 .episode(episode)
                 .aiGeneratedId(dto.getId())  // AI가 생성한 ID 저장
                 .title(dto.getTitle())
+                .endingOrder(order)
                 .condition(dto.getCondition())
                 .text(dto.getText())
                 .gaugeChanges(gaugeChangesJson)
@@ -294,9 +318,23 @@ public class StoryMapper {
                 .introText(episode.getIntroText())
                 .nodes(episode.getNodes() != null ? episode.getNodes().stream().map(this::toStoryNodeDto).collect(Collectors.toList()) : Collections.emptyList())
                 .endings(episode.getEndings() != null ? episode.getEndings().stream().map(this::toEpisodeEndingDto).collect(Collectors.toList()) : Collections.emptyList())
+                .endingTable(readEndingTable(episode))
                 .build();
     }
 
+    private EndingDecisionTable.Spec readEndingTable(Episode episode) {
+        if (episode.getEndingTable() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(episode.getEndingTable(), EndingDecisionTable.Spec.class);
+        } catch (JsonProcessingException e) {
+            // 형식이 맞지 않으면 그래프 생성 시 다시 컴파일
+            log.warn("Failed to parse ending decision table for episode {}: {}", episode.getId(), e.getMessage());
+            return null;
+        }
+    }
+
     public StoryNodeDto toStoryNodeDto(StoryNode node) {
         return toStoryNodeDto(node, new HashSet<>());
     }
@@ -324,22 +362,26 @@ public class StoryMapper {
         // Build details from entity fields
         StoryNodeDto.StoryNodeDetailDto details = buildNodeDetails(node);
 
+        // Choices and children share the same order (choice_order), so choices[i] leads to children[i]
+        List<StoryChoice> orderedChoices = node.getOutgoingChoices() != null
+                ? node.getOutgoingChoices().stream()
+                        .sorted(Comparator.comparing(StoryChoice::getChoiceOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .collect(Collectors.toList())
+                : Collections.emptyList();
+
         StoryNodeDto.StoryNodeDtoBuilder builder = StoryNodeDto.builder()
                 .id(node.getId().toString())
                 .depth(node.getDepth())
                 .text(node.getText())
                 .nodeType(node.getNodeType())
+                .imageFileKey(node.getImageFileKey())
                 .details(details)
-                .choices(
-                        node.getOutgoingChoices() != null ?
-                        node.getOutgoingChoices().stream()
-                                .map(this::toStoryChoiceDto)
-                                .collect(Collectors.toList())
-                        : Collections.emptyList()
-                );
+                .choices(orderedChoices.stream()
+                        .map(this::toStoryChoiceDto)
+                        .collect(Collectors.toList()));
 
         // Recursively map children with visited nodes tracking
-        List<StoryNodeDto> children = node.getOutgoingChoices().stream()
+        List<StoryNodeDto> children = orderedChoices.stream()
                 .map(StoryChoice::getDestinationNode)
                 .map(childNode -> toStoryNodeDto(childNode, visitedNodes))
                 .collect(Collectors.toList());
@@ -13,5 +13,7 @@ import java.util.UUID;
 public interface StoryNodeRepository extends JpaRepository<StoryNode, UUID> {
     long countByEpisode_Story(StoryCreation story);
 
+    long countByEpisode_StoryAndImageFileKeyIsNull(StoryCreation story);
+
     Optional<StoryNode> findByEpisodeAndDepth(Episode episode, int depth);
 }
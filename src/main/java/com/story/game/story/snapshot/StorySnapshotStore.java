@@ -0,0 +1,366 @@
+package com.story.game.story.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.common.dto.EpisodeDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.infrastructure.s3.S3Service;
+import com.story.game.story.entity.Episode;
+import com.story.game.story.mapper.StoryMapper;
+import com.story.game.story.repository.EpisodeRepository;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 에피소드 단위 S3 스토리 스냅샷
+ *
+ * 스토리 전체를 JSON 하나로 다시 만들어 올리는 대신 manifest + 에피소드별 객체로 나눠 저장한다.
+ * - stories/{storyId}/manifest.json: 메타데이터/컨텍스트와 에피소드별 객체 키 목록
+ * - stories/{storyId}/episodes/{order}.json: 에피소드 하나 (manifest에는 내용 해시를 함께 기록)
+ * 변경된 에피소드만 다시 올리고, 내용 해시가 같으면 업로드를 건너뛴다.
+ * 에피소드 객체는 해시가 manifest와 같은 동안 메모리 캐시를 사용하고,
+ * manifest는 manifest-ttl-ms 동안만 캐시한다 (다른 서버의 변경 반영).
+ * manifest가 없는 기존 스토리는 예전 단일 JSON(legacy 키)을 읽는다.
+ */
+@Component
+@Slf4j
+public class StorySnapshotStore {
+
+    private static final int MANIFEST_VERSION = 1;
+
+    private final S3Service s3Service;
+    private final StoryMapper storyMapper;
+    private final EpisodeRepository episodeRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxCachedEpisodes;
+    private final long manifestTtlNanos;
+
+    // storyId -> 최근 읽거나 쓴 manifest
+    private final ConcurrentHashMap<String, CachedManifest> manifests = new ConcurrentHashMap<>();
+    // 에피소드 객체 키 -> 파싱된 에피소드와 내용 해시
+    private final ConcurrentHashMap<String, CachedEpisode> episodes = new ConcurrentHashMap<>();
+
+    private final AtomicLong manifestHits = new AtomicLong();
+    private final AtomicLong manifestLoads = new AtomicLong();
+    private final AtomicLong episodeHits = new AtomicLong();
+    private final AtomicLong episodeLoads = new AtomicLong();
+    private final AtomicLong episodesUploaded = new AtomicLong();
+    private final AtomicLong episodesUnchanged = new AtomicLong();
+    private final AtomicLong manifestsWritten = new AtomicLong();
+    private final AtomicLong bytesUploaded = new AtomicLong();
+    private final AtomicLong legacyReads = new AtomicLong();
+    private final AtomicLong dbFallbacks = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public StorySnapshotStore(S3Service s3Service,
+                              StoryMapper storyMapper,
+                              EpisodeRepository episodeRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${game.story-snapshot.max-cached-episodes:500}") int maxCachedEpisodes,
+                              @Value("${game.story-snapshot.manifest-ttl-ms:5000}") long manifestTtlMs) {
+        this.s3Service = s3Service;
+        this.storyMapper = storyMapper;
+        this.episodeRepository = episodeRepository;
+        this.objectMapper = objectMapper;
+        this.maxCachedEpisodes = maxCachedEpisodes;
+        this.manifestTtlNanos = TimeUnit.MILLISECONDS.toNanos(manifestTtlMs);
+    }
+
+    public static String manifestKey(String storyId) {
+        return "stories/" + storyId + "/manifest.json";
+    }
+
+    /**
+     * 변경된 에피소드만 다시 올리고 manifest 갱신 (트랜잭션 안에서 호출)
+     *
+     * manifest에 없는 에피소드도 함께 올리므로, 다른 서버의 동시 갱신으로 항목이 빠져도 다음 갱신에서 채워진다.
+     *
+     * @param changedOrders 내용이 바뀐 에피소드 순서
+     * @return manifest 키 (StoryCreation.s3FileKey / StoryData.storyFileKey로 저장)
+     */
+    public String writeEpisodes(StoryCreation storyCreation, Collection<Integer> changedOrders) throws IOException {
+        String storyId = storyCreation.getId();
+        Manifest previous = loadManifest(storyId);
+        Map<Integer, EpisodeEntry> previousEntries = new HashMap<>();
+        if (previous != null) {
+            previous.getEpisodes().forEach(entry -> previousEntries.put(entry.getOrder(), entry));
+        }
+
+        List<EpisodeEntry> entries = new ArrayList<>();
+        for (Episode episode : episodeRepository.findAllByStoryOrderByOrderAsc(storyCreation)) {
+            EpisodeEntry existing = previousEntries.get(episode.getOrder());
+            if (existing != null && existing.getEpisodeId().equals(episode.getId().toString())
+                    && !changedOrders.contains(episode.getOrder())) {
+                entries.add(existing);
+                continue;
+            }
+            entries.add(writeEpisode(storyId, episode, existing));
+        }
+
+        int totalNodes = entries.stream().mapToInt(EpisodeEntry::getNodeCount).sum();
+        FullStoryDto header = storyMapper.toFullStoryDto(storyCreation, List.of(), totalNodes);
+        header.getMetadata().setTotalEpisodes(entries.size());
+        Manifest manifest = Manifest.builder()
+                .version(MANIFEST_VERSION)
+                .storyId(storyId)
+                .metadata(header.getMetadata())
+                .context(header.getContext())
+                .episodes(entries)
+                .build();
+
+        String key = manifestKey(storyId);
+        upload(key, objectMapper.writeValueAsString(manifest));
+        manifests.put(storyId, new CachedManifest(manifest));
+        manifestsWritten.incrementAndGet();
+
+        // 더 이상 없는 에피소드 객체 정리
+        Set<String> liveKeys = new HashSet<>();
+        entries.forEach(entry -> liveKeys.add(entry.getKey()));
+        if (previous != null) {
+            for (EpisodeEntry entry : previous.getEpisodes()) {
+                if (!liveKeys.contains(entry.getKey())) {
+                    deleteQuietly(entry.getKey());
+                    episodes.remove(entry.getKey());
+                }
+            }
+        }
+        return key;
+    }
+
+    /**
+     * 스냅샷 조회 (manifest + 캐시된 에피소드 객체로 조립)
+     *
+     * manifest가 없으면 예전 단일 JSON을, 그것도 없으면 DB에서 만든다.
+     * 반환한 에피소드 객체는 캐시와 공유하므로 수정하지 않는다.
+     */
+    public FullStoryDto read(StoryCreation storyCreation, String legacyFileKey) {
+        String storyId = storyCreation.getId();
+        try {
+            Manifest manifest = loadManifest(storyId);
+            if (manifest != null) {
+                return assemble(manifest);
+            }
+
+            if (legacyFileKey != null && !legacyFileKey.equals(manifestKey(storyId))
+                    && s3Service.fileExists(legacyFileKey)) {
+                legacyReads.incrementAndGet();
+                return objectMapper.readValue(s3Service.downloadFileContent(legacyFileKey), FullStoryDto.class);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read story snapshot for {}, building from DB: {}", storyId, e.getMessage());
+            manifests.remove(storyId);
+        }
+
+        dbFallbacks.incrementAndGet();
+        return storyMapper.buildFullStoryDtoFromDb(storyCreation);
+    }
+
+    /**
+     * 스토리의 스냅샷 객체 모두 삭제
+     */
+    public void delete(String storyId) {
+        try {
+            Manifest manifest = loadManifest(storyId);
+            if (manifest != null) {
+                manifest.getEpisodes().forEach(entry -> {
+                    deleteQuietly(entry.getKey());
+                    episodes.remove(entry.getKey());
+                });
+                deleteQuietly(manifestKey(storyId));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read snapshot manifest for deletion of story {}: {}", storyId, e.getMessage());
+        } finally {
+            manifests.remove(storyId);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cachedManifests", manifests.size());
+        stats.put("cachedEpisodes", episodes.size());
+        stats.put("maxCachedEpisodes", maxCachedEpisodes);
+        stats.put("manifestHits", manifestHits.get());
+        stats.put("manifestLoads", manifestLoads.get());
+        stats.put("episodeHits", episodeHits.get());
+        stats.put("episodeLoads", episodeLoads.get());
+        stats.put("episodesUploaded", episodesUploaded.get());
+        stats.put("episodesUnchanged", episodesUnchanged.get());
+        stats.put("manifestsWritten", manifestsWritten.get());
+        stats.put("bytesUploaded", bytesUploaded.get());
+        stats.put("legacyReads", legacyReads.get());
+        stats.put("dbFallbacks", dbFallbacks.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private EpisodeEntry writeEpisode(String storyId, Episode episode, EpisodeEntry existing) throws IOException {
+        EpisodeDto dto = storyMapper.toEpisodeDto(episode);
+        String json = objectMapper.writeValueAsString(dto);
+        String key = "stories/" + storyId + "/episodes/" + episode.getOrder() + ".json";
+        String hash = contentHash(json);
+        int nodeCount = dto.getNodes() != null ? dto.getNodes().size() : 0;
+
+        if (existing != null && key.equals(existing.getKey()) && hash.equals(existing.getHash())) {
+            episodesUnchanged.incrementAndGet();
+        } else {
+            upload(key, json);
+            episodesUploaded.incrementAndGet();
+        }
+        cacheEpisode(key, new CachedEpisode(dto, hash));
+        return EpisodeEntry.builder()
+                .episodeId(episode.getId().toString())
+                .order(episode.getOrder())
+                .key(key)
+                .hash(hash)
+                .nodeCount(nodeCount)
+                .build();
+    }
+
+    private FullStoryDto assemble(Manifest manifest) throws IOException {
+        List<EpisodeDto> episodeDtos = new ArrayList<>(manifest.getEpisodes().size());
+        for (EpisodeEntry entry : manifest.getEpisodes()) {
+            episodeDtos.add(loadEpisode(entry));
+        }
+        return FullStoryDto.builder()
+                .metadata(manifest.getMetadata())
+                .context(manifest.getContext())
+                .episodes(episodeDtos)
+                .build();
+    }
+
+    private Manifest loadManifest(String storyId) throws IOException {
+        CachedManifest cached = manifests.get(storyId);
+        if (cached != null && System.nanoTime() - cached.loadedAt < manifestTtlNanos) {
+            manifestHits.incrementAndGet();
+            return cached.manifest;
+        }
+
+        String key = manifestKey(storyId);
+        if (!s3Service.fileExists(key)) {
+            manifests.remove(storyId);
+            return null;
+        }
+        manifestLoads.incrementAndGet();
+        Manifest manifest = objectMapper.readValue(s3Service.downloadFileContent(key), Manifest.class);
+        manifests.put(storyId, new CachedManifest(manifest));
+        return manifest;
+    }
+
+    private EpisodeDto loadEpisode(EpisodeEntry entry) throws IOException {
+        CachedEpisode cached = episodes.get(entry.getKey());
+        if (cached != null && cached.hash.equals(entry.getHash())) {
+            episodeHits.incrementAndGet();
+            cached.lastAccess = System.nanoTime();
+            return cached.episode;
+        }
+        // 캐시에 없거나 manifest와 해시가 다름 (다른 서버가 갱신) -> 다시 읽음
+        episodeLoads.incrementAndGet();
+        String json = s3Service.downloadFileContent(entry.getKey());
+        EpisodeDto episode = objectMapper.readValue(json, EpisodeDto.class);
+        cacheEpisode(entry.getKey(), new CachedEpisode(episode, contentHash(json)));
+        return episode;
+    }
+
+    private void cacheEpisode(String key, CachedEpisode episode) {
+        episodes.put(key, episode);
+        while (episodes.size() > maxCachedEpisodes) {
+            episodes.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(eldest -> {
+                        if (episodes.remove(eldest.getKey(), eldest.getValue())) {
+                            evictions.incrementAndGet();
+                        }
+                    });
+        }
+    }
+
+    private void upload(String key, String content) {
+        s3Service.uploadFile(key, content);
+        bytesUploaded.addAndGet(content.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            s3Service.deleteFile(key);
+        } catch (Exception e) {
+            log.warn("Failed to delete snapshot object {} (non-critical): {}", key, e.getMessage());
+        }
+    }
+
+    private static String contentHash(String json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Manifest {
+        private int version;
+        private String storyId;
+        private FullStoryDto.MetadataDto metadata;
+        private FullStoryDto.ContextDto context;
+        private List<EpisodeEntry> episodes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EpisodeEntry {
+        private String episodeId;
+        private int order;
+        private String key;
+        private String hash;
+        private int nodeCount;
+    }
+
+    private static final class CachedManifest {
+        private final Manifest manifest;
+        private final long loadedAt = System.nanoTime();
+
+        private CachedManifest(Manifest manifest) {
+            this.manifest = manifest;
+        }
+    }
+
+    private static final class CachedEpisode {
+        private final EpisodeDto episode;
+        private final String hash;
+        private volatile long lastAccess = System.nanoTime();
+
+        private CachedEpisode(EpisodeDto episode, String hash) {
+            this.episode = episode;
+            this.hash = hash;
+        }
+    }
+}
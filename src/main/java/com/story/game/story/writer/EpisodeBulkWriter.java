@@ -0,0 +1,167 @@
+package com.story.game.story.writer;
+
+import com.story.game.story.entity.Episode;
+import com.story.game.story.entity.EpisodeEnding;
+import com.story.game.story.entity.StoryChoice;
+import com.story.game.story.entity.StoryNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 생성된 에피소드 트리 일괄 저장기
+ *
+ * JPA cascade는 노드/선택지/엔딩마다 INSERT를 한 번씩 보내므로, 큰 에피소드는 저장에만 수 초가 걸린다.
+ * 여기서는 UUID를 미리 할당한 엔티티를 테이블별 multi-row INSERT로 저장한다 (rows-per-statement행씩).
+ * - 노드 ↔ 선택지 FK가 서로를 가리키므로 노드를 parent_choice_id 없이 먼저 넣고,
+ *   선택지를 넣은 뒤 UPDATE 한 번으로 parent_choice_id를 채운다
+ * - 호출한 트랜잭션의 커넥션을 그대로 사용 (JPA와 같은 트랜잭션)
+ * - 저장한 엔티티는 영속성 컨텍스트에 들어가지 않으므로 이후 조회는 DB에서 다시 읽는다
+ */
+@Component
+@Slf4j
+public class EpisodeBulkWriter {
+
+    private static final String EPISODE_COLUMNS =
+            "id, story_creation_id, title, episode_order, description, theme, intro_text, ending_table";
+    private static final String NODE_COLUMNS =
+            "id, episode_id, depth, text, node_type, situation, npc_emotions, relations_update, " +
+            "image_url, image_file_key, image_type";
+    private static final String CHOICE_COLUMNS =
+            "id, source_node_id, destination_node_id, text, choice_order, tags, immediate_reaction";
+    private static final String ENDING_COLUMNS =
+            "id, episode_id, ai_generated_id, title, ending_order, `condition`, text, gauge_changes";
+
+    private static final String LINK_PARENT_CHOICES_SQL =
+            "UPDATE story_nodes n JOIN story_choices c ON c.destination_node_id = n.id " +
+            "SET n.parent_choice_id = c.id WHERE n.episode_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowsPerStatement;
+
+    // UUID 컬럼이 BINARY(16)인지 (JPA가 만든 스키마를 따르므로 처음 저장할 때 한 번 확인)
+    private volatile Boolean binaryUuids;
+
+    private final AtomicLong episodesWritten = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private volatile long lastWriteMs;
+    private volatile long maxWriteMs;
+
+    public EpisodeBulkWriter(JdbcTemplate jdbcTemplate,
+                             @Value("${game.episode-bulk-write.rows-per-statement:200}") int rowsPerStatement) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsPerStatement = Math.max(1, rowsPerStatement);
+    }
+
+    /**
+     * 에피소드 한 개와 노드/선택지/엔딩 저장 (모든 엔티티의 id가 채워져 있어야 함)
+     *
+     * @param nodes 너비 우선 순서의 노드 목록
+     */
+    public void write(Episode episode, List<StoryNode> nodes, List<StoryChoice> choices, List<EpisodeEnding> endings) {
+        long startedAt = System.nanoTime();
+        long before = statements.get();
+
+        insert("episodes", EPISODE_COLUMNS, List.of(episode), e -> new Object[]{
+                uuid(e.getId()), e.getStory().getId(), e.getTitle(), e.getOrder(), e.getDescription(),
+                e.getTheme(), e.getIntroText(), e.getEndingTable()
+        });
+        insert("story_nodes", NODE_COLUMNS, nodes, n -> new Object[]{
+                uuid(n.getId()), uuid(episode.getId()), n.getDepth(), n.getText(), n.getNodeType(),
+                n.getSituation(), n.getNpcEmotions(), n.getRelationsUpdate(),
+                n.getImageUrl(), n.getImageFileKey(), n.getImageType()
+        });
+        insert("story_choices", CHOICE_COLUMNS, choices, c -> new Object[]{
+                uuid(c.getId()), uuid(c.getSourceNode().getId()),
+                c.getDestinationNode() != null ? uuid(c.getDestinationNode().getId()) : null,
+                c.getText(), c.getChoiceOrder(), c.getTags(), c.getImmediateReaction()
+        });
+        insert("episode_endings", ENDING_COLUMNS, endings, e -> new Object[]{
+                uuid(e.getId()), uuid(episode.getId()), e.getAiGeneratedId(), e.getTitle(), e.getEndingOrder(),
+                e.getCondition(), e.getText(), e.getGaugeChanges()
+        });
+        if (choices.stream().anyMatch(choice -> choice.getDestinationNode() != null)) {
+            jdbcTemplate.update(LINK_PARENT_CHOICES_SQL, uuid(episode.getId()));
+            statements.incrementAndGet();
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        lastWriteMs = elapsedMs;
+        maxWriteMs = Math.max(maxWriteMs, elapsedMs);
+        episodesWritten.incrementAndGet();
+        rowsWritten.addAndGet(1L + nodes.size() + choices.size() + endings.size());
+        log.info("Bulk-wrote episode {} ({} nodes, {} choices, {} endings) in {} statements, {}ms",
+                episode.getOrder(), nodes.size(), choices.size(), endings.size(), statements.get() - before, elapsedMs);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rowsPerStatement", rowsPerStatement);
+        stats.put("binaryUuids", binaryUuids);
+        stats.put("episodesWritten", episodesWritten.get());
+        stats.put("rowsWritten", rowsWritten.get());
+        stats.put("statements", statements.get());
+        stats.put("lastWriteMs", lastWriteMs);
+        stats.put("maxWriteMs", maxWriteMs);
+        return stats;
+    }
+
+    /**
+     * rowsPerStatement행씩 INSERT INTO table (columns) VALUES (...), (...), ... 실행
+     */
+    private <T> void insert(String table, String columns, List<T> rows, Function<T, Object[]> toValues) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int columnCount = columns.split(",").length;
+        String rowPlaceholder = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            List<T> chunk = rows.subList(from, Math.min(from + rowsPerStatement, rows.size()));
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(columns).append(") VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * columnCount);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(rowPlaceholder);
+                for (Object value : toValues.apply(chunk.get(i))) {
+                    args.add(value);
+                }
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+            statements.incrementAndGet();
+        }
+    }
+
+    private Object uuid(UUID id) {
+        if (binaryUuids == null) {
+            String dataType = jdbcTemplate.queryForObject(
+                    "SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'story_nodes' AND COLUMN_NAME = 'id'",
+                    String.class);
+            binaryUuids = dataType != null && dataType.toLowerCase().contains("binary");
+        }
+        if (!binaryUuids) {
+            return id.toString();
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -1,6 +1,6 @@
 package com.story.game.user.dto;
 
-import com.story.game.gameplay.entity.GameSession;
+import com.story.game.gameplay.repository.GameHistoryView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,10 +21,11 @@ public class GameHistoryDto {
     private Boolean isCompleted;
     private String finalEndingId;
     private Map<String, Integer> gaugeStates;
+    private Integer visitedNodeCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    public static GameHistoryDto from(GameSession session, String storyTitle, String thumbnailUrl) {
+    public static GameHistoryDto from(GameHistoryView session, String storyTitle, String thumbnailUrl) {
         return GameHistoryDto.builder()
                 .sessionId(session.getId())
                 .storyDataId(session.getStoryDataId())
@@ -33,6 +34,7 @@ public class GameHistoryDto {
                 .isCompleted(session.getIsCompleted())
                 .finalEndingId(session.getFinalEndingId())
                 .gaugeStates(session.getGaugeStates())
+                .visitedNodeCount(session.getVisitedCount())
                 .createdAt(session.getCreatedAt())
                 .updatedAt(session.getUpdatedAt())
                 .build();
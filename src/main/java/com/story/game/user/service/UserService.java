@@ -4,12 +4,12 @@ import com.story.game.achievement.service.AchievementService;
 import com.story.game.user.dto.*;
 import com.story.game.auth.dto.*;
 import com.story.game.achievement.dto.*;
-import com.story.game.gameplay.entity.GameSession;
+import com.story.game.gameplay.repository.GameHistoryView;
 import com.story.game.common.entity.StoryData;
 import com.story.game.auth.entity.User;
 import com.story.game.achievement.entity.UserAchievement;
 import com.story.game.creation.entity.StoryCreation;
-import com.story.game.gameplay.repository.GameSessionRepository;
+import com.story.game.gameplay.archive.PlayStatistics;
 import com.story.game.common.repository.StoryDataRepository;
 import com.story.game.auth.repository.UserRepository;
 import com.story.game.creation.repository.StoryCreationRepository;
@@ -25,7 +25,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,7 +37,7 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final GameSessionRepository gameSessionRepository;
+    private final PlayStatistics playStatistics;
     private final StoryDataRepository storyDataRepository;
     private final StoryCreationRepository storyCreationRepository;
     private final AchievementService achievementService;
@@ -47,9 +50,9 @@ public class UserService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        Long totalPlayCount = gameSessionRepository.countByUser(user);
-        Long completedStoryCount = gameSessionRepository.countByUserAndIsCompleted(user, true);
-        Long unlockedEndingCount = gameSessionRepository.countDistinctFinalEndingsByUser(user);
+        Long totalPlayCount = playStatistics.countPlays(user);
+        Long completedStoryCount = playStatistics.countCompletions(user);
+        Long unlockedEndingCount = playStatistics.countDistinctFinalEndings(user);
         Long unlockedAchievementCount = (long) achievementService.getUnlockedAchievements(user).size();
         Double achievementRate = achievementService.getAchievementRate(user);
 
@@ -73,24 +76,28 @@ public class UserService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        List<GameSession> sessions = gameSessionRepository.findByUserOrderByCreatedAtDesc(user);
+        // 보관 이동된 세션 포함
+        List<GameHistoryView> sessions = playStatistics.findHistory(user);
+
+        // 스토리 정보는 한 번에 조회 (findAllById는 null id를 거절하므로 제외)
+        Map<Long, StoryData> storyDataById = storyDataRepository.findAllById(
+                        sessions.stream().map(GameHistoryView::getStoryDataId).filter(Objects::nonNull).distinct()
+                                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(StoryData::getId, Function.identity()));
+
+        // Generate thumbnail URLs in one pass
+        Map<String, String> thumbnailUrls = s3Service.generatePresignedDownloadUrls(storyDataById.values().stream()
+                .map(StoryData::getThumbnailFileKey)
+                .filter(fileKey -> fileKey != null && !fileKey.isBlank())
+                .collect(Collectors.toList()));
 
         return sessions.stream()
                 .map(session -> {
-                    StoryData storyData = storyDataRepository.findById(session.getStoryDataId())
-                            .orElse(null);
+                    StoryData storyData = storyDataById.get(session.getStoryDataId());
 
                     String storyTitle = storyData != null ? storyData.getTitle() : "Unknown";
-
-                    // Generate thumbnail URL if available
-                    String thumbnailUrl = null;
-                    if (storyData != null && storyData.getThumbnailFileKey() != null && !storyData.getThumbnailFileKey().isBlank()) {
-                        try {
-                            thumbnailUrl = s3Service.generatePresignedDownloadUrl(storyData.getThumbnailFileKey());
-                        } catch (Exception e) {
-                            log.warn("Failed to generate thumbnail URL for story {}: {}", storyData.getId(), e.getMessage());
-                        }
-                    }
+                    String thumbnailUrl = storyData != null ? thumbnailUrls.get(storyData.getThumbnailFileKey()) : null;
 
                     return GameHistoryDto.from(session, storyTitle, thumbnailUrl);
                 })
@@ -233,17 +240,17 @@ public class UserService {
 
         List<StoryCreation> storyCreations = storyCreationRepository.findByUserOrderByCreatedAtDesc(user);
 
+        // Generate thumbnail URLs in one pass
+        Map<String, String> thumbnailUrls = s3Service.generatePresignedDownloadUrls(storyCreations.stream()
+                .map(StoryCreation::getThumbnailFileKey)
+                .filter(fileKey -> fileKey != null && !fileKey.isBlank())
+                .collect(Collectors.toList()));
+
         return storyCreations.stream()
                 .map(storyCreation -> {
-                    // Generate thumbnail URL if available
-                    String thumbnailUrl = null;
-                    if (storyCreation.getThumbnailFileKey() != null && !storyCreation.getThumbnailFileKey().isBlank()) {
-                        try {
-                            thumbnailUrl = s3Service.generatePresignedDownloadUrl(storyCreation.getThumbnailFileKey());
-                        } catch (Exception e) {
-                            log.warn("Failed to generate thumbnail URL for story {}: {}", storyCreation.getId(), e.getMessage());
-                        }
-                    }
+                    String thumbnailUrl = storyCreation.getThumbnailFileKey() != null
+                            ? thumbnailUrls.get(storyCreation.getThumbnailFileKey())
+                            : null;
 
                     // Get likes count and view count from StoryData if story is completed
                     Long likesCount = 0L;
@@ -0,0 +1,34 @@
+-- story_creation의 대용량 컬럼(novel_text, summary, characters_json)을 story_creation_content로 분리
+-- 게임 플레이에서 자주 조회되는 story_creation 행에는 content_id만 남기고, 본문은 필요할 때만 지연 로딩한다
+
+CREATE TABLE IF NOT EXISTS story_creation_content (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    novel_text LONGTEXT,
+    summary TEXT,
+    characters_json TEXT,
+    source_story_id VARCHAR(50),
+    INDEX idx_source_story_id (source_story_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE story_creation ADD COLUMN IF NOT EXISTS content_id BIGINT;
+
+-- 기존 스토리: 행마다 본문 한 건씩 복사 후 연결
+INSERT INTO story_creation_content (novel_text, summary, characters_json, source_story_id)
+SELECT sc.novel_text, sc.summary, sc.characters_json, sc.id
+FROM story_creation sc;
+
+UPDATE story_creation sc
+JOIN story_creation_content c ON c.source_story_id = sc.id
+SET sc.content_id = c.id;
+
+ALTER TABLE story_creation
+    ADD CONSTRAINT uk_story_creation_content_id UNIQUE (content_id),
+    ADD CONSTRAINT fk_story_creation_content FOREIGN KEY (content_id) REFERENCES story_creation_content(id);
+
+ALTER TABLE story_creation_content DROP INDEX idx_source_story_id;
+ALTER TABLE story_creation_content DROP COLUMN source_story_id;
+
+ALTER TABLE story_creation
+    DROP COLUMN novel_text,
+    DROP COLUMN summary,
+    DROP COLUMN characters_json;
@@ -0,0 +1,7 @@
+-- 에피소드 엔딩 결정 테이블을 에피소드 저장 시점에 미리 계산하여 함께 저장
+-- ending_order: AI가 준 엔딩 순서 (첫 번째로 조건이 맞는 엔딩을 고르므로 순서가 결과에 영향)
+-- episodes / episode_endings는 JPA가 생성한 테이블이므로 존재할 때만 변경
+
+ALTER TABLE IF EXISTS episodes ADD COLUMN IF NOT EXISTS ending_table TEXT NULL;
+
+ALTER TABLE IF EXISTS episode_endings ADD COLUMN IF NOT EXISTS ending_order INT NULL;
@@ -0,0 +1,42 @@
+-- 완료/방치된 게임 세션을 game_sessions(hot)에서 game_session_archive(cold)로 옮기기 위한 테이블
+-- 목록/통계에 쓰는 컬럼만 그대로 두고, 나머지 상태와 방문 기록은 COMPRESS()로 압축해 보관
+-- 업적/프로필 통계는 옮긴 세션을 다시 읽지 않도록 사용자별 누적 카운터로 집계
+
+CREATE TABLE IF NOT EXISTS game_session_archive (
+    id VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT,
+    story_data_id BIGINT NOT NULL,
+    story_creation_id VARCHAR(50) NOT NULL,
+    is_completed TINYINT(1) NOT NULL DEFAULT 0,
+    final_ending_id VARCHAR(50),
+    gauge_states JSON,
+    visited_count INT NOT NULL DEFAULT 0,
+    state_compressed MEDIUMBLOB,
+    visited_nodes_compressed MEDIUMBLOB,
+    created_at DATETIME,
+    updated_at DATETIME,
+    archived_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_session_archive_user_created (user_id, created_at),
+    INDEX idx_session_archive_archived_at (archived_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 사용자별로 보관 이동된 세션 수 (hot 테이블 COUNT와 더해서 사용)
+CREATE TABLE IF NOT EXISTS user_session_stats (
+    user_id BIGINT PRIMARY KEY,
+    archived_plays BIGINT NOT NULL DEFAULT 0,
+    archived_completions BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 사용자가 보관 이동된 세션에서 본 최종 엔딩 (중복 없는 엔딩 수 집계용)
+CREATE TABLE IF NOT EXISTS user_final_endings (
+    user_id BIGINT NOT NULL,
+    final_ending_id VARCHAR(50) NOT NULL,
+    PRIMARY KEY (user_id, final_ending_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 보관 대상 선택 (완료 여부 + 마지막 갱신 시각 순)
+DROP INDEX IF EXISTS idx_game_sessions_completed_updated ON game_sessions;
+CREATE INDEX idx_game_sessions_completed_updated ON game_sessions(is_completed, updated_at);
@@ -0,0 +1,21 @@
+-- 선택지/엔딩 도달 집계 (제작자 대시보드용)
+-- 플레이 중에는 메모리 카운터에만 더하고, 주기적으로 시간 단위(bucket_start) 합계를 upsert 한다
+-- node_id는 episode_nodes.id, ending_id는 에피소드 엔딩 UUID 또는 최종 엔딩 ID (story_data JSON)
+
+CREATE TABLE IF NOT EXISTS choice_pick_rollups (
+    story_creation_id VARCHAR(50) NOT NULL,
+    node_id VARCHAR(36) NOT NULL,
+    choice_order INT NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    picks BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (story_creation_id, bucket_start, node_id, choice_order)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS ending_reach_rollups (
+    story_creation_id VARCHAR(50) NOT NULL,
+    ending_type VARCHAR(10) NOT NULL,
+    ending_id VARCHAR(50) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    reaches BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (story_creation_id, bucket_start, ending_type, ending_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
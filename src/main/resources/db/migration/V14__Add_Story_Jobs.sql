@@ -0,0 +1,26 @@
+-- 소설 분석 / 에피소드 생성 백그라운드 작업 큐
+-- 워커는 QUEUED 작업이나 lease가 만료된 RUNNING 작업을 조건부 UPDATE로 가져가고(lease_owner, lease_until),
+-- 실행 중에는 heartbeat로 lease를 연장한다. 서버가 죽으면 lease가 만료되어 다른 워커가 이어서 실행한다.
+-- active_key는 QUEUED/RUNNING 동안만 "스토리ID:작업종류"로 채워져 같은 스토리의 같은 작업이 중복으로 쌓이지 않게 한다.
+
+CREATE TABLE IF NOT EXISTS story_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    story_creation_id VARCHAR(50) NOT NULL,
+    job_type VARCHAR(30) NOT NULL,
+    payload TEXT,
+    status VARCHAR(20) NOT NULL,
+    active_key VARCHAR(100),
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL,
+    lease_owner VARCHAR(100),
+    lease_until DATETIME,
+    heartbeat_at DATETIME,
+    available_at DATETIME NOT NULL,
+    last_error TEXT,
+    created_at DATETIME NOT NULL,
+    started_at DATETIME,
+    finished_at DATETIME,
+    UNIQUE KEY uk_story_jobs_active (active_key),
+    INDEX idx_story_jobs_claim (status, available_at),
+    INDEX idx_story_jobs_story (story_creation_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,6 @@
+-- rollup 보관 기간 정리용 인덱스
+-- ChoiceAnalyticsBuffer.purgeExpired가 retention-days보다 오래된 시간 구간을 bucket_start 범위로 나눠 삭제한다
+-- (기본 키는 story_creation_id로 시작하므로 bucket_start만으로는 범위 검색이 되지 않음)
+
+CREATE INDEX idx_choice_pick_rollups_bucket ON choice_pick_rollups(bucket_start);
+CREATE INDEX idx_ending_reach_rollups_bucket ON ending_reach_rollups(bucket_start);
@@ -0,0 +1,29 @@
+-- 방문 노드 기록을 game_sessions.visited_nodes(JSON 배열)에서 append-only 저널 테이블로 이동
+-- 에피소드(segment)별 한 행에 16바이트 UUID를 이어 붙여 저장하고, start_offset으로 전체 기록 내 위치를 표시
+
+CREATE TABLE IF NOT EXISTS game_session_journal (
+    session_id VARCHAR(36) NOT NULL,
+    segment INT NOT NULL,
+    start_offset INT NOT NULL,
+    node_count INT NOT NULL DEFAULT 0,
+    node_ids MEDIUMBLOB NOT NULL,
+    PRIMARY KEY (session_id, segment),
+    FOREIGN KEY (session_id) REFERENCES game_sessions(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE game_sessions ADD COLUMN IF NOT EXISTS visited_count INT NOT NULL DEFAULT 0;
+
+-- 기존 세션: 에피소드 구분 정보가 없으므로 전체 기록을 segment 0에 저장
+SET SESSION group_concat_max_len = 16777215;
+
+INSERT INTO game_session_journal (session_id, segment, start_offset, node_count, node_ids)
+SELECT g.id, 0, 0, COUNT(*), GROUP_CONCAT(UNHEX(REPLACE(jt.node_id, '-', '')) ORDER BY jt.ord SEPARATOR '')
+FROM game_sessions g,
+     JSON_TABLE(g.visited_nodes, '$[*]' COLUMNS (ord FOR ORDINALITY, node_id VARCHAR(36) PATH '$')) jt
+WHERE g.visited_nodes IS NOT NULL
+GROUP BY g.id;
+
+UPDATE game_sessions g
+SET g.visited_count = COALESCE((SELECT j.node_count FROM game_session_journal j WHERE j.session_id = g.id AND j.segment = 0), 0);
+
+ALTER TABLE game_sessions DROP COLUMN visited_nodes;
@@ -0,0 +1,92 @@
+package com.story.game.common.counter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * StoryCounterBuffer 테스트
+ *
+ * 주요 테스트:
+ * 1. 여러 번의 조회/좋아요가 스토리별 한 행으로 합쳐져 저장
+ * 2. 저장 실패 시 batch 전체를 롤백하고 증감분 유지 후 재시도
+ */
+@ExtendWith(MockitoExtension.class)
+class StoryCounterBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StoryCounterBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        buffer = new StoryCounterBuffer(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    @DisplayName("스토리별 증감분을 합쳐 한 번의 batch로 저장")
+    @SuppressWarnings("unchecked")
+    void testFlush_AggregatesPerStory() {
+        buffer.recordView(1L);
+        buffer.recordView(1L);
+        buffer.recordView(1L);
+        buffer.recordLike(1L, true);
+        buffer.recordLike(2L, true);
+        buffer.recordLike(2L, false);
+        buffer.recordView(3L);
+
+        buffer.flush();
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue())
+                .extracting(row -> List.of(row[0], row[1], row[2]))
+                .containsExactlyInAnyOrder(List.of(3L, 1L, 1L), List.of(1L, 0L, 3L));
+        assertThat(buffer.getStats()).containsEntry("pendingStories", 0L);
+    }
+
+    @Test
+    @DisplayName("저장 실패 시 batch 전체를 롤백하고 증감분을 유지해 다음 flush에서 재시도")
+    @SuppressWarnings("unchecked")
+    void testFlush_RetriesOnFailure() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        buffer.recordView(1L);
+        buffer.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(transactionManager, times(1)).rollback(any());
+        assertThat(buffer.getStats()).containsEntry("pendingStories", 1L);
+        buffer.recordView(1L);
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue().get(0)).containsExactly(2L, 0L, 1L);
+        assertThat(buffer.getStats()).containsEntry("failures", 1L).containsEntry("pendingStories", 0L);
+    }
+}
@@ -0,0 +1,155 @@
+package com.story.game.common.ranking;
+
+import com.story.game.achievement.repository.UserAchievementRepository;
+import com.story.game.achievement.repository.UserScoreView;
+import com.story.game.community.repository.LikeRepository;
+import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.creation.repository.StoryOwnershipView;
+import com.story.game.gameplay.repository.GameSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * RankingEngine 테스트
+ *
+ * 주요 테스트:
+ * 1. DB 집계로 초기화 후 업적 달성 이벤트로 유저 순위 갱신
+ * 2. 조회/좋아요 이벤트로 작가 순위 갱신, 스토리 삭제 시 점수 차감
+ * 3. 주간 윈도우를 벗어난 활동은 주간 랭킹에서 제거
+ */
+@ExtendWith(MockitoExtension.class)
+class RankingEngineTest {
+
+    @Mock
+    private UserAchievementRepository userAchievementRepository;
+
+    @Mock
+    private StoryCreationRepository storyCreationRepository;
+
+    @Mock
+    private GameSessionRepository gameSessionRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    private RankingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RankingEngine(userAchievementRepository, storyCreationRepository,
+                gameSessionRepository, likeRepository, 7, 60);
+        lenient().when(gameSessionRepository.countStartsByStoryAndBucket(any(), any(), anyInt())).thenReturn(List.of());
+        lenient().when(likeRepository.countStoryLikesByBucket(any(), any(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("업적 달성 이벤트로 유저 순위가 바뀜")
+    void testTopUsers_UpdatedOnUnlock() {
+        when(userAchievementRepository.sumUnlockedPointsByUser())
+                .thenReturn(List.of(userScore(1L, 30L, 2L), userScore(2L, 20L, 1L)));
+        when(storyCreationRepository.findPublishedStoryOwnership()).thenReturn(List.of());
+
+        assertThat(engine.topUsers(10)).extracting(RankingEngine.UserScore::userId).containsExactly(1L, 2L);
+
+        engine.onAchievementUnlocked(2L, 15);
+
+        List<RankingEngine.UserScore> top = engine.topUsers(1);
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0)).isEqualTo(new RankingEngine.UserScore(2L, 35L, 2));
+    }
+
+    @Test
+    @DisplayName("조회/좋아요 이벤트로 작가 점수가 갱신되고 스토리 삭제 시 차감")
+    void testTopCreators_UpdatedOnViewAndLike() {
+        when(userAchievementRepository.sumUnlockedPointsByUser()).thenReturn(List.of());
+        when(storyCreationRepository.findPublishedStoryOwnership())
+                .thenReturn(List.of(ownership(10L, 100L, 5L, 0L), ownership(20L, 200L, 3L, 1L)));
+
+        assertThat(engine.topCreators(10)).extracting(RankingEngine.CreatorScore::creatorId).containsExactly(10L, 20L);
+
+        engine.onStoryLiked(200L, true);
+        engine.onStoryViewed(200L);
+
+        assertThat(engine.topCreators(10).get(0))
+                .isEqualTo(new RankingEngine.CreatorScore(20L, 1, 4L, 2L, 8L));
+
+        engine.onStoryPublished(300L, 10L);
+        engine.onStoryViewed(300L);
+        engine.onStoryDeleted(100L);
+
+        assertThat(engine.topCreators(10))
+                .containsExactly(new RankingEngine.CreatorScore(20L, 1, 4L, 2L, 8L),
+                        new RankingEngine.CreatorScore(10L, 1, 1L, 0L, 1L));
+    }
+
+    @Test
+    @DisplayName("주간 윈도우를 벗어난 활동은 주간 랭킹에서 제거")
+    void testTopWeeklyStories_SlidingWindow() {
+        when(userAchievementRepository.sumUnlockedPointsByUser()).thenReturn(List.of());
+        when(storyCreationRepository.findPublishedStoryOwnership()).thenReturn(List.of());
+        assertThat(engine.topWeeklyStories(10)).isEmpty();
+
+        engine.onStoryViewed(1L);
+        engine.onStoryViewed(2L);
+        engine.onStoryLiked(2L, true);
+        engine.onStoryLiked(1L, true);
+        engine.onStoryLiked(1L, false);
+
+        assertThat(engine.topWeeklyStories(10))
+                .containsExactly(new Leaderboard.Entry(2L, 3L), new Leaderboard.Entry(1L, 1L));
+
+        long nextWeek = System.currentTimeMillis() + 8L * 24 * 60 * 60 * 1000;
+        engine.rotateWindow(nextWeek);
+
+        assertThat(engine.topWeeklyStories(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("슬라이딩 윈도우는 지난 구간만 제거")
+    void testStoryWindow_Advance() {
+        RankingEngine.StoryWindow window = new RankingEngine.StoryWindow(3, 10);
+        window.add(10, 8, 1);
+        window.add(10, 9, 2);
+        window.add(10, 10, 4);
+        window.add(10, 7, 100); // 윈도우 밖
+
+        assertThat(window.total()).isEqualTo(7);
+
+        window.advance(11);
+        assertThat(window.total()).isEqualTo(6);
+
+        window.retract(11, 5);
+        assertThat(window.total()).isEqualTo(1);
+
+        window.advance(20);
+        assertThat(window.total()).isZero();
+    }
+
+    private UserScoreView userScore(Long userId, Long points, Long count) {
+        return new UserScoreView() {
+            public Long getUserId() { return userId; }
+            public Long getTotalPoints() { return points; }
+            public Long getAchievementCount() { return count; }
+        };
+    }
+
+    private StoryOwnershipView ownership(Long creatorId, Long storyDataId, Long views, Long likes) {
+        return new StoryOwnershipView() {
+            public Long getCreatorId() { return creatorId; }
+            public Long getStoryDataId() { return storyDataId; }
+            public Long getViewCount() { return views; }
+            public Long getLikesCount() { return likes; }
+        };
+    }
+}
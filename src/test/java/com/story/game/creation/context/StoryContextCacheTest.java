@@ -0,0 +1,119 @@
+package com.story.game.creation.context;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.creation.entity.StoryCreation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StoryContextCache 파싱/버전 관리 테스트
+ *
+ * 주요 테스트:
+ * 1. 같은 버전은 파싱 결과를 재사용
+ * 2. updatedAt이 바뀌면 다시 파싱
+ * 3. 분리된 본문만 바뀌어도 버전 갱신
+ * 4. 잘못된 JSON은 해당 필드만 오류로 기록
+ * 5. 같은 초에 커밋된 변경은 invalidate로 다시 파싱
+ */
+class StoryContextCacheTest {
+
+    private StoryContextCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StoryContextCache(new ObjectMapper(), 10);
+    }
+
+    @Test
+    @DisplayName("같은 updatedAt이면 파싱 결과를 재사용")
+    void testGet_ReusesSameVersion() {
+        StoryCreation storyCreation = storyCreation(LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        StoryContext first = cache.get(storyCreation);
+        StoryContext second = cache.get(storyCreation);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSelectedGaugeIds()).containsExactly("trust");
+        assertThat(first.getFilteredGauges()).extracting("id").containsExactly("trust");
+        assertThat(first.getGauges()).hasSize(2);
+        assertThat(first.getSelectedCharacterNames()).containsExactly("로미오");
+        assertThat(first.getCharacters()).extracting("name").containsExactly("로미오", "줄리엣");
+        assertThat(first.findFinalEnding("ending_2").getTitle()).isEqualTo("새드 엔딩");
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    @DisplayName("updatedAt이 바뀌면 새로 파싱하여 교체")
+    void testGet_ReparsesOnNewVersion() {
+        StoryCreation storyCreation = storyCreation(LocalDateTime.of(2026, 1, 1, 0, 0));
+        StoryContext before = cache.get(storyCreation);
+
+        storyCreation.setSelectedGaugeIdsJson("[\"trust\",\"courage\"]");
+        storyCreation.setUpdatedAt(LocalDateTime.of(2026, 1, 2, 0, 0));
+        StoryContext after = cache.get(storyCreation);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getFilteredGauges()).hasSize(2);
+        assertThat(cache.getStats()).containsEntry("reloads", 1L);
+    }
+
+    @Test
+    @DisplayName("분리된 본문(캐릭터 JSON)만 바뀌어도 버전이 갱신되어 다시 파싱")
+    void testGet_ReparsesWhenContentChanges() {
+        StoryCreation storyCreation = storyCreation(LocalDateTime.of(2026, 1, 1, 0, 0));
+        StoryContext before = cache.get(storyCreation);
+
+        storyCreation.setCharactersJson("[{\"name\":\"로미오\"},{\"name\":\"줄리엣\"},{\"name\":\"머큐쇼\"}]");
+        StoryContext after = cache.get(storyCreation);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getCharacters()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("updatedAt이 같아도 invalidate 이후에는 새로 파싱")
+    void testInvalidate_ReparsesWithinSameSecond() {
+        StoryCreation storyCreation = storyCreation(LocalDateTime.of(2026, 1, 1, 0, 0));
+        StoryContext before = cache.get(storyCreation);
+
+        // 같은 초에 커밋된 두 번째 변경 (updated_at이 초 단위라 버전이 같음)
+        storyCreation.setEndingConfigJson("[{\"id\":\"ending_3\",\"title\":\"열린 엔딩\"}]");
+        cache.invalidate(storyCreation.getId());
+        StoryContext after = cache.get(storyCreation);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.findFinalEnding("ending_3").getTitle()).isEqualTo("열린 엔딩");
+        assertThat(cache.getStats()).containsEntry("misses", 2L);
+    }
+
+    @Test
+    @DisplayName("잘못된 JSON은 해당 필드만 오류로 기록하고 나머지는 파싱")
+    void testGet_RecordsParseErrorPerField() {
+        StoryCreation storyCreation = storyCreation(LocalDateTime.of(2026, 1, 1, 0, 0));
+        storyCreation.setEndingConfigJson("{invalid json}");
+
+        StoryContext context = cache.get(storyCreation);
+
+        assertThat(context.hasParseError(StoryContext.FINAL_ENDINGS)).isTrue();
+        assertThat(context.getFinalEndings()).isNull();
+        assertThat(context.hasParseError(StoryContext.GAUGES)).isFalse();
+        assertThat(context.getGauges()).hasSize(2);
+    }
+
+    private StoryCreation storyCreation(LocalDateTime updatedAt) {
+        return StoryCreation.builder()
+                .id("story_test")
+                .gaugesJson("[{\"id\":\"trust\",\"name\":\"신뢰\"},{\"id\":\"courage\",\"name\":\"용기\"}]")
+                .selectedGaugeIdsJson("[\"trust\"]")
+                .charactersJson("[{\"name\":\"로미오\"},{\"name\":\"줄리엣\"}]")
+                .selectedCharactersForChatJson("[\"로미오\"]")
+                .endingConfigJson("[{\"id\":\"ending_1\",\"title\":\"해피 엔딩\"},{\"id\":\"ending_2\",\"title\":\"새드 엔딩\"}]")
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
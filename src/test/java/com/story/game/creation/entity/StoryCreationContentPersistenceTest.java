@@ -0,0 +1,81 @@
+package com.story.game.creation.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StoryCreation / StoryCreationContent 분리 저장 통합 테스트
+ *
+ * 실행 전 필수:
+ * 1. application-dev.yml의 MariaDB 실행 (Flyway 마이그레이션으로 story_creation_content 생성)
+ *
+ * 각 테스트는 트랜잭션 롤백으로 끝나므로 데이터가 남지 않는다.
+ *
+ * 주요 테스트:
+ * 1. 본문 필드가 story_creation_content에 저장되고 다시 읽힘
+ * 2. 본문 행이 없는 스토리에 본문 필드를 설정하면 행이 새로 생성됨
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("dev")
+class StoryCreationContentPersistenceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("본문 필드는 content 행에 저장되고 다시 조회해도 같은 값")
+    void testSaveAndReload_DelegatesToContent() {
+        String id = "story_content_" + System.nanoTime();
+        entityManager.persist(StoryCreation.builder()
+                .id(id)
+                .title("분리 저장 테스트")
+                .novelText("옛날 옛적에...")
+                .summary("요약")
+                .charactersJson("[{\"name\":\"주인공\"}]")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        StoryCreation reloaded = entityManager.find(StoryCreation.class, id);
+
+        assertThat(reloaded.getContent()).isNotNull();
+        assertThat(reloaded.getContent().getId()).isNotNull();
+        assertThat(reloaded.getNovelText()).isEqualTo("옛날 옛적에...");
+        assertThat(reloaded.getSummary()).isEqualTo("요약");
+        assertThat(reloaded.getCharactersJson()).isEqualTo("[{\"name\":\"주인공\"}]");
+    }
+
+    @Test
+    @DisplayName("content 행이 없는 스토리에 본문 필드를 설정하면 행을 새로 만들어 저장")
+    void testSetter_CreatesMissingContent() {
+        String id = "story_content_" + System.nanoTime();
+        entityManager.persist(StoryCreation.builder()
+                .id(id)
+                .title("본문 없는 스토리")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        StoryCreation withoutContent = entityManager.find(StoryCreation.class, id);
+        assertThat(withoutContent.getContent()).isNull();
+        assertThat(withoutContent.getSummary()).isNull();
+
+        withoutContent.setSummary("나중에 추가된 요약");
+        entityManager.flush();
+        entityManager.clear();
+
+        StoryCreation reloaded = entityManager.find(StoryCreation.class, id);
+        assertThat(reloaded.getContent()).isNotNull();
+        assertThat(reloaded.getSummary()).isEqualTo("나중에 추가된 요약");
+        assertThat(reloaded.getNovelText()).isNull();
+        assertThat(reloaded.getCharactersJson()).isNull();
+    }
+}
@@ -0,0 +1,151 @@
+package com.story.game.creation.job;
+
+import com.story.game.common.exception.ExternalServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * StoryJobWorker 테스트
+ *
+ * 주요 테스트:
+ * 1. 다른 서버가 먼저 가져간 작업은 건너뛰고, 가져간 작업은 실행 후 완료 처리
+ * 2. 일시적 오류는 지수 백오프로 재시도, 마지막 시도 실패/재시도 불가 오류는 실패 처리 + 콜백
+ * 3. 마지막 시도 중 lease가 만료되어 다시 가져간 작업은 실행하지 않고 실패 처리
+ */
+@ExtendWith(MockitoExtension.class)
+class StoryJobWorkerTest {
+
+    @Mock
+    private StoryJobQueue queue;
+
+    @Mock
+    private StoryJobHandler handler;
+
+    private StoryJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(handler.types()).thenReturn(EnumSet.of(StoryJob.Type.GENERATE_EPISODE));
+        lenient().when(handler.maxConcurrency()).thenReturn(Integer.MAX_VALUE);
+        worker = new StoryJobWorker(queue, List.of(handler), true, 2, 60, 30, 1000, 1000, 5000, 15000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    @DisplayName("먼저 가져간 작업은 건너뛰고, 가져간 작업은 실행 후 완료 처리")
+    void testPoll_ClaimsAndCompletes() throws Exception {
+        when(queue.findClaimable(anyCollection(), eq(2))).thenReturn(List.of(
+                candidate(1L, StoryJob.Status.QUEUED), candidate(2L, StoryJob.Status.RUNNING)));
+        when(queue.tryClaim(eq(1L), anyString(), eq(60))).thenReturn(false);
+        when(queue.tryClaim(eq(2L), anyString(), eq(60))).thenReturn(true);
+        StoryJob job = job(2L, 2, 3);
+        when(queue.find(2L)).thenReturn(Optional.of(job));
+        when(queue.complete(eq(2L), anyString())).thenReturn(true);
+
+        worker.poll();
+
+        verify(queue, timeout(1000)).complete(eq(2L), anyString());
+        verify(handler).handle(job);
+        verify(queue, never()).find(1L);
+        assertThat(worker.getStats())
+                .containsEntry("claimed", 1L)
+                .containsEntry("reclaimed", 1L)
+                .containsEntry("contended", 1L)
+                .containsEntry("succeeded", 1L);
+    }
+
+    @Test
+    @DisplayName("실행기의 동시 실행 한도만큼만 가져감")
+    void testPoll_RespectsHandlerConcurrency() throws Exception {
+        when(handler.maxConcurrency()).thenReturn(1);
+        when(queue.findClaimable(anyCollection(), eq(2))).thenReturn(List.of(
+                candidate(1L, StoryJob.Status.QUEUED), candidate(2L, StoryJob.Status.QUEUED)));
+        when(queue.tryClaim(eq(1L), anyString(), eq(60))).thenReturn(true);
+        when(queue.find(1L)).thenReturn(Optional.of(job(1L, 1, 3)));
+        when(queue.complete(eq(1L), anyString())).thenReturn(true);
+
+        worker.poll();
+
+        verify(queue, timeout(1000)).complete(eq(1L), anyString());
+        verify(queue, never()).tryClaim(eq(2L), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("일시적 오류는 백오프 후 재시도, 마지막 시도에서 실패하면 실패 처리 후 콜백")
+    void testRun_RetriesThenFails() throws Exception {
+        doThrow(new ExternalServiceException("relay timeout")).when(handler).handle(any());
+        when(queue.retryLater(anyLong(), anyString(), anyString(), anyLong())).thenReturn(true);
+        when(queue.fail(anyLong(), anyString(), anyString())).thenReturn(true);
+
+        worker.run(job(1L, 1, 3));
+        worker.run(job(1L, 2, 3));
+        worker.run(job(1L, 3, 3));
+
+        verify(queue).retryLater(eq(1L), anyString(), startsWith("ExternalServiceException"), eq(30L));
+        verify(queue).retryLater(eq(1L), anyString(), anyString(), eq(60L));
+        verify(queue).fail(eq(1L), anyString(), anyString());
+        verify(handler).onFailure(any(), startsWith("ExternalServiceException"));
+        assertThat(worker.getStats()).containsEntry("retried", 2L).containsEntry("failed", 1L);
+    }
+
+    @Test
+    @DisplayName("잘못된 상태 오류는 재시도 없이 바로 실패 처리")
+    void testRun_PermanentErrorFailsImmediately() throws Exception {
+        doThrow(new IllegalStateException("All episodes have already been generated.")).when(handler).handle(any());
+        when(queue.fail(anyLong(), anyString(), anyString())).thenReturn(true);
+
+        worker.run(job(1L, 1, 3));
+
+        verify(queue, never()).retryLater(anyLong(), anyString(), anyString(), anyLong());
+        verify(handler).onFailure(any(), startsWith("IllegalStateException"));
+    }
+
+    @Test
+    @DisplayName("마지막 시도 중 lease가 만료된 작업은 다시 실행하지 않고 실패 처리")
+    void testRun_ExhaustedAfterLeaseExpiry() throws Exception {
+        when(queue.fail(anyLong(), anyString(), anyString())).thenReturn(true);
+
+        worker.run(job(1L, 4, 3));
+
+        verify(handler, never()).handle(any());
+        verify(queue).fail(eq(1L), anyString(), startsWith("Lease expired"));
+        verify(handler).onFailure(any(), anyString());
+    }
+
+    private static StoryJob candidate(long id, StoryJob.Status status) {
+        return StoryJob.builder().id(id).type(StoryJob.Type.GENERATE_EPISODE).status(status).build();
+    }
+
+    private static StoryJob job(long id, int attempts, int maxAttempts) {
+        return StoryJob.builder()
+                .id(id)
+                .storyCreationId("story_1")
+                .type(StoryJob.Type.GENERATE_EPISODE)
+                .payload("{\"episodeOrder\":1}")
+                .status(StoryJob.Status.RUNNING)
+                .attempts(attempts)
+                .maxAttempts(maxAttempts)
+                .build();
+    }
+}
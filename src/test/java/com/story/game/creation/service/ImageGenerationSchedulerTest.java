@@ -0,0 +1,101 @@
+package com.story.game.creation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * ImageGenerationScheduler 테스트
+ *
+ * 주요 테스트:
+ * 1. 같은 노드의 생성이 진행 중이면 relay를 다시 호출하지 않고 결과를 공유
+ * 2. 여러 노드를 병렬로 생성하고 성공/실패 건수와 지연 시간 히스토그램 기록
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageGenerationSchedulerTest {
+
+    private static final String STORY_ID = "story-1";
+
+    @Mock
+    private ImageGenerationService imageGenerationService;
+
+    private ImageGenerationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(imageGenerationService.getStyleLearningStats()).thenReturn(Map.of());
+        scheduler = new ImageGenerationScheduler(imageGenerationService, 4, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("진행 중인 노드를 다시 요청하면 같은 결과를 공유")
+    void testSubmit_SingleFlightPerNode() throws Exception {
+        ImageGenerationService.NodeImageTask task = task();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(imageGenerationService.generateAndSaveNodeImage(eq(STORY_ID), eq(task), any(), any()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return true;
+                });
+
+        CompletableFuture<Boolean> first = scheduler.submit(STORY_ID, task, "EP1", 1);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> second = scheduler.submit(STORY_ID, task, "EP1", 1);
+        release.countDown();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(imageGenerationService, times(1)).generateAndSaveNodeImage(eq(STORY_ID), eq(task), any(), any());
+        assertThat(scheduler.getStats()).containsEntry("deduplicated", 1L).containsEntry("succeeded", 1L);
+    }
+
+    @Test
+    @DisplayName("여러 노드를 병렬로 생성하고 성공/실패를 집계")
+    void testGenerateAll_CountsSuccessAndFailure() {
+        ImageGenerationService.NodeImageTask ok1 = task();
+        ImageGenerationService.NodeImageTask ok2 = task();
+        ImageGenerationService.NodeImageTask broken = task();
+        when(imageGenerationService.generateAndSaveNodeImage(eq(STORY_ID), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1) != broken);
+
+        int saved = scheduler.generateAll(STORY_ID, List.of(ok1, broken, ok2), "EP1", 1);
+
+        assertThat(saved).isEqualTo(2);
+        Map<String, Object> stats = scheduler.getStats();
+        assertThat(stats).containsEntry("succeeded", 2L).containsEntry("failed", 1L).containsEntry("inFlightNodes", 0);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> successLatency = (Map<String, Object>) stats.get("successLatency");
+        assertThat(successLatency).containsEntry("count", 2L);
+    }
+
+    private static ImageGenerationService.NodeImageTask task() {
+        return ImageGenerationService.NodeImageTask.builder()
+                .nodeId(UUID.randomUUID())
+                .text("text")
+                .depth(0)
+                .build();
+    }
+}
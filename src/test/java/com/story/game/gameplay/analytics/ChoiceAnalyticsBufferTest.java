@@ -0,0 +1,113 @@
+package com.story.game.gameplay.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * ChoiceAnalyticsBuffer 테스트
+ *
+ * 주요 테스트:
+ * 1. 같은 선택지/엔딩 클릭이 시간 구간별 한 행으로 합쳐져 저장
+ * 2. 저장 실패 시 batch 전체를 롤백하고 증가분 유지 후 재시도
+ * 3. 보관 기간이 지난 시간 구간은 batch 크기씩 나눠 삭제
+ */
+@ExtendWith(MockitoExtension.class)
+class ChoiceAnalyticsBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ChoiceAnalyticsBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        buffer = new ChoiceAnalyticsBuffer(jdbcTemplate, transactionManager, true, 365, 2);
+    }
+
+    @Test
+    @DisplayName("선택지/엔딩별 클릭 수를 합쳐 테이블마다 한 번의 batch로 저장")
+    @SuppressWarnings("unchecked")
+    void testFlush_AggregatesPerChoiceAndEnding() {
+        buffer.recordChoice("story_1", "node_a", 1);
+        buffer.recordChoice("story_1", "node_a", 1);
+        buffer.recordChoice("story_1", "node_a", 2);
+        buffer.recordEnding("story_1", ChoiceAnalyticsBuffer.FINAL_ENDING, "ending_good");
+
+        buffer.flush();
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> choiceRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO choice_pick_rollups"), choiceRows.capture());
+        assertThat(choiceRows.getValue())
+                .extracting(row -> List.of(row[1], row[2], row[4]))
+                .containsExactlyInAnyOrder(List.of("node_a", 1, 2L), List.of("node_a", 2, 1L));
+
+        ArgumentCaptor<List<Object[]>> endingRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO ending_reach_rollups"), endingRows.capture());
+        assertThat(endingRows.getValue()).singleElement()
+                .satisfies(row -> assertThat(List.of(row[1], row[2], row[4])).containsExactly("FINAL", "ending_good", 1L));
+    }
+
+    @Test
+    @DisplayName("저장 실패 시 batch 전체를 롤백하고 증가분을 유지해 다음 flush에서 재시도")
+    @SuppressWarnings("unchecked")
+    void testFlush_RetriesOnFailure() {
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO choice_pick_rollups"), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        buffer.recordChoice("story_1", "node_a", 0);
+        buffer.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO choice_pick_rollups"), anyList());
+        verify(transactionManager, times(1)).rollback(any());
+        buffer.recordChoice("story_1", "node_a", 0);
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO choice_pick_rollups"), rows.capture());
+        assertThat(rows.getValue().get(0)[4]).isEqualTo(2L);
+        assertThat(buffer.getStats()).containsEntry("failures", 1L);
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 구간은 남은 행이 batch 크기보다 적어질 때까지 나눠 삭제")
+    void testPurgeExpired_DeletesInBatches() {
+        when(jdbcTemplate.update(startsWith("DELETE FROM choice_pick_rollups"), any(Timestamp.class), eq(2)))
+                .thenReturn(2, 2, 1);
+        when(jdbcTemplate.update(startsWith("DELETE FROM ending_reach_rollups"), any(Timestamp.class), eq(2)))
+                .thenReturn(0);
+
+        buffer.purgeExpired();
+
+        ArgumentCaptor<Timestamp> cutoff = ArgumentCaptor.forClass(Timestamp.class);
+        verify(jdbcTemplate, times(3)).update(startsWith("DELETE FROM choice_pick_rollups"), cutoff.capture(), eq(2));
+        assertThat(cutoff.getValue().getTime())
+                .isLessThanOrEqualTo(System.currentTimeMillis() - Duration.ofDays(365).toMillis());
+        assertThat(buffer.getStats()).containsEntry("purgedRows", 5L);
+    }
+}
@@ -0,0 +1,91 @@
+package com.story.game.gameplay.archive;
+
+import com.story.game.gameplay.session.GameSessionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * GameSessionArchiver 보관 이동 배치 테스트
+ *
+ * 주요 테스트:
+ * 1. 메모리에 올라와 있는 세션은 제외하고 복사 → 카운터 → 삭제 순으로 실행
+ * 2. 배치가 실패하면 삭제하지 않고 다음 주기로 미룸 (고정은 해제)
+ */
+@ExtendWith(MockitoExtension.class)
+class GameSessionArchiverTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private GameSessionStore gameSessionStore;
+
+    private GameSessionArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        archiver = new GameSessionArchiver(jdbcTemplate, transactionManager, gameSessionStore, true, 30, 30, 10, 5);
+    }
+
+    @Test
+    @DisplayName("메모리에 있는 세션은 건너뛰고 나머지를 복사 후 삭제")
+    void testArchive_SkipsResidentSessions() {
+        when(jdbcTemplate.queryForList(contains("is_completed = 1"), eq(String.class), any(), any()))
+                .thenReturn(List.of("session_old", "session_playing"));
+        when(jdbcTemplate.queryForList(contains("is_completed = 0"), eq(String.class), any(), any()))
+                .thenReturn(List.of());
+        when(gameSessionStore.pinForArchive(List.of("session_old", "session_playing"))).thenReturn(List.of("session_old"));
+
+        archiver.archive();
+
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO game_session_archive"), eq("session_old"));
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO user_session_stats"), eq("session_old"));
+        order.verify(jdbcTemplate).update(startsWith("INSERT IGNORE INTO user_final_endings"), eq("session_old"));
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM game_sessions"), eq("session_old"));
+        verify(gameSessionStore).releaseArchived(List.of("session_old"));
+        assertThat(archiver.getStats())
+                .containsEntry("archivedCompleted", 1L)
+                .containsEntry("skippedResident", 1L);
+    }
+
+    @Test
+    @DisplayName("복사가 실패하면 원본을 삭제하지 않고 실패로 기록")
+    void testArchive_FailureKeepsSessions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of("session_old"));
+        when(gameSessionStore.pinForArchive(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jdbcTemplate.update(startsWith("INSERT INTO game_session_archive"), eq("session_old")))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        archiver.archive();
+
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM game_sessions"), eq("session_old"));
+        verify(transactionManager, atLeastOnce()).rollback(any());
+        // 롤백된 배치의 고정도 풀어 플레이어가 다시 불러올 수 있게 함
+        verify(gameSessionStore, times(2)).releaseArchived(List.of("session_old"));
+        assertThat(archiver.getStats()).containsEntry("failures", 2L);
+    }
+}
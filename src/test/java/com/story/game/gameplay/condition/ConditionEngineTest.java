@@ -0,0 +1,93 @@
+package com.story.game.gameplay.condition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔딩 조건식 컴파일러 / 캐시 테스트
+ *
+ * 주요 테스트:
+ * 1. AI가 생성하는 조건식 문법 (#접두사, AND/OR, 괄호)
+ * 2. 누락된 변수는 0으로 평가
+ * 3. 문법 오류는 항상 false
+ * 4. 캐시 재사용 및 원문 변경 시 재컴파일
+ */
+class ConditionEngineTest {
+
+    @Test
+    @DisplayName("#접두사, AND/OR, 괄호 조합 조건 평가")
+    void testCompile_ComplexCondition() {
+        CompiledCondition condition = ConditionCompiler.compile("(#trust >= 80 AND #courage >= 70) OR wisdom >= 90");
+
+        assertThat(condition.isValid()).isTrue();
+        assertThat(condition.getVariables()).containsExactly("trust", "courage", "wisdom");
+        assertThat(condition.test(Map.of("trust", 85, "courage", 75, "wisdom", 30))).isTrue();
+        assertThat(condition.test(Map.of("trust", 30, "courage", 30, "wisdom", 95))).isTrue();
+        assertThat(condition.test(Map.of("trust", 85, "courage", 30, "wisdom", 30))).isFalse();
+    }
+
+    @Test
+    @DisplayName("슬롯 배열 평가와 산술/부정 연산")
+    void testCompile_SlotEvaluation() {
+        CompiledCondition condition = ConditionCompiler.compile("!(cooperative + brave * 2 < 5) && betrayal == 0");
+
+        assertThat(condition.getVariables()).containsExactly("cooperative", "brave", "betrayal");
+        assertThat(condition.test(new int[]{1, 2, 0})).isTrue();
+        assertThat(condition.test(new int[]{1, 1, 0})).isFalse();
+        assertThat(condition.test(new int[]{1, 2, 1})).isFalse();
+    }
+
+    @Test
+    @DisplayName("누락된 태그는 0으로 평가")
+    void testCompile_MissingVariableIsZero() {
+        CompiledCondition condition = ConditionCompiler.compile("betrayal < 1 and loyal >= 0");
+
+        assertThat(condition.test(Map.of())).isTrue();
+    }
+
+    @Test
+    @DisplayName("default / 빈 조건은 항상 참, 문법 오류는 항상 거짓")
+    void testCompile_DefaultAndInvalid() {
+        assertThat(ConditionCompiler.compile("default").test(Map.of())).isTrue();
+        assertThat(ConditionCompiler.compile("  ").test(Map.of())).isTrue();
+
+        CompiledCondition invalid = ConditionCompiler.compile("trust >= ");
+        assertThat(invalid.isValid()).isFalse();
+        assertThat(invalid.test(Map.of("trust", 100))).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 키는 캐시 재사용, 원문이 바뀌면 재컴파일")
+    void testEngine_CacheReuseAndRecompile() {
+        ConditionEngine engine = new ConditionEngine(10);
+        String key = ConditionEngine.finalEndingKey("story_test", "ending_1");
+
+        CompiledCondition first = engine.get(key, "#trust >= 70");
+        CompiledCondition second = engine.get(key, "#trust >= 70");
+        CompiledCondition changed = engine.get(key, "#trust >= 90");
+
+        assertThat(second).isSameAs(first);
+        assertThat(changed).isNotSameAs(first);
+        assertThat(engine.getStats())
+                .containsEntry("size", 1)
+                .containsEntry("hits", 1L)
+                .containsEntry("misses", 2L);
+        assertThat(engine.matches(key, "#trust >= 90", Map.of("trust", 80))).isFalse();
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 오래된 항목부터 제거")
+    void testEngine_BoundedCache() {
+        ConditionEngine engine = new ConditionEngine(2);
+
+        engine.get("a", "x > 1");
+        engine.get("b", "x > 2");
+        engine.get("c", "x > 3");
+
+        assertThat(engine.getCacheSize()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,100 @@
+package com.story.game.gameplay.condition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.gameplay.state.StateSymbols;
+import com.story.game.gameplay.state.StateVector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 에피소드 엔딩 결정 테이블 테스트
+ *
+ * 주요 테스트:
+ * 1. 표 조회 결과가 조건식을 순서대로 평가한 첫 번째 매칭과 동일
+ * 2. 산술식 등 경계값 형태가 아니면 순차 평가로 대체
+ * 3. 저장 형식 복원 및 조건식 변경 시 재컴파일
+ */
+class EndingDecisionTableTest {
+
+    private static final List<String> CONDITIONS = List.of(
+            "#brave >= 2 AND #wise >= 2",
+            "brave > 3 OR (betrayal == 1 AND NOT wise < 1)",
+            "wise != 0",
+            "default"
+    );
+
+    @Test
+    @DisplayName("모든 태그 조합에서 표 조회가 순차 평가의 첫 번째 매칭과 같음")
+    void testResolve_MatchesLinearEvaluation() {
+        EndingDecisionTable table = EndingDecisionTable.compile(CONDITIONS);
+        List<CompiledCondition> compiled = CONDITIONS.stream().map(ConditionCompiler::compile).toList();
+
+        assertThat(table.isTabulated()).isTrue();
+        for (int brave = 0; brave <= 6; brave++) {
+            for (int wise = 0; wise <= 4; wise++) {
+                for (int betrayal = 0; betrayal <= 2; betrayal++) {
+                    Map<String, Integer> tags = Map.of("brave", brave, "wise", wise, "betrayal", betrayal);
+                    assertThat(table.resolve(tags)).as("tags=%s", tags).isEqualTo(linearFirstMatch(compiled, tags));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("상태 벡터 조회와 맵 조회 결과가 같고, 맞는 조건이 없으면 첫 번째 엔딩")
+    void testResolve_StateVectorAndFallbackToFirst() {
+        EndingDecisionTable table = EndingDecisionTable.compile(List.of("brave >= 3", "wise >= 3"));
+        StateSymbols symbols = StateSymbols.of(List.of("wise", "brave"));
+        StateVector tags = new StateVector(symbols);
+        tags.setInt(symbols.indexOf("wise"), 4);
+
+        assertThat(table.resolve(tags)).isEqualTo(1);
+        assertThat(table.resolve(new HashMap<>(tags))).isEqualTo(1);
+        assertThat(table.resolve(Map.of())).isZero();
+        assertThat(EndingDecisionTable.compile(List.of()).resolve(Map.of())).isEqualTo(EndingDecisionTable.NO_ENDING);
+    }
+
+    @Test
+    @DisplayName("산술식 조건이 있으면 표 대신 순차 평가")
+    void testCompile_ArithmeticFallsBackToLinear() {
+        EndingDecisionTable table = EndingDecisionTable.compile(List.of("brave + wise >= 4", "default"));
+
+        assertThat(table.isTabulated()).isFalse();
+        assertThat(table.resolve(Map.of("brave", 2, "wise", 2))).isZero();
+        assertThat(table.resolve(Map.of("brave", 1, "wise", 2))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JSON으로 저장한 표를 복원하고, 조건식 순서가 바뀌면 다시 컴파일")
+    void testRestore_RoundTripAndRecompileOnChange() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        EndingDecisionTable original = EndingDecisionTable.compile(CONDITIONS);
+        String json = objectMapper.writeValueAsString(original.toSpec());
+        EndingDecisionTable.Spec spec = objectMapper.readValue(json, EndingDecisionTable.Spec.class);
+
+        EndingDecisionTable restored = EndingDecisionTable.restore(spec, CONDITIONS);
+        assertThat(restored.getCellCount()).isEqualTo(original.getCellCount());
+        assertThat(restored.resolve(Map.of("brave", 2, "wise", 2))).isZero();
+
+        List<String> reordered = List.of(CONDITIONS.get(2), CONDITIONS.get(0), CONDITIONS.get(1), CONDITIONS.get(3));
+        EndingDecisionTable recompiled = EndingDecisionTable.restore(spec, reordered);
+        assertThat(recompiled.resolve(Map.of("brave", 2, "wise", 2))).isZero();
+        assertThat(recompiled.resolve(Map.of("brave", 2, "wise", 0))).isEqualTo(3);
+        assertThat(EndingDecisionTable.restore(null, reordered).resolve(Map.of("brave", 5))).isEqualTo(2);
+    }
+
+    private static int linearFirstMatch(List<CompiledCondition> compiled, Map<String, Integer> values) {
+        for (int i = 0; i < compiled.size(); i++) {
+            if (compiled.get(i).test(values)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
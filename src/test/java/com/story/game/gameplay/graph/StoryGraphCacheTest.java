@@ -0,0 +1,93 @@
+package com.story.game.gameplay.graph;
+
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.story.mapper.StoryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * StoryGraphCache 생성/무효화 테스트
+ *
+ * 주요 테스트:
+ * 1. 같은 스토리를 동시에 요청하면 그래프는 한 번만 생성
+ * 2. 생성 중에 무효화되면 그 결과는 캐시하지 않음
+ */
+@ExtendWith(MockitoExtension.class)
+class StoryGraphCacheTest {
+
+    @Mock
+    private StoryMapper storyMapper;
+
+    @Mock
+    private StoryCreationRepository storyCreationRepository;
+
+    private StoryGraphCache cache;
+    private StoryCreation storyCreation;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StoryGraphCache(storyMapper, storyCreationRepository, 10);
+        storyCreation = StoryCreation.builder().id("story_test").build();
+    }
+
+    @Test
+    @DisplayName("동시에 요청해도 그래프는 한 번만 생성하고 같은 결과를 공유")
+    void testGetGraph_BuildsOncePerStory() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(storyMapper.buildFullStoryDtoFromDb(storyCreation)).thenAnswer(invocation -> {
+            building.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return FullStoryDto.builder().episodes(List.of()).build();
+        });
+
+        AtomicReference<StoryGraph> first = new AtomicReference<>();
+        AtomicReference<StoryGraph> second = new AtomicReference<>();
+        Thread builder = new Thread(() -> first.set(cache.getGraph(storyCreation)));
+        builder.start();
+        assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread waiter = new Thread(() -> second.set(cache.getGraph(storyCreation)));
+        waiter.start();
+        release.countDown();
+        builder.join(5_000);
+        waiter.join(5_000);
+
+        assertThat(first.get()).isNotNull();
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(cache.getGraph(storyCreation)).isSameAs(first.get());
+        verify(storyMapper, times(1)).buildFullStoryDtoFromDb(storyCreation);
+    }
+
+    @Test
+    @DisplayName("생성 중에 무효화되면 결과를 캐시하지 않고 다음 조회에서 다시 생성")
+    void testGetGraph_InvalidatedWhileBuilding() {
+        when(storyMapper.buildFullStoryDtoFromDb(storyCreation)).thenAnswer(invocation -> {
+            // 편집 커밋이 생성 도중에 끝난 경우
+            cache.invalidate("story_test");
+            return FullStoryDto.builder().episodes(List.of()).build();
+        }).thenReturn(FullStoryDto.builder().episodes(List.of()).build());
+
+        StoryGraph stale = cache.getGraph(storyCreation);
+        assertThat(cache.getCacheSize()).isZero();
+
+        StoryGraph fresh = cache.getGraph(storyCreation);
+        assertThat(fresh).isNotSameAs(stale);
+        assertThat(cache.getCacheSize()).isEqualTo(1);
+        verify(storyMapper, times(2)).buildFullStoryDtoFromDb(storyCreation);
+    }
+}
@@ -0,0 +1,104 @@
+package com.story.game.gameplay.graph;
+
+import com.story.game.common.dto.EpisodeDto;
+import com.story.game.common.dto.EpisodeEndingDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.common.dto.StoryChoiceDto;
+import com.story.game.common.dto.StoryNodeDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StoryGraph 스냅샷 생성/탐색 테스트
+ */
+class StoryGraphTest {
+
+    @Test
+    @DisplayName("FullStoryDto로부터 에피소드 순서, 루트 노드, 선택지 목적지를 연결")
+    void testFrom_LinksEpisodesNodesAndChoices() {
+        // Given - 에피소드 2개 (순서 뒤섞임), 에피소드 1은 루트 + 자식 2개
+        String leftId = UUID.randomUUID().toString();
+        String rightId = UUID.randomUUID().toString();
+        StoryNodeDto left = node(leftId, 1, List.of(), List.of());
+        StoryNodeDto right = node(rightId, 1, List.of(), List.of());
+        StoryNodeDto root = node(UUID.randomUUID().toString(), 0,
+                List.of(choice("왼쪽", "brave"), choice("오른쪽", "wise")),
+                List.of(left, right));
+
+        EpisodeDto episode1 = episode(1, List.of(root, left, right),
+                List.of(ending("ep1_ending", "brave >= 1", Map.of("trust", 10))));
+        StoryNodeDto ep2Root = node(UUID.randomUUID().toString(), 0, List.of(), List.of());
+        EpisodeDto episode2 = episode(2, List.of(ep2Root), List.of());
+
+        FullStoryDto fullStory = FullStoryDto.builder()
+                .episodes(new ArrayList<>(List.of(episode2, episode1)))
+                .build();
+
+        // When
+        StoryGraph graph = StoryGraph.from("story_test", fullStory);
+
+        // Then
+        assertThat(graph.getEpisodeCount()).isEqualTo(2);
+        assertThat(graph.getNodeCount()).isEqualTo(4);
+
+        StoryGraph.Episode first = graph.getEpisodeByOrder(1);
+        StoryGraph.Node rootNode = graph.getRootNode(first);
+        assertThat(rootNode.getId().toString()).isEqualTo(root.getId());
+
+        List<StoryGraph.Choice> choices = graph.getChoices(rootNode);
+        assertThat(choices).hasSize(2);
+        assertThat(choices.get(1).getTags()).containsExactly("wise");
+        assertThat(graph.getDestination(choices.get(1)).getId().toString()).isEqualTo(rightId);
+        assertThat(graph.getDestination(choices.get(1)).hasChoices()).isFalse();
+
+        assertThat(graph.getEndings(first)).hasSize(1);
+        assertThat(graph.getEndings(first).get(0).getGaugeChanges()).containsEntry("trust", 10);
+        assertThat(graph.resolveEnding(first, Map.of("brave", 1))).isSameAs(graph.getEndings(first).get(0));
+
+        StoryGraph.Episode next = graph.getNextEpisode(first);
+        assertThat(next.getOrder()).isEqualTo(2);
+        assertThat(graph.getNextEpisode(next)).isNull();
+        assertThat(graph.resolveEnding(next, Map.of())).isNull();
+        assertThat(graph.getEpisodeOf(graph.getRootNode(next))).isSameAs(next);
+    }
+
+    private StoryNodeDto node(String id, int depth, List<StoryChoiceDto> choices, List<StoryNodeDto> children) {
+        return StoryNodeDto.builder()
+                .id(id)
+                .depth(depth)
+                .text("node " + id)
+                .choices(choices)
+                .children(children)
+                .build();
+    }
+
+    private StoryChoiceDto choice(String text, String tag) {
+        return StoryChoiceDto.builder().text(text).tags(List.of(tag)).build();
+    }
+
+    private EpisodeEndingDto ending(String title, String condition, Map<String, Integer> gaugeChanges) {
+        return EpisodeEndingDto.builder()
+                .id(UUID.randomUUID().toString())
+                .title(title)
+                .condition(condition)
+                .gaugeChanges(gaugeChanges)
+                .build();
+    }
+
+    private EpisodeDto episode(int order, List<StoryNodeDto> nodes, List<EpisodeEndingDto> endings) {
+        return EpisodeDto.builder()
+                .id(UUID.randomUUID().toString())
+                .title("Episode " + order)
+                .order(order)
+                .nodes(nodes)
+                .endings(endings)
+                .build();
+    }
+}
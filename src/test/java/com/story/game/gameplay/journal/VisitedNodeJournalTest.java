@@ -0,0 +1,170 @@
+package com.story.game.gameplay.journal;
+
+import com.story.game.gameplay.entity.GameSession.PendingVisit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * VisitedNodeJournal 저장/조회 테스트
+ *
+ * game_session_journal 테이블은 (session_id, segment) 행에 node_ids를 이어 붙이는 upsert와
+ * start_offset 범위 조회를 흉내 낸 메모리 테이블로 대신한다.
+ *
+ * 주요 테스트:
+ * 1. 여러 번 나눠 추가한 방문 기록을 순서대로 다시 읽음
+ * 2. segment 경계를 걸친 페이지 조회
+ * 3. V9 마이그레이션이 옮긴 기록(UNHEX로 이어 붙인 segment 0)을 그대로 읽음
+ */
+@ExtendWith(MockitoExtension.class)
+class VisitedNodeJournalTest {
+
+    private static final String SESSION_ID = "session_1";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private VisitedNodeJournal journal;
+
+    // (session_id, segment) -> 행
+    private final Map<String, JournalRow> table = new LinkedHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        journal = new VisitedNodeJournal(jdbcTemplate);
+
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                upsert((String) row[0], (Integer) row[1], (Integer) row[2], (Integer) row[3], (byte[]) row[4]);
+            }
+            return new int[rows.size()];
+        });
+
+        lenient().doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            String sessionId = invocation.getArgument(2);
+            int end = invocation.getArgument(3);
+            int offset = invocation.getArgument(4);
+            List<JournalRow> matched = table.values().stream()
+                    .filter(row -> row.sessionId.equals(sessionId))
+                    .filter(row -> row.startOffset < end && row.startOffset + row.nodeCount > offset)
+                    .sorted(Comparator.comparingInt(row -> row.startOffset))
+                    .toList();
+            for (JournalRow row : matched) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt("start_offset")).thenReturn(row.startOffset);
+                when(rs.getInt("node_count")).thenReturn(row.nodeCount);
+                when(rs.getBytes("node_ids")).thenReturn(row.nodeIds.toByteArray());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("여러 번 나눠 추가한 방문 기록을 전체 순서대로 다시 읽음")
+    void testAppendAndRead_RoundTrip() {
+        List<UUID> nodes = nodes(5);
+
+        // 첫 저장: 에피소드 1 진행 중
+        journal.append(SESSION_ID, List.of(visit(0, 0, nodes), visit(0, 1, nodes)));
+        // 다음 저장: 에피소드 1 마지막 노드 + 에피소드 2 시작
+        journal.appendAll(Map.of(SESSION_ID, List.of(visit(0, 2, nodes), visit(1, 3, nodes), visit(1, 4, nodes))));
+
+        assertThat(journal.read(SESSION_ID, 0, 100)).containsExactlyElementsOf(nodes);
+        assertThat(table.get(key(SESSION_ID, 0)).nodeCount).isEqualTo(3);
+        assertThat(table.get(key(SESSION_ID, 1)).startOffset).isEqualTo(3);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("segment 경계를 걸친 페이지는 두 행에서 필요한 부분만 읽음")
+    void testRead_AcrossSegments() {
+        List<UUID> nodes = nodes(6);
+        journal.append(SESSION_ID, List.of(
+                visit(0, 0, nodes), visit(0, 1, nodes), visit(0, 2, nodes),
+                visit(1, 3, nodes), visit(1, 4, nodes), visit(2, 5, nodes)));
+
+        assertThat(journal.read(SESSION_ID, 2, 2)).containsExactly(nodes.get(2), nodes.get(3));
+        assertThat(journal.read(SESSION_ID, 4, 10)).containsExactly(nodes.get(4), nodes.get(5));
+        assertThat(journal.read(SESSION_ID, 6, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("V9 마이그레이션 형식(UUID 문자열을 UNHEX해 이어 붙인 segment 0)을 그대로 읽음")
+    void testRead_BackfilledSegment() {
+        List<UUID> nodes = nodes(3);
+        // GROUP_CONCAT(UNHEX(REPLACE(node_id, '-', '')) ORDER BY ord SEPARATOR '')
+        ByteArrayOutputStream backfilled = new ByteArrayOutputStream();
+        for (UUID node : nodes) {
+            backfilled.writeBytes(HexFormat.of().parseHex(node.toString().replace("-", "")));
+        }
+        upsert(SESSION_ID, 0, 0, nodes.size(), backfilled.toByteArray());
+
+        assertThat(journal.read(SESSION_ID, 0, 100)).containsExactlyElementsOf(nodes);
+
+        // 마이그레이션 이후 같은 segment에 이어서 추가된 기록과도 이어짐
+        UUID next = UUID.randomUUID();
+        journal.append(SESSION_ID, List.of(new PendingVisit(0, 3, next)));
+        assertThat(journal.read(SESSION_ID, 2, 2)).containsExactly(nodes.get(2), next);
+    }
+
+    // === Helper Methods ===
+
+    // INSERT ... ON DUPLICATE KEY UPDATE node_ids = CONCAT(node_ids, VALUES(node_ids)), node_count = node_count + VALUES(node_count)
+    private void upsert(String sessionId, int segment, int startOffset, int nodeCount, byte[] nodeIds) {
+        JournalRow row = table.computeIfAbsent(key(sessionId, segment), k -> new JournalRow(sessionId, startOffset));
+        row.nodeCount += nodeCount;
+        row.nodeIds.writeBytes(nodeIds);
+    }
+
+    private static String key(String sessionId, int segment) {
+        return sessionId + ":" + segment;
+    }
+
+    private static PendingVisit visit(int segment, int offset, List<UUID> nodes) {
+        return new PendingVisit(segment, offset, nodes.get(offset));
+    }
+
+    private static List<UUID> nodes(int count) {
+        List<UUID> nodes = new ArrayList<>(count);
+        IntStream.range(0, count).forEach(i -> nodes.add(UUID.randomUUID()));
+        return nodes;
+    }
+
+    private static final class JournalRow {
+        private final String sessionId;
+        private final int startOffset;
+        private int nodeCount;
+        private final ByteArrayOutputStream nodeIds = new ByteArrayOutputStream();
+
+        private JournalRow(String sessionId, int startOffset) {
+            this.sessionId = sessionId;
+            this.startOffset = startOffset;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.story.game.gameplay.service;
+
+import com.story.game.common.dto.EpisodeDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.common.dto.StoryChoiceDto;
+import com.story.game.common.dto.StoryNodeDto;
+import com.story.game.gameplay.graph.StoryGraph;
+import com.story.game.infrastructure.s3.S3Service;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * ChoicePrefetcher 선택지 미리 읽기 테스트
+ *
+ * 주요 테스트:
+ * 1. 목적지 노드 이미지 URL을 한 번에 서명
+ * 2. 에피소드 마지막 노드로 가는 선택지는 다음 에피소드 루트 이미지 + BGM 준비
+ * 3. 플레이어가 이동하면 이전 작업은 취소
+ */
+@ExtendWith(MockitoExtension.class)
+class ChoicePrefetcherTest {
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private BgmService bgmService;
+
+    private ChoicePrefetcher prefetcher;
+
+    @AfterEach
+    void tearDown() {
+        if (prefetcher != null) {
+            prefetcher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("중간 노드로 가는 선택지는 목적지 이미지 URL만 서명")
+    void testPrefetch_SignsDestinationImages() {
+        prefetcher = new ChoicePrefetcher(s3Service, bgmService, true, 1, 10);
+        StoryNodeDto grandChild = node(2, "images/grand.png", List.of(), List.of());
+        StoryNodeDto left = node(1, "images/left.png", List.of(choice("계속")), List.of(grandChild));
+        StoryNodeDto right = node(1, "https://bucket.s3.ap-northeast-2.amazonaws.com/images/right.png",
+                List.of(choice("계속")), List.of(grandChild));
+        StoryNodeDto root = node(0, null, List.of(choice("왼쪽"), choice("오른쪽")), List.of(left, right));
+        StoryGraph graph = graph(episode(1, List.of(root, left, right, grandChild)));
+        when(s3Service.generatePresignedDownloadUrls(anyCollection())).thenReturn(Map.of("a", "url-a", "b", "url-b"));
+
+        prefetcher.prefetch("session_1", 1L, graph, graph.getNode(root.getId()));
+
+        verify(s3Service, timeout(2000)).generatePresignedDownloadUrls(
+                argThat(keys -> keys.size() == 2 && keys.contains("images/left.png") && keys.contains("images/right.png")));
+        verify(s3Service, after(200).times(1)).generatePresignedDownloadUrls(anyCollection());
+        verifyNoInteractions(bgmService);
+        assertThat(prefetcher.getStats()).containsEntry("warmedImages", 2L);
+    }
+
+    @Test
+    @DisplayName("에피소드 마지막 노드로 가는 선택지는 다음 에피소드 루트 이미지와 BGM 준비")
+    void testPrefetch_WarmsNextEpisodeAtLastDepth() {
+        prefetcher = new ChoicePrefetcher(s3Service, bgmService, true, 1, 10);
+        StoryNodeDto leaf = node(1, "images/leaf.png", List.of(), List.of());
+        StoryNodeDto root = node(0, null, List.of(choice("끝으로")), List.of(leaf));
+        StoryNodeDto nextRoot = node(0, "images/ep2.png", List.of(), List.of());
+        EpisodeDto episode2 = episode(2, List.of(nextRoot));
+        StoryGraph graph = graph(episode(1, List.of(root, leaf)), episode2);
+        when(s3Service.generatePresignedDownloadUrls(anyCollection())).thenReturn(Map.of("images/ep2.png", "url"));
+        when(bgmService.preloadEpisodeBgm(anyLong(), any(UUID.class), anyString(), any())).thenReturn(true);
+
+        prefetcher.prefetch("session_1", 7L, graph, graph.getNode(root.getId()));
+
+        verify(bgmService, timeout(2000)).preloadEpisodeBgm(eq(7L), eq(UUID.fromString(episode2.getId())), eq("Episode 2"), any());
+        verify(s3Service).generatePresignedDownloadUrls(argThat(keys -> keys.size() == 1 && keys.contains("images/ep2.png")));
+    }
+
+    @Test
+    @DisplayName("같은 세션에서 다음 노드로 이동하면 대기 중인 이전 작업은 실행되지 않음")
+    void testPrefetch_CancelsPreviousTask() throws Exception {
+        prefetcher = new ChoicePrefetcher(s3Service, bgmService, true, 1, 10);
+        StoryNodeDto leaf = node(1, "images/leaf.png", List.of(), List.of());
+        StoryNodeDto first = node(0, null, List.of(choice("A")), List.of(leaf));
+        StoryNodeDto second = node(0, null, List.of(choice("B")), List.of(leaf));
+        StoryGraph graph = graph(episode(1, List.of(first, leaf)), episode(2, List.of(second)));
+
+        // 워커를 다른 세션 작업으로 붙잡아 두어 session_1 작업이 대기열에 남게 함
+        CountDownLatch blocker = new CountDownLatch(1);
+        when(bgmService.preloadEpisodeBgm(anyLong(), any(UUID.class), anyString(), any())).thenAnswer(invocation -> {
+            blocker.await(2, TimeUnit.SECONDS);
+            return true;
+        });
+        prefetcher.prefetch("session_busy", 1L, graph, graph.getNode(first.getId()));
+        verify(bgmService, timeout(2000)).preloadEpisodeBgm(anyLong(), any(UUID.class), anyString(), any());
+
+        prefetcher.prefetch("session_1", 1L, graph, graph.getNode(first.getId()));
+        prefetcher.prefetch("session_1", 1L, graph, graph.getNode(second.getId()));
+        blocker.countDown();
+
+        // busy 작업 1회 + session_1의 두 번째 작업 1회 (취소된 첫 번째 작업은 실행되지 않음)
+        verify(bgmService, after(300).times(2)).preloadEpisodeBgm(anyLong(), any(UUID.class), anyString(), any());
+        assertThat(prefetcher.getStats()).containsEntry("cancelled", 1L);
+    }
+
+    private StoryGraph graph(EpisodeDto... episodes) {
+        return StoryGraph.from("story_test", FullStoryDto.builder().episodes(List.of(episodes)).build());
+    }
+
+    private StoryNodeDto node(int depth, String imageFileKey, List<StoryChoiceDto> choices, List<StoryNodeDto> children) {
+        return StoryNodeDto.builder()
+                .id(UUID.randomUUID().toString())
+                .depth(depth)
+                .text("node")
+                .imageFileKey(imageFileKey)
+                .choices(choices)
+                .children(children)
+                .build();
+    }
+
+    private StoryChoiceDto choice(String text) {
+        return StoryChoiceDto.builder().text(text).tags(List.of()).build();
+    }
+
+    private EpisodeDto episode(int order, List<StoryNodeDto> nodes) {
+        return EpisodeDto.builder()
+                .id(UUID.randomUUID().toString())
+                .title("Episode " + order)
+                .order(order)
+                .nodes(nodes)
+                .endings(List.of())
+                .build();
+    }
+}
@@ -3,14 +3,26 @@ package com.story.game.gameplay.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.story.game.ai.service.RelayServerClient;
+import com.story.game.common.dto.EpisodeDto;
 import com.story.game.common.dto.FinalEndingDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.common.dto.StoryChoiceDto;
+import com.story.game.common.dto.StoryNodeDto;
 import com.story.game.common.entity.StoryData;
+import com.story.game.common.exception.InvalidStateException;
 import com.story.game.common.repository.StoryDataRepository;
+import com.story.game.creation.context.StoryContextCache;
 import com.story.game.creation.entity.StoryCreation;
 import com.story.game.creation.repository.StoryCreationRepository;
+import com.story.game.gameplay.analytics.ChoiceAnalyticsBuffer;
+import com.story.game.gameplay.condition.ConditionEngine;
 import com.story.game.gameplay.dto.GameStateResponseDto;
 import com.story.game.gameplay.entity.GameSession;
+import com.story.game.gameplay.graph.StoryGraph;
+import com.story.game.gameplay.graph.StoryGraphCache;
+import com.story.game.gameplay.journal.VisitedNodeJournal;
 import com.story.game.gameplay.repository.GameSessionRepository;
+import com.story.game.gameplay.session.GameSessionStore;
 import com.story.game.story.entity.Episode;
 import com.story.game.story.entity.EpisodeEnding;
 import com.story.game.story.mapper.StoryMapper;
@@ -31,6 +43,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -42,6 +55,7 @@ import static org.mockito.Mockito.*;
  * 2. 게이지 조건이 매칭되는 엔딩 선택
  * 3. 조건 불일치 시 기본 엔딩 선택
  * 4. 빈 엔딩 목록 처리
+ * 5. 여러 선택지 일괄 적용 시 경로 사전 검증
  */
 @ExtendWith(MockitoExtension.class)
 class GameServiceEndingTest {
@@ -76,6 +90,27 @@ class GameServiceEndingTest {
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Spy
+    private ConditionEngine conditionEngine = new ConditionEngine(100);
+
+    @Spy
+    private StoryContextCache storyContextCache = new StoryContextCache(new ObjectMapper(), 100);
+
+    @Mock
+    private GameSessionStore gameSessionStore;
+
+    @Mock
+    private VisitedNodeJournal visitedNodeJournal;
+
+    @Mock
+    private ChoicePrefetcher choicePrefetcher;
+
+    @Mock
+    private StoryGraphCache storyGraphCache;
+
+    @Mock
+    private ChoiceAnalyticsBuffer choiceAnalyticsBuffer;
+
     @InjectMocks
     private GameService gameService;
 
@@ -98,7 +133,6 @@ class GameServiceEndingTest {
                 .currentNodeId(UUID.randomUUID().toString())
                 .gaugeStates(new HashMap<>())
                 .accumulatedTags(new HashMap<>())
-                .visitedNodes(new ArrayList<>())
                 .completedEpisodes(new ArrayList<>())
                 .isCompleted(false)
                 .build();
@@ -331,6 +365,35 @@ class GameServiceEndingTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    @DisplayName("일괄 선택 중 잘못된 인덱스가 있으면 세션을 바꾸지 않고 거절")
+    void testMakeChoices_RejectsInvalidPathBeforeApplying() {
+        StoryNodeDto leaf = StoryNodeDto.builder().id(UUID.randomUUID().toString()).depth(2).text("leaf")
+                .choices(List.of()).children(List.of()).build();
+        StoryNodeDto middle = StoryNodeDto.builder().id(UUID.randomUUID().toString()).depth(1).text("middle")
+                .choices(List.of(choice("계속"))).children(List.of(leaf)).build();
+        StoryNodeDto root = StoryNodeDto.builder().id(UUID.randomUUID().toString()).depth(0).text("root")
+                .choices(List.of(choice("앞으로"))).children(List.of(middle)).build();
+        EpisodeDto episode = EpisodeDto.builder().id(UUID.randomUUID().toString()).title("Episode 1").order(1)
+                .nodes(List.of(root, middle, leaf)).endings(List.of()).build();
+        StoryGraph graph = StoryGraph.from("story_test", FullStoryDto.builder().episodes(List.of(episode)).build());
+
+        testGameSession.setStoryCreationId("story_test");
+        testGameSession.setCurrentEpisodeId(episode.getId());
+        testGameSession.setCurrentNodeId(root.getId());
+        when(gameSessionStore.load("session_test")).thenReturn(testGameSession);
+        when(storyGraphCache.getGraph("story_test")).thenReturn(graph);
+
+        assertThatThrownBy(() -> gameService.makeChoices("session_test", List.of(0, 3), com.story.game.auth.entity.User.builder().build()))
+                .isInstanceOf(InvalidStateException.class)
+                .hasMessageContaining("position 1");
+
+        // 첫 번째 선택도 적용되지 않음
+        assertThat(testGameSession.getCurrentNodeId()).isEqualTo(root.getId());
+        verify(gameSessionStore, never()).markDirty(any());
+        verify(gameSessionStore, never()).flush(any());
+    }
+
     // === Helper Methods ===
 
     /**
@@ -349,19 +412,29 @@ class GameServiceEndingTest {
     }
 
     /**
-     * private 메서드 handleGameEnd 호출 (리플렉션 사용)
+     * private 메서드 completeGame → handleGameEnd 호출 (리플렉션 사용)
      */
     private GameStateResponseDto invokeHandleGameEnd(
             GameSession session,
             StoryCreation storyCreation,
             EpisodeEnding lastEpisodeEnding) throws Exception {
 
-        return ReflectionTestUtils.invokeMethod(
+        Object gameEnd = ReflectionTestUtils.invokeMethod(
                 gameService,
-                "handleGameEnd",
+                "completeGame",
                 session,
                 storyCreation,
                 lastEpisodeEnding
         );
+        return ReflectionTestUtils.invokeMethod(
+                gameService,
+                "handleGameEnd",
+                session,
+                gameEnd
+        );
+    }
+
+    private StoryChoiceDto choice(String text) {
+        return StoryChoiceDto.builder().text(text).tags(List.of()).build();
     }
 }
@@ -0,0 +1,312 @@
+package com.story.game.gameplay.session;
+
+import com.story.game.common.exception.InvalidStateException;
+import com.story.game.gameplay.entity.GameSession;
+import com.story.game.gameplay.journal.VisitedNodeJournal;
+import com.story.game.gameplay.repository.GameSessionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * GameSessionStore write-behind 동작 테스트
+ *
+ * 주요 테스트:
+ * 1. 캐시된 세션은 DB 조회 없이 반환
+ * 2. 여러 번의 변경이 한 번의 저장으로 합쳐짐
+ * 3. 저장 후 버전 반영, 방문 노드는 저널에 추가
+ * 4. 버전 충돌 시 메모리 상태 폐기
+ * 5. 주기 flush와 즉시 flush가 겹쳐도 교착 없이 저장
+ * 6. 보관 이동 중인 세션은 메모리에 올리지 않음
+ * 7. 요청 트랜잭션에 참여한 flush는 트랜잭션 종료 시점에 결과 반영/복구
+ */
+@ExtendWith(MockitoExtension.class)
+class GameSessionStoreTest {
+
+    @Mock
+    private GameSessionRepository gameSessionRepository;
+
+    @Mock
+    private VisitedNodeJournal visitedNodeJournal;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private GameSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        store = new GameSessionStore(gameSessionRepository, visitedNodeJournal, transactionManager, 100, 1000, 60_000);
+        ReflectionTestUtils.setField(store, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("캐시된 세션은 DB를 다시 조회하지 않음")
+    void testLoad_CachedSession() {
+        GameSession session = session("session_1", 0L);
+        when(gameSessionRepository.findById("session_1")).thenReturn(Optional.of(session));
+
+        GameSession first = store.load("session_1");
+        GameSession second = store.load("session_1");
+
+        assertThat(second).isSameAs(first);
+        verify(gameSessionRepository, times(1)).findById("session_1");
+    }
+
+    @Test
+    @DisplayName("여러 번 변경해도 flush 때 한 번만 저장되고 버전이 반영됨")
+    @SuppressWarnings("unchecked")
+    void testFlushDirty_CoalescesWrites() {
+        GameSession session = session("session_1", 3L);
+        store.register(session);
+
+        UUID node2 = UUID.randomUUID();
+        UUID node3 = UUID.randomUUID();
+        session.recordVisit(node2.toString());
+        store.markDirty(session);
+        session.recordVisit(node3.toString());
+        store.markDirty(session);
+
+        when(gameSessionRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<GameSession> saved = new ArrayList<>();
+            for (GameSession snapshot : (Iterable<GameSession>) invocation.getArgument(0)) {
+                snapshot.setVersion(snapshot.getVersion() + 1);
+                saved.add(snapshot);
+            }
+            return saved;
+        });
+
+        store.flushDirty();
+        store.flushDirty();
+
+        ArgumentCaptor<Iterable<GameSession>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(gameSessionRepository, times(1)).saveAllAndFlush(captor.capture());
+        GameSession snapshot = captor.getValue().iterator().next();
+        assertThat(snapshot).isNotSameAs(session);
+        assertThat(snapshot.getVisitedCount()).isEqualTo(3);
+        assertThat(session.getVersion()).isEqualTo(4L);
+
+        ArgumentCaptor<Map<String, List<GameSession.PendingVisit>>> visits = ArgumentCaptor.forClass(Map.class);
+        verify(visitedNodeJournal, times(1)).appendAll(visits.capture());
+        assertThat(visits.getValue().get("session_1"))
+                .extracting(GameSession.PendingVisit::nodeId)
+                .containsExactly(node2, node3);
+        assertThat(visits.getValue().get("session_1"))
+                .extracting(GameSession.PendingVisit::offset)
+                .containsExactly(1, 2);
+        assertThat(session.hasPendingVisits()).isFalse();
+        assertThat(store.getStats()).containsEntry("coalescedWrites", 1L);
+    }
+
+    @Test
+    @DisplayName("버전 충돌 시 메모리 상태를 버리고 다음 조회는 DB에서 읽음")
+    void testFlushDirty_OptimisticLockConflict() {
+        GameSession session = session("session_1", 1L);
+        store.register(session);
+        store.markDirty(session);
+
+        when(gameSessionRepository.saveAllAndFlush(anyIterable()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(GameSession.class, "session_1"));
+
+        store.flushDirty();
+
+        GameSession reloaded = session("session_1", 2L);
+        when(gameSessionRepository.findById("session_1")).thenReturn(Optional.of(reloaded));
+
+        assertThat(store.load("session_1")).isSameAs(reloaded);
+        assertThat(store.getStats()).containsEntry("conflicts", 1L);
+    }
+
+    @Test
+    @DisplayName("주기 flush가 저장 중일 때 에피소드 경계 flush가 와도 교착 없이 차례로 저장")
+    @SuppressWarnings("unchecked")
+    void testFlush_ConcurrentWithScheduledFlush() throws Exception {
+        GameSession session = session("session_1", 1L);
+        store.register(session);
+        store.markDirty(session);
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(gameSessionRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            List<GameSession> saved = new ArrayList<>();
+            for (GameSession snapshot : (Iterable<GameSession>) invocation.getArgument(0)) {
+                snapshot.setVersion(snapshot.getVersion() + 1);
+                saved.add(snapshot);
+            }
+            return saved;
+        });
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread scheduler = new Thread(() -> store.flushDirty());
+        scheduler.start();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // GameService와 같은 순서: 세션 잠금 안에서 변경하고, 잠금을 놓은 뒤 즉시 저장
+        Thread request = new Thread(() -> {
+            try {
+                synchronized (session) {
+                    session.recordVisit(UUID.randomUUID().toString());
+                    store.markDirty(session);
+                }
+                store.flush(session);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        request.start();
+
+        // 요청 스레드가 flushLock을 기다리는 상태에서 주기 flush를 끝까지 진행
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (request.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        scheduler.join(5_000);
+        request.join(5_000);
+        assertThat(scheduler.isAlive()).isFalse();
+        assertThat(request.isAlive()).isFalse();
+        assertThat(failure.get()).isNull();
+        verify(gameSessionRepository, times(2)).saveAllAndFlush(anyIterable());
+        assertThat(session.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("요청 트랜잭션에 참여한 flush는 커밋 후에만 버전을 반영하고, 롤백되면 방문 기록을 되돌림")
+    @SuppressWarnings("unchecked")
+    void testFlush_JoinedTransactionCompletion() {
+        GameSession session = session("session_1", 1L);
+        store.register(session);
+        UUID node = UUID.randomUUID();
+        session.recordVisit(node.toString());
+        store.markDirty(session);
+
+        when(gameSessionRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<GameSession> saved = new ArrayList<>();
+            for (GameSession snapshot : (Iterable<GameSession>) invocation.getArgument(0)) {
+                snapshot.setVersion(snapshot.getVersion() + 1);
+                saved.add(snapshot);
+            }
+            return saved;
+        });
+
+        // 요청 트랜잭션 롤백: 저널 기록도 함께 롤백되므로 방문 기록과 dirty가 돌아와야 함
+        inRequestTransaction(false, () -> {
+            store.flush(session);
+            assertThat(session.getVersion()).isEqualTo(1L);
+            assertThat(session.hasPendingVisits()).isFalse();
+        });
+        assertThat(session.getVersion()).isEqualTo(1L);
+        assertThat(session.hasPendingVisits()).isTrue();
+
+        // 다음 주기 flush가 flushLock을 잡고 되돌린 방문 기록을 다시 저장
+        store.flushDirty();
+        ArgumentCaptor<Map<String, List<GameSession.PendingVisit>>> visits = ArgumentCaptor.forClass(Map.class);
+        verify(visitedNodeJournal, times(2)).appendAll(visits.capture());
+        assertThat(visits.getValue().get("session_1"))
+                .extracting(GameSession.PendingVisit::nodeId)
+                .containsExactly(node);
+        assertThat(session.getVersion()).isEqualTo(2L);
+
+        // 요청 트랜잭션 커밋: 커밋 뒤에야 증가된 버전을 반영
+        inRequestTransaction(true, () -> {
+            store.flush(session);
+            assertThat(session.getVersion()).isEqualTo(2L);
+        });
+        assertThat(session.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("세션 잠금을 잡은 채 flush/evict를 호출하면 거절")
+    void testFlush_RejectsCallerHoldingSessionLock() {
+        GameSession session = session("session_1", 1L);
+        store.register(session);
+
+        synchronized (session) {
+            assertThatThrownBy(() -> store.flush(session)).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> store.evict("session_1")).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(store.getCacheSize()).isEqualTo(1);
+        verify(gameSessionRepository, never()).saveAllAndFlush(anyIterable());
+    }
+
+    @Test
+    @DisplayName("보관 이동으로 고정한 세션은 해제 전까지 불러오지 않고, 메모리에 있는 세션은 고정하지 않음")
+    void testPinForArchive() {
+        GameSession playing = session("session_playing", 1L);
+        store.register(playing);
+
+        List<String> pinned = store.pinForArchive(List.of("session_old", "session_playing"));
+
+        assertThat(pinned).containsExactly("session_old");
+        assertThatThrownBy(() -> store.load("session_old")).isInstanceOf(InvalidStateException.class);
+        verify(gameSessionRepository, never()).findById("session_old");
+
+        store.releaseArchived(pinned);
+        when(gameSessionRepository.findById("session_old")).thenReturn(Optional.of(session("session_old", 1L)));
+        assertThat(store.load("session_old").getId()).isEqualTo("session_old");
+    }
+
+    private void inRequestTransaction(boolean commit, Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            action.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private GameSession session(String id, Long version) {
+        return GameSession.builder()
+                .id(id)
+                .storyDataId(1L)
+                .storyCreationId("story_test")
+                .visitedCount(1)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.story.game.gameplay.session;
+
+import com.story.game.common.exception.IdempotencyConflictException;
+import com.story.game.gameplay.dto.GameStateResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * IdempotentReplyCache 재시도/직렬화 테스트
+ *
+ * 주요 테스트:
+ * 1. 같은 키 재시도는 실행 없이 캐시된 응답 반환
+ * 2. 같은 키로 다른 요청이 오면 409
+ * 3. 처리 중인 요청에 같은 키가 오면 기다렸다가 같은 응답
+ * 4. 실패한 요청은 캐시하지 않음
+ * 5. 키 없는 요청은 같은 세션의 처리 중인 요청을 기다리지 않음
+ * 6. 최대 개수를 넘으면 가장 오래 접근되지 않은 항목부터 제거, 마지막 접근 후 TTL이 지나면 만료
+ */
+class IdempotentReplyCacheTest {
+
+    private final IdempotentReplyCache cache = new IdempotentReplyCache(100, 600, 2000);
+
+    @Test
+    @DisplayName("같은 키로 재시도하면 다시 실행하지 않고 같은 응답 반환")
+    void testExecute_ReplaysCachedReply() {
+        AtomicInteger calls = new AtomicInteger();
+
+        GameStateResponseDto first = cache.execute("choice:1:s1", "key-1", 0, () -> reply(calls.incrementAndGet()));
+        GameStateResponseDto retry = cache.execute("choice:1:s1", "key-1", 0, () -> reply(calls.incrementAndGet()));
+
+        assertThat(retry).isSameAs(first);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.getStats()).containsEntry("replays", 1L);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 선택지를 제출하면 409 예외")
+    void testExecute_RejectsDifferentRequestWithSameKey() {
+        cache.execute("choice:1:s1", "key-1", 0, () -> reply(1));
+
+        assertThatThrownBy(() -> cache.execute("choice:1:s1", "key-1", 1, () -> reply(2)))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청과 같은 키의 재시도는 기다렸다가 같은 응답을 받음")
+    void testExecute_JoinsInFlightRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<GameStateResponseDto> original = CompletableFuture.supplyAsync(() ->
+                cache.execute("choice:1:s1", "key-1", 0, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return reply(1);
+                }));
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<GameStateResponseDto> retry = CompletableFuture.supplyAsync(() ->
+                cache.execute("choice:1:s1", "key-1", 0, () -> reply(calls.incrementAndGet())));
+        release.countDown();
+
+        assertThat(retry.get(2, TimeUnit.SECONDS)).isSameAs(original.get(2, TimeUnit.SECONDS));
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 캐시하지 않아 같은 키로 다시 실행 가능")
+    void testExecute_DoesNotCacheFailures() {
+        assertThatThrownBy(() -> cache.execute("choice:1:s1", "key-1", 0, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        GameStateResponseDto reply = cache.execute("choice:1:s1", "key-1", 0, () -> reply(7));
+
+        assertThat(reply.getSessionId()).isEqualTo("reply-7");
+    }
+
+    @Test
+    @DisplayName("키 없는 요청은 같은 세션에 처리 중인 요청이 있어도 기다리지 않고 바로 실행")
+    void testExecute_WithoutKeyDoesNotSerialize() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<GameStateResponseDto> keyed = CompletableFuture.supplyAsync(() ->
+                cache.execute("choice:1:s1", "key-1", 0, () -> {
+                    started.countDown();
+                    await(release);
+                    return reply(1);
+                }));
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        GameStateResponseDto keyless = cache.execute("choice:1:s1", null, 1, () -> reply(2));
+        release.countDown();
+
+        assertThat(keyless.getSessionId()).isEqualTo("reply-2");
+        assertThat(keyed.get(2, TimeUnit.SECONDS).getSessionId()).isEqualTo("reply-1");
+        assertThat(cache.getStats())
+                .containsEntry("serializedWaits", 0L)
+                .containsEntry("activeScopes", 0);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 접근되지 않은 항목을 제거")
+    void testExecute_EvictsLeastRecentlyUsed() {
+        IdempotentReplyCache small = new IdempotentReplyCache(2, 600, 2000);
+        AtomicInteger calls = new AtomicInteger();
+
+        small.execute("choice:1:s1", "key-1", 0, () -> reply(calls.incrementAndGet()));
+        small.execute("choice:1:s1", "key-2", 0, () -> reply(calls.incrementAndGet()));
+        // key-1을 다시 사용해 key-2가 가장 오래된 항목이 됨
+        small.execute("choice:1:s1", "key-1", 0, () -> reply(calls.incrementAndGet()));
+        small.execute("choice:1:s1", "key-3", 0, () -> reply(calls.incrementAndGet()));
+
+        small.execute("choice:1:s1", "key-1", 0, () -> reply(calls.incrementAndGet()));
+        assertThat(calls.get()).isEqualTo(3);
+        small.execute("choice:1:s1", "key-2", 0, () -> reply(calls.incrementAndGet()));
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(small.getStats()).containsEntry("size", 2);
+    }
+
+    @Test
+    @DisplayName("마지막 접근 후 TTL이 지난 항목은 다른 키 요청 때 정리")
+    void testExecute_ExpiresIdleEntries() throws Exception {
+        IdempotentReplyCache shortLived = new IdempotentReplyCache(100, 0, 2000);
+        AtomicInteger calls = new AtomicInteger();
+
+        shortLived.execute("choice:1:s1", "key-1", 0, () -> reply(calls.incrementAndGet()));
+        Thread.sleep(5);
+        shortLived.execute("choice:1:s2", "key-2", 0, () -> reply(calls.incrementAndGet()));
+
+        assertThat(shortLived.getStats())
+                .containsEntry("size", 1)
+                .containsEntry("expirations", 1L);
+    }
+
+    private static GameStateResponseDto reply(int n) {
+        return GameStateResponseDto.builder().sessionId("reply-" + n).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.story.game.gameplay.simulation;
+
+import com.story.game.common.dto.EpisodeDto;
+import com.story.game.common.dto.EpisodeEndingDto;
+import com.story.game.common.dto.FinalEndingDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.common.dto.StoryChoiceDto;
+import com.story.game.common.dto.StoryNodeDto;
+import com.story.game.creation.dto.EndingReachabilityResponseDto;
+import com.story.game.gameplay.condition.ConditionEngine;
+import com.story.game.gameplay.graph.StoryGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 엔딩 도달 가능성 시뮬레이터 테스트
+ *
+ * 주요 테스트:
+ * 1. 게이지 상태를 펼친 정확한 계산으로 최종/에피소드 엔딩 확률과 도달 불가 엔딩 산출
+ * 2. 상태 수 상한을 넘으면 병렬 무작위 플레이로 같은 분포를 추정
+ */
+class EndingReachabilitySimulatorTest {
+
+    private static final List<FinalEndingDto> FINAL_ENDINGS = List.of(
+            finalEnding("legend", "trust >= 90"),
+            finalEnding("hero", "trust >= 70"),
+            finalEnding("ordinary", "default")
+    );
+
+    private StoryGraph graph;
+    private String unreachableEpisodeEndingId;
+
+    @BeforeEach
+    void setUp() {
+        // 에피소드 1: 용감(brave) → trust +30, 그 외 → trust -30, "wise >= 5"는 한 번의 선택으로 도달 불가
+        StoryNodeDto braveLeaf = node(1, List.of(), List.of());
+        StoryNodeDto wiseLeaf = node(1, List.of(), List.of());
+        StoryNodeDto root = node(0, List.of(choice("brave"), choice("wise")), List.of(braveLeaf, wiseLeaf));
+        EpisodeEndingDto unreachable = ending("wise >= 5", Map.of("trust", 50));
+        unreachableEpisodeEndingId = unreachable.getId();
+        EpisodeDto episode1 = episode(1, List.of(root, braveLeaf, wiseLeaf), List.of(
+                ending("brave >= 1", Map.of("trust", 30)),
+                unreachable,
+                ending("default", Map.of("trust", -30))));
+        // 에피소드 2: 선택지/엔딩 없음 → 게이지 변화 없이 게임 종료
+        EpisodeDto episode2 = episode(2, List.of(node(0, List.of(), List.of())), List.of());
+
+        graph = StoryGraph.from("story_test", FullStoryDto.builder().episodes(List.of(episode1, episode2)).build());
+    }
+
+    @Test
+    @DisplayName("정확한 계산: 선택별 게이지 결과로 최종 엔딩 확률과 도달 불가 엔딩을 산출")
+    void testSimulate_ExactDistribution() {
+        EndingReachabilitySimulator simulator = new EndingReachabilitySimulator(new ConditionEngine(100), 1000, 1000, 1000, 1L);
+
+        EndingReachabilityResponseDto report = simulator.simulate("story_test", graph, List.of("trust"), FINAL_ENDINGS);
+
+        assertThat(report.getMode()).isEqualTo(EndingReachabilitySimulator.EXACT);
+        assertThat(report.getFinalEndings())
+                .extracting(EndingReachabilityResponseDto.FinalEndingStats::getProbability)
+                .containsExactly(0.0, 0.5, 0.5);
+        assertThat(report.getUnreachableFinalEndings()).containsExactly("legend");
+        assertThat(report.getUnreachableEpisodeEndings()).containsExactly(unreachableEpisodeEndingId);
+        assertThat(report.getEpisodeEndings().get(0).getProbability()).isEqualTo(0.5);
+        assertThat(report.getEpisodeEndings().get(0).getEpisodeReachProbability()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("상태 수 상한을 넘으면 무작위 플레이로 같은 분포를 추정")
+    void testSimulate_MonteCarloFallback() {
+        EndingReachabilitySimulator simulator = new EndingReachabilitySimulator(new ConditionEngine(100), 200_000, 0, 1000, 7L);
+
+        EndingReachabilityResponseDto report = simulator.simulate("story_test", graph, List.of("trust"), FINAL_ENDINGS);
+
+        assertThat(report.getMode()).isEqualTo(EndingReachabilitySimulator.MONTE_CARLO);
+        assertThat(report.getPlaythroughs()).isEqualTo(200_000);
+        assertThat(report.getFinalEndings().get(1).getProbability()).isCloseTo(0.5, within(0.01));
+        assertThat(report.getUnreachableFinalEndings()).containsExactly("legend");
+        assertThat(simulator.getStats()).containsEntry("monteCarloRuns", 1L);
+    }
+
+    private static FinalEndingDto finalEnding(String id, String condition) {
+        FinalEndingDto ending = new FinalEndingDto();
+        ending.setId(id);
+        ending.setTitle(id);
+        ending.setCondition(condition);
+        return ending;
+    }
+
+    private static StoryNodeDto node(int depth, List<StoryChoiceDto> choices, List<StoryNodeDto> children) {
+        return StoryNodeDto.builder()
+                .id(UUID.randomUUID().toString())
+                .depth(depth)
+                .text("node")
+                .choices(choices)
+                .children(children)
+                .build();
+    }
+
+    private static StoryChoiceDto choice(String tag) {
+        return StoryChoiceDto.builder().text(tag).tags(List.of(tag)).build();
+    }
+
+    private static EpisodeEndingDto ending(String condition, Map<String, Integer> gaugeChanges) {
+        return EpisodeEndingDto.builder()
+                .id(UUID.randomUUID().toString())
+                .title(condition)
+                .condition(condition)
+                .gaugeChanges(gaugeChanges)
+                .build();
+    }
+
+    private static EpisodeDto episode(int order, List<StoryNodeDto> nodes, List<EpisodeEndingDto> endings) {
+        return EpisodeDto.builder()
+                .id(UUID.randomUUID().toString())
+                .title("Episode " + order)
+                .order(order)
+                .nodes(nodes)
+                .endings(endings)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.story.game.gameplay.state;
+
+import com.story.game.gameplay.condition.CompiledCondition;
+import com.story.game.gameplay.condition.ConditionCompiler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StateVector / StateVectorConverter 테스트
+ *
+ * 주요 테스트:
+ * 1. 슬롯 누적/클램프와 Map 뷰 일치
+ * 2. 스토리 심볼 테이블에 없는 이름도 보존
+ * 3. JSON 컬럼 코덱 왕복
+ * 4. 조건식 벡터 평가가 Map 평가와 동일
+ */
+class StateVectorTest {
+
+    private final StateSymbols gauges = StateSymbols.of(List.of("trust", "courage"));
+
+    @Test
+    @DisplayName("슬롯 누적과 0~100 클램프가 Map 뷰에 반영")
+    void testAddClamped() {
+        StateVector vector = new StateVector(gauges);
+        vector.setInt(gauges.indexOf("trust"), 90);
+
+        vector.addClamped(gauges.indexOf("trust"), 20, 0, 100);
+        vector.addClamped(gauges.indexOf("courage"), -10, 0, 100);
+
+        assertThat(vector).containsExactlyInAnyOrderEntriesOf(Map.of("trust", 100, "courage", 0));
+        assertThat(vector.getInt(StateSymbols.NONE)).isZero();
+    }
+
+    @Test
+    @DisplayName("심볼 테이블에 없는 이름은 뒤 슬롯에 덧붙여 보존하고 기존 슬롯은 유지")
+    void testBind_KeepsUnknownKeys() {
+        StateVector vector = StateVector.bind(gauges, Map.of("trust", 40, "legacy", 3));
+
+        assertThat(vector.getInt(gauges.indexOf("trust"))).isEqualTo(40);
+        assertThat(vector.get("legacy")).isEqualTo(3);
+        assertThat(vector.getSymbols().isCompatibleWith(gauges)).isTrue();
+        assertThat(StateVector.bind(gauges, vector)).isSameAs(vector);
+    }
+
+    @Test
+    @DisplayName("JSON 컬럼 코덱 왕복 후 같은 값")
+    void testConverter_RoundTrip() {
+        StateVectorConverter converter = new StateVectorConverter();
+        StateVector vector = new StateVector(gauges);
+        vector.setInt(gauges.indexOf("courage"), 65);
+
+        String json = converter.convertToDatabaseColumn(vector);
+        Map<String, Integer> decoded = converter.convertToEntityAttribute(json);
+
+        assertThat(json).isEqualTo("{\"courage\":65}");
+        assertThat(decoded).isInstanceOf(StateVector.class).isEqualTo(Map.of("courage", 65));
+        assertThat(converter.convertToEntityAttribute("{\"a\":1,\"b\":null,\"a\":2}")).isEqualTo(Map.of("a", 2));
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("조건식을 벡터로 평가해도 Map 평가와 같은 결과")
+    void testCondition_EvaluatesOnVector() {
+        CompiledCondition condition = ConditionCompiler.compile("#trust >= 70 AND missing == 0");
+        StateVector vector = new StateVector(gauges);
+        vector.setInt(gauges.indexOf("trust"), 75);
+
+        assertThat(condition.test(vector)).isTrue();
+        assertThat(condition.test(Map.of("trust", 75))).isTrue();
+
+        vector.setInt(gauges.indexOf("trust"), 60);
+        assertThat(condition.test(vector)).isFalse();
+    }
+}
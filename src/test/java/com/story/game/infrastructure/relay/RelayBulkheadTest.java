@@ -0,0 +1,91 @@
+package com.story.game.infrastructure.relay;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RelayBulkhead 동시 실행 제한 테스트
+ *
+ * 주요 테스트:
+ * 1. maxConcurrent를 넘는 호출은 대기열에서 기다렸다가 자리가 나면 시작
+ * 2. 대기열까지 가득 차면 즉시 RelayRejectedException
+ * 3. 제한 시간 초과 시 timeouts 증가 및 자리 반환
+ */
+class RelayBulkheadTest {
+
+    @Test
+    @DisplayName("동시 실행 수를 넘는 호출은 대기 후 앞선 호출이 끝나면 시작")
+    void testExecute_QueuesBeyondLimit() throws Exception {
+        RelayBulkhead bulkhead = new RelayBulkhead(RelayEndpoint.CHAT, 1, 1, Duration.ofSeconds(5));
+        Sinks.One<String> first = Sinks.one();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> firstCall = bulkhead.execute(() -> {
+            started.incrementAndGet();
+            return first.asMono();
+        }).toFuture();
+        CompletableFuture<String> secondCall = bulkhead.execute(() -> {
+            started.incrementAndGet();
+            return Mono.just("second");
+        }).toFuture();
+
+        assertThat(started.get()).isEqualTo(1);
+        assertThat(bulkhead.getActive()).isEqualTo(1);
+        assertThat(bulkhead.getQueued()).isEqualTo(1);
+
+        first.tryEmitValue("first");
+
+        assertThat(firstCall.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(secondCall.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(started.get()).isEqualTo(2);
+        assertThat(bulkhead.getActive()).isZero();
+        assertThat(bulkhead.getQueued()).isZero();
+        assertThat(bulkhead.getStats()).containsEntry("queuedTotal", 1L);
+    }
+
+    @Test
+    @DisplayName("대기열까지 가득 차면 즉시 거절")
+    void testExecute_RejectsWhenQueueFull() {
+        RelayBulkhead bulkhead = new RelayBulkhead(RelayEndpoint.IMAGE, 1, 1, Duration.ofSeconds(5));
+
+        bulkhead.execute(Mono::never).subscribe();
+        bulkhead.execute(Mono::never).subscribe();
+        CompletableFuture<Object> rejectedCall = bulkhead.execute(Mono::never).toFuture();
+
+        assertThatThrownBy(() -> rejectedCall.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RelayRejectedException.class);
+        assertThat(bulkhead.getStats())
+                .containsEntry("rejected", 1L)
+                .containsEntry("active", 1)
+                .containsEntry("queued", 1);
+    }
+
+    @Test
+    @DisplayName("제한 시간 초과 시 자리를 반환하고 timeouts 증가")
+    void testExecute_TimeoutReleasesSlot() throws Exception {
+        RelayBulkhead bulkhead = new RelayBulkhead(RelayEndpoint.BGM, 1, 0, Duration.ofMillis(50));
+
+        CompletableFuture<Object> slowCall = bulkhead.execute(Mono::never).toFuture();
+
+        assertThatThrownBy(() -> slowCall.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(bulkhead.getActive()).isZero();
+        assertThat(bulkhead.getStats()).containsEntry("timeouts", 1L);
+
+        // 자리가 반환되었으므로 다음 호출은 바로 실행
+        assertThat(bulkhead.execute(() -> Mono.just("ok")).toFuture().get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,96 @@
+package com.story.game.infrastructure.s3;
+
+import com.story.game.infrastructure.config.FileUploadProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PresignedUrlCache 테스트
+ *
+ * 주요 테스트:
+ * 1. 재사용 기간 안에서는 다시 서명하지 않음
+ * 2. 일괄 조회 시 중복 키는 한 번만 서명, 실패한 키는 제외
+ * 3. 최대 개수를 넘으면 LRU 제거
+ */
+class PresignedUrlCacheTest {
+
+    private FileUploadProperties properties;
+    private AtomicInteger signCount;
+    private Function<String, String> signer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FileUploadProperties();
+        signCount = new AtomicInteger();
+        signer = fileKey -> "https://bucket/" + fileKey + "?sig=" + signCount.incrementAndGet();
+    }
+
+    @Test
+    @DisplayName("재사용 기간 안에서는 같은 URL 반환")
+    void testGet_ReusesWithinWindow() {
+        PresignedUrlCache cache = new PresignedUrlCache(properties);
+
+        String first = cache.get("thumbnails/a.png", signer);
+        String second = cache.get("thumbnails/a.png", signer);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(signCount.get()).isEqualTo(1);
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    @DisplayName("재사용 비율이 0이면 매번 새로 서명")
+    void testGet_NoReuseWhenFractionZero() {
+        properties.setPresignedUrlReuseFraction(0.0);
+        PresignedUrlCache cache = new PresignedUrlCache(properties);
+
+        String first = cache.get("thumbnails/a.png", signer);
+        String second = cache.get("thumbnails/a.png", signer);
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(signCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("일괄 조회 시 중복 키는 한 번만 서명하고 실패한 키는 제외")
+    void testGetAll_DedupesAndSkipsFailures() {
+        PresignedUrlCache cache = new PresignedUrlCache(properties);
+        cache.get("a.png", signer);
+
+        Map<String, String> urls = cache.getAll(List.of("a.png", "b.png", "b.png", "broken.png"), fileKey -> {
+            if (fileKey.startsWith("broken")) {
+                throw new IllegalStateException("signing failed");
+            }
+            return signer.apply(fileKey);
+        });
+
+        assertThat(urls).containsOnlyKeys("a.png", "b.png");
+        assertThat(signCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 사용하지 않은 URL 제거")
+    void testGet_EvictsLeastRecentlyUsed() {
+        properties.setPresignedUrlCacheSize(2);
+        PresignedUrlCache cache = new PresignedUrlCache(properties);
+
+        cache.get("a.png", signer);
+        cache.get("b.png", signer);
+        cache.get("a.png", signer);
+        cache.get("c.png", signer);
+        cache.get("a.png", signer);
+        cache.get("b.png", signer);
+
+        assertThat(signCount.get()).isEqualTo(4);
+        assertThat(cache.getCacheSize()).isEqualTo(2);
+        assertThat(cache.getStats()).containsEntry("evictions", 2L);
+    }
+}
@@ -30,6 +30,9 @@ class S3ServiceMockTest {
     @Mock
     private AmazonS3 amazonS3;
 
+    @Mock
+    private PresignedUrlCache presignedUrlCache;
+
     @InjectMocks
     private S3Service s3Service;
 
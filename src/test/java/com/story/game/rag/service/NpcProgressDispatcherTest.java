@@ -0,0 +1,94 @@
+package com.story.game.rag.service;
+
+import com.story.game.rag.dto.GameProgressUpdateRequestDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * NpcProgressDispatcher 비동기 전송 테스트
+ *
+ * 주요 테스트:
+ * 1. 같은 스토리 이벤트는 하나의 요청으로 묶어 전송
+ * 2. 전송 실패 시 재시도
+ * 3. 큐가 가득 차면 가장 오래된 이벤트부터 버림
+ */
+@ExtendWith(MockitoExtension.class)
+class NpcProgressDispatcherTest {
+
+    @Mock
+    private RagService ragService;
+
+    private NpcProgressDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 스토리의 이벤트는 순서대로 묶어 한 번에 전송")
+    void testSubmit_CoalescesPerStory() {
+        dispatcher = new NpcProgressDispatcher(ragService, 100, 20, 1, 0, 1,
+                NpcProgressDispatcher.DropPolicy.DROP_OLDEST);
+        when(ragService.updateGameProgressBatch(eq("story_1"), anyList())).thenReturn(true);
+
+        // 워커 시작 전에 쌓인 이벤트
+        dispatcher.submit(event("story_1", "choice 1"));
+        dispatcher.submit(event("story_1", "choice 2"));
+        dispatcher.submit(event("story_1", "choice 3"));
+        dispatcher.start();
+
+        verify(ragService, timeout(2000)).updateGameProgressBatch("story_1", List.of("choice 1", "choice 2", "choice 3"));
+        assertThat(dispatcher.getStats()).containsEntry("coalesced", 2L);
+    }
+
+    @Test
+    @DisplayName("전송 실패 시 재시도 후 성공")
+    void testSend_RetriesOnFailure() {
+        dispatcher = new NpcProgressDispatcher(ragService, 100, 20, 1, 3, 1,
+                NpcProgressDispatcher.DropPolicy.DROP_OLDEST);
+        when(ragService.updateGameProgressBatch(eq("story_1"), anyList())).thenReturn(false, true);
+
+        dispatcher.start();
+        dispatcher.submit(event("story_1", "choice 1"));
+
+        verify(ragService, timeout(2000).times(2)).updateGameProgressBatch(eq("story_1"), anyList());
+        verify(ragService, after(200).times(2)).updateGameProgressBatch(eq("story_1"), anyList());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 가장 오래된 이벤트를 버림")
+    void testSubmit_DropOldestWhenFull() {
+        dispatcher = new NpcProgressDispatcher(ragService, 2, 20, 1, 0, 1,
+                NpcProgressDispatcher.DropPolicy.DROP_OLDEST);
+
+        assertThat(dispatcher.submit(event("story_1", "choice 1"))).isTrue();
+        assertThat(dispatcher.submit(event("story_2", "choice 2"))).isTrue();
+        assertThat(dispatcher.submit(event("story_2", "choice 3"))).isTrue();
+
+        assertThat(dispatcher.getStats())
+                .containsEntry("dropped", 1L)
+                .containsEntry("queueSize", 2)
+                .containsEntry("pendingStories", 1);
+    }
+
+    private GameProgressUpdateRequestDto event(String storyCreationId, String content) {
+        return GameProgressUpdateRequestDto.builder()
+                .characterId(storyCreationId)
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.story.game.story.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.story.game.common.dto.EpisodeDto;
+import com.story.game.common.dto.FullStoryDto;
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.infrastructure.s3.S3Service;
+import com.story.game.story.entity.Episode;
+import com.story.game.story.mapper.StoryMapper;
+import com.story.game.story.repository.EpisodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * StorySnapshotStore 테스트
+ *
+ * 주요 테스트:
+ * 1. 변경된 에피소드 객체만 다시 올리고 manifest 갱신
+ * 2. 조회 시 manifest + 에피소드 객체로 조립하고, 두 번째 조회부터는 캐시 사용
+ */
+@ExtendWith(MockitoExtension.class)
+class StorySnapshotStoreTest {
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private StoryMapper storyMapper;
+
+    @Mock
+    private EpisodeRepository episodeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // S3 대신 사용하는 메모리 저장소 (key -> content)
+    private final Map<String, String> bucket = new HashMap<>();
+
+    private StoryCreation story;
+    private Episode episode1;
+    private Episode episode2;
+
+    @BeforeEach
+    void setUp() {
+        story = StoryCreation.builder().id("story_1").build();
+        episode1 = Episode.builder().id(UUID.randomUUID()).order(1).title("EP1").build();
+        episode2 = Episode.builder().id(UUID.randomUUID()).order(2).title("EP2").build();
+
+        lenient().when(s3Service.uploadFile(anyString(), anyString())).thenAnswer(invocation -> {
+            bucket.put(invocation.getArgument(0), invocation.getArgument(1));
+            return invocation.getArgument(0);
+        });
+        lenient().when(s3Service.fileExists(anyString())).thenAnswer(invocation -> bucket.containsKey(invocation.<String>getArgument(0)));
+        lenient().when(s3Service.downloadFileContent(anyString())).thenAnswer(invocation -> bucket.get(invocation.<String>getArgument(0)));
+        lenient().when(episodeRepository.findAllByStoryOrderByOrderAsc(story)).thenReturn(List.of(episode1, episode2));
+        lenient().when(storyMapper.toFullStoryDto(eq(story), any(), anyInt())).thenAnswer(invocation -> FullStoryDto.builder()
+                .metadata(FullStoryDto.MetadataDto.builder().totalNodes(invocation.getArgument(2)).build())
+                .context(FullStoryDto.ContextDto.builder().novelSummary("summary").build())
+                .episodes(invocation.getArgument(1))
+                .build());
+    }
+
+    @Test
+    @DisplayName("변경된 에피소드만 다시 올리고 manifest 갱신")
+    void testWriteEpisodes_UploadsOnlyChangedEpisode() throws Exception {
+        when(storyMapper.toEpisodeDto(episode1)).thenReturn(dto(episode1, "first"));
+        when(storyMapper.toEpisodeDto(episode2)).thenReturn(dto(episode2, "second"), dto(episode2, "second (edited)"));
+        StorySnapshotStore store = new StorySnapshotStore(s3Service, storyMapper, episodeRepository, objectMapper, 100, 60_000);
+
+        String manifestKey = store.writeEpisodes(story, List.of(1, 2));
+        store.writeEpisodes(story, List.of(2));
+
+        assertThat(manifestKey).isEqualTo("stories/story_1/manifest.json");
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(s3Service, times(5)).uploadFile(keys.capture(), anyString());
+        assertThat(keys.getAllValues()).containsExactly(
+                "stories/story_1/episodes/1.json", "stories/story_1/episodes/2.json", manifestKey,
+                "stories/story_1/episodes/2.json", manifestKey);
+        verify(storyMapper, times(1)).toEpisodeDto(episode1);
+
+        StorySnapshotStore.Manifest manifest = objectMapper.readValue(bucket.get(manifestKey), StorySnapshotStore.Manifest.class);
+        assertThat(manifest.getEpisodes()).extracting(StorySnapshotStore.EpisodeEntry::getOrder).containsExactly(1, 2);
+        assertThat(manifest.getMetadata().getTotalEpisodes()).isEqualTo(2);
+        assertThat(bucket.get("stories/story_1/episodes/2.json")).contains("second (edited)");
+    }
+
+    @Test
+    @DisplayName("manifest와 에피소드 객체로 조립하고, 다시 조회하면 캐시 사용")
+    void testRead_AssemblesFromCachedParts() throws Exception {
+        when(storyMapper.toEpisodeDto(episode1)).thenReturn(dto(episode1, "first"));
+        when(storyMapper.toEpisodeDto(episode2)).thenReturn(dto(episode2, "second"));
+        new StorySnapshotStore(s3Service, storyMapper, episodeRepository, objectMapper, 100, 60_000)
+                .writeEpisodes(story, List.of(1, 2));
+
+        // 다른 서버: 캐시가 비어 있는 상태에서 조회
+        StorySnapshotStore reader = new StorySnapshotStore(s3Service, storyMapper, episodeRepository, objectMapper, 100, 60_000);
+        FullStoryDto first = reader.read(story, "stories/story_1.json");
+        FullStoryDto second = reader.read(story, "stories/story_1.json");
+
+        assertThat(first.getEpisodes()).extracting(EpisodeDto::getIntroText).containsExactly("first", "second");
+        assertThat(first.getContext().getNovelSummary()).isEqualTo("summary");
+        assertThat(second.getEpisodes()).hasSize(2);
+        verify(s3Service, times(1)).downloadFileContent("stories/story_1/manifest.json");
+        verify(s3Service, times(1)).downloadFileContent("stories/story_1/episodes/1.json");
+        verify(s3Service, times(1)).downloadFileContent("stories/story_1/episodes/2.json");
+        verify(storyMapper, never()).buildFullStoryDtoFromDb(any());
+        assertThat(reader.getStats()).containsEntry("episodeHits", 2L).containsEntry("manifestHits", 1L);
+    }
+
+    private static EpisodeDto dto(Episode episode, String introText) {
+        return EpisodeDto.builder()
+                .id(episode.getId().toString())
+                .title(episode.getTitle())
+                .order(episode.getOrder())
+                .introText(introText)
+                .nodes(List.of())
+                .endings(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.story.game.story.writer;
+
+import com.story.game.creation.entity.StoryCreation;
+import com.story.game.story.entity.Episode;
+import com.story.game.story.entity.EpisodeEnding;
+import com.story.game.story.entity.StoryChoice;
+import com.story.game.story.entity.StoryNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * EpisodeBulkWriter 테스트
+ *
+ * 주요 테스트:
+ * 1. 테이블별 multi-row INSERT를 rows-per-statement행씩 나눠 실행하고, 마지막에 parent_choice_id 연결
+ * 2. UUID 컬럼이 BINARY면 16바이트로 저장
+ */
+@ExtendWith(MockitoExtension.class)
+class EpisodeBulkWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EpisodeBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new EpisodeBulkWriter(jdbcTemplate, 2);
+    }
+
+    @Test
+    @DisplayName("테이블별로 묶어 INSERT하고 선택지로 부모 연결")
+    void testWrite_ChunksRowsPerTable() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("char");
+        Episode episode = episode();
+        StoryNode root = node(episode, 0);
+        StoryNode left = node(episode, 1);
+        StoryNode right = node(episode, 1);
+        List<StoryChoice> choices = List.of(choice(root, left, 0), choice(root, right, 1));
+        EpisodeEnding ending = EpisodeEnding.builder().id(UUID.randomUUID()).episode(episode)
+                .title("ending").endingOrder(0).condition("hope >= 50").build();
+
+        writer.write(episode, List.of(root, left, right), choices, List.of(ending));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(6)).update(sql.capture(), args.capture());
+        assertThat(sql.getAllValues()).satisfiesExactly(
+                statement -> assertThat(statement).startsWith("INSERT INTO episodes "),
+                statement -> assertThat(statement).startsWith("INSERT INTO story_nodes ").contains("), ("),
+                statement -> assertThat(statement).startsWith("INSERT INTO story_nodes ").doesNotContain("), ("),
+                statement -> assertThat(statement).startsWith("INSERT INTO story_choices "),
+                statement -> assertThat(statement).startsWith("INSERT INTO episode_endings "),
+                statement -> assertThat(statement).startsWith("UPDATE story_nodes "));
+        assertThat(args.getAllValues().get(1)).hasSize(2 * 11).startsWith(root.getId().toString(), episode.getId().toString());
+        assertThat(args.getAllValues().get(2)).hasSize(11);
+        assertThat(args.getAllValues().get(3)[2]).isEqualTo(left.getId().toString());
+        assertThat(writer.getStats()).containsEntry("rowsWritten", 7L).containsEntry("statements", 6L);
+    }
+
+    @Test
+    @DisplayName("UUID 컬럼이 BINARY(16)이면 바이트 배열로 저장, 선택지가 없으면 부모 연결 생략")
+    void testWrite_BinaryUuidColumns() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("binary");
+        Episode episode = episode();
+
+        writer.write(episode, List.of(), List.of(), List.of());
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        assertThat(args.getValue()[0]).isInstanceOf(byte[].class);
+        assertThat((byte[]) args.getValue()[0]).hasSize(16);
+    }
+
+    private static Episode episode() {
+        StoryCreation story = new StoryCreation();
+        story.setId("story-1");
+        return Episode.builder().id(UUID.randomUUID()).story(story).title("EP1").order(1).build();
+    }
+
+    private static StoryNode node(Episode episode, int depth) {
+        return StoryNode.builder().id(UUID.randomUUID()).episode(episode).depth(depth).text("node").build();
+    }
+
+    private static StoryChoice choice(StoryNode source, StoryNode destination, int order) {
+        return StoryChoice.builder().id(UUID.randomUUID()).sourceNode(source).destinationNode(destination)
+                .text("choice").choiceOrder(order).build();
+    }
+}